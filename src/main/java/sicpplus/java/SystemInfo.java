@@ -81,6 +81,12 @@ public final class SystemInfo {
       "." +
       computerSystem.getModel(); }
 
+  public static final String processorName () {
+    final oshi.SystemInfo si = new oshi.SystemInfo();
+    final HardwareAbstractionLayer hal = si.getHardware();
+    final CentralProcessor processor = hal.getProcessor();
+    return processor.getProcessorIdentifier().getName(); }
+
   public static void printComputerSystem (final ComputerSystem computerSystem,
                                           final PrintWriter pw) {
 
@@ -2,6 +2,8 @@ package sicpplus.java.accumulators;
 
 import java.util.Arrays;
 
+import sicpplus.java.numbers.Doubles;
+
 /** Eager distillation.
  * <p>
  * Mutable! Not thread safe!
@@ -37,8 +39,7 @@ extends ExactAccumulator<DistilledAccumulator> {
     final double x1 = _sums[i];
     final double x0 = _sums[i-1];
     final double s = x0+x1;
-    final double z = s-x0;
-    final double e = (x0-(s-z)) + (x1-z);
+    final double e = Doubles.twoSumLow(x0,x1,s);
     _sums[i-1] = s;
     _sums[i] = e;
     return (x0 != s) || (x1 != e); }
@@ -1,9 +1,21 @@
 package sicpplus.java.accumulators;
 
-import sicpplus.java.numbers.RationalFloat;
+import java.util.Objects;
+
+import sicpplus.java.numbers.MutableRationalFloat;
+import sicpplus.java.numbers.RationalFloatContext;
 
 /** Naive sum of <code>double</code> values with a RationalFloat
  * accumulator (for testing).
+ * <p>
+ * The sum is a {@link MutableRationalFloat}, updated in place;
+ * since only <code>double</code>s are added, its denominator
+ * stays 1, and each update is a shift and add into the existing
+ * numerator words.
+ * <p>
+ * Each update passes through a {@link RationalFloatContext},
+ * which decides when to reduce the sum, and counts how often it
+ * did, and how many bits that saved. The default never reduces.
  *
  * @author palisades dot lakes at gmail dot com
  * @version 2019-10-09
@@ -11,7 +23,10 @@ import sicpplus.java.numbers.RationalFloat;
 public final class RationalFloatAccumulator
 extends ExactAccumulator<RationalFloatAccumulator> {
 
-  private RationalFloat _sum;
+  private final MutableRationalFloat _sum;
+
+  private final RationalFloatContext _context;
+  public final RationalFloatContext context () { return _context; }
 
   //--------------------------------------------------------------
 
@@ -19,7 +34,7 @@ extends ExactAccumulator<RationalFloatAccumulator> {
   public final boolean noOverflow () { return true; }
 
   @Override
-  public final Object value () { return _sum; }
+  public final Object value () { return _sum.value(); }
 
   @Override
   public final double doubleValue () {
@@ -31,124 +46,128 @@ extends ExactAccumulator<RationalFloatAccumulator> {
 
   @Override
   public final RationalFloatAccumulator clear () {
-    _sum = RationalFloat.ZERO;
+    _sum.clear();
     return this; }
 
   @Override
   public final RationalFloatAccumulator add (final double z) {
-    _sum = _sum.add(z);
+    _context.apply(_sum.add(z));
     return this; }
 
   @Override
   public final RationalFloatAccumulator addAll (final double[] z) {
-    _sum = _sum.addAll(z); 
+    for (final double zi : z) {
+      _context.apply(_sum.add(zi)); }
     return this; }
 
   @Override
   public final RationalFloatAccumulator addAbs (final double z) {
-    _sum = _sum.addAbs(z);
+    _context.apply(_sum.addAbs(z));
     return this; }
 
   @Override
   public final RationalFloatAccumulator addAbsAll (final double[] z) {
-    _sum = _sum.addAbsAll(z); 
+    for (final double zi : z) {
+      _context.apply(_sum.addAbs(zi)); }
     return this; }
 
   @Override
   public final RationalFloatAccumulator add2 (final double z) {
-    _sum = _sum.add2(z);
+    _context.apply(_sum.add2(z));
     return this; }
 
   @Override
   public final RationalFloatAccumulator add2All (final double[] z)  {
-    _sum = _sum.add2All(z);
+    for (final double zi : z) {
+      _context.apply(_sum.add2(zi)); }
     return this; }
 
   @Override
   public final RationalFloatAccumulator addProduct (final double z0,
                                                     final double z1) {
-    _sum = _sum.addProduct(z0,z1);
+    _context.apply(_sum.addProduct(z0,z1));
     return this; }
 
   @Override
   public final RationalFloatAccumulator 
   addProducts (final double[] z0,
                final double[] z1)  {
-    _sum = _sum.addProducts(z0,z1); 
+    final int n = z0.length;
+    for (int i=0;i<n;i++) {
+      _context.apply(_sum.addProduct(z0[i],z1[i])); }
     return this; }
 
   @Override
   public final RationalFloatAccumulator addL1 (final double z0,
                                                final double z1) {
 
-    _sum = _sum.addL1(z0,z1);
+    _context.apply(_sum.addL1(z0,z1));
     return this; }
 
   @Override
   public final RationalFloatAccumulator 
   addL1Distance (final double[] z0,
                  final double[] z1)  {
-    _sum = _sum.addL1Distance(z0,z1); 
+    final int n = z0.length;
+    for (int i=0;i<n;i++) {
+      _context.apply(_sum.addL1(z0[i],z1[i])); }
     return this; }
 
   @Override
   public final RationalFloatAccumulator addL2 (final double z0,
                                                final double z1) {
-    _sum = _sum.addL2(z0,z1);
+    _context.apply(_sum.addL2(z0,z1));
     return this; }
 
   @Override
   public final RationalFloatAccumulator 
   addL2Distance (final double[] z0,
                  final double[] z1)  {
-    _sum = _sum.addL2Distance(z0,z1); 
+    final int n = z0.length;
+    for (int i=0;i<n;i++) {
+      _context.apply(_sum.addL2(z0[i],z1[i])); }
     return this; }
 
   //--------------------------------------------------------------
-  // TODO: these don't make sense for a = a.op paradigm
 
   @Override
   public final void partialSums (final double[] x,
                                  final double[] s) {
     final int n = x.length;
     //assert s.length==n;
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) { 
-      sum = sum.add(x[i]);
-      s[i] = sum.doubleValue(); } 
-    _sum = sum; }
+      _context.apply(sum.add(x[i]));
+      s[i] = sum.doubleValue(); } }
 
   @Override
   public final double[] partialSums (final double[] x) {
     final int n = x.length;
     final double[] s = new double[n];
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) { 
-      sum = sum.add(x[i]);
+      _context.apply(sum.add(x[i]));
       s[i] = sum.doubleValue(); } 
-    _sum = sum;
     return s; }
 
   @Override
   public final  double[] partialL1s (final double[] x) {
     final int n = x.length;
     final double[] s = new double[n];
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) { 
-      sum = sum.addAbs(x[i]);
+      _context.apply(sum.addAbs(x[i]));
       s[i] = sum.doubleValue(); } 
-    _sum = sum;
     return s; }
 
   @Override
   public final  double[] partialL2s (final double[] x) {
     final int n = x.length;
     final double[] s = new double[n];
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) { 
-      sum = sum.add2(x[i]);
+      _context.apply(sum.add2(x[i]));
       s[i] = sum.doubleValue(); } 
-    _sum = sum;
     return s; }
 
   @Override
@@ -156,11 +175,10 @@ extends ExactAccumulator<RationalFloatAccumulator> {
                                       final double[] x1) {
     final int n = x0.length;
     final double[] s = new double[n];
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) {
-      sum = sum.addProduct(x0[i],x1[i]);
+      _context.apply(sum.addProduct(x0[i],x1[i]));
       s[i] = sum.doubleValue(); } 
-    _sum = sum;
     return s; }
 
   @Override
@@ -168,11 +186,10 @@ extends ExactAccumulator<RationalFloatAccumulator> {
                                              final double[] x1) {
     final int n = x0.length;
     final double[] s = new double[n];
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) {
-      sum = sum.addL1(x0[i],x1[i]);
+      _context.apply(sum.addL1(x0[i],x1[i]));
       s[i] = sum.doubleValue(); } 
-    _sum = sum;
     return s; }
 
   @Override
@@ -180,21 +197,28 @@ extends ExactAccumulator<RationalFloatAccumulator> {
                                              final double[] x1) {
     final int n = x0.length;
     final double[] s = new double[n];
-    RationalFloat sum = RationalFloat.ZERO;
+    final MutableRationalFloat sum = _sum.clear();
     for (int i=0;i<n;i++) {
-      sum = sum.addL2(x0[i],x1[i]);
+      _context.apply(sum.addL2(x0[i],x1[i]));
       s[i] = sum.doubleValue(); } 
-    _sum = sum;
     return s; }
 
   //--------------------------------------------------------------
   // construction
   //--------------------------------------------------------------
 
-  private RationalFloatAccumulator () { super(); clear(); }
+  private RationalFloatAccumulator (final RationalFloatContext context) {
+    super();
+    _sum = MutableRationalFloat.make();
+    _context = context;
+    clear(); }
 
   public static final RationalFloatAccumulator make () {
-    return new RationalFloatAccumulator(); }
+    return new RationalFloatAccumulator(RationalFloatContext.never()); }
+
+  public static final RationalFloatAccumulator
+  make (final RationalFloatContext context) {
+    return new RationalFloatAccumulator(Objects.requireNonNull(context)); }
 
   //--------------------------------------------------------------
 }
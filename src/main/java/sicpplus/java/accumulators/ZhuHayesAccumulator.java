@@ -113,8 +113,7 @@ extends ExactAccumulator<ZhuHayesAccumulator> {
                              final double x1) {
     // might get +/- Infinity due to overflow
     sumTwo = x0+x1;
-    final double z = sumTwo-x0;
-    errTwo = (x0-(sumTwo-z)) + (x1-z); }
+    errTwo = Doubles.twoSumLow(x0,x1,sumTwo); }
 
   //------------------------------------------------------------
 
@@ -9,6 +9,8 @@ import java.util.Set;
 
 import org.apache.commons.math3.fraction.BigFraction;
 
+import sicpplus.java.numbers.Predicates;
+
 /** Base for polynomials on <b>R</b>.
  *
  * @author palisades dot lakes at gmail dot com
@@ -45,8 +47,13 @@ public abstract class Polynomial extends ScalarFunctional {
           x1.subtract(x0))); }
 
   /** Check if an arbitrary precision quadratic polynomial 
-   * over the rationals ({@link BigFraction}) can match the given 
+   * over the rationals can match the given 
    * value and slope at <code>x0</code> and <code>x1</code>.
+   * <p>
+   * Exact, via the sign of
+   * <code>2(y1-y0) - (d1-d0)(x1-x0)</code> as a dot product
+   * ({@link Predicates#signDot}), which only falls back to
+   * rational arithmetic near overflow or underflow.
    */
 
   public static final boolean 
@@ -57,13 +64,9 @@ public abstract class Polynomial extends ScalarFunctional {
                     final double y1,
                     final double d1) {
     return 
-      isQQuadraticXYD2(
-        new BigFraction(x0),
-        new BigFraction(y0),
-        new BigFraction(d0),
-        new BigFraction(x1),
-        new BigFraction(y1),
-        new BigFraction(d1)); }
+      0 == Predicates.signDot(
+        new double[] { 2.0, -2.0, -d1, d1, d0, -d0, },
+        new double[] { y1, y0, x1, x0, x1, x0, }); }
 
   //--------------------------------------------------------------
 
@@ -0,0 +1,57 @@
+package sicpplus.java.linear;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/** Opt-in parallel row loops for the dense matrix classes in
+ * this package. One threshold, shared by
+ * {@link RationalFloatMatrix} and {@link RefinedLU}: matrices
+ * with at least that many rows run their row loops on the
+ * common fork/join pool.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+final class ParallelRows {
+
+  private static volatile int threshold = Integer.MAX_VALUE;
+
+  static final int threshold () { return threshold; }
+
+  /** Pass {@link Integer#MAX_VALUE}, the default, to turn
+   * parallelism off.
+   */
+
+  static final void setThreshold (final int nrows) {
+    if (0>=nrows) {
+      throw new IllegalArgumentException(
+        "parallel threshold must be positive: " + nrows); }
+    threshold = nrows; }
+
+  /** <code>f</code> for each of <code>[start,end)</code>, in
+   * parallel if <code>nrows</code> is at least the threshold.
+   */
+
+  static final void forEach (final int nrows,
+                             final int start,
+                             final int end,
+                             final IntConsumer f) {
+    if ((nrows < threshold) || (2 > (end-start))) {
+      for (int i=start;i<end;i++) { f.accept(i); } }
+    else { IntStream.range(start,end).parallel().forEach(f); } }
+
+  //--------------------------------------------------------------
+  // disable constructor
+  //--------------------------------------------------------------
+
+  private ParallelRows () {
+    throw new
+    UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
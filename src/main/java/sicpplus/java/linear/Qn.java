@@ -41,8 +41,15 @@ import sicpplus.java.prng.Generators;
  * Long term goal is to support any useful data structures
  * that can be used to represent tuples of rational numbers.
  *
+ * <p>
+ * Also accepts {@link RationalFloatVector}s. The
+ * {@link RationalFloatVector} overloads of <code>add</code>,
+ * <code>negate</code> and <code>scale</code> keep that
+ * representation; the generic operations return
+ * <code>RationalFloat[]</code>, like any other element.
+ *
  * @author palisades dot lakes at gmail dot com
- * @version 2019-10-12
+ * @version 2026-10-18
  */
 @SuppressWarnings("unchecked")
 public final class Qn extends LinearSpaceLike {
@@ -56,16 +63,22 @@ public final class Qn extends LinearSpaceLike {
    */
 
   @Override
-  public final Object add (final Object x0,
-                           final Object x1) {
+  public final RationalFloat[] add (final Object x0,
+                                    final Object x1) {
     assert contains(x0);
     assert contains(x1);
-    final RationalFloat[] q0 = RationalFloats.toRationalFloat(x0);
-    final RationalFloat[] q1 = RationalFloats.toRationalFloat(x1);
+    final RationalFloat[] q0 = RationalFloatVector.toRationalFloats(x0);
+    final RationalFloat[] q1 = RationalFloatVector.toRationalFloats(x1);
     final RationalFloat[] qq = new RationalFloat[dimension()];
     for (int i=0;i<dimension();i++) { qq[i] = q0[i].add(q1[i]); }
     return qq; }
 
+  public final RationalFloatVector add (final RationalFloatVector x0,
+                                        final RationalFloatVector x1) {
+    assert contains(x0);
+    assert contains(x1);
+    return x0.add(x1); }
+
   //--------------------------------------------------------------
 
   @Override
@@ -79,23 +92,32 @@ public final class Qn extends LinearSpaceLike {
   @Override
   public final RationalFloat[] negate (final Object x) {
     assert contains(x);
-    final RationalFloat[] q = RationalFloats.toRationalFloat(x);
+    final RationalFloat[] q = RationalFloatVector.toRationalFloats(x);
     final RationalFloat[] qq = new RationalFloat[dimension()];
     for (int i=0;i<dimension();i++) { qq[i] = q[i].negate(); }
     return qq; }
 
+  public final RationalFloatVector negate (final RationalFloatVector x) {
+    assert contains(x);
+    return x.negate(); }
+
   //--------------------------------------------------------------
 
   @Override
   public final RationalFloat[] scale (final Object a,
-                                 final Object x) {
+                                      final Object x) {
     assert contains(x);
     final RationalFloat b = RationalFloat.valueOf(a);
-    final RationalFloat[] q = RationalFloats.toRationalFloat(x);
+    final RationalFloat[] q = RationalFloatVector.toRationalFloats(x);
     final RationalFloat[] qq = new RationalFloat[dimension()];
     for (int i=0;i<dimension();i++) { qq[i] = q[i].multiply(b); }
     return qq; }
 
+  public final RationalFloatVector scale (final Object a,
+                                          final RationalFloatVector x) {
+    assert contains(x);
+    return x.scale(RationalFloat.valueOf(a)); }
+
   //--------------------------------------------------------------
   // Set methods
   //--------------------------------------------------------------
@@ -105,8 +127,8 @@ public final class Qn extends LinearSpaceLike {
                                final Object x1) {
     assert contains(x0);
     assert contains(x1);
-    final RationalFloat[] q0 = RationalFloats.toRationalFloat(x0);
-    final RationalFloat[] q1 = RationalFloats.toRationalFloat(x1);
+    final RationalFloat[] q0 = RationalFloatVector.toRationalFloats(x0);
+    final RationalFloat[] q1 = RationalFloatVector.toRationalFloats(x1);
     for (int i=0;i<dimension();i++) {
       if (! q0[i].equals(q1[i])) { return false; } }
     return true; }
@@ -116,6 +138,8 @@ public final class Qn extends LinearSpaceLike {
   @Override
   public final boolean contains (final Object element) {
     if (null == element) { return false; }
+    if (element instanceof RationalFloatVector) {
+      return ((RationalFloatVector) element).dimension()==dimension(); }
     final Class c = element.getClass();
     if (! c.isArray()) { return false; }
     final int n = Array.getLength(element);
@@ -0,0 +1,677 @@
+package sicpplus.java.linear;
+
+import static sicpplus.java.linear.ParallelRows.forEach;
+import static sicpplus.java.numbers.BoundedNatural.ONE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+
+/** Immutable dense matrix of {@link RationalFloat}, with exact
+ * determinant, rank, linear solve, and inverse.
+ * <p>
+ * Each row is first scaled to integers, via the shared
+ * denominator and exponent of a {@link RationalFloatVector};
+ * scaling the rows of <code>[A|b]</code> doesn't change the
+ * solution, and the scale factors are folded back into the
+ * determinant.
+ * <p>
+ * The integer matrix is reduced with Bareiss' fraction-free
+ * elimination: every intermediate entry is a minor of the
+ * original, so entries grow linearly, and each step's division
+ * is exact. Solutions come from fraction-free back substitution,
+ * as integer Cramer numerators over the determinant.
+ * <p>
+ * From {@link #modularThreshold()} rows on, square systems are
+ * instead solved modulo enough word-size primes to cover
+ * Hadamard's bound on the determinant and Cramer numerators,
+ * and reconstructed by the Chinese remainder theorem. The
+ * denominator (the determinant) is reconstructed along with the
+ * numerators, so no separate rational reconstruction is needed.
+ * <p>
+ * Opt-in parallelism: from {@link #parallelThreshold()} rows
+ * on, the row updates of each elimination step, and the
+ * independent modular solves, run on the common fork/join pool.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class RationalFloatMatrix {
+
+  private static final BoundedNatural ZERO = BoundedNatural.ZERO;
+
+  //--------------------------------------------------------------
+  // thresholds
+  //--------------------------------------------------------------
+
+  public static final int parallelThreshold () {
+    return ParallelRows.threshold(); }
+
+  /** Parallel row operations for matrices with at least
+   * <code>nrows</code> rows; shared with {@link RefinedLU}.
+   * Pass {@link Integer#MAX_VALUE}, the default, to turn
+   * parallelism off.
+   */
+
+  public static final void setParallelThreshold (final int nrows) {
+    ParallelRows.setThreshold(nrows); }
+
+  private static volatile int modularThreshold = 32;
+
+  public static final int modularThreshold () {
+    return modularThreshold; }
+
+  /** {@link #solve(RationalFloat[])} and {@link #determinant()}
+   * go modular for square matrices with at least
+   * <code>nrows</code> rows.
+   */
+
+  public static final void setModularThreshold (final int nrows) {
+    if (0>=nrows) {
+      throw new IllegalArgumentException(
+        "modular threshold must be positive: " + nrows); }
+    modularThreshold = nrows; }
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  private final RationalFloat[][] _rows;
+
+  public final int nRows () { return _rows.length; }
+
+  public final int nColumns () {
+    return (0==_rows.length) ? 0 : _rows[0].length; }
+
+  public final RationalFloat get (final int i,
+                                  final int j) {
+    return _rows[i][j]; }
+
+  public final RationalFloat[] row (final int i) {
+    return _rows[i].clone(); }
+
+  public final boolean isSquare () { return nRows()==nColumns(); }
+
+  private final void checkSquare () {
+    if (! isSquare()) {
+      throw new IllegalArgumentException(
+        "not square: " + nRows() + "x" + nColumns()); } }
+
+  private final void checkRhs (final RationalFloat[] b) {
+    if (b.length != nRows()) {
+      throw new IllegalArgumentException(
+        "wrong right hand side length: " + b.length
+        + " for " + nRows() + " rows"); } }
+
+  //--------------------------------------------------------------
+  // exact arithmetic
+  //--------------------------------------------------------------
+  // inner products over shared denominators, rather than a
+  // chain of RationalFloat adds, whose denominators multiply
+
+  private final RationalFloatVector[] rowVectors () {
+    final int m = nRows();
+    final RationalFloatVector[] v = new RationalFloatVector[m];
+    for (int i=0;i<m;i++) { v[i] = RationalFloatVector.valueOf(_rows[i]); }
+    return v; }
+
+  /** Exact <code>this*x</code>. */
+
+  public final RationalFloat[] multiply (final RationalFloat[] x) {
+    final int m = nRows();
+    assert nColumns()==x.length;
+    final RationalFloatVector[] a = rowVectors();
+    final RationalFloatVector xv = RationalFloatVector.valueOf(x);
+    final RationalFloat[] y = new RationalFloat[m];
+    forEach(m,0,m,(i) -> { y[i] = a[i].dot(xv); });
+    return y; }
+
+  /** Exact <code>this*that</code>. */
+
+  public final RationalFloatMatrix multiply (final RationalFloatMatrix that) {
+    final int m = nRows();
+    final int n = nColumns();
+    final int l = that.nColumns();
+    assert n==that.nRows();
+    final RationalFloatVector[] a = rowVectors();
+    final RationalFloatVector[] b = new RationalFloatVector[l];
+    for (int k=0;k<l;k++) {
+      final RationalFloat[] bk = new RationalFloat[n];
+      for (int j=0;j<n;j++) { bk[j] = that._rows[j][k]; }
+      b[k] = RationalFloatVector.valueOf(bk); }
+    final RationalFloat[][] c = new RationalFloat[m][l];
+    forEach(m,0,m,(i) -> {
+      for (int k=0;k<l;k++) { c[i][k] = a[i].dot(b[k]); } });
+    return new RationalFloatMatrix(c); }
+
+  //--------------------------------------------------------------
+  // signed integers, as (nonNegative, magnitude) pairs
+  //--------------------------------------------------------------
+  /** Product of the row denominators, and sum of the row
+   * exponents, of the <code>this</code> part of the integer
+   * rows: <code>det(this) = det(integer rows) 2<sup>exponent</sup>
+   * / denominator</code>.
+   */
+
+  private static final class Scale {
+    BoundedNatural denominator = ONE;
+    int exponent = 0; }
+
+  /** Integer rows: <code>[this|rhs]</code>, each row scaled by
+   * its shared denominator and exponent.
+   * If <code>scale</code> isn't null, it accumulates the row
+   * scale factors.
+   */
+
+  private final void integerRows (final RationalFloat[][] rhs,
+                                  final boolean[][] p,
+                                  final BoundedNatural[][] m,
+                                  final Scale scale) {
+    final int nr = nRows();
+    final int nc = nColumns();
+    final int nb = (null==rhs) ? 0 : rhs[0].length;
+    for (int i=0;i<nr;i++) {
+      final RationalFloat[] ri = Arrays.copyOf(_rows[i],nc+nb);
+      if (0<nb) { System.arraycopy(rhs[i],0,ri,nc,nb); }
+      final RationalFloatVector v = RationalFloatVector.valueOf(ri);
+      p[i] = new boolean[nc+nb];
+      m[i] = new BoundedNatural[nc+nb];
+      for (int j=0;j<(nc+nb);j++) {
+        p[i][j] = v.nonNegative(j);
+        m[i][j] = v.numerator(j); }
+      if (null!=scale) {
+        final RationalFloatVector a =
+          (0==nb) ? v : RationalFloatVector.valueOf(_rows[i]);
+        if (! a.isZero()) {
+          scale.denominator = scale.denominator.multiply(a.denominator());
+          scale.exponent += a.exponent(); } } } }
+
+  /** Store <code>(p0,m0)-(p1,m1)</code>, divided exactly by
+   * <code>(pd,md)</code>, at <code>[j]</code>.
+   */
+
+  private static final void differenceQuotient (final boolean p0,
+                                                final BoundedNatural m0,
+                                                final boolean p1,
+                                                final BoundedNatural m1,
+                                                final boolean pd,
+                                                final BoundedNatural md,
+                                                final boolean[] p,
+                                                final BoundedNatural[] m,
+                                                final int j) {
+    final boolean s;
+    final BoundedNatural d;
+    if (p0!=p1) { s = p0; d = m0.add(m1); }
+    else {
+      final int c = m0.compareTo(m1);
+      if (0<=c) { s = p0; d = m0.subtract(m1); }
+      else { s = ! p0; d = m1.subtract(m0); } }
+    if (d.isZero()) { p[j] = true; m[j] = ZERO; return; }
+    p[j] = (s==pd);
+    m[j] = md.isOne() ? d : d.exactDivide(md); }
+
+  //--------------------------------------------------------------
+  // Bareiss elimination
+  //--------------------------------------------------------------
+  /** Result of fraction-free forward elimination. */
+
+  private static final class Echelon {
+    final boolean[][] p;
+    final BoundedNatural[][] m;
+    final int[] pivotColumns;
+    int rank = 0;
+    boolean oddSwaps = false;
+    Echelon (final boolean[][] p0,
+             final BoundedNatural[][] m0) {
+      p = p0;
+      m = m0;
+      pivotColumns = new int[m0.length]; } }
+
+  /** Fraction-free row echelon form, in place, pivoting on the
+   * first <code>nPivotColumns</code> columns, and updating all
+   * of them.
+   */
+
+  private static final Echelon eliminate (final boolean[][] p,
+                                          final BoundedNatural[][] m,
+                                          final int nPivotColumns) {
+    final Echelon e = new Echelon(p,m);
+    final int nr = m.length;
+    if (0==nr) { return e; }
+    final int nc = m[0].length;
+    boolean pPrev = true;
+    BoundedNatural mPrev = ONE;
+    int r = 0;
+    for (int c=0;(c<nPivotColumns) && (r<nr);c++) {
+      int k = r;
+      while ((k<nr) && m[k][c].isZero()) { k++; }
+      if (k==nr) { continue; }
+      if (k!=r) {
+        final boolean[] pt = p[k]; p[k] = p[r]; p[r] = pt;
+        final BoundedNatural[] mt = m[k]; m[k] = m[r]; m[r] = mt;
+        e.oddSwaps = ! e.oddSwaps; }
+      final int rr = r;
+      final int cc = c;
+      final boolean[] pr = p[r];
+      final BoundedNatural[] mr = m[r];
+      final boolean pk = pr[c];
+      final BoundedNatural mk = mr[c];
+      final boolean pd = pPrev;
+      final BoundedNatural md = mPrev;
+      forEach(nr,rr+1,nr,(i) -> {
+        final boolean[] pi = p[i];
+        final BoundedNatural[] mi = m[i];
+        final boolean pic = pi[cc];
+        final BoundedNatural mic = mi[cc];
+        for (int j=cc+1;j<nc;j++) {
+          differenceQuotient(
+            pk==pi[j], mk.multiply(mi[j]),
+            pic==pr[j], mic.multiply(mr[j]),
+            pd, md, pi, mi, j); }
+        pi[cc] = true;
+        mi[cc] = ZERO; });
+      pPrev = pk;
+      mPrev = mk;
+      e.pivotColumns[r] = c;
+      r++; }
+    e.rank = r;
+    return e; }
+
+  /** Integer Cramer numerators, <code>det*x</code>, for each
+   * right hand side column, from a full rank square echelon
+   * form; see Nakos, Turner and Williams, "Fraction-free
+   * algorithms for linear and polynomial equations", 1997.
+   */
+
+  private static final void backSubstitute (final Echelon e,
+                                            final int n,
+                                            final RationalFloat[][] x,
+                                            final int nrows) {
+    final boolean[][] p = e.p;
+    final BoundedNatural[][] m = e.m;
+    final int nb = m[0].length-n;
+    final boolean pDet = p[n-1][n-1];
+    final BoundedNatural mDet = m[n-1][n-1];
+    forEach(nrows,0,nb,(t) -> {
+      final int col = n+t;
+      final boolean[] py = new boolean[n];
+      final BoundedNatural[] my = new BoundedNatural[n];
+      for (int i=n-1;i>=0;i--) {
+        // det*c[i] - sum U[i][j]*y[j]
+        BoundedNatural pos = ZERO;
+        BoundedNatural neg = ZERO;
+        final BoundedNatural dc = mDet.multiply(m[i][col]);
+        if (pDet==p[i][col]) { pos = dc; } else { neg = dc; }
+        for (int j=i+1;j<n;j++) {
+          if (m[i][j].isZero() || my[j].isZero()) { continue; }
+          final BoundedNatural u = m[i][j].multiply(my[j]);
+          if (p[i][j]==py[j]) { neg = neg.add(u); }
+          else { pos = pos.add(u); } }
+        final boolean[] pp = new boolean[1];
+        final BoundedNatural[] mm = new BoundedNatural[1];
+        differenceQuotient(true,pos,true,neg,p[i][i],m[i][i],pp,mm,0);
+        py[i] = pp[0];
+        my[i] = mm[0]; }
+      for (int i=0;i<n;i++) {
+        x[i][t] = my[i].isZero() ? RationalFloat.ZERO
+          : RationalFloat.valueOf(py[i]==pDet,my[i],mDet,0); } }); }
+
+  /** Columns of the solution of <code>this*X=rhs</code>. */
+
+  private final RationalFloat[][] solveBareiss (final RationalFloat[][] rhs) {
+    checkSquare();
+    final int n = nRows();
+    if (0==n) { return new RationalFloat[0][]; }
+    final int nb = rhs[0].length;
+    final boolean[][] p = new boolean[n][];
+    final BoundedNatural[][] m = new BoundedNatural[n][];
+    integerRows(rhs,p,m,null);
+    final Echelon e = eliminate(p,m,n);
+    if (e.rank<n) { throw new ArithmeticException("singular matrix"); }
+    final RationalFloat[][] x = new RationalFloat[n][nb];
+    backSubstitute(e,n,x,n);
+    return x; }
+
+  //--------------------------------------------------------------
+
+  public final int rank () {
+    final int nr = nRows();
+    final boolean[][] p = new boolean[nr][];
+    final BoundedNatural[][] m = new BoundedNatural[nr][];
+    integerRows(null,p,m,null);
+    return eliminate(p,m,nColumns()).rank; }
+
+  /** Exact determinant, by Bareiss elimination.
+   * @throws IllegalArgumentException unless square.
+   */
+
+  public final RationalFloat determinantBareiss () {
+    checkSquare();
+    final int n = nRows();
+    if (0==n) { return RationalFloat.valueOf(1.0); }
+    final boolean[][] p = new boolean[n][];
+    final BoundedNatural[][] m = new BoundedNatural[n][];
+    final Scale scale = new Scale();
+    integerRows(null,p,m,scale);
+    final Echelon e = eliminate(p,m,n);
+    if (e.rank<n) { return RationalFloat.ZERO; }
+    return RationalFloat.valueOf(
+      p[n-1][n-1]!=e.oddSwaps,
+      m[n-1][n-1],
+      scale.denominator,
+      scale.exponent); }
+
+  /** Exact determinant; modular from
+   * {@link #modularThreshold()} rows on.
+   * @throws IllegalArgumentException unless square.
+   */
+
+  public final RationalFloat determinant () {
+    checkSquare();
+    if (nRows()>=modularThreshold) { return determinantModular(); }
+    return determinantBareiss(); }
+
+  /** Exact solution of <code>this*x=b</code>; modular from
+   * {@link #modularThreshold()} rows on.
+   * @throws IllegalArgumentException unless square, with
+   * <code>b</code> of matching length.
+   * @throws ArithmeticException if singular.
+   */
+
+  public final RationalFloat[] solve (final RationalFloat[] b) {
+    checkSquare();
+    checkRhs(b);
+    if (nRows()>=modularThreshold) { return solveModular(b); }
+    return solveBareiss(b); }
+
+  public final RationalFloat[] solveBareiss (final RationalFloat[] b) {
+    checkSquare();
+    checkRhs(b);
+    final int n = nRows();
+    final RationalFloat[][] rhs = new RationalFloat[n][1];
+    for (int i=0;i<n;i++) { rhs[i][0] = b[i]; }
+    final RationalFloat[][] x = solveBareiss(rhs);
+    final RationalFloat[] y = new RationalFloat[n];
+    for (int i=0;i<n;i++) { y[i] = x[i][0]; }
+    return y; }
+
+  public final RationalFloat[] solve (final double[] b) {
+    final RationalFloat[] q = new RationalFloat[b.length];
+    for (int i=0;i<b.length;i++) { q[i] = RationalFloat.valueOf(b[i]); }
+    return solve(q); }
+
+  /** Exact inverse.
+   * @throws IllegalArgumentException unless square.
+   * @throws ArithmeticException if singular.
+   */
+
+  public final RationalFloatMatrix inverse () {
+    checkSquare();
+    final int n = nRows();
+    return new RationalFloatMatrix(solveBareiss(identityRows(n))); }
+
+  //--------------------------------------------------------------
+  // modular
+  //--------------------------------------------------------------
+  // primes just below 2^31, so products of residues fit in a
+  // long; found by trial division, and cached
+
+  private static final List<Long> PRIMES = new ArrayList<Long>();
+
+  private static final boolean isPrime (final long q) {
+    if (0L==(q&1L)) { return false; }
+    for (long f=3L;(f*f)<=q;f+=2L) {
+      if (0L==(q%f)) { return false; } }
+    return true; }
+
+  private static final synchronized long[] primes (final int start,
+                                                   final int count) {
+    long q = PRIMES.isEmpty() ? (1L<<31) : PRIMES.get(PRIMES.size()-1);
+    while (PRIMES.size()<(start+count)) {
+      do { q--; } while (! isPrime(q));
+      PRIMES.add(Long.valueOf(q)); }
+    final long[] ps = new long[count];
+    for (int i=0;i<count;i++) { ps[i] = PRIMES.get(start+i).longValue(); }
+    return ps; }
+
+  private static final long residue (final boolean pu,
+                                     final BoundedNatural u,
+                                     final long q) {
+    long r = 0L;
+    for (int i=u.hiInt()-1;i>=0;i--) {
+      r = ((r<<32)|u.uword(i)) % q; }
+    return (pu || (0L==r)) ? r : (q-r); }
+
+  private static final long inverse (final long a,
+                                     final long q) {
+    // a^(q-2) mod q
+    long r = 1L;
+    long b = a;
+    for (long e=q-2L;0L<e;e>>>=1) {
+      if (0L!=(e&1L)) { r = (r*b)%q; }
+      b = (b*b)%q; }
+    return r; }
+
+  /** Solve <code>[A|b]</code> mod <code>q</code> in place.
+   * @return <code>{det, det*x[0], ..., det*x[n-1]}</code>,
+   * for each right hand side column in turn, mod
+   * <code>q</code>, or <code>null</code> if singular mod
+   * <code>q</code>.
+   */
+
+  private static final long[] solveMod (final long[][] a,
+                                        final int n,
+                                        final long q) {
+    final int nc = a[0].length;
+    long det = 1L;
+    for (int c=0;c<n;c++) {
+      int k = c;
+      while ((k<n) && (0L==a[k][c])) { k++; }
+      if (k==n) { return null; }
+      if (k!=c) {
+        final long[] t = a[k]; a[k] = a[c]; a[c] = t;
+        det = q-det; }
+      final long[] ac = a[c];
+      det = (det*ac[c])%q;
+      final long inv = inverse(ac[c],q);
+      for (int j=c;j<nc;j++) { ac[j] = (ac[j]*inv)%q; }
+      for (int i=0;i<n;i++) {
+        if ((i==c) || (0L==a[i][c])) { continue; }
+        final long[] ai = a[i];
+        final long f = ai[c];
+        for (int j=c;j<nc;j++) {
+          ai[j] = (ai[j] + ((q-f)*ac[j]))%q; } } }
+    final int nb = nc-n;
+    final long[] y = new long[1+(n*nb)];
+    y[0] = det;
+    for (int t=0;t<nb;t++) {
+      for (int i=0;i<n;i++) { y[1+(t*n)+i] = (det*a[i][n+t])%q; } }
+    return y; }
+
+  /** Bits in Hadamard's bound on the absolute value of any
+   * n by n minor of the integer rows.
+   */
+
+  private static final int hadamardBits (final BoundedNatural[][] m) {
+    final int n = m.length;
+    final int nc = m[0].length;
+    final double half = 0.5*(Math.log(nc)/Math.log(2.0));
+    double bits = 0.0;
+    for (int i=0;i<n;i++) {
+      int b = 0;
+      for (int j=0;j<nc;j++) { b = Math.max(b,m[i][j].hiBit()); }
+      bits += b + half; }
+    return (int) Math.ceil(bits)+1; }
+
+  /** Signed Chinese remainder reconstruction, Garner style. */
+
+  private static final void crt (final long[][] residues,
+                                 final long[] qs,
+                                 final int count,
+                                 final int k,
+                                 final boolean[] p,
+                                 final BoundedNatural[] m,
+                                 final int j) {
+    BoundedNatural x = BoundedNatural.valueOf(residues[0][k]);
+    BoundedNatural modulus = BoundedNatural.valueOf(qs[0]);
+    for (int i=1;i<count;i++) {
+      final long q = qs[i];
+      final long xq = residue(true,x,q);
+      final long mq = residue(true,modulus,q);
+      final long t =
+        (((residues[i][k] + q - xq)%q) * inverse(mq,q))%q;
+      x = x.add(modulus.multiply(t));
+      modulus = modulus.multiply(q); }
+    if (0<x.shiftUp(1).compareTo(modulus)) {
+      p[j] = false;
+      m[j] = modulus.subtract(x); }
+    else {
+      p[j] = true;
+      m[j] = x; } }
+
+  /** Determinant and Cramer numerators of the integer rows,
+   * as <code>(p,m)</code> pairs, index 0 the determinant.
+   * Primes dividing the determinant are skipped, until their
+   * product exceeds Hadamard's bound, which proves the matrix
+   * singular.
+   * @return <code>false</code> if singular.
+   */
+
+  private static final boolean modular (final boolean[][] p,
+                                        final BoundedNatural[][] m,
+                                        final boolean[] pp,
+                                        final BoundedNatural[] mm) {
+    final int n = m.length;
+    final int nc = m[0].length;
+    final int bits = hadamardBits(m);
+    final int needed = 2 + (bits/30);
+    final long[][] residues = new long[needed][];
+    final long[] qs = new long[needed];
+    int good = 0;
+    int next = 0;
+    int zeroBits = 0;
+    while (good<needed) {
+      final long[] batch = primes(next,needed-good);
+      next += batch.length;
+      final long[][] results = new long[batch.length][];
+      forEach(n,0,batch.length,(t) -> {
+        final long q = batch[t];
+        final long[][] a = new long[n][nc];
+        for (int i=0;i<n;i++) {
+          for (int j=0;j<nc;j++) { a[i][j] = residue(p[i][j],m[i][j],q); } }
+        results[t] = solveMod(a,n,q); });
+      for (int t=0;t<batch.length;t++) {
+        if (null==results[t]) {
+          // det = 0 mod q: either singular or a bad prime
+          zeroBits += 30;
+          if (zeroBits>bits) { return false; } }
+        else if (good<needed) {
+          residues[good] = results[t];
+          qs[good] = batch[t];
+          good++; } } }
+    for (int k=0;k<residues[0].length;k++) {
+      crt(residues,qs,needed,k,pp,mm,k); }
+    return true; }
+
+  public final RationalFloat determinantModular () {
+    checkSquare();
+    final int n = nRows();
+    if (0==n) { return RationalFloat.valueOf(1.0); }
+    final boolean[][] p = new boolean[n][];
+    final BoundedNatural[][] m = new BoundedNatural[n][];
+    final Scale scale = new Scale();
+    integerRows(null,p,m,scale);
+    final boolean[] pp = new boolean[1];
+    final BoundedNatural[] mm = new BoundedNatural[1];
+    if (! modular(p,m,pp,mm) || mm[0].isZero()) {
+      return RationalFloat.ZERO; }
+    return RationalFloat.valueOf(
+      pp[0],mm[0],scale.denominator,scale.exponent); }
+
+  public final RationalFloat[] solveModular (final RationalFloat[] b) {
+    checkSquare();
+    checkRhs(b);
+    final int n = nRows();
+    if (0==n) { return new RationalFloat[0]; }
+    final RationalFloat[][] rhs = new RationalFloat[n][1];
+    for (int i=0;i<n;i++) { rhs[i][0] = b[i]; }
+    final boolean[][] p = new boolean[n][];
+    final BoundedNatural[][] m = new BoundedNatural[n][];
+    integerRows(rhs,p,m,null);
+    final boolean[] pp = new boolean[n+1];
+    final BoundedNatural[] mm = new BoundedNatural[n+1];
+    if (! modular(p,m,pp,mm) || mm[0].isZero()) {
+      throw new ArithmeticException("singular matrix"); }
+    final RationalFloat[] x = new RationalFloat[n];
+    for (int i=0;i<n;i++) {
+      x[i] = mm[i+1].isZero() ? RationalFloat.ZERO
+        : RationalFloat.valueOf(pp[i+1]==pp[0],mm[i+1],mm[0],0); }
+    return x; }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final int hashCode () { return Arrays.deepHashCode(_rows); }
+
+  @Override
+  public final boolean equals (final Object x) {
+    if (this==x) { return true; }
+    if (! (x instanceof RationalFloatMatrix)) { return false; }
+    return Arrays.deepEquals(_rows,((RationalFloatMatrix) x)._rows); }
+
+  @Override
+  public final String toString () {
+    return "RationalFloatMatrix" + Arrays.deepToString(_rows); }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private RationalFloatMatrix (final RationalFloat[][] rows) {
+    _rows = rows; }
+
+  private static final RationalFloat[][] identityRows (final int n) {
+    final RationalFloat[][] a = new RationalFloat[n][n];
+    final RationalFloat one = RationalFloat.valueOf(1.0);
+    for (int i=0;i<n;i++) {
+      Arrays.fill(a[i],RationalFloat.ZERO);
+      a[i][i] = one; }
+    return a; }
+
+  public static final RationalFloatMatrix identity (final int n) {
+    return new RationalFloatMatrix(identityRows(n)); }
+
+  /** Copies <code>rows</code>.
+   * @throws IllegalArgumentException if ragged.
+   */
+
+  public static final RationalFloatMatrix make (final RationalFloat[][] rows) {
+    final int m = rows.length;
+    final int n = (0==m) ? 0 : rows[0].length;
+    final RationalFloat[][] a = new RationalFloat[m][];
+    for (int i=0;i<m;i++) {
+      if (rows[i].length != n) {
+        throw new IllegalArgumentException(
+          "ragged rows: " + rows[i].length + " != " + n); }
+      a[i] = rows[i].clone(); }
+    return new RationalFloatMatrix(a); }
+
+  public static final RationalFloatMatrix valueOf (final double[][] rows) {
+    final int m = rows.length;
+    final RationalFloat[][] a = new RationalFloat[m][];
+    for (int i=0;i<m;i++) {
+      final int n = rows[i].length;
+      a[i] = new RationalFloat[n];
+      for (int j=0;j<n;j++) { a[i][j] = RationalFloat.valueOf(rows[i][j]); } }
+    return make(a); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,317 @@
+package sicpplus.java.linear;
+
+import static sicpplus.java.numbers.BoundedNatural.ONE;
+
+import java.util.Arrays;
+
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.numbers.RationalFloats;
+
+/** Immutable vector of rationals with one shared denominator and
+ * exponent:
+ * coordinate <code>i</code> is
+ * <code>(-1)<sup>p[i]</sup> * n[i] / d * 2<sup>e</sup></code>.
+ * <p>
+ * A <code>RationalFloat[]</code> carries a denominator per
+ * coordinate, so vector operations do a gcd per coordinate.
+ * Here {@link #add(RationalFloatVector)} does at most one gcd,
+ * of the two denominators, and none when they are equal (eg,
+ * vectors from <code>double[]</code>, where the denominator is
+ * 1); {@link #scale(RationalFloat)} does at most one, and
+ * {@link #dot(RationalFloatVector)} none.
+ * <p>
+ * Not reduced, except by {@link #reduce()}, which cancels the
+ * common factor of the denominator and all numerators.
+ * <p>
+ * Accepted as an element by {@link Qn} and
+ * {@link RationalFloatsN}.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class RationalFloatVector {
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  private final boolean[] _nonNegative;
+  private final BoundedNatural[] _numerators;
+
+  private final BoundedNatural _denominator;
+  public final BoundedNatural denominator () { return _denominator; }
+
+  private final int _exponent;
+  public final int exponent () { return _exponent; }
+
+  public final int dimension () { return _numerators.length; }
+
+  public final boolean nonNegative (final int i) {
+    return _nonNegative[i]; }
+
+  public final BoundedNatural numerator (final int i) {
+    return _numerators[i]; }
+
+  public final RationalFloat get (final int i) {
+    if (_numerators[i].isZero()) { return RationalFloat.ZERO; }
+    return RationalFloat.valueOf(
+      _nonNegative[i],_numerators[i],_denominator,_exponent); }
+
+  public final boolean isZero () {
+    for (final BoundedNatural ni : _numerators) {
+      if (! ni.isZero()) { return false; } }
+    return true; }
+
+  //--------------------------------------------------------------
+  // arithmetic
+  //--------------------------------------------------------------
+
+  private static final BoundedNatural scaled (final BoundedNatural n,
+                                              final BoundedNatural a,
+                                              final int upShift) {
+    final BoundedNatural na = a.isOne() ? n : n.multiply(a);
+    return (0==upShift) ? na : na.shiftUp(upShift); }
+
+  /** Exact sum. One gcd, unless the denominators are equal. */
+
+  public final RationalFloatVector add (final RationalFloatVector that) {
+    final int n = dimension();
+    assert n==that.dimension();
+    final BoundedNatural d0 = _denominator;
+    final BoundedNatural d1 = that._denominator;
+    final BoundedNatural a0;
+    final BoundedNatural a1;
+    final BoundedNatural d;
+    if (d0.equals(d1)) { a0 = ONE; a1 = ONE; d = d0; }
+    else {
+      final BoundedNatural g = d0.gcd(d1);
+      a0 = g.isOne() ? d1 : d1.exactDivide(g);
+      a1 = g.isOne() ? d0 : d0.exactDivide(g);
+      d = d0.multiply(a0); }
+    final int e = Math.min(_exponent,that._exponent);
+    final int s0 = _exponent-e;
+    final int s1 = that._exponent-e;
+
+    final boolean[] pp = new boolean[n];
+    final BoundedNatural[] nn = new BoundedNatural[n];
+    for (int i=0;i<n;i++) {
+      final boolean p0 = _nonNegative[i];
+      final boolean p1 = that._nonNegative[i];
+      final BoundedNatural u = scaled(_numerators[i],a0,s0);
+      final BoundedNatural v = scaled(that._numerators[i],a1,s1);
+      if (p0==p1) { pp[i] = p0; nn[i] = u.add(v); }
+      else {
+        final int c = u.compareTo(v);
+        if (0<=c) { pp[i] = (0==c) || p0; nn[i] = u.subtract(v); }
+        else { pp[i] = p1; nn[i] = v.subtract(u); } } }
+    return new RationalFloatVector(pp,nn,d,e); }
+
+  public final RationalFloatVector negate () {
+    final int n = dimension();
+    final boolean[] pp = new boolean[n];
+    for (int i=0;i<n;i++) {
+      pp[i] = _numerators[i].isZero() || (! _nonNegative[i]); }
+    return new RationalFloatVector(pp,_numerators,_denominator,_exponent); }
+
+  public final RationalFloatVector subtract (final RationalFloatVector that) {
+    return add(that.negate()); }
+
+  /** Exact <code>a*this</code>. One gcd, of the numerator of
+   * <code>a</code> and the shared denominator, unless either is
+   * 1.
+   */
+
+  public final RationalFloatVector scale (final RationalFloat a) {
+    final int n = dimension();
+    if (a.isZero()) { return zero(n); }
+    final BoundedNatural na0 = a.numerator();
+    final BoundedNatural d0 = _denominator;
+    final BoundedNatural na;
+    final BoundedNatural d;
+    if (na0.isOne() || d0.isOne()) { na = na0; d = d0; }
+    else {
+      final BoundedNatural g = na0.gcd(d0);
+      na = g.isOne() ? na0 : na0.exactDivide(g);
+      d = g.isOne() ? d0 : d0.exactDivide(g); }
+    final boolean pa = a.nonNegative();
+    final boolean[] pp = new boolean[n];
+    final BoundedNatural[] nn = new BoundedNatural[n];
+    for (int i=0;i<n;i++) {
+      final BoundedNatural ni = _numerators[i];
+      pp[i] = ni.isZero() || (pa==_nonNegative[i]);
+      nn[i] = na.isOne() ? ni : ni.multiply(na); }
+    final BoundedNatural da = a.denominator();
+    return new RationalFloatVector(
+      pp,nn,da.isOne() ? d : d.multiply(da),_exponent+a.exponent()); }
+
+  /** Exact inner product. No gcds: all the coordinate products
+   * share the denominator and exponent.
+   */
+
+  public final RationalFloat dot (final RationalFloatVector that) {
+    final int n = dimension();
+    assert n==that.dimension();
+    BoundedNatural pos = BoundedNatural.ZERO;
+    BoundedNatural neg = BoundedNatural.ZERO;
+    for (int i=0;i<n;i++) {
+      final BoundedNatural n0 = _numerators[i];
+      final BoundedNatural n1 = that._numerators[i];
+      if (n0.isZero() || n1.isZero()) { continue; }
+      final BoundedNatural t = n0.multiply(n1);
+      if (_nonNegative[i]==that._nonNegative[i]) { pos = pos.add(t); }
+      else { neg = neg.add(t); } }
+    final int c = pos.compareTo(neg);
+    if (0==c) { return RationalFloat.ZERO; }
+    return RationalFloat.valueOf(
+      0<c,
+      (0<c) ? pos.subtract(neg) : neg.subtract(pos),
+      _denominator.multiply(that._denominator),
+      _exponent+that._exponent); }
+
+  //--------------------------------------------------------------
+  /** Cancel the common factor of the denominator and all the
+   * numerators, moving powers of 2 into the exponent. The gcd
+   * chain stops as soon as it reaches 1.
+   */
+
+  public final RationalFloatVector reduce () {
+    final int n = dimension();
+    if (isZero()) { return zero(n); }
+    int s = Integer.MAX_VALUE;
+    for (final BoundedNatural ni : _numerators) {
+      if (! ni.isZero()) { s = Math.min(s,ni.loBit()); } }
+    final int sd = _denominator.loBit();
+    final BoundedNatural d0 =
+      (0==sd) ? _denominator : _denominator.shiftDown(sd);
+    BoundedNatural g = d0;
+    for (final BoundedNatural ni : _numerators) {
+      if (g.isOne()) { break; }
+      if (! ni.isZero()) { g = g.gcd(ni.shiftDown(s)); } }
+    final BoundedNatural[] nn = new BoundedNatural[n];
+    for (int i=0;i<n;i++) {
+      final BoundedNatural ni = _numerators[i];
+      if (ni.isZero()) { nn[i] = ni; continue; }
+      final BoundedNatural ns = (0==s) ? ni : ni.shiftDown(s);
+      nn[i] = g.isOne() ? ns : ns.exactDivide(g); }
+    return new RationalFloatVector(
+      _nonNegative.clone(),
+      nn,
+      g.isOne() ? d0 : d0.exactDivide(g),
+      (_exponent+s)-sd); }
+
+  //--------------------------------------------------------------
+  // conversion
+  //--------------------------------------------------------------
+  /** Unreduced coordinates, sharing the denominator. */
+
+  public final RationalFloat[] toRationalFloats () {
+    final int n = dimension();
+    final RationalFloat[] q = new RationalFloat[n];
+    for (int i=0;i<n;i++) { q[i] = get(i); }
+    return q; }
+
+  /** Coordinates of a {@link RationalFloatVector}, or of any
+   * array accepted by {@link RationalFloats#toRationalFloat(Object)},
+   * as <code>RationalFloat[]</code>.
+   */
+
+  public static final RationalFloat[] toRationalFloats (final Object x) {
+    if (x instanceof RationalFloatVector) {
+      return ((RationalFloatVector) x).toRationalFloats(); }
+    return RationalFloats.toRationalFloat(x); }
+
+  public final double[] doubleValues () {
+    final int n = dimension();
+    final double[] x = new double[n];
+    for (int i=0;i<n;i++) { x[i] = get(i).doubleValue(); }
+    return x; }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final int hashCode () {
+    return Arrays.hashCode(toRationalFloats()); }
+
+  @Override
+  public final boolean equals (final Object x) {
+    if (this==x) { return true; }
+    if (! (x instanceof RationalFloatVector)) { return false; }
+    final RationalFloatVector that = (RationalFloatVector) x;
+    final int n = dimension();
+    if (n!=that.dimension()) { return false; }
+    for (int i=0;i<n;i++) {
+      if (! get(i).equals(that.get(i))) { return false; } }
+    return true; }
+
+  @Override
+  public final String toString () {
+    return "RationalFloatVector" + Arrays.toString(toRationalFloats()); }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private RationalFloatVector (final boolean[] nonNegative,
+                               final BoundedNatural[] numerators,
+                               final BoundedNatural denominator,
+                               final int exponent) {
+    _nonNegative = nonNegative;
+    _numerators = numerators;
+    _denominator = denominator;
+    _exponent = exponent; }
+
+  public static final RationalFloatVector zero (final int n) {
+    final boolean[] pp = new boolean[n];
+    Arrays.fill(pp,true);
+    final BoundedNatural[] nn = new BoundedNatural[n];
+    Arrays.fill(nn,BoundedNatural.ZERO);
+    return new RationalFloatVector(pp,nn,ONE,0); }
+
+  /** Exact. The shared denominator is the lcm of the
+   * coordinate denominators, computed with one gcd per distinct
+   * denominator, and none when they are all 1.
+   */
+
+  public static final RationalFloatVector
+  valueOf (final RationalFloat[] q) {
+    final int n = q.length;
+    BoundedNatural d = ONE;
+    int e = Integer.MAX_VALUE;
+    for (final RationalFloat qi : q) {
+      if (qi.isZero()) { continue; }
+      e = Math.min(e,qi.exponent());
+      final BoundedNatural di = qi.denominator();
+      if (di.isOne() || di.equals(d)) { continue; }
+      final BoundedNatural g = d.gcd(di);
+      d = d.multiply(g.isOne() ? di : di.exactDivide(g)); }
+    if (Integer.MAX_VALUE==e) { return zero(n); }
+    final boolean[] pp = new boolean[n];
+    final BoundedNatural[] nn = new BoundedNatural[n];
+    for (int i=0;i<n;i++) {
+      final RationalFloat qi = q[i];
+      if (qi.isZero()) {
+        pp[i] = true; nn[i] = BoundedNatural.ZERO; continue; }
+      pp[i] = qi.nonNegative();
+      final BoundedNatural di = qi.denominator();
+      nn[i] = scaled(
+        qi.numerator(),
+        di.equals(d) ? ONE : d.exactDivide(di),
+        qi.exponent()-e); }
+    return new RationalFloatVector(pp,nn,d,e); }
+
+  /** Exact, with denominator 1. */
+
+  public static final RationalFloatVector valueOf (final double[] x) {
+    final int n = x.length;
+    final RationalFloat[] q = new RationalFloat[n];
+    for (int i=0;i<n;i++) { q[i] = RationalFloat.valueOf(x[i]); }
+    return valueOf(q); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
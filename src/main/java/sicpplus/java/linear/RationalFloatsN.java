@@ -29,8 +29,14 @@ import sicpplus.java.prng.Generator;
  * Long term goal is to support any useful data structures
  * that can be used to represent tuples of rational numbers.
  *
+ * <p>
+ * {@link RationalFloatVector}s are elements too, with
+ * overloads of <code>add</code>, <code>negate</code> and
+ * <code>scale</code> that return them; mixed operands go
+ * through <code>RationalFloat[]</code>.
+ *
  * @author palisades dot lakes at gmail dot com
- * @version 2019-10-12
+ * @version 2026-10-18
  */
 @SuppressWarnings("unchecked")
 public final class RationalFloatsN extends LinearSpaceLike  {
@@ -45,15 +51,21 @@ public final class RationalFloatsN extends LinearSpaceLike  {
 
   @Override
   public final RationalFloat[] add (final Object x0,
-                               final Object x1) {
+                                    final Object x1) {
     assert contains(x0);
     assert contains(x1);
-    final RationalFloat[] q0 = (RationalFloat[]) x0;
-    final RationalFloat[] q1 = (RationalFloat[]) x1;
+    final RationalFloat[] q0 = RationalFloatVector.toRationalFloats(x0);
+    final RationalFloat[] q1 = RationalFloatVector.toRationalFloats(x1);
     final RationalFloat[] qq = new RationalFloat[dimension()];
     for (int i=0;i<dimension();i++) { qq[i] = q0[i].add(q1[i]); }
     return qq; }
 
+  public final RationalFloatVector add (final RationalFloatVector x0,
+                                        final RationalFloatVector x1) {
+    assert contains(x0);
+    assert contains(x1);
+    return x0.add(x1); }
+
   //--------------------------------------------------------------
 
   @Override
@@ -67,23 +79,32 @@ public final class RationalFloatsN extends LinearSpaceLike  {
   @Override
   public final RationalFloat[] negate (final Object x) {
     assert contains(x);
-    final RationalFloat[] q = (RationalFloat[]) x;
+    final RationalFloat[] q = RationalFloatVector.toRationalFloats(x);
     final RationalFloat[] qq = new RationalFloat[dimension()];
     for (int i=0;i<dimension();i++) { qq[i] = q[i].negate(); }
     return qq; }
 
+  public final RationalFloatVector negate (final RationalFloatVector x) {
+    assert contains(x);
+    return x.negate(); }
+
   //--------------------------------------------------------------
 
   @Override
-  public final Object scale (final Object a,
-                             final Object x) {
+  public final RationalFloat[] scale (final Object a,
+                                      final Object x) {
     assert contains(x);
     final RationalFloat b = (RationalFloat) a;
-    final RationalFloat[] q = (RationalFloat[]) x;
+    final RationalFloat[] q = RationalFloatVector.toRationalFloats(x);
     final RationalFloat[] qq = new RationalFloat[dimension()];
     for (int i=0;i<dimension();i++) { qq[i] = q[i].multiply(b); }
     return qq; }
 
+  public final RationalFloatVector scale (final Object a,
+                                          final RationalFloatVector x) {
+    assert contains(x);
+    return x.scale((RationalFloat) a); }
+
   //--------------------------------------------------------------
   // Set methods
   //--------------------------------------------------------------
@@ -93,8 +114,8 @@ public final class RationalFloatsN extends LinearSpaceLike  {
                                final Object x1) {
     assert contains(x0);
     assert contains(x1);
-    final RationalFloat[] q0 = (RationalFloat[]) x0;
-    final RationalFloat[] q1 = (RationalFloat[]) x1;
+    final RationalFloat[] q0 = RationalFloatVector.toRationalFloats(x0);
+    final RationalFloat[] q1 = RationalFloatVector.toRationalFloats(x1);
     for (int i=0;i<dimension();i++) {
       if (! q0[i].equals(q1[i])) { return false; } }
     return true; }
@@ -103,6 +124,8 @@ public final class RationalFloatsN extends LinearSpaceLike  {
 
   @Override
   public final boolean contains (final Object element) {
+    if (element instanceof RationalFloatVector) {
+      return ((RationalFloatVector) element).dimension()==dimension(); }
     return
       (element instanceof RationalFloat[])
       &&
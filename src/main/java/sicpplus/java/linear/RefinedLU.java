@@ -0,0 +1,382 @@
+package sicpplus.java.linear;
+
+import static sicpplus.java.linear.ParallelRows.forEach;
+import static sicpplus.java.numbers.Doubles.twoSumLow;
+
+import sicpplus.java.accumulators.Accumulator;
+import sicpplus.java.accumulators.ZhuHayesAccumulator;
+
+/** Dense <code>double</code> linear solver: LU factorization
+ * in <code>double</code>, followed by iterative refinement
+ * against exact residuals.
+ * <p>
+ * The factorization is a right-looking blocked LU with partial
+ * pivoting: each panel of {@link #BLOCK} columns is factored
+ * unblocked, and the trailing submatrix is then updated a row
+ * at a time, which keeps the inner loops on contiguous rows.
+ * Cost is the usual <code>2n<sup>3</sup>/3</code> flops; the
+ * factors are reused for every right hand side.
+ * <p>
+ * Refinement carries the solution as an unevaluated sum
+ * <code>x<sub>hi</sub>+x<sub>lo</sub></code> of doubles. Each
+ * step computes <code>r = b - A(x<sub>hi</sub>+x<sub>lo</sub>)
+ * </code> exactly, with an exact {@link Accumulator}
+ * ({@link ZhuHayesAccumulator} by default), rounds it once, and
+ * adds the correction <code>d</code> solving
+ * <code>LUd = Pr</code>. While <code>A</code> isn't too ill
+ * conditioned (roughly <code>cond(A) u &lt; 1/2</code>), each
+ * step contracts the error by about
+ * <code>cond(A) u</code>, well past double precision.
+ * <p>
+ * Iteration stops when the estimated remaining error,
+ * <code>|d| q/(1-q)</code>, with <code>q</code> the observed
+ * contraction of the corrections, is less than the distance from
+ * <code>x<sub>hi</sub>+x<sub>lo</sub></code> to the nearest
+ * rounding boundary in every coordinate: then
+ * <code>x<sub>hi</sub></code> is the correctly rounded
+ * solution. A zero exact residual certifies that
+ * outright. Otherwise iteration stops, reported as stalled, when
+ * the corrections stop contracting by at least half, or after
+ * {@link #MAX_ITERATIONS} steps. The contraction based estimate
+ * is the usual heuristic (Demmel et al., "Error bounds from
+ * extra-precise iterative refinement", ACM TOMS 32(2), 2006),
+ * not a proof.
+ * <p>
+ * Residuals are exact barring overflow, and, with
+ * {@link ZhuHayesAccumulator}, underflow in the low parts of
+ * the products. Use {@link
+ * sicpplus.java.accumulators.RationalFloatAccumulator} for
+ * exactness without exception.
+ * <p>
+ * Opt-in parallelism: from {@link #parallelThreshold()} rows
+ * on, the trailing updates of the factorization run on the
+ * common fork/join pool. Residuals are sequential.
+ * <p>
+ * <em>NOT</em> thread safe: solves share the accumulator.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class RefinedLU {
+
+  /** Columns per panel of the blocked factorization. */
+
+  public static final int BLOCK = 64;
+
+  /** Bound on residual evaluations per solve. */
+
+  public static final int MAX_ITERATIONS = 32;
+
+  /** Corrections that shrink by less than this factor mean
+   * refinement has stalled.
+   */
+
+  private static final double STALL = 0.5;
+
+  //--------------------------------------------------------------
+  // thresholds
+  //--------------------------------------------------------------
+
+  public static final int parallelThreshold () {
+    return ParallelRows.threshold(); }
+
+  /** Parallel trailing updates for matrices with at least
+   * <code>nrows</code> rows; shared with
+   * {@link RationalFloatMatrix}.
+   */
+
+  public static final void setParallelThreshold (final int nrows) {
+    ParallelRows.setThreshold(nrows); }
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  /** The original matrix, for residuals. */
+
+  private final double[][] _a;
+
+  /** Unit lower triangular <code>L</code> below the diagonal,
+   * <code>U</code> on and above, both in pivoted row order.
+   */
+
+  private final double[][] _lu;
+
+  /** Row <code>k</code> was swapped with row
+   * <code>_pivots[k]</code> at step <code>k</code>.
+   */
+
+  private final int[] _pivots;
+
+  private final Accumulator<?> _accumulator;
+  public final Accumulator<?> accumulator () { return _accumulator; }
+
+  public final int dimension () { return _a.length; }
+
+  //--------------------------------------------------------------
+  // factorization
+  //--------------------------------------------------------------
+
+  private static final void swap (final double[][] a,
+                                  final int i,
+                                  final int j) {
+    if (i==j) { return; }
+    final double[] t = a[i]; a[i] = a[j]; a[j] = t; }
+
+  /** Unblocked LU with partial pivoting of columns
+   * <code>[k0,k1)</code>, rows <code>[k0,n)</code>. Whole rows
+   * are swapped.
+   */
+
+  private static final void factorPanel (final double[][] a,
+                                         final int[] pivots,
+                                         final int k0,
+                                         final int k1) {
+    final int n = a.length;
+    for (int k=k0;k<k1;k++) {
+      int p = k;
+      double max = Math.abs(a[k][k]);
+      for (int i=k+1;i<n;i++) {
+        final double aik = Math.abs(a[i][k]);
+        if (aik > max) { max = aik; p = i; } }
+      if (0.0==max) { throw new ArithmeticException("singular matrix"); }
+      pivots[k] = p;
+      swap(a,k,p);
+      final double[] ak = a[k];
+      final double akk = ak[k];
+      for (int i=k+1;i<n;i++) {
+        final double[] ai = a[i];
+        final double l = ai[k]/akk;
+        ai[k] = l;
+        if (0.0==l) { continue; }
+        for (int j=k+1;j<k1;j++) { ai[j] -= l*ak[j]; } } } }
+
+  private static final void factor (final double[][] a,
+                                    final int[] pivots) {
+    final int n = a.length;
+    for (int k0=0;k0<n;k0+=BLOCK) {
+      final int k1 = Math.min(n,k0+BLOCK);
+      factorPanel(a,pivots,k0,k1);
+      if (k1==n) { break; }
+      // U12 = inverse(L11) A12
+      for (int k=k0;k<k1;k++) {
+        final double[] ak = a[k];
+        for (int i=k+1;i<k1;i++) {
+          final double[] ai = a[i];
+          final double l = ai[k];
+          if (0.0==l) { continue; }
+          for (int j=k1;j<n;j++) { ai[j] -= l*ak[j]; } } }
+      // A22 -= L21 U12
+      final int kk0 = k0;
+      forEach(n,k1,n,(i) -> {
+        final double[] ai = a[i];
+        for (int k=kk0;k<k1;k++) {
+          final double l = ai[k];
+          if (0.0==l) { continue; }
+          final double[] ak = a[k];
+          for (int j=k1;j<n;j++) { ai[j] -= l*ak[j]; } } }); } }
+
+  //--------------------------------------------------------------
+  // solves
+  //--------------------------------------------------------------
+
+  private final void checkRhs (final double[] b) {
+    if (b.length != dimension()) {
+      throw new IllegalArgumentException(
+        "wrong right hand side length: " + b.length
+        + " for " + dimension() + " rows"); } }
+
+  /** Overwrite <code>b</code> with the solution of
+   * <code>LUx=Pb</code>.
+   */
+
+  private final double[] luSolve (final double[] b) {
+    final int n = dimension();
+    final double[][] lu = _lu;
+    for (int k=0;k<n;k++) {
+      final int p = _pivots[k];
+      if (p!=k) { final double t = b[k]; b[k] = b[p]; b[p] = t; } }
+    for (int i=1;i<n;i++) {
+      final double[] li = lu[i];
+      double s = b[i];
+      for (int j=0;j<i;j++) { s -= li[j]*b[j]; }
+      b[i] = s; }
+    for (int i=n-1;i>=0;i--) {
+      final double[] ui = lu[i];
+      double s = b[i];
+      for (int j=i+1;j<n;j++) { s -= ui[j]*b[j]; }
+      b[i] = s/ui[i]; }
+    return b; }
+
+  /** Plain LU solve, without refinement. */
+
+  public final double[] solveUnrefined (final double[] b) {
+    checkRhs(b);
+    return luSolve(b.clone()); }
+
+  /** <code>r = b - A(xhi+xlo)</code>, each coordinate the
+   * correctly rounded exact value. Returns false if every
+   * coordinate is zero.
+   */
+
+  private final boolean residual (final double[] b,
+                                  final double[] xhi,
+                                  final double[] xlo,
+                                  final double[] r) {
+    final Accumulator<?> acc = _accumulator;
+    boolean nonZero = false;
+    for (int i=0;i<b.length;i++) {
+      acc.clear();
+      acc.addProducts(_a[i],xhi);
+      acc.addProducts(_a[i],xlo);
+      acc.add(-b[i]);
+      final double ri = -acc.doubleValue();
+      r[i] = ri;
+      nonZero = nonZero || (0.0!=ri); }
+    return nonZero; }
+
+  /** Distance from <code>hi+lo</code> to the nearest point
+   * where round to nearest would change from <code>hi</code>.
+   * Assumes <code>hi==fl(hi+lo)</code>.
+   */
+
+  private static final double margin (final double hi,
+                                      final double lo) {
+    final double up = Math.nextUp(hi)-hi;
+    final double down = hi-Math.nextDown(hi);
+    if (0.0<lo) { return (0.5*up)-lo; }
+    if (0.0>lo) { return (0.5*down)+lo; }
+    return 0.5*Math.min(up,down); }
+
+  private static final boolean isCorrectlyRounded (final double[] xhi,
+                                                   final double[] xlo,
+                                                   final double[] d,
+                                                   final double q) {
+    if (1.0<=q) { return false; }
+    final double f = q/(1.0-q);
+    for (int i=0;i<xhi.length;i++) {
+      final double e = f*Math.abs(d[i]);
+      if ((0.0!=e) && (e>=margin(xhi[i],xlo[i]))) { return false; } }
+    return true; }
+
+  private static final double maxAbs (final double[] x) {
+    double m = 0.0;
+    for (final double xi : x) { m = Math.max(m,Math.abs(xi)); }
+    return m; }
+
+  /** Refine until the solution is correctly rounded or the
+   * iteration stalls.
+   */
+
+  public final Solution refine (final double[] b) {
+    checkRhs(b);
+    final int n = dimension();
+    final double[] xhi = luSolve(b.clone());
+    final double[] xlo = new double[n];
+    final double[] r = new double[n];
+    double previous = maxAbs(xhi);
+    for (int iteration=1;iteration<=MAX_ITERATIONS;iteration++) {
+      if (! residual(b,xhi,xlo,r)) {
+        return new Solution(xhi,iteration,true); }
+      final double[] d = luSolve(r);
+      for (int i=0;i<n;i++) {
+        final double h = xhi[i];
+        final double s = h+d[i];
+        final double l = xlo[i]+twoSumLow(h,d[i],s);
+        final double hi = s+l;
+        xhi[i] = hi;
+        xlo[i] = twoSumLow(s,l,hi); }
+      final double current = maxAbs(d);
+      final double q = current/previous;
+      if (isCorrectlyRounded(xhi,xlo,d,q)) {
+        return new Solution(xhi,iteration,true); }
+      if (STALL<q) { return new Solution(xhi,iteration,false); }
+      previous = current; }
+    return new Solution(xhi,MAX_ITERATIONS,false); }
+
+  /** Refined solution, correctly rounded unless refinement
+   * stalled.
+   */
+
+  public final double[] solve (final double[] b) {
+    return refine(b).x(); }
+
+  //--------------------------------------------------------------
+  /** Result of {@link RefinedLU#refine(double[])}. */
+
+  public static final class Solution {
+
+    private final double[] _x;
+    public final double[] x () { return _x.clone(); }
+
+    /** Number of exact residuals computed. */
+
+    private final int _iterations;
+    public final int iterations () { return _iterations; }
+
+    /** Whether {@link #x()} is estimated to be the correctly
+     * rounded solution, rather than the last iterate of a
+     * stalled refinement.
+     */
+
+    private final boolean _correctlyRounded;
+    public final boolean correctlyRounded () {
+      return _correctlyRounded; }
+
+    @Override
+    public final String toString () {
+      return "Solution[" + _iterations + " iterations, "
+        + (_correctlyRounded ? "correctly rounded" : "stalled")
+        + "]"; }
+
+    private Solution (final double[] x,
+                      final int iterations,
+                      final boolean correctlyRounded) {
+      _x = x;
+      _iterations = iterations;
+      _correctlyRounded = correctlyRounded; } }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private RefinedLU (final double[][] a,
+                     final Accumulator<?> accumulator) {
+    final int n = a.length;
+    _a = new double[n][];
+    _lu = new double[n][];
+    for (int i=0;i<n;i++) {
+      if (a[i].length != n) {
+        throw new IllegalArgumentException(
+          "not square: row " + i + " has " + a[i].length
+          + " columns, not " + n); }
+      _a[i] = a[i].clone();
+      _lu[i] = a[i].clone(); }
+    _pivots = new int[n];
+    factor(_lu,_pivots);
+    _accumulator = accumulator; }
+
+  /** Factor a copy of <code>a</code>; residuals accumulated with
+   * <code>accumulator</code>, which must be exact.
+   *
+   * @throws ArithmeticException if <code>a</code> is singular in
+   * <code>double</code> arithmetic.
+   */
+
+  public static final RefinedLU make (final double[][] a,
+                                      final Accumulator<?> accumulator) {
+    if (! accumulator.isExact()) {
+      throw new IllegalArgumentException(
+        "inexact accumulator: " + accumulator); }
+    return new RefinedLU(a,accumulator); }
+
+  /** Residuals accumulated with {@link ZhuHayesAccumulator}. */
+
+  public static final RefinedLU make (final double[][] a) {
+    return make(a,ZhuHayesAccumulator.make()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -4,6 +4,7 @@ import static sicpplus.java.numbers.Doubles.doubleMergeBits;
 import static sicpplus.java.numbers.Floats.floatMergeBits;
 import static sicpplus.java.numbers.Numbers.loBit;
 
+import java.util.List;
 import java.util.Objects;
 
 import sicpplus.java.exceptions.Exceptions;
@@ -43,7 +44,11 @@ implements Ringlike<BigFloat> {
 
   @Override
   public final boolean isOne () {
-    return this.isOne(); }
+    // significand 2^s, exponent -s
+    if (! nonNegative()) { return false; }
+    final BoundedNatural t = significand();
+    final int s = t.loBit();
+    return (t.hiBit()==(s+1)) && (exponent()==-s); }
 
   //--------------------------------------------------------------
 
@@ -200,6 +205,64 @@ implements Ringlike<BigFloat> {
       q.significand(),
       q.exponent()); }
 
+  //--------------------------------------------------------------
+  // fused multiply-add
+  //--------------------------------------------------------------
+  /** Exact <code>&plusmn;t0*2<sup>e0</sup>
+   * &plusmn; x*y*2<sup>e1</sup></code>, with the product
+   * accumulated into the sum by
+   * {@link BoundedNatural#multiplyAdd(BoundedNatural,BoundedNatural)}
+   * or
+   * {@link BoundedNatural#multiplySubtract(BoundedNatural,BoundedNatural)}.
+   * When the signs differ, the sign of the result is decided
+   * from bit lengths where possible, and the product is only
+   * formed when they are too close to call.
+   * Shared with {@link RationalFloat}.
+   */
+
+  static final BigFloat multiplyAdd (final boolean p0,
+                                     final BoundedNatural t0,
+                                     final int e0,
+                                     final boolean p1,
+                                     final BoundedNatural x,
+                                     final BoundedNatural y,
+                                     final int e1) {
+    if (x.isZero() || y.isZero()) { return valueOf(p0,t0,e0); }
+    final int e = Math.min(e0,e1);
+    final BoundedNatural a =
+      (e0>e) ? t0.shiftUp(Math.subtractExact(e0,e)) : t0;
+    final BoundedNatural b =
+      (e1>e) ? x.shiftUp(Math.subtractExact(e1,e)) : x;
+    if (p0==p1) { return valueOf(p0,a.multiplyAdd(b,y),e); }
+    // b*y has hb-1 or hb bits
+    final int ha = a.hiBit();
+    final int hb = b.hiBit() + y.hiBit();
+    if (ha>hb) { return valueOf(p0,a.multiplySubtract(b,y),e); }
+    final BoundedNatural by = b.multiply(y);
+    if (ha<(hb-1)) { return valueOf(p1,by.subtract(a),e); }
+    final int c = a.compareTo(by);
+    if (0<c) { return valueOf(p0,a.subtract(by),e); }
+    if (0>c) { return valueOf(p1,by.subtract(a),e); }
+    return ZERO; }
+
+  @Override
+  public final BigFloat multiplyAdd (final BigFloat a,
+                                     final BigFloat b) {
+    return multiplyAdd(
+      nonNegative(),significand(),exponent(),
+      a.nonNegative()==b.nonNegative(),
+      a.significand(),b.significand(),
+      Math.addExact(a.exponent(),b.exponent())); }
+
+  @Override
+  public final BigFloat multiplySubtract (final BigFloat a,
+                                          final BigFloat b) {
+    return multiplyAdd(
+      nonNegative(),significand(),exponent(),
+      a.nonNegative()!=b.nonNegative(),
+      a.significand(),b.significand(),
+      Math.addExact(a.exponent(),b.exponent())); }
+
   //--------------------------------------------------------------
   // used in Rational.addWithDenom()?
 
@@ -381,7 +444,7 @@ implements Ringlike<BigFloat> {
   axpy (final double a,
         final BigFloat x,
         final double y) {
-    return x.multiply(a).add(y); }
+    return valueOf(y).multiplyAdd(x,valueOf(a)); }
 
   /** Exact <code>a*this+y</code> (aka fma). */
 
@@ -461,6 +524,14 @@ implements Ringlike<BigFloat> {
     for (int i=0;i<n;i++) { s = s.addL2(z0[i],z1[i]); }
     return s; }
 
+  //--------------------------------------------------------------
+  /** Round to {@link BigFloatContext#precision()} bits, with
+   * <code>mc</code>'s rounding mode.
+   */
+
+  public final BigFloat round (final BigFloatContext mc) {
+    return mc.round(this); }
+
   //--------------------------------------------------------------
   // Number methods
   //--------------------------------------------------------------
@@ -501,8 +572,9 @@ implements Ringlike<BigFloat> {
       final int e1 = e0 + es;
       final int s1 = (s0.intValue() << -es);
       return floatMergeBits(p0,s1,e1); }
-    if (eh <= es) { return (p0 ? 0.0F : -0.0F); }
-    // eh > es > 0
+    // below half the smallest subnormal
+    if (eh < es) { return (p0 ? 0.0F : -0.0F); }
+    // eh >= es > 0
     final boolean up = s0.roundUp(es);
     // TODO: faster way to select the right bits as a int?
     //final int s1 = s0.shiftDown(es).intValue();
@@ -551,8 +623,9 @@ implements Ringlike<BigFloat> {
       final int e1 = e0 + es;
       final long s1 = (s0.longValue() << -es);
       return doubleMergeBits(p0,s1,e1); }
-    if (eh <= es) { return (p0 ? 0.0 : -0.0); }
-    // eh > es > 0
+    // below half the smallest subnormal
+    if (eh < es) { return (p0 ? 0.0 : -0.0); }
+    // eh >= es > 0
     final boolean up = s0.roundUp(es);
     final long s1 = s0.getShiftedLong(es);
     final int e1 = e0 + es;
@@ -633,6 +706,17 @@ implements Ringlike<BigFloat> {
       + "0x" + significand().toString()
       + "p" + exponent(); }
 
+  /** Exact positional decimal, like <code>-12.375</code>;
+   * always terminates, since the denominator is a power of 2.
+   * Subquadratic for large values; see {@link NaturalDecimal}.
+   */
+
+  public final String toDecimalString () {
+    if (isZero()) { return "0"; }
+    return
+      (nonNegative() ? "" : "-")
+      + NaturalDecimal.toDecimalString(significand(),exponent()); }
+
   //--------------------------------------------------------------
   // construction
   //--------------------------------------------------------------
@@ -686,6 +770,32 @@ implements Ringlike<BigFloat> {
     //return reduce(p0,t0,e0); }
     return new BigFloat(p,t,e); }
 
+  //--------------------------------------------------------------
+  /** Inverse of {@link #toDecimalString()}. Accepts the same
+   * forms as {@link RationalFloat#parseDecimal(String)}, but only
+   * values that are exactly representable, that is, with a power
+   * of 2 denominator.
+   * @throws NumberFormatException if <code>s</code> isn't a
+   * decimal number.
+   * @throws ArithmeticException if the value isn't exactly a
+   * <code>BigFloat</code>, eg <code>0.1</code>.
+   */
+
+  public static final BigFloat parseDecimal (final String s) {
+    final RationalFloat r = RationalFloat.parseDecimal(s);
+    if (r.isZero()) { return ZERO; }
+    final BoundedNatural d = r.denominator();
+    if (d.isOne()) {
+      return valueOf(r.nonNegative(),r.numerator(),r.exponent()); }
+    final int ed = d.loBit();
+    final BoundedNatural d0 = (0<ed) ? d.shiftDown(ed) : d;
+    final List<BoundedNatural> qr =
+      r.numerator().divideAndRemainder(d0);
+    if (! qr.get(1).isZero()) {
+      throw new ArithmeticException(
+        "not exactly representable as BigFloat: " + s); }
+    return valueOf(r.nonNegative(),qr.get(0),r.exponent()-ed); }
+
   //--------------------------------------------------------------
 
   private static final BigFloat valueOf (final boolean nonNegative,
@@ -0,0 +1,278 @@
+package sicpplus.java.numbers;
+
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Objects;
+
+/** Fixed precision {@link BigFloat} arithmetic, in the style of
+ * MPFR: a precision, in bits, and a {@link RoundingMode}.
+ * Each operation returns the exact result rounded to at most
+ * {@link #precision()} significant bits, so long chains of
+ * operations, like Horner evaluation of a polynomial, run in
+ * predictable time and space. The exponent range is
+ * <code>BigFloat</code>'s.
+ * <p>
+ * MPFR's modes are {@link RoundingMode#HALF_EVEN} (nearest,
+ * even ties), {@link RoundingMode#CEILING} (up),
+ * {@link RoundingMode#FLOOR} (down) and
+ * {@link RoundingMode#DOWN} (toward zero). The other
+ * <code>RoundingMode</code>s work as in
+ * {@link java.math.BigDecimal}; in particular,
+ * {@link RoundingMode#UNNECESSARY} throws an
+ * {@link ArithmeticException} on any inexact result.
+ * <p>
+ * Sums don't form exact results wider than needed: an addend
+ * entirely below the rounding position only contributes a
+ * sticky bit.
+ * <p>
+ * Immutable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class BigFloatContext {
+
+  //--------------------------------------------------------------
+  // instance fields and methods
+  //--------------------------------------------------------------
+
+  private final int _precision;
+  public final int precision () { return _precision; }
+
+  private final RoundingMode _roundingMode;
+  public final RoundingMode roundingMode () { return _roundingMode; }
+
+  //--------------------------------------------------------------
+  // rounding
+  //--------------------------------------------------------------
+  /** Should the truncated significand be incremented?
+   * <code>odd</code> is the last kept bit, <code>half</code> the
+   * first discarded bit, <code>sticky</code> the or of the rest.
+   */
+
+  private final boolean increment (final boolean p,
+                                   final boolean odd,
+                                   final boolean half,
+                                   final boolean sticky) {
+    switch (roundingMode()) {
+    case UP : return true;
+    case DOWN : return false;
+    case CEILING : return p;
+    case FLOOR : return ! p;
+    case HALF_UP : return half;
+    case HALF_DOWN : return half && sticky;
+    case HALF_EVEN : return half && (sticky || odd);
+    case UNNECESSARY :
+      throw new ArithmeticException(
+        "rounding necessary at " + precision() + " bits");
+    default :
+      throw new IllegalStateException(
+        "unknown rounding mode: " + roundingMode()); } }
+
+  /** Round <code>(p ? 1 : -1) * (t + r) * 2<sup>e</sup></code>,
+   * where <code>0 &lt;= r &lt; 1</code>, and <code>r</code> is
+   * non-zero iff <code>inexact</code>. An inexact
+   * <code>t</code> must have at least
+   * <code>precision()+2</code> bits.
+   */
+
+  final BigFloat round (final boolean p,
+                        final BoundedNatural t,
+                        final int e,
+                        final boolean inexact) {
+    if (t.isZero()) {
+      assert ! inexact;
+      return BigFloat.ZERO; }
+    final int s = t.hiBit() - precision();
+    if (0>=s) {
+      assert ! inexact;
+      return BigFloat.valueOf(p,t,e); }
+    final boolean half = t.testBit(s-1);
+    final boolean sticky = inexact || (t.loBit()<(s-1));
+    final BoundedNatural q = t.shiftDown(s);
+    if ((! half) && (! sticky)) {
+      return BigFloat.valueOf(p,q,Math.addExact(e,s)); }
+    if (! increment(p,q.testBit(0),half,sticky)) {
+      return BigFloat.valueOf(p,q,Math.addExact(e,s)); }
+    final BoundedNatural q1 = q.add(1L);
+    if (q1.hiBit()>precision()) {
+      // carry out: q1 is a power of 2
+      return BigFloat.valueOf(p,q1.shiftDown(1),Math.addExact(e,s+1)); }
+    return BigFloat.valueOf(p,q1,Math.addExact(e,s)); }
+
+  public final BigFloat round (final BigFloat x) {
+    return round(x.nonNegative(),x.significand(),x.exponent(),false); }
+
+  //--------------------------------------------------------------
+  // arithmetic
+  //--------------------------------------------------------------
+  /** Exact <code>x0+x1</code>, except that <code>x1</code>, if
+   * it lies entirely below both the last bit of <code>x0</code>
+   * and the rounding position, is replaced by a single bit,
+   * which rounds the same way.
+   */
+
+  private final BigFloat sum (final boolean p0,
+                              final BoundedNatural t0,
+                              final int e0,
+                              final boolean p1,
+                              final BoundedNatural t1,
+                              final int e1) {
+    if (t1.isZero()) { return round(p0,t0,e0,false); }
+    if (t0.isZero()) { return round(p1,t1,e1,false); }
+    final long top0 = ((long) e0) + t0.hiBit();
+    final long top1 = ((long) e1) + t1.hiBit();
+    if (top0<top1) { return sum(p1,t1,e1,p0,t0,e0); }
+    // no representable value or tie point within 2^(m-2) of x0
+    final long m = Math.min(e0,top0-precision());
+    final BigFloat x0 = BigFloat.valueOf(p0,t0,e0);
+    if (top1<=(m-2)) {
+      return round(
+        x0.add(
+          BigFloat.valueOf(
+            p1,BoundedNatural.ONE,Math.toIntExact(m-3)))); }
+    return round(x0.add(BigFloat.valueOf(p1,t1,e1))); }
+
+  public final BigFloat add (final BigFloat x0,
+                             final BigFloat x1) {
+    return sum(
+      x0.nonNegative(),x0.significand(),x0.exponent(),
+      x1.nonNegative(),x1.significand(),x1.exponent()); }
+
+  public final BigFloat subtract (final BigFloat x0,
+                                  final BigFloat x1) {
+    return sum(
+      x0.nonNegative(),x0.significand(),x0.exponent(),
+      ! x1.nonNegative(),x1.significand(),x1.exponent()); }
+
+  public final BigFloat multiply (final BigFloat x0,
+                                  final BigFloat x1) {
+    return round(
+      x0.nonNegative()==x1.nonNegative(),
+      x0.significand().multiply(x1.significand()),
+      Math.addExact(x0.exponent(),x1.exponent()),
+      false); }
+
+  public final BigFloat square (final BigFloat x) {
+    return round(
+      true,
+      x.significand().square(),
+      Math.multiplyExact(2,x.exponent()),
+      false); }
+
+  /** <code>z+a*b</code>, with a single rounding. */
+
+  public final BigFloat multiplyAdd (final BigFloat z,
+                                     final BigFloat a,
+                                     final BigFloat b) {
+    return sum(
+      z.nonNegative(),z.significand(),z.exponent(),
+      a.nonNegative()==b.nonNegative(),
+      a.significand().multiply(b.significand()),
+      Math.addExact(a.exponent(),b.exponent())); }
+
+  /** <code>a*x+y</code>, with a single rounding. */
+
+  public final BigFloat axpy (final double a,
+                              final BigFloat x,
+                              final double y) {
+    return multiplyAdd(BigFloat.valueOf(y),x,BigFloat.valueOf(a)); }
+
+  /** <code>a*x+y</code>, with a single rounding. */
+
+  public final BigFloat axpy (final double a,
+                              final double x,
+                              final double y) {
+    return round(BigFloat.axpy(a,x,y)); }
+
+  //--------------------------------------------------------------
+  /** Rounded <code>(p ? 1 : -1) * (n/d) * 2<sup>e</sup></code>.
+   */
+
+  private final BigFloat quotient (final boolean p,
+                                   final BoundedNatural n,
+                                   final BoundedNatural d,
+                                   final long e) {
+    if (d.isZero()) { throw new ArithmeticException("divide by zero"); }
+    if (n.isZero()) { return BigFloat.ZERO; }
+    // at least precision()+2 quotient bits
+    final int k = Math.max(0,(precision()+2+d.hiBit())-n.hiBit());
+    final List<BoundedNatural> qr =
+      n.shiftUp(k).divideAndRemainder(d);
+    return round(
+      p,qr.get(0),Math.toIntExact(e-k),! qr.get(1).isZero()); }
+
+  public final BigFloat divide (final BigFloat x0,
+                                final BigFloat x1) {
+    return quotient(
+      x0.nonNegative()==x1.nonNegative(),
+      x0.significand(),x1.significand(),
+      ((long) x0.exponent())-x1.exponent()); }
+
+  //--------------------------------------------------------------
+
+  public final BigFloat valueOf (final double x) {
+    return round(BigFloat.valueOf(x)); }
+
+  public final BigFloat valueOf (final RationalFloat q) {
+    return quotient(
+      q.nonNegative(),q.numerator(),q.denominator(),q.exponent()); }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final boolean equals (final Object o) {
+    if (this==o) { return true; }
+    if (!(o instanceof BigFloatContext)) { return false; }
+    final BigFloatContext c = (BigFloatContext) o;
+    return (precision()==c.precision())
+      && (roundingMode()==c.roundingMode()); }
+
+  @Override
+  public final int hashCode () {
+    return Objects.hash(Integer.valueOf(precision()),roundingMode()); }
+
+  @Override
+  public final String toString () {
+    return "BigFloatContext[" + precision() + "," + roundingMode() + "]"; }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private BigFloatContext (final int precision,
+                           final RoundingMode roundingMode) {
+    _precision = precision;
+    _roundingMode = roundingMode; }
+
+  /** @throws IllegalArgumentException unless
+   * <code>0&lt;precision</code>.
+   */
+
+  public static final BigFloatContext make (final int precision,
+                                            final RoundingMode roundingMode) {
+    if (0>=precision) {
+      throw new IllegalArgumentException(
+        "precision must be positive: " + precision); }
+    return new BigFloatContext(
+      precision,Objects.requireNonNull(roundingMode)); }
+
+  /** IEEE 754 binary32 precision, nearest, even ties. */
+  public static final BigFloatContext BINARY32 =
+    make(Floats.SIGNIFICAND_BITS,RoundingMode.HALF_EVEN);
+
+  /** IEEE 754 binary64 precision, nearest, even ties. */
+  public static final BigFloatContext BINARY64 =
+    make(Doubles.SIGNIFICAND_BITS,RoundingMode.HALF_EVEN);
+
+  /** IEEE 754 binary128 precision, nearest, even ties. */
+  public static final BigFloatContext BINARY128 =
+    make(113,RoundingMode.HALF_EVEN);
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,592 @@
+package sicpplus.java.numbers;
+
+import java.math.RoundingMode;
+import java.util.function.IntFunction;
+
+/** Elementary functions of {@link BigFloat}, at the precision of
+ * a {@link BigFloatContext}.
+ * <p>
+ * Series are summed by binary splitting: the partial sums of
+ * <code>sum<sub>n</sub> (1/b(n)) prod<sub>j&lt;=n</sub>
+ * p(j)/q(j)</code> are accumulated exactly, as
+ * <code>BigFloat</code> integers, with one rounded division at
+ * the end.
+ * <ul>
+ * <li>{@link #exp} reduces to <code>|r| &lt;= ln(2)/2</code>,
+ * and splits <code>r</code> into chunks of 16, 16, 32, 64, ...
+ * bits (the 'bit-burst' method), so the numerators in each
+ * series stay small relative to its length.
+ * <li>{@link #sin} and {@link #cos} reduce modulo
+ * <code>&pi;/2</code>, with enough bits of <code>&pi;</code> to
+ * cover any cancellation, and combine the chunk series with the
+ * angle addition formulas.
+ * <li>{@link #log} and {@link #atan} invert {@link #exp} and
+ * <code>tan</code> by Newton iteration, doubling the precision
+ * at each step from a <code>double</code> start.
+ * <li>{@link #sqrt} is correctly rounded, from an integer square
+ * root.
+ * </ul>
+ * The other functions are computed with guard bits and rounded
+ * once in the given context, so the error is less than one ulp
+ * (faithful rounding).
+ * <p>
+ * <code>&pi;</code>, <code>ln 2</code> and <code>e</code> are
+ * cached at the largest precision computed so far, shared by all
+ * threads, and extended on demand.
+ * <p>
+ * {@link CRMath} falls back on these for correctly rounded
+ * <code>double</code> results.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class BigFloatMath {
+
+  //--------------------------------------------------------------
+  // utilities
+  //--------------------------------------------------------------
+
+  private static final BigFloat ONE =
+    BigFloat.valueOf(true,BoundedNatural.ONE,0);
+
+  private static final BigFloat integer (final long n) {
+    return BigFloat.valueOf(n>=0,BoundedNatural.valueOf(Math.abs(n)),0); }
+
+  /** <code>2<sup>e</sup></code>. */
+
+  private static final BigFloat pow2 (final int e) {
+    return BigFloat.valueOf(true,BoundedNatural.ONE,e); }
+
+  /** Exponent of the leading bit, plus one: <code>2<sup>top-1</sup>
+   * &lt;= |x| &lt; 2<sup>top</sup></code>.
+   */
+
+  static final long top (final BigFloat x) {
+    return ((long) x.exponent()) + x.significand().hiBit(); }
+
+  private static final BigFloatContext context (final int wp) {
+    return BigFloatContext.make(wp,RoundingMode.HALF_EVEN); }
+
+  /** Guard bits for a result at precision <code>p</code>. */
+
+  private static final int guard (final int p) {
+    return 24 + (2*Numbers.hiBit(p)); }
+
+  //--------------------------------------------------------------
+  // binary splitting
+  //--------------------------------------------------------------
+  /** <code>{P,Q,B,T}</code> over terms <code>[n0,n1)</code>;
+   * <code>B</code> is null when <code>b</code> is.
+   */
+
+  private static final BigFloat[] split (final IntFunction<BigFloat> p,
+                                         final IntFunction<BigFloat> q,
+                                         final IntFunction<BigFloat> b,
+                                         final int n0,
+                                         final int n1) {
+    if (1==(n1-n0)) {
+      final BigFloat bn = (null==b) ? null : b.apply(n0);
+      if (0==n0) { return new BigFloat[] { ONE, ONE, bn, ONE, }; }
+      final BigFloat pn = p.apply(n0);
+      return new BigFloat[] { pn, q.apply(n0), bn, pn, }; }
+    final int m = (n0+n1)>>>1;
+    final BigFloat[] l = split(p,q,b,n0,m);
+    final BigFloat[] r = split(p,q,b,m,n1);
+    final BigFloat pp = l[0].multiply(r[0]);
+    final BigFloat qq = l[1].multiply(r[1]);
+    if (null==b) {
+      final BigFloat t = r[1].multiply(l[3]).add(l[0].multiply(r[3]));
+      return new BigFloat[] { pp, qq, null, t, }; }
+    final BigFloat bb = l[2].multiply(r[2]);
+    final BigFloat t =
+      r[2].multiply(r[1]).multiply(l[3])
+      .add(l[2].multiply(l[0]).multiply(r[3]));
+    return new BigFloat[] { pp, qq, bb, t, }; }
+
+  /** <code>sum<sub>0&lt;=n&lt;N</sub> (1/b(n))
+   * prod<sub>1&lt;=j&lt;=n</sub> p(j)/q(j)</code>, rounded in
+   * <code>wc</code>.
+   */
+
+  private static final BigFloat series (final IntFunction<BigFloat> p,
+                                        final IntFunction<BigFloat> q,
+                                        final IntFunction<BigFloat> b,
+                                        final int nTerms,
+                                        final BigFloatContext wc) {
+    final BigFloat[] s = split(p,q,b,0,nTerms);
+    final BigFloat d = (null==b) ? s[1] : s[2].multiply(s[1]);
+    return wc.divide(s[3],d); }
+
+  /** Terms of <code>sum x<sup>n</sup>/n!</code>, for
+   * <code>|x| &lt; 2<sup>-l</sup></code>, needed for an absolute
+   * error below <code>2<sup>-bits</sup></code>.
+   */
+
+  private static final int expTerms (final int l,
+                                     final int bits) {
+    double log2 = 0.0;
+    int n = 1;
+    while ((n*((double) l))+log2<(bits+4)) {
+      n++;
+      log2 += Math.log(n)/Math.log(2.0); }
+    return n+1; }
+
+  //--------------------------------------------------------------
+  // constants
+  //--------------------------------------------------------------
+  /** A value with absolute error less than
+   * <code>2<sup>-bits</sup></code>.
+   */
+
+  private static final class Cached {
+    private final int bits;
+    private final BigFloat value;
+    private Cached (final int b, final BigFloat v) {
+      bits = b; value = v; }
+    /** Don't hand out more bits than requested. */
+    private final BigFloat round (final int b) {
+      if (bits<=(b+8)) { return value; }
+      return context(b+4).round(value); } }
+
+  /** A constant in <code>[1/2,4)</code>, cached at the largest
+   * precision requested so far. Replaced, never modified, when
+   * extended.
+   */
+
+  private static final class Constant {
+    private final IntFunction<BigFloat> _compute;
+    private volatile Cached _cached = null;
+
+    /** Absolute error less than <code>2<sup>-bits</sup></code>. */
+
+    final BigFloat get (final int bits) {
+      final Cached c0 = _cached;
+      if ((null!=c0) && (bits<=c0.bits)) { return c0.round(bits); }
+      synchronized (this) {
+        final Cached c1 = _cached;
+        if ((null!=c1) && (bits<=c1.bits)) { return c1.round(bits); }
+        // grow geometrically, so creeping precision doesn't
+        // recompute every time
+        final int b = (null==c1) ? bits
+          : Math.max(bits,c1.bits+(c1.bits>>>2));
+        final Cached c2 = new Cached(b,_compute.apply(b));
+        _cached = c2;
+        return c2.round(bits); } }
+
+    private Constant (final IntFunction<BigFloat> compute) {
+      _compute = compute; } }
+
+  /** <code>atan(1/k)</code>, for integer <code>k&gt;1</code>. */
+
+  private static final BigFloat atanInverse (final int k,
+                                             final BigFloatContext wc) {
+    final BigFloat m1 = integer(-1);
+    final BigFloat k2 = integer(((long) k)*k);
+    final int n = 2 + (int) Math.ceil(
+      (wc.precision()+4)/(2.0*(Math.log(k)/Math.log(2.0))));
+    return wc.divide(
+      series(j -> m1,j -> k2,j -> integer((2L*j)+1),n,wc),
+      integer(k)); }
+
+  /** Machin: <code>&pi; = 16 atan(1/5) - 4 atan(1/239)</code>. */
+
+  private static final Constant PI = new Constant(bits -> {
+    final BigFloatContext wc = context(bits+8);
+    return wc.subtract(
+      atanInverse(5,wc).multiply(integer(16)),
+      atanInverse(239,wc).multiply(integer(4))); });
+
+  /** <code>ln 2 = 2 atanh(1/3) =
+   * (2/3) sum (1/9)<sup>n</sup>/(2n+1)</code>. */
+
+  private static final Constant LN2 = new Constant(bits -> {
+    final BigFloatContext wc = context(bits+8);
+    final int n = 2 + (int) Math.ceil((bits+4)/(Math.log(9)/Math.log(2)));
+    final BigFloat one = ONE;
+    final BigFloat nine = integer(9);
+    return wc.divide(
+      series(j -> one,j -> nine,j -> integer((2L*j)+1),n,wc)
+      .multiply(integer(2)),
+      integer(3)); });
+
+  /** <code>e = sum 1/n!</code>. */
+
+  private static final Constant E = new Constant(bits -> {
+    final BigFloatContext wc = context(bits+8);
+    return series(j -> ONE,BigFloatMath::integer,null,
+      expTerms(0,bits+8),wc); });
+
+  public static final BigFloat pi (final BigFloatContext mc) {
+    return mc.round(PI.get(mc.precision()+8)); }
+
+  public static final BigFloat ln2 (final BigFloatContext mc) {
+    return mc.round(LN2.get(mc.precision()+8)); }
+
+  public static final BigFloat e (final BigFloatContext mc) {
+    return mc.round(E.get(mc.precision()+8)); }
+
+  //--------------------------------------------------------------
+  // bit-burst chunks
+  //--------------------------------------------------------------
+  /** Chunks for the bit-burst method split <code>0 &lt;=
+   * a*2<sup>-f</sup> &lt; 1</code> at fractional bit positions
+   * 16, 32, 64, ...
+   */
+
+  private static final int FIRST_CHUNK = 16;
+
+  /** Fractional bits <code>(l,m]</code> of
+   * <code>a*2<sup>-f</sup></code>, as an integer
+   * <code>&lt; 2<sup>m-l</sup></code>; its value, times
+   * <code>2<sup>-m</sup></code>, is less than
+   * <code>2<sup>-l</sup></code>.
+   */
+
+  private static final BoundedNatural chunk (final BoundedNatural a,
+                                             final int f,
+                                             final int l,
+                                             final int m) {
+    final BoundedNatural s = a.shiftDown(f-m);
+    final int w = m-l;
+    if (s.hiBit()<=w) { return s; }
+    return s.subtract(s.shiftDown(w).shiftUp(w)); }
+
+  /** <code>|x|*2<sup>f</sup></code>, truncated. */
+
+  private static final BoundedNatural fixed (final BigFloat x,
+                                             final int f) {
+    final long s = ((long) x.exponent()) + f;
+    if (0<=s) { return x.significand().shiftUp(Math.toIntExact(s)); }
+    if (-s>=x.significand().hiBit()) { return BoundedNatural.ZERO; }
+    return x.significand().shiftDown((int) -s); }
+
+  //--------------------------------------------------------------
+  // exp
+  //--------------------------------------------------------------
+  /** <code>exp(+/-a*2<sup>-m</sup>)</code>, for
+   * <code>a*2<sup>-m</sup> &lt; 2<sup>-l</sup></code>.
+   */
+
+  private static final BigFloat expChunk (final boolean p,
+                                          final BoundedNatural a,
+                                          final int l,
+                                          final int m,
+                                          final BigFloatContext wc) {
+    final BigFloat pa = BigFloat.valueOf(p,a,0);
+    return series(
+      j -> pa,
+      j -> BigFloat.valueOf(true,BoundedNatural.valueOf(j),m),
+      null,
+      expTerms(l,wc.precision()),
+      wc); }
+
+  /** <code>exp(r)</code>, <code>|r| &lt; 1</code>, relative error
+   * a few ulps at <code>wc</code>'s precision.
+   */
+
+  private static final BigFloat expSmall (final BigFloat r,
+                                          final BigFloatContext wc) {
+    final int f = wc.precision()+8;
+    final BoundedNatural a = fixed(r,f);
+    BigFloat y = ONE;
+    for (int l=0,m=FIRST_CHUNK;l<f;l=m,m=2*m) {
+      final int m1 = Math.min(m,f);
+      final BoundedNatural ai = chunk(a,f,l,m1);
+      if (! ai.isZero()) {
+        y = wc.multiply(y,expChunk(r.nonNegative(),ai,l,m1,wc)); } }
+    return y; }
+
+  /** <code>exp(x)</code>, relative error less than
+   * <code>2<sup>-wp</sup></code>.
+   * @throws ArithmeticException if the result exponent is
+   * outside the <code>int</code> range.
+   */
+
+  static final BigFloat exp (final BigFloat x,
+                             final int wp) {
+    if (x.isZero()) { return ONE; }
+    final int wp1 = wp + guard(wp);
+    final BigFloatContext wc = context(wp1);
+    if (top(x)<=0) { return expSmall(x,wc); }
+    // x = k*ln2 + r
+    final double k0 = Math.rint(x.doubleValue()/Math.log(2.0));
+    if ((! Double.isFinite(k0)) || (Math.abs(k0)>=Integer.MAX_VALUE)) {
+      throw new ArithmeticException("exp overflow: " + x); }
+    final long k = (long) k0;
+    final BigFloat ln2 = LN2.get(wp1+64);
+    final BigFloat r = wc.subtract(x,ln2.multiply(integer(k)));
+    return expSmall(r,wc).multiply(pow2((int) k)); }
+
+  public static final BigFloat exp (final BigFloat x,
+                                    final BigFloatContext mc) {
+    if (x.isZero()) { return mc.round(ONE); }
+    return mc.round(exp(x,mc.precision()+8)); }
+
+  //--------------------------------------------------------------
+  // log
+  //--------------------------------------------------------------
+  /** Precisions for Newton iteration, from about 50 bits up to
+   * <code>wp</code>.
+   */
+
+  private static final int[] newtonPrecisions (final int wp) {
+    int n = 1;
+    for (int p=wp;p>50;p=(p/2)+8) { n++; }
+    final int[] ps = new int[n];
+    int p = wp;
+    for (int i=n-1;i>=0;i--) { ps[i] = p; p = (p/2)+8; }
+    return ps; }
+
+  /** <code>log(x)</code>, relative error less than
+   * <code>2<sup>-wp</sup></code>.
+   */
+
+  static final BigFloat log (final BigFloat x,
+                             final int wp) {
+    if (x.isZero() || (! x.nonNegative())) {
+      throw new ArithmeticException("log of non-positive: " + x); }
+    // x = f*2^k, f in [3/4,3/2)
+    long k = top(x)-1;
+    BigFloat f = x.multiply(pow2(Math.toIntExact(-k)));
+    if (0<f.compareTo(BigFloat.valueOf(1.5))) {
+      k++;
+      f = f.multiply(pow2(-1)); }
+    final BigFloat d = f.subtract(ONE);
+    BigFloat y = BigFloat.ZERO;
+    if (! d.isZero()) {
+      // absolute error 2^-(wp+loss) is relative 2^-wp in log(f)
+      final int loss = (int) Math.max(0,-top(d));
+      final int wp1 = wp + guard(wp) + loss;
+      y = BigFloat.valueOf(Math.log1p(d.doubleValue()));
+      for (final int p : newtonPrecisions(wp1)) {
+        // y += f*exp(-y) - 1
+        final BigFloatContext wc = context(p);
+        y = wc.add(y,
+          wc.subtract(wc.multiply(f,exp(y.negate(),p)),ONE)); }
+      final BigFloatContext wc = context(wp1);
+      y = wc.add(y,
+        wc.subtract(wc.multiply(f,exp(y.negate(),wp1)),ONE)); }
+    if (0==k) { return y; }
+    final int wp1 = wp + guard(wp) + 64;
+    return context(wp1).add(y,LN2.get(wp1).multiply(integer(k))); }
+
+  public static final BigFloat log (final BigFloat x,
+                                    final BigFloatContext mc) {
+    if (x.isOne()) { return BigFloat.ZERO; }
+    return mc.round(log(x,mc.precision()+8)); }
+
+  //--------------------------------------------------------------
+  // sin, cos
+  //--------------------------------------------------------------
+  /** <code>{cos(r),sin(r)}</code>, <code>r = a*2<sup>-m</sup>
+   * &lt; 2<sup>-l</sup></code>.
+   */
+
+  private static final BigFloat[] sinCosChunk (final BoundedNatural a,
+                                               final int l,
+                                               final int m,
+                                               final BigFloatContext wc) {
+    final BigFloat ma2 = BigFloat.valueOf(false,a.square(),0);
+    final int n = 1 + (expTerms(l,wc.precision())/2);
+    final int m2 = Math.multiplyExact(2,m);
+    final BigFloat c = series(
+      j -> ma2,
+      j -> BigFloat.valueOf(true,
+        BoundedNatural.valueOf((2L*j-1)*(2L*j)),m2),
+      null,n,wc);
+    final BigFloat s = series(
+      j -> ma2,
+      j -> BigFloat.valueOf(true,
+        BoundedNatural.valueOf((2L*j)*(2L*j+1)),m2),
+      null,n,wc);
+    return new BigFloat[] {
+      c, wc.multiply(s,BigFloat.valueOf(true,a,-m)), }; }
+
+  /** <code>{cos(r),sin(r)}</code>, <code>|r| &lt; 1</code>.
+   * Relative error in <code>sin</code> a few ulps, given
+   * <code>wc.precision()</code> fractional bits beyond the
+   * leading bit of <code>r</code>.
+   */
+
+  private static final BigFloat[] sinCosSmall (final BigFloat r,
+                                               final BigFloatContext wc) {
+    final int f = Math.toIntExact(wc.precision() + 8 - Math.min(0,top(r)));
+    final BoundedNatural a = fixed(r,f);
+    BigFloat c = ONE;
+    BigFloat s = BigFloat.ZERO;
+    for (int l=0,m=FIRST_CHUNK;l<f;l=m,m=2*m) {
+      final int m1 = Math.min(m,f);
+      final BoundedNatural ai = chunk(a,f,l,m1);
+      if (ai.isZero()) { continue; }
+      final BigFloat[] cs = sinCosChunk(ai,l,m1,wc);
+      // angle addition
+      final BigFloat c1 =
+        wc.subtract(wc.multiply(c,cs[0]),wc.multiply(s,cs[1]));
+      final BigFloat s1 =
+        wc.add(wc.multiply(s,cs[0]),wc.multiply(c,cs[1]));
+      c = c1;
+      s = s1; }
+    return new BigFloat[] { c, r.nonNegative() ? s : s.negate(), }; }
+
+  /** Nearest integer. */
+
+  private static final BigFloat rint (final BigFloat x) {
+    final int e = x.exponent();
+    if (0<=e) { return x; }
+    if (-e>x.significand().hiBit()) { return BigFloat.ZERO; }
+    final BoundedNatural t =
+      x.significand().add(BoundedNatural.ONE.shiftUp(-e-1))
+      .shiftDown(-e);
+    return BigFloat.valueOf(x.nonNegative(),t,0); }
+
+  /** <code>|k| mod 4</code>, for integer <code>k</code>. */
+
+  private static final int low2 (final BigFloat k) {
+    final int e = k.exponent();
+    if (2<=e) { return 0; }
+    return (k.significand().word(0)<<e) & 3; }
+
+  /** <code>{cos(x),sin(x)}</code>, each with relative error
+   * less than <code>2<sup>-wp</sup></code>.
+   */
+
+  static final BigFloat[] sinCos (final BigFloat x,
+                                  final int wp) {
+    if (x.isZero()) { return new BigFloat[] { ONE, BigFloat.ZERO, }; }
+    final int wp1 = wp + guard(wp);
+    if (Math.abs(x.doubleValue())<0.75) {
+      return sinCosSmall(x,context(wp1)); }
+    // x = k*pi/2 + r, with the error in r, about
+    // 2^-bits, below 2^-wp1 relative to r
+    final int tx = (int) Math.max(0,top(x));
+    int bits = wp1 + 16;
+    while (true) {
+      final BigFloatContext bc = context(bits+tx);
+      final BigFloat halfPi = PI.get(bits+tx+4).multiply(pow2(-1));
+      final BigFloat k = rint(bc.divide(x,halfPi));
+      final BigFloat r = bc.subtract(x,k.multiply(halfPi));
+      if (r.isZero()) { bits += 64; continue; }
+      final long tr = top(r);
+      if (bits<(wp1-tr+8)) { bits = (int) (wp1-tr+16); continue; }
+      final int k4 = low2(k);
+      final int quadrant = k.nonNegative() ? k4 : ((4-k4)&3);
+      final BigFloat[] cs = sinCosSmall(r,context(wp1));
+      switch (quadrant) {
+      case 0 : return cs;
+      case 1 : return new BigFloat[] { cs[1].negate(), cs[0], };
+      case 2 : return new BigFloat[] { cs[0].negate(), cs[1].negate(), };
+      default : return new BigFloat[] { cs[1], cs[0].negate(), }; } } }
+
+  public static final BigFloat sin (final BigFloat x,
+                                    final BigFloatContext mc) {
+    if (x.isZero()) { return BigFloat.ZERO; }
+    return mc.round(sinCos(x,mc.precision()+8)[1]); }
+
+  public static final BigFloat cos (final BigFloat x,
+                                    final BigFloatContext mc) {
+    if (x.isZero()) { return mc.round(ONE); }
+    return mc.round(sinCos(x,mc.precision()+8)[0]); }
+
+  //--------------------------------------------------------------
+  // atan
+  //--------------------------------------------------------------
+  /** <code>atan(x)</code>, relative error less than
+   * <code>2<sup>-wp</sup></code>.
+   */
+
+  static final BigFloat atan (final BigFloat x,
+                              final int wp) {
+    if (x.isZero()) { return BigFloat.ZERO; }
+    final int wp1 = wp + guard(wp);
+    final BigFloat a = x.abs();
+    final int c1 = a.compareTo(ONE);
+    final BigFloat y;
+    if (0==c1) {
+      y = PI.get(wp1+4).multiply(pow2(-2)); }
+    else if (0<c1) {
+      // pi/2 - atan(1/a) >= pi/4, no cancellation
+      final BigFloatContext wc = context(wp1);
+      y = wc.subtract(PI.get(wp1+4).multiply(pow2(-1)),
+        atan(wc.divide(ONE,a),wp1)); }
+    else {
+      final long ta = top(a);
+      if (ta<=-((wp1/2)+2)) {
+        // atan(a) = a(1 - a^2/3 + ...)
+        y = a; }
+      else {
+        // solve sin(y) - a*cos(y) = 0
+        BigFloat z = (ta<-1000) ? a
+          : BigFloat.valueOf(Math.atan(a.doubleValue()));
+        final int[] ps = newtonPrecisions(wp1 + (int) Math.max(0,-ta));
+        for (int i=0;i<=ps.length;i++) {
+          final int p = ps[Math.min(i,ps.length-1)];
+          final BigFloatContext wc = context(p);
+          final BigFloat[] cs = sinCos(z,p);
+          final BigFloat g =
+            wc.subtract(cs[1],wc.multiply(a,cs[0]));
+          final BigFloat dg =
+            wc.add(cs[0],wc.multiply(a,cs[1]));
+          z = wc.subtract(z,wc.divide(g,dg)); }
+        y = z; } }
+    return x.nonNegative() ? y : y.negate(); }
+
+  public static final BigFloat atan (final BigFloat x,
+                                     final BigFloatContext mc) {
+    if (x.isZero()) { return BigFloat.ZERO; }
+    return mc.round(atan(x,mc.precision()+8)); }
+
+  //--------------------------------------------------------------
+  // sqrt
+  //--------------------------------------------------------------
+  /** <code>floor(sqrt(n))</code>, by Newton iteration from a
+   * <code>double</code> estimate above the root.
+   */
+
+  static final BoundedNatural isqrt (final BoundedNatural n) {
+    if (n.isZero()) { return n; }
+    final int h = n.hiBit();
+    final int sh = Math.max(0,(h-52)&~1);
+    final double d = Math.sqrt(
+      BigFloat.valueOf(true,n.shiftDown(sh),0).doubleValue());
+    BoundedNatural y =
+      BoundedNatural.valueOf(((long) Math.ceil(d))+1L).shiftUp(sh/2);
+    while (true) {
+      final BoundedNatural y1 = y.add(n.divide(y)).shiftDown(1);
+      if (0<=y1.compareTo(y)) { return y; }
+      y = y1; } }
+
+  /** Correctly rounded in <code>mc</code>.
+   * @throws ArithmeticException if <code>x&lt;0</code>.
+   */
+
+  public static final BigFloat sqrt (final BigFloat x,
+                                     final BigFloatContext mc) {
+    if (x.isZero()) { return BigFloat.ZERO; }
+    if (! x.nonNegative()) {
+      throw new ArithmeticException("sqrt of negative: " + x); }
+    // t*2^e = (t*2^s)*2^(e-s), e-s even, t*2^s with at least
+    // 2*(precision+2) bits
+    final BoundedNatural t = x.significand();
+    final int e = x.exponent();
+    int s = Math.max(0,(2*(mc.precision()+2))-t.hiBit()+1);
+    if (0!=((e-s)&1)) { s++; }
+    final BoundedNatural n = t.shiftUp(s);
+    final BoundedNatural r = isqrt(n);
+    final boolean inexact = ! r.square().equals(n);
+    return mc.round(true,r,(e-s)/2,inexact); }
+
+  //--------------------------------------------------------------
+  // disabled constructor
+  //--------------------------------------------------------------
+
+  private BigFloatMath () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
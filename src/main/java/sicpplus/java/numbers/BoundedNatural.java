@@ -28,6 +28,14 @@ import sicpplus.java.prng.GeneratorBase;
  * to convert the <code>int</code> bits
  * to the corresponding unsigned value in a <code>long</code>
  *
+ * Values below <code>2<sup>64</sup></code> (most
+ * <code>double</code> significands and their products) are
+ * held inline, as an unsigned <code>long</code>, with no array;
+ * the representation is canonical, so every value of at most 2
+ * words is inline. <code>add</code>, <code>subtract</code>,
+ * <code>multiply</code>, <code>compareTo</code> and the shifts
+ * have <code>long</code> fast paths, and only promote to the
+ * array form on overflow.
  *
  * The range of numbers that can be represented by instances
  * of this class is bounded by:
@@ -63,7 +71,7 @@ import sicpplus.java.prng.GeneratorBase;
  * <code>Integer.MAX_VALUE-5</code>.
  *
  * @author palisades dot lakes at gmail dot com
- * @version 2021-06-08
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
@@ -104,12 +112,42 @@ implements Ringlike<BoundedNatural> {
   public static final int MAX_BITS = (MAX_WORDS << 5);
 
   /** This array is never modified.
+   * <code>null</code> for values below <code>2<sup>64</sup></code>,
+   * which are held in {@link #_small}.
    */
 
   private final int[] _words;
-  private final int[] words () { return _words; }
 
-  public final int hiInt () { return _words.length; }
+  /** The value, as unsigned 64 bits, when
+   * <code>_words</code> is <code>null</code>.
+   */
+
+  private final long _small;
+
+  private final boolean isSmall () { return null==_words; }
+
+  private static final int[] NO_WORDS = new int[0];
+
+  /** Package access for in-place helpers like
+   * {@link MutableNatural}, which must never modify the
+   * result. A fresh array for inline values.
+   */
+
+  final int[] words () {
+    if (null!=_words) { return _words; }
+    final long s = _small;
+    switch (smallHiInt(s)) {
+    case 0: return NO_WORDS;
+    case 1: return new int[] { (int) s, };
+    default: return new int[] { (int) s, (int) (s>>>32), }; } }
+
+  private static final int smallHiInt (final long s) {
+    if (0L==s) { return 0; }
+    return (0L==(s>>>32)) ? 1 : 2; }
+
+  public final int hiInt () {
+    if (null==_words) { return smallHiInt(_small); }
+    return _words.length; }
 
   private final int loInt () {
     // Search for lowest order nonzero int
@@ -121,6 +159,7 @@ implements Ringlike<BoundedNatural> {
     return 0; }
 
   public final int hiBit () {
+    if (isSmall()) { return Long.SIZE-Long.numberOfLeadingZeros(_small); }
     final int i = hiInt()-1;
     if (0>i) { return 0; }
     final int wi = _words[i];
@@ -131,6 +170,8 @@ implements Ringlike<BoundedNatural> {
     return h; }
 
   public final int loBit () {
+    if (isSmall()) {
+      return (0L==_small) ? 0 : Long.numberOfTrailingZeros(_small); }
     // Search for lowest order nonzero int
     final int i=loInt();
     if (i==hiInt()) { return 0; } // all bits zero
@@ -145,12 +186,20 @@ implements Ringlike<BoundedNatural> {
   public final int word (final int i) {
     assert 0<=i : "Negative index: " + i;
     assert i < MAX_WORDS : "word index too large " + i;
+    if (isSmall()) {
+      if (0==i) { return (int) _small; }
+      if (1==i) { return (int) (_small>>>32); }
+      return 0; }
     if (hiInt()<=i) { return 0; }
     return _words[i]; }
 
   public final long uword (final int i) {
     assert 0<=i : "Negative index: " + i;
     assert i < MAX_WORDS : "word index too large " + i;
+    if (isSmall()) {
+      if (0==i) { return loWord(_small); }
+      if (1==i) { return (_small>>>32); }
+      return 0L; }
     if (hiInt()<=i) { return 0L; }
     return unsigned(_words[i]); }
 
@@ -162,17 +211,17 @@ implements Ringlike<BoundedNatural> {
   public final BoundedNatural words (final int i0,
                                      final int i1) {
     assert 0<=i0;
-    assert i0<i1;
+    // i1<=i0 (empty range) is legal, eg unbalanced Karatsuba
+    assert 0<=i1;
     assert i0 < MAX_WORDS : "word index too large" + i0;
     assert i1 < MAX_WORDS : "word index too large" + i1;
 
     if ((0==i0) && (hiInt()<=i1)) { return this; }
-    final int n = Math.max(0,i1-i0);
+    final int n = Math.min(hiInt(),i1)-i0;
     if (0>=n) { return zero(); }
-    final int[] tt = words();
-    final int[] vv = new int[n];
-    for (int i=0;i<n;i++) { vv[i] =  tt[i+i0]; }
-    return unsafe(vv,n); }
+    final int[] vv = Arrays.copyOfRange(words(),i0,i0+n);
+    // the slice may have leading zero words
+    return unsafe(vv); }
 
   public final BoundedNatural setWord (final int i,
                                        final int w) {
@@ -193,7 +242,8 @@ implements Ringlike<BoundedNatural> {
     new BoundedNatural(new int[0]);
 
   @Override
-  public final boolean isZero () { return 0==hiInt(); }
+  public final boolean isZero () {
+    return isSmall() && (0L==_small); }
 
   @Override
   public final BoundedNatural zero () { return ZERO; }
@@ -208,6 +258,8 @@ implements Ringlike<BoundedNatural> {
 
   @Override
   public final int compareTo (final BoundedNatural u) {
+    if (isSmall() && u.isSmall()) {
+      return Long.compareUnsigned(_small,u._small); }
     final int b0 = hiBit();
     final int b1 = u.hiBit();
     if (b0<b1) { return -1; }
@@ -224,6 +276,7 @@ implements Ringlike<BoundedNatural> {
 
   public final  int compareTo (final long u) {
     assert 0L<=u;
+    if (isSmall()) { return Long.compareUnsigned(_small,u); }
     final int nt = hiInt();
     final long ulo = loWord(u);
     final long uhi = hiWord(u);
@@ -517,6 +570,7 @@ implements Ringlike<BoundedNatural> {
 
   public final BoundedNatural add (final long u) {
     assert 0L<u;
+    if (isSmall()) { return sumSmall(_small,u); }
     //if (0L==u) { return this; }
     final int nt = hiInt();
     //if (0==nt) { return valueOf(u); }
@@ -697,6 +751,9 @@ implements Ringlike<BoundedNatural> {
   //--------------------------------------------------------------
 
   public final BoundedNatural subtract (final long u) {
+    if (isSmall()) {
+      assert Long.compareUnsigned(_small,u)>=0;
+      return fromSmall(_small-u); }
     assert 0L<=u;
     assert 0<=compareTo(u);
     //if (0L==u) { return this; }
@@ -911,7 +968,6 @@ implements Ringlike<BoundedNatural> {
                                            final int iShift) {
     final int nt = hiInt();
     final int[] tt = words();
-    final int[] uu = u.words();
     assert 0<u.hiInt();
     final int nu = u.hiInt()+iShift;
     final int nv = Math.max(nt,nu);
@@ -920,8 +976,13 @@ implements Ringlike<BoundedNatural> {
 
     long sum = 0L;
     int i=iShift;
+    final int m = Math.min(nt,nu)-iShift;
+    if (NaturalKernels.minWords()<=m) {
+      sum = NaturalKernels.kernels()
+        .add(tt,iShift,u.words(),0,vv,iShift,m,0);
+      i += m; }
     for (;i<nu;i++) {
-      sum += unsigned(uu[i-iShift]);
+      sum += unsigned(u.word(i-iShift));
       if (i<nt) { sum += unsigned(tt[i]); }
       vv[i] = (int) sum;
       sum = hiWord(sum); }
@@ -947,10 +1008,9 @@ implements Ringlike<BoundedNatural> {
     final int nt = hiInt();
     final int[] tt = words();
     final int nu0 = u.hiInt();
-    final int[] uu = u.words();
     assert 0<u.hiInt();
     final int rShift = 32-bShift;
-    final int uhi = (uu[nu0-1]>>rShift);
+    final int uhi = (u.word(nu0-1)>>rShift);
     final int nu1 = nu0+iShift;
     final int nv = Math.max(nt,nu1+((0==uhi)?0:1));
     final int[] vv = new int[nv];
@@ -960,7 +1020,7 @@ implements Ringlike<BoundedNatural> {
     int u0 = 0;
     int i=iShift;
     for (;i<nu1;i++) {
-      final int u1 = uu[i-iShift];
+      final int u1 = u.word(i-iShift);
       sum += unsigned((u1<<bShift)|(u0>>>rShift));
       u0 = u1;
       if (i<nt) { sum += unsigned(tt[i]); }
@@ -991,6 +1051,8 @@ implements Ringlike<BoundedNatural> {
   public final BoundedNatural add (final BoundedNatural u,
                                    final int upShift) {
     assert 0<=upShift;
+    if (isSmall() && u.isSmall() && ((u.hiBit()+upShift)<=Long.SIZE)) {
+      return sumSmall(_small,(u._small<<upShift)); }
     //if (0==upShift) { return add(u); }
     //if (isZero()) { return u.shiftUp(upShift); }
     if (u.isZero()) { return this; }
@@ -1010,16 +1072,19 @@ implements Ringlike<BoundedNatural> {
 
   @Override
   public final BoundedNatural add (final BoundedNatural u) {
+    if (isSmall() && u.isSmall()) { return sumSmall(_small,u._small); }
     final int nt = hiInt();
     final int nu = u.hiInt();
     if (nt<nu) { return u.add(this); }
     final int[] tt = words();
-    final int[] uu = u.words();
     final int[] vv = new int[nt];
     long sum = 0L;
     int i=0;
+    if (NaturalKernels.minWords()<=nu) {
+      sum = NaturalKernels.kernels().add(tt,0,u.words(),0,vv,0,nu,0);
+      i = nu; }
     for (;i<nu;i++) {
-      sum += unsigned(tt[i]) + unsigned(uu[i]);
+      sum += unsigned(tt[i]) + unsigned(u.word(i));
       vv[i] = (int) sum;
       sum = hiWord(sum);}
     for (;i<nt;i++) {
@@ -1042,17 +1107,21 @@ implements Ringlike<BoundedNatural> {
   @Override
   public final BoundedNatural subtract (final BoundedNatural u) {
     assert 0<=compareTo(u);
+    if (isSmall()) { return fromSmall(_small-u._small); }
     final int nt = hiInt();
     final int nu = u.hiInt();
     assert nu<=nt;
     final int[] tt = words();
-    final int[] uu = u.words();
     if (0>=nu) { return this; }
     final int[] vv = new int[nt];
     long dif = 0L;
     int i=0;
+    if (NaturalKernels.minWords()<=nu) {
+      dif = -NaturalKernels.kernels()
+        .subtract(tt,0,u.words(),0,vv,0,nu,0);
+      i = nu; }
     for (;i<nu;i++) {
-      dif += unsigned(tt[i])-unsigned(uu[i]);
+      dif += unsigned(tt[i])-unsigned(u.word(i));
       vv[i] = (int) dif;
       dif= (dif>>32); }
     for (;i<nt;i++) {
@@ -1082,7 +1151,8 @@ implements Ringlike<BoundedNatural> {
   //--------------------------------------------------------------
   // TODO: singleton class for one() and zero()?
 
-  static final BoundedNatural ONE = 
+  /** Singleton. */
+  public static final BoundedNatural ONE = 
     new BoundedNatural(new int[] {1});
 
   @Override
@@ -1095,6 +1165,7 @@ implements Ringlike<BoundedNatural> {
 
   @Override
   public final boolean isOne () {
+    if (isSmall()) { return 1L==_small; }
     if (1!=hiInt()) { return false; }
     if (1!=words()[0]) { return false; }
     return true; }
@@ -1141,7 +1212,7 @@ implements Ringlike<BoundedNatural> {
    * the low bit of the input, so it doesn't need special care.
    */
 
-  private final BoundedNatural squareSimple () {
+  final BoundedNatural squareSimple () {
     final int nt = hiInt();
     final int[] tt = words();
     final int[] vv = new int[2*nt];
@@ -1187,13 +1258,17 @@ implements Ringlike<BoundedNatural> {
   public final BoundedNatural square () {
     if (isZero()) { return zero(); }
     if (isOne()) { return one(); }
+    if (isSmall()) { return productSmall(_small,_small); }
     final int n = hiInt();
     if (n < NaturalMultiply.KARATSUBA_SQUARE_THRESHOLD) {
       return squareSimple(); }
     if (n < NaturalMultiply.TOOM_COOK_SQUARE_THRESHOLD) {
       return NaturalMultiply.squareKaratsuba(this); }
-    // For a discussion of overflow detection see multiply()
-    return NaturalMultiply.squareToomCook3(this); }
+    if ((n < NaturalMultiply.NTT_SQUARE_THRESHOLD)
+      || (! NaturalNTT.fits(2*n))) {
+      // For a discussion of overflow detection see multiply()
+      return NaturalMultiply.squareToomCook3(this); }
+    return NaturalNTT.square(this); }
 
   //--------------------------------------------------------------
   // multiply
@@ -1203,8 +1278,45 @@ implements Ringlike<BoundedNatural> {
   public final BoundedNatural multiply (final BoundedNatural u) {
     //    //assert isValid();
     //    //assert u.isValid();
+    if (isSmall() && u.isSmall()) { return productSmall(_small,u._small); }
     return NaturalMultiply.multiply(this,u); }
 
+  //--------------------------------------------------------------
+  // fused multiply-add
+  //--------------------------------------------------------------
+  /** <code>this + a*b</code>, accumulating the partial products
+   * straight into one copy of <code>this</code>, rather than
+   * allocating the product and then the sum, unless both
+   * factors are large enough for Karatsuba or better.
+   */
+
+  @Override
+  public final BoundedNatural multiplyAdd (final BoundedNatural a,
+                                           final BoundedNatural b) {
+    if (a.isZero() || b.isZero()) { return this; }
+    if (isZero()) { return a.multiply(b); }
+    if (a.isSmall() && b.isSmall()) {
+      return add(productSmall(a._small,b._small)); }
+    final int n = Math.max(hiInt(),a.hiInt()+b.hiInt())+1;
+    return MutableNatural.copy(this,n)
+      .multiplyAdd(a,b,0)
+      .immutable(); }
+
+  /** <code>this - a*b</code>, which must not be negative.
+   * See {@link #multiplyAdd(BoundedNatural,BoundedNatural)}.
+   */
+
+  @Override
+  public final BoundedNatural
+  multiplySubtract (final BoundedNatural a,
+                    final BoundedNatural b) {
+    if (a.isZero() || b.isZero()) { return this; }
+    if (a.isSmall() && b.isSmall()) {
+      return subtract(productSmall(a._small,b._small)); }
+    return MutableNatural.copy(this)
+      .multiplySubtract(a,b,0)
+      .immutable(); }
+
   //--------------------------------------------------------------
 
   //  public final BoundedNatural multiply (final long u) {
@@ -1215,6 +1327,7 @@ implements Ringlike<BoundedNatural> {
     if (1L==v) { return this; }
     if (isZero()) { return ZERO; }
     assert 0L < v;
+    if (isSmall()) { return productSmall(_small,v); }
     final long hi = Numbers.hiWord(v);
     final long lo = Numbers.loWord(v);
     final int n0 = hiInt();
@@ -1272,6 +1385,11 @@ implements Ringlike<BoundedNatural> {
     ////assert u.isValid();
     return NaturalDivide.divideAndRemainderBurnikelZiegler(this,u); }
 
+  // for testing
+  public final List<BoundedNatural>
+  divideAndRemainderNewton (final BoundedNatural u) {
+    return NaturalDivide.divideAndRemainderNewton(this,u); }
+
   @Override
   public final List<BoundedNatural>
   divideAndRemainder (final BoundedNatural u) {
@@ -1279,6 +1397,14 @@ implements Ringlike<BoundedNatural> {
     //assert u.isValid();
     return NaturalDivide.divideAndRemainder(this,u); }
 
+  /** <code>this/u</code>, when <code>u</code> is known to
+   * divide <code>this</code> exactly.
+   * See {@link NaturalDivide#exactDivide}.
+   */
+
+  public final BoundedNatural exactDivide (final BoundedNatural u) {
+    return NaturalDivide.exactDivide(this,u); }
+
   @Override
   public final  BoundedNatural divide (final BoundedNatural u) {
     //assert isValid();
@@ -1332,6 +1458,8 @@ implements Ringlike<BoundedNatural> {
 
   public final long getShiftedLong (final int downShift) {
     assert 0<=downShift;
+    if (isSmall()) {
+      return (Long.SIZE<=downShift) ? 0L : (_small>>>downShift); }
     final int nt = hiInt();
     final int iShift = (downShift>>>5);
     if (nt<=iShift) { return 0L; }
@@ -1362,9 +1490,7 @@ implements Ringlike<BoundedNatural> {
     final int nt = hiInt();
     final int nv = nt-iShift;
     if (0>=nv) { return zero(); }
-    final int[] vv = new int[nv];
-    for (int i=0;i<nv;i++) { vv[i] = word(i+iShift); }
-    //System.arraycopy(words(),iShift,vv,0,nv);
+    final int[] vv = Arrays.copyOfRange(words(),iShift,nt);
     return new BoundedNatural(vv); }
 
   private final BoundedNatural shiftDownByBits (final int iShift,
@@ -1375,6 +1501,10 @@ implements Ringlike<BoundedNatural> {
     if (0>=nv) { return zero(); }
 
     final int[] vv = new int[nv];
+    if (NaturalKernels.minWords()<=nv) {
+      NaturalKernels.kernels()
+        .shiftDown(words(),iShift,nt,bShift,vv,nv);
+      return unsafe(vv); }
     final int rShift = 32-bShift;
     int w0 = word(iShift);
     for (int i=0,j=iShift+1;i<nv;i++,j++) {
@@ -1387,6 +1517,9 @@ implements Ringlike<BoundedNatural> {
   public final BoundedNatural shiftDown (final int downShift) {
     assert 0<=downShift;
     if (0==downShift) { return this; }
+    if (isSmall()) {
+      if (Long.SIZE<=downShift) { return ZERO; }
+      return fromSmall(_small>>>downShift); }
     final int iShift = (downShift>>>5);
     final int bShift = (downShift&0x1F);
     if (0==bShift) { return shiftDownByWords(iShift); }
@@ -1399,8 +1532,7 @@ implements Ringlike<BoundedNatural> {
     final int nv = nt+iShift;
     final int[] tt = words();
     final int[] vv = new int[nv];
-    for (int i=0;i<nt;i++) { vv[i+iShift] = tt[i]; }
-    //System.arraycopy(words(),0,u,iShift,n0);
+    System.arraycopy(tt,0,vv,iShift,nt);
     return new BoundedNatural(vv); }
 
   private final BoundedNatural shiftUpByBits (final int iShift,
@@ -1410,6 +1542,9 @@ implements Ringlike<BoundedNatural> {
     final int rShift = 32-bShift;
     final int[] tt = words();
     final int[] vv = new int[nv+1];
+    if (NaturalKernels.minWords()<=nt) {
+      NaturalKernels.kernels().shiftUp(tt,nt,bShift,vv,iShift);
+      return unsafe(vv); }
     int w0 = tt[0];
     vv[iShift] = (w0<<bShift);
     for (int i=1;i<nt;i++) {
@@ -1427,6 +1562,8 @@ implements Ringlike<BoundedNatural> {
     assert 0<=upShift;
     //if (0==upShift) { return this; }
     if (isZero()) { return this; }
+    if (isSmall() && ((hiBit()+upShift)<=Long.SIZE)) {
+      return fromSmall(_small<<upShift); }
     final int iShift = (upShift>>>5);
     final int bShift = (upShift&0x1f);
     if (0==bShift) { return shiftUpByWords(iShift); }
@@ -1436,7 +1573,7 @@ implements Ringlike<BoundedNatural> {
     assert 0<=n;
     final int nn = (n>>>5);
     if (hiInt()<=nn) { return false; }
-    return 0!=(_words[nn] & (1<<(n&0x1F))); }
+    return 0!=(word(nn) & (1<<(n&0x1F))); }
 
   public final BoundedNatural setBit (final int i) {
     assert 0<=i;
@@ -1459,7 +1596,6 @@ implements Ringlike<BoundedNatural> {
 
   final boolean roundUp (final int e) {
     final int nt = hiInt();
-    if (nt<=(e>>>5)) { return false; }
     final int[] tt = words();
     final int e1 = e-1;
     final int n1 = (e1>>>5);
@@ -1485,7 +1621,7 @@ implements Ringlike<BoundedNatural> {
     // TODO: handle 'negative' words correctly!
     switch (hiInt()) {
     case 0: return 0;
-    case 1: return _words[0];
+    case 1: return word(0);
     default:
       throw new UnsupportedOperationException(
         "Too large for int:" + this); } }
@@ -1494,9 +1630,8 @@ implements Ringlike<BoundedNatural> {
   public final long longValue () {
     switch (hiInt()) {
     case 0: return 0;
-    case 1: return unsigned(_words[0]);
-    case 2:
-      return (unsigned(_words[1])<<32) | unsigned(_words[0]);
+    case 1:
+    case 2: return _small;
     default:
       throw new UnsupportedOperationException(
         "Too large for long:" + this); } }
@@ -1526,7 +1661,7 @@ implements Ringlike<BoundedNatural> {
   public final int hashCode () {
     int hashCode = 0;
     for (int i=0; i<hiInt(); i++) {
-      hashCode = ((31 * hashCode) + _words[i]); }
+      hashCode = ((31 * hashCode) + word(i)); }
     return hashCode; }
 
   @Override
@@ -1534,10 +1669,11 @@ implements Ringlike<BoundedNatural> {
     if (x==this) { return true; }
     if (!(x instanceof BoundedNatural)) { return false; }
     final BoundedNatural u = (BoundedNatural) x;
+    if (isSmall() && u.isSmall()) { return _small==u._small; }
     final int nt = hiInt();
     if (nt!=u.hiInt()) { return false; }
     for (int i=0; i<nt; i++) {
-      if (_words[i]!=u._words[i]) { return false; } }
+      if (word(i)!=u.word(i)) { return false; } }
     return true; }
 
   public final String toHexString () {
@@ -1551,6 +1687,13 @@ implements Ringlike<BoundedNatural> {
         b.append(String.format("%08x",Long.valueOf(uword(i)))); } }
     return b.toString(); }
 
+  /** Decimal digits, with no leading zeros, subquadratic for
+   * large values; see {@link NaturalDecimal}.
+   */
+
+  public final String toDecimalString () {
+    return NaturalDecimal.toDecimalString(this); }
+
   /** hex string. */
   @Override
   public final String toString () { return toHexString(); }
@@ -1598,14 +1741,53 @@ implements Ringlike<BoundedNatural> {
 
   private BoundedNatural (final int[] words) {
     checkOverflow(words.length);
-    _words = words; }
+    final int n = words.length;
+    if (2<n) { _words = words; _small = 0L; }
+    else {
+      _words = null;
+      if (0==n) { _small = 0L; }
+      else if (1==n) { _small = unsigned(words[0]); }
+      else { _small = (unsigned(words[1])<<32) | unsigned(words[0]); } } }
+
+  /** Inline, <code>u</code> treated as unsigned. */
+
+  private BoundedNatural (final long u) {
+    _words = null;
+    _small = u; }
+
+  private static final BoundedNatural fromSmall (final long u) {
+    if (0L==u) { return ZERO; }
+    return new BoundedNatural(u); }
+
+  /** Unsigned <code>u+v</code>, promoting to 3 words on
+   * carry.
+   */
+
+  private static final BoundedNatural sumSmall (final long u,
+                                                final long v) {
+    final long s = u+v;
+    if (Long.compareUnsigned(s,u)>=0) { return fromSmall(s); }
+    return new BoundedNatural(
+      new int[] { (int) s, (int) (s>>>32), 1, }); }
+
+  /** Unsigned 128 bit <code>u*v</code>. */
+
+  private static final BoundedNatural productSmall (final long u,
+                                                    final long v) {
+    final long lo = u*v;
+    final long hi = Math.multiplyHigh(u,v)
+      + ((u>>63)&v) + ((v>>63)&u);
+    if (0L==hi) { return fromSmall(lo); }
+    return unsafe(
+      new int[] { (int) lo, (int) (lo>>>32),
+                  (int) hi, (int) (hi>>>32), }); }
 
   /** Doesn't copy <code>words</code> or check <code>loInt</code>
    * or <code>hiInt</code>.
    */
 
-  private static final BoundedNatural unsafe (final int[] words,
-                                              final int hiInt){
+  static final BoundedNatural unsafe (final int[] words,
+                                      final int hiInt){
     if (hiInt<words.length) {
       final int[] ww = new int[hiInt];
       for (int i=0;i<hiInt;i++) { ww[i] = words[i]; }
@@ -1659,17 +1841,20 @@ implements Ringlike<BoundedNatural> {
   public static final BoundedNatural valueOf (final String s) {
     return valueOf(s,0x10); }
 
+  /** Inverse of {@link #toDecimalString()}: decimal digits only,
+   * leading zeros allowed, subquadratic for long strings.
+   * @throws NumberFormatException if <code>s</code> is empty or
+   * has anything but digits.
+   */
+
+  public static final BoundedNatural parseDecimal (final String s) {
+    return NaturalDecimal.parseDecimal(s); }
+
   /** <code>0L &le; u</code>. */
 
   public static final BoundedNatural valueOf (final long u) {
     assert 0L<=u;
-    //if (0L==u) { return zero(); }
-    final int lo = (int) u;
-    final int hi = (int) hiWord(u);
-    if (0==hi) {
-      if (0==lo) { return new BoundedNatural(new int[0]); }
-      return new BoundedNatural(new int[] {lo}); }
-    return new BoundedNatural(new int[] { lo,hi }); }
+    return fromSmall(u); }
 
   public static final BoundedNatural valueOf (final long u,
                                               final int upShift) {
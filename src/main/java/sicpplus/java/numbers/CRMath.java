@@ -0,0 +1,501 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Doubles.fastTwoSumLow;
+import static sicpplus.java.numbers.Doubles.twoSumLow;
+
+import java.math.RoundingMode;
+import java.util.function.IntFunction;
+
+/** Correctly rounded (nearest, even ties) <code>exp</code>,
+ * <code>log</code>, <code>pow</code> and <code>hypot</code> on
+ * <code>double</code>, so results are the same on any JVM.
+ * <p>
+ * Ziv's strategy: each function is first evaluated in
+ * double-double arithmetic, with a relative error well below
+ * <code>2<sup>-64</sup></code>. If the nearest
+ * <code>double</code> is the same at both ends of the error
+ * bound, it is the correctly rounded result. Otherwise (rarely)
+ * the value is recomputed with {@link BigFloatMath}, at 128 bits
+ * and doubling until the rounding is decided, and rounded by
+ * {@link BigFloat#doubleValue()}.
+ * <p>
+ * <code>exp</code> and <code>log</code> of a
+ * <code>double</code> are never exactly a <code>double</code>,
+ * or a tie, except for <code>exp(0)</code> and
+ * <code>log(1)</code>, so the fallback always terminates.
+ * <code>pow</code> can be exact, or a tie, only when
+ * <code>x<sup>y</sup></code> is a dyadic rational of at most 54
+ * bits, which is detected and computed exactly.
+ * <code>hypot</code> falls back to an exact square root, rounded
+ * to odd, then to nearest.
+ * <p>
+ * Special cases follow {@link StrictMath}.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class CRMath {
+
+  //--------------------------------------------------------------
+  // rounding test
+  //--------------------------------------------------------------
+  /** Is <code>h</code> the nearest <code>double</code> to every
+   * value within <code>eps*|h|</code> of <code>h+l</code>?
+   * <code>|l|</code> at most half an ulp of <code>h</code>.
+   */
+
+  private static final boolean rounds (final double h,
+                                       final double l,
+                                       final double eps) {
+    final double e = eps*Math.abs(h);
+    return (h==(h+(l-e))) && (h==(h+(l+e))); }
+
+  /** <code>2<sup>e</sup></code>, for normal results. */
+
+  private static final double pow2 (final int e) {
+    return Doubles.mergeBits(0,e,0L); }
+
+  //--------------------------------------------------------------
+  // fallback
+  //--------------------------------------------------------------
+
+  private static final int FALLBACK_PRECISION = 128;
+
+  /** Nearest <code>double</code> to the value approximated by
+   * <code>f.apply(wp)</code>, with relative error less than
+   * <code>2<sup>-wp</sup></code>, which must not be exactly a
+   * <code>double</code>, or halfway between two.
+   */
+
+  private static final double nearest (final IntFunction<BigFloat> f) {
+    for (int wp=FALLBACK_PRECISION;;wp+=wp) {
+      final BigFloat y = f.apply(wp);
+      final BigFloat u = BigFloat.valueOf(
+        true,BoundedNatural.ONE,
+        Math.toIntExact(BigFloatMath.top(y)-wp));
+      final double lo = y.subtract(u).doubleValue();
+      final double hi = y.add(u).doubleValue();
+      if (lo==hi) { return lo; } } }
+
+  //--------------------------------------------------------------
+  // exp
+  //--------------------------------------------------------------
+  /** <code>x = (k + j/64)*ln(2) + r</code>,
+   * <code>|r| &lt;= ln(2)/128</code>.
+   */
+
+  private static final int EXP_BITS = 6;
+  private static final int EXP_MASK = (1<<EXP_BITS)-1;
+
+  /** <code>2<sup>j/64</sup> = EXP_HI[j] + EXP_LO[j]</code>. */
+
+  private static final double[] EXP_HI = new double[1<<EXP_BITS];
+  private static final double[] EXP_LO = new double[1<<EXP_BITS];
+
+  /** <code>ln(2)/64 = LN2_64_HI + LN2_64_LO</code>. */
+
+  private static final double LN2_64_HI;
+  private static final double LN2_64_LO;
+
+  /** <code>ln(2) = LN2_HI + LN2_LO</code>. */
+
+  private static final double LN2_HI;
+  private static final double LN2_LO;
+
+  private static final double INV_LN2_64 = 64.0/Math.log(2.0);
+
+  /** Beyond these, <code>exp</code> rounds to infinity or
+   * zero.
+   */
+
+  private static final double EXP_OVERFLOW = 709.79;
+  private static final double EXP_UNDERFLOW = -745.14;
+
+  /** Below this, results may be subnormal. */
+
+  private static final double EXP_NORMAL = -707.0;
+
+  private static final double EXP_EPS = 0x1p-72;
+
+  /** <code>exp(xh+xl)</code>, <code>|xl|</code> at most an ulp
+   * of <code>xh</code>, <code>xh</code> in
+   * <code>[EXP_NORMAL,EXP_OVERFLOW]</code>, or
+   * <code>NaN</code> if the double-double approximation doesn't
+   * decide the rounding.
+   */
+
+  private static final double expFast (final double xh,
+                                       final double xl,
+                                       final double eps) {
+    final double kd = Math.rint(xh*INV_LN2_64);
+    final int k = (int) kd;
+    // r = x - k*ln(2)/64, as rh+rl
+    final double ph = kd*LN2_64_HI;
+    final double pl = Math.fma(kd,LN2_64_HI,-ph);
+    final double a = xh-ph;
+    final double b =
+      ((twoSumLow(xh,-ph,a)-pl)+xl) - (kd*LN2_64_LO);
+    final double rh = a+b;
+    final double rl = twoSumLow(a,b,rh);
+    // exp(r)-1 = eh + el
+    final double r2 = rh*rh;
+    final double r2l = Math.fma(rh,rh,-r2);
+    final double q = 0.5*r2;
+    final double eh = rh+q;
+    final double tail =
+      (r2*rh)*((1.0/6.0)
+        +(rh*((1.0/24.0)
+          +(rh*((1.0/120.0)
+            +(rh*((1.0/720.0)
+              +(rh*((1.0/5040.0)
+                +(rh*(1.0/40320.0)))))))))));
+    final double el =
+      fastTwoSumLow(rh,q,eh)
+      + (rl + (((0.5*r2l) + (rh*rl) + (0.5*r2*rl)) + tail));
+    // 2^(j/64)*exp(r)
+    final int j = (k&EXP_MASK);
+    final double th = EXP_HI[j];
+    final double tl = EXP_LO[j];
+    final double p = th*eh;
+    final double zh = th+p;
+    final double zl = fastTwoSumLow(th,p,zh)
+      + (Math.fma(th,eh,-p) + ((th*el) + ((tl*eh) + tl)));
+    final double h = zh+zl;
+    if (! rounds(h,fastTwoSumLow(zh,zl,h),eps)) { return Double.NaN; }
+    // scaling is exact for normal results, and overflows
+    // only when the rounded result does
+    return (h*pow2((k>>EXP_BITS)-1))*2.0; }
+
+  /** Correctly rounded <code>e<sup>x</sup></code>. */
+
+  public static final double exp (final double x) {
+    if (Double.isNaN(x)) { return x; }
+    if (x>EXP_OVERFLOW) { return Double.POSITIVE_INFINITY; }
+    if (x<EXP_UNDERFLOW) { return 0.0; }
+    if (x>=EXP_NORMAL) {
+      final double y = expFast(x,0.0,EXP_EPS);
+      if (! Double.isNaN(y)) { return y; } }
+    final BigFloat bx = BigFloat.valueOf(x);
+    return nearest(wp -> BigFloatMath.exp(bx,wp)); }
+
+  //--------------------------------------------------------------
+  // log
+  //--------------------------------------------------------------
+  /** <code>m = F*(1+u)</code>, <code>F = 1 + j/128</code>,
+   * <code>|u| &lt;= 1/256</code>.
+   */
+
+  private static final int LOG_BITS = 7;
+  private static final double LOG_SCALE = 1<<LOG_BITS;
+
+  /** <code>log(1+j/128) = LOG_HI[j+64] + LOG_LO[j+64]</code>,
+   * <code>-64 &lt;= j &lt;= 64</code>.
+   */
+
+  private static final double[] LOG_HI = new double[(2<<(LOG_BITS-1))+1];
+  private static final double[] LOG_LO = new double[(2<<(LOG_BITS-1))+1];
+
+  private static final double SQRT2 = Math.sqrt(2.0);
+  private static final double TWO_THIRDS_HI = 2.0/3.0;
+  private static final double TWO_THIRDS_LO =
+    Math.fma(-3.0,TWO_THIRDS_HI,2.0)/3.0;
+
+  private static final double LOG_EPS = 0x1p-84;
+
+  /** <code>log(x) = hl[0] + hl[1]</code>, with relative error
+   * less than {@link #LOG_EPS}, for finite positive
+   * <code>x</code>.
+   */
+
+  private static final void logFast (final double x,
+                                     final double[] hl) {
+    // x = m*2^k, m in [1/sqrt(2),sqrt(2))
+    final long t = Doubles.significand(x);
+    final int ht = Numbers.hiBit(t);
+    int k = (Doubles.exponent(x)+ht)-1;
+    double m = Doubles.mergeBits(
+      0,0,t<<(Doubles.SIGNIFICAND_BITS-ht));
+    if (m>SQRT2) { m *= 0.5; k++; }
+    // m = F + f, exactly
+    final double d = m-1.0;
+    final int j = (int) Math.rint(d*LOG_SCALE);
+    final double ff = 1.0+(j/LOG_SCALE);
+    final double f = m-ff;
+    // s = f/(F+m) = (m-F)/(m+F), log(m/F) = 2*atanh(s)
+    final double dh = ff+m;
+    final double dl = twoSumLow(ff,m,dh);
+    final double sh = f/dh;
+    final double sl = (Math.fma(-sh,dh,f)-(sh*dl))/dh;
+    // 2s + 2s^3/3 + 2s^5/5 + ...
+    final double s2 = sh*sh;
+    final double s2l = Math.fma(sh,sh,-s2);
+    final double s3 = s2*sh;
+    final double s3l = Math.fma(s2,sh,-s3) + (s2l*sh) + (3.0*s2*sl);
+    final double c = s3*TWO_THIRDS_HI;
+    final double cl =
+      Math.fma(s3,TWO_THIRDS_HI,-c)
+      + (s3*TWO_THIRDS_LO) + (s3l*TWO_THIRDS_HI)
+      + ((s3*s2)*((2.0/5.0)
+        +(s2*((2.0/7.0)
+          +(s2*((2.0/9.0)
+            +(s2*(2.0/11.0))))))));
+    final double ch = 2.0*sh;
+    final double c0 = ch+c;
+    final double c1 = fastTwoSumLow(ch,c,c0) + ((2.0*sl) + cl);
+    // k*ln(2) + log(F) + log(m/F)
+    final double ah = k*LN2_HI;
+    final double al = Math.fma(k,LN2_HI,-ah) + (k*LN2_LO);
+    final double fh = LOG_HI[j+(1<<(LOG_BITS-1))];
+    final double fl = LOG_LO[j+(1<<(LOG_BITS-1))];
+    final double h1 = ah+fh;
+    final double l1 = twoSumLow(ah,fh,h1) + (al+fl);
+    final double h2 = h1+c0;
+    final double l2 = twoSumLow(h1,c0,h2) + (l1+c1);
+    final double h = h2+l2;
+    hl[0] = h;
+    hl[1] = fastTwoSumLow(h2,l2,h); }
+
+  /** Correctly rounded natural logarithm. */
+
+  public static final double log (final double x) {
+    if (Double.isNaN(x) || (x<0.0)) { return Double.NaN; }
+    if (0.0==x) { return Double.NEGATIVE_INFINITY; }
+    if (Double.isInfinite(x)) { return x; }
+    if (1.0==x) { return 0.0; }
+    final double[] hl = new double[2];
+    logFast(x,hl);
+    if (rounds(hl[0],hl[1],LOG_EPS)) { return hl[0]; }
+    final BigFloat bx = BigFloat.valueOf(x);
+    return nearest(wp -> BigFloatMath.log(bx,wp)); }
+
+  //--------------------------------------------------------------
+  // pow
+  //--------------------------------------------------------------
+
+  private static final double POW_EPS = 0x1p-72;
+
+  /** <code>x<sup>n</sup></code>, exactly. */
+
+  private static final BoundedNatural power (final long x,
+                                             final int n) {
+    final BoundedNatural b = BoundedNatural.valueOf(x);
+    BoundedNatural y = BoundedNatural.ONE;
+    for (int i=0;i<n;i++) { y = y.multiply(b); }
+    return y; }
+
+  /** Bits an odd <code>o<sup>n</sup></code> may have and still
+   * be a <code>double</code>, or halfway between two.
+   */
+
+  private static final int EXACT_BITS = Doubles.SIGNIFICAND_BITS+1;
+
+  /** <code>x<sup>y</sup></code>, correctly rounded, if it is a
+   * dyadic rational of at most {@link #EXACT_BITS} bits, or
+   * overflows or underflows as a power of 2; otherwise
+   * <code>NaN</code>. <code>x</code> positive, finite, not 1;
+   * <code>y</code> finite, not 0.
+   */
+
+  private static final double exactPow (final double x,
+                                        final double y) {
+    // x = o*2^ex, o odd
+    final long tx = Doubles.significand(x);
+    final int zx = Long.numberOfTrailingZeros(tx);
+    final long o = (tx>>>zx);
+    final long ex = ((long) Doubles.exponent(x))+zx;
+    // |y| = a*2^ey, a odd
+    final long ty = Doubles.significand(y);
+    final int zy = Long.numberOfTrailingZeros(ty);
+    final long a = (ty>>>zy);
+    final int ey = Doubles.exponent(y)+zy;
+    final boolean negative = (y<0.0);
+
+    if (1L==o) {
+      // 2^(ex*y), dyadic iff ex*y is an integer
+      if (Math.abs(y)>0x1p20) {
+        // overflows or underflows
+        return ((ex>0)==(y>0.0)) ? Double.POSITIVE_INFINITY : 0.0; }
+      final long n;
+      if (0<=ey) { n = ex*((long) y); }
+      else {
+        if ((ey<=-Long.SIZE)
+          || (0L!=(ex&((1L<<-ey)-1L)))) { return Double.NaN; }
+        n = (ex>>-ey)*(negative ? -a : a); }
+      return BigFloat.doubleValue(
+        true,BoundedNatural.ONE,Math.toIntExact(n)); }
+
+    // o^a*2^(ex*a) for odd o >= 3 has more than 54 bits
+    // for a >= 35, and isn't dyadic for negative y
+    if (negative) { return Double.NaN; }
+    long r = o;
+    long n = a;
+    if (0<=ey) {
+      if (ey>Numbers.hiBit(EXACT_BITS)) { return Double.NaN; }
+      n = a<<ey; }
+    else {
+      // o must be a perfect 2^-ey power, ex divisible by 2^-ey
+      if ((-ey>Numbers.hiBit(EXACT_BITS))
+        || (0L!=(ex&((1L<<-ey)-1L)))) { return Double.NaN; }
+      for (int i=0;i<-ey;i++) {
+        final long s = (long) Math.sqrt(r);
+        if (s*s!=r) { return Double.NaN; }
+        r = s; } }
+    if (n>EXACT_BITS) { return Double.NaN; }
+    final long e = (0<=ey) ? ex*n : (ex>>-ey)*n;
+    return BigFloat.doubleValue(
+      true,power(r,(int) n),Math.toIntExact(e)); }
+
+  /** <code>x<sup>y</sup></code> for finite positive
+   * <code>x</code>, not 1, and finite <code>y</code>, not 0 or 1.
+   */
+
+  private static final double powPositive (final double x,
+                                           final double y) {
+    final double[] hl = new double[2];
+    logFast(x,hl);
+    final double th = y*hl[0];
+    final double tl = Math.fma(y,hl[0],-th) + (y*hl[1]);
+    if (th>EXP_OVERFLOW) { return Double.POSITIVE_INFINITY; }
+    if (th<EXP_UNDERFLOW) { return 0.0; }
+    if (th>=EXP_NORMAL) {
+      final double t = th+tl;
+      final double z =
+        expFast(t,fastTwoSumLow(th,tl,t),POW_EPS);
+      if (! Double.isNaN(z)) { return z; } }
+    final double exact = exactPow(x,y);
+    if (! Double.isNaN(exact)) { return exact; }
+    // relative error 2^-(wp+4+g) in log(x) is absolute error
+    // at most 2^-(wp+5) in y*log(x)
+    final int g = Math.max(0,Math.getExponent(th)+2);
+    final BigFloat bx = BigFloat.valueOf(x);
+    final BigFloat by = BigFloat.valueOf(y);
+    return nearest(wp ->
+    BigFloatMath.exp(
+      by.multiply(BigFloatMath.log(bx,wp+4+g)),wp+2)); }
+
+  private static final boolean isInteger (final double y) {
+    return y==Math.rint(y); }
+
+  private static final boolean isOddInteger (final double y) {
+    return (Math.abs(y)<Doubles.MAX_INTEGER)
+      && isInteger(y)
+      && (0L!=(((long) y)&1L)); }
+
+  /** Correctly rounded <code>x<sup>y</sup></code>. */
+
+  public static final double pow (final double x,
+                                  final double y) {
+    // exact special values
+    if ((0.0==y) || (1.0==y) || (1.0==x) || (0.0==x)
+      || (! Double.isFinite(x)) || (! Double.isFinite(y))) {
+      return StrictMath.pow(x,y); }
+    if (0.0<x) { return powPositive(x,y); }
+    if (! isInteger(y)) { return Double.NaN; }
+    final double z = powPositive(-x,y);
+    return (isOddInteger(y) ? -z : z); }
+
+  //--------------------------------------------------------------
+  // hypot
+  //--------------------------------------------------------------
+  /** Squares within these bounds are normal. */
+
+  private static final double HYPOT_MAX = 0x1p450;
+  private static final double HYPOT_MIN = 0x1p-450;
+
+  private static final double HYPOT_EPS = 0x1p-90;
+
+  /** <code>sqrt(x<sup>2</sup>+y<sup>2</sup>)</code> from the
+   * exact sum of squares, truncated to at least 55 bits, with a
+   * sticky bit, so that rounding to nearest is correct.
+   */
+
+  private static final double hypotExact (final double x,
+                                          final double y) {
+    final BigFloat bx = BigFloat.valueOf(x);
+    final BigFloat by = BigFloat.valueOf(y);
+    final BigFloat s = bx.square().add(by.square());
+    final BoundedNatural t = s.significand();
+    final int e = s.exponent();
+    int k = Math.max(0,(2*(EXACT_BITS+1))-t.hiBit()+1);
+    if (0!=((e-k)&1)) { k++; }
+    final BoundedNatural n = t.shiftUp(k);
+    final BoundedNatural r = BigFloatMath.isqrt(n);
+    if (r.square().equals(n)) {
+      return BigFloat.doubleValue(true,r,(e-k)/2); }
+    return BigFloat.doubleValue(true,r.shiftUp(1).add(1L),((e-k)/2)-1); }
+
+  /** Correctly rounded
+   * <code>sqrt(x<sup>2</sup>+y<sup>2</sup>)</code>, without
+   * intermediate overflow or underflow.
+   */
+
+  public static final double hypot (final double x,
+                                    final double y) {
+    if (Double.isInfinite(x) || Double.isInfinite(y)) {
+      return Double.POSITIVE_INFINITY; }
+    if (Double.isNaN(x) || Double.isNaN(y)) { return Double.NaN; }
+    final double ax = Math.max(Math.abs(x),Math.abs(y));
+    final double ay = Math.min(Math.abs(x),Math.abs(y));
+    if (0.0==ay) { return ax; }
+    if ((ax<HYPOT_MAX) && (ay>HYPOT_MIN)) {
+      final double xh = ax*ax;
+      final double yh = ay*ay;
+      final double sh = xh+yh;
+      final double sl = fastTwoSumLow(xh,yh,sh)
+        + (Math.fma(ax,ax,-xh) + Math.fma(ay,ay,-yh));
+      final double s = sh+sl;
+      final double sll = fastTwoSumLow(sh,sl,s);
+      final double r = Math.sqrt(s);
+      final double rr = r*r;
+      final double rl =
+        (((s-rr)-Math.fma(r,r,-rr))+sll)/(2.0*r);
+      final double h = r+rl;
+      if (rounds(h,fastTwoSumLow(r,rl,h),HYPOT_EPS)) { return h; } }
+    return hypotExact(ax,ay); }
+
+  //--------------------------------------------------------------
+  // tables
+  //--------------------------------------------------------------
+
+  private static final BigFloat lo (final BigFloat x,
+                                    final double hi) {
+    return x.subtract(BigFloat.valueOf(hi)); }
+
+  static {
+    final int wp = 192;
+    final BigFloat ln2 =
+      BigFloatMath.ln2(BigFloatContext.make(wp,RoundingMode.HALF_EVEN));
+    LN2_HI = ln2.doubleValue();
+    LN2_LO = lo(ln2,LN2_HI).doubleValue();
+    final BigFloat ln2_64 =
+      ln2.multiply(BigFloat.valueOf(true,BoundedNatural.ONE,-EXP_BITS));
+    LN2_64_HI = ln2_64.doubleValue();
+    LN2_64_LO = lo(ln2_64,LN2_64_HI).doubleValue();
+    for (int j=0;j<EXP_HI.length;j++) {
+      final BigFloat y = BigFloatMath.exp(
+        ln2_64.multiply(BigFloat.valueOf((double) j)),wp);
+      EXP_HI[j] = y.doubleValue();
+      EXP_LO[j] = lo(y,EXP_HI[j]).doubleValue(); }
+    final int j0 = (1<<(LOG_BITS-1));
+    for (int j=-j0;j<=j0;j++) {
+      if (0==j) { continue; }
+      final BigFloat y = BigFloatMath.log(
+        BigFloat.valueOf(1.0+(j/LOG_SCALE)),wp);
+      LOG_HI[j+j0] = y.doubleValue();
+      LOG_LO[j+j0] = lo(y,LOG_HI[j+j0]).doubleValue(); } }
+
+  //--------------------------------------------------------------
+  // disabled constructor
+  //--------------------------------------------------------------
+
+  private CRMath () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,332 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Doubles.fastTwoSumLow;
+import static sicpplus.java.numbers.Doubles.twoProductLow;
+import static sicpplus.java.numbers.Doubles.twoSumLow;
+
+/** An unevaluated sum <code>hi+lo</code> of two
+ * <code>double</code>s, with <code>hi</code> the nearest
+ * <code>double</code> to the sum: about 106 significant bits,
+ * at a few <code>double</code> operations per operation.
+ * <p>
+ * Arithmetic is not correctly rounded: relative error is a small
+ * multiple of 2<sup>-106</sup> for add, multiply and divide
+ * (Joldes, Muller, Popescu 2017). The exponent range is that of
+ * <code>double</code>, and no attempt is made to handle
+ * infinities, NaN, or overflow/underflow of <code>lo</code>.
+ * <p>
+ * The static kernels on <code>double[]</code> (sum, dot, axpy,
+ * Horner) keep the accumulator in locals, without allocating
+ * per element; they are the compensated algorithms of Ogita,
+ * Rump, Oishi and Graillat, Langlois, Louvet, returning results
+ * as accurate as if computed in double-double.
+ * <p>
+ * Immutable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class DoubleDouble
+implements Ringlike<DoubleDouble> {
+
+  //--------------------------------------------------------------
+  // instance fields and methods
+  //--------------------------------------------------------------
+
+  private final double _hi;
+  public final double hi () { return _hi; }
+
+  // |lo| <= ulp(hi)/2
+  private final double _lo;
+  public final double lo () { return _lo; }
+
+  //--------------------------------------------------------------
+  // Ringlike
+  //--------------------------------------------------------------
+
+  @Override
+  public final boolean isZero () { return 0.0==_hi; }
+
+  @Override
+  public final boolean isOne () { return (1.0==_hi) && (0.0==_lo); }
+
+  @Override
+  public final DoubleDouble zero () { return ZERO; }
+
+  @Override
+  public final DoubleDouble one () { return ONE; }
+
+  //--------------------------------------------------------------
+
+  @Override
+  public final DoubleDouble negate () {
+    return new DoubleDouble(-_hi,-_lo); }
+
+  @Override
+  public final DoubleDouble abs () {
+    if (0.0<=_hi) { return this; }
+    return negate(); }
+
+  //--------------------------------------------------------------
+
+  public final DoubleDouble add (final double b) {
+    final double s = _hi+b;
+    final double e = twoSumLow(_hi,b,s) + _lo;
+    final double h = s+e;
+    return new DoubleDouble(h,fastTwoSumLow(s,e,h)); }
+
+  @Override
+  public final DoubleDouble add (final DoubleDouble b) {
+    return add(b._hi,b._lo); }
+
+  private final DoubleDouble add (final double bhi,
+                                  final double blo) {
+    // accurate, not sloppy, sum: both pairs of parts
+    final double s = _hi+bhi;
+    final double e = twoSumLow(_hi,bhi,s);
+    final double t = _lo+blo;
+    final double f = twoSumLow(_lo,blo,t);
+    final double e1 = e+t;
+    final double h1 = s+e1;
+    final double e2 = fastTwoSumLow(s,e1,h1) + f;
+    final double h2 = h1+e2;
+    return new DoubleDouble(h2,fastTwoSumLow(h1,e2,h2)); }
+
+  @Override
+  public final DoubleDouble subtract (final DoubleDouble b) {
+    return add(-b._hi,-b._lo); }
+
+  public final DoubleDouble subtract (final double b) {
+    return add(-b); }
+
+  //--------------------------------------------------------------
+
+  public final DoubleDouble multiply (final double b) {
+    final double p = _hi*b;
+    final double e = Math.fma(_lo,b,twoProductLow(_hi,b,p));
+    final double h = p+e;
+    return new DoubleDouble(h,fastTwoSumLow(p,e,h)); }
+
+  @Override
+  public final DoubleDouble multiply (final DoubleDouble b) {
+    final double p = _hi*b._hi;
+    final double t = Math.fma(_hi,b._lo,_lo*b._hi);
+    final double e = twoProductLow(_hi,b._hi,p) + t;
+    final double h = p+e;
+    return new DoubleDouble(h,fastTwoSumLow(p,e,h)); }
+
+  @Override
+  public final DoubleDouble square () { return multiply(this); }
+
+  /** <code>this + a*b</code>, rounding the product to
+   * double-double once, without allocating it.
+   */
+
+  @Override
+  public final DoubleDouble multiplyAdd (final DoubleDouble a,
+                                         final DoubleDouble b) {
+    final double p = a._hi*b._hi;
+    final double t = Math.fma(a._hi,b._lo,a._lo*b._hi);
+    final double e = twoProductLow(a._hi,b._hi,p) + t;
+    final double h = p+e;
+    return add(h,fastTwoSumLow(p,e,h)); }
+
+  @Override
+  public final DoubleDouble multiplySubtract (final DoubleDouble a,
+                                              final DoubleDouble b) {
+    return multiplyAdd(a.negate(),b); }
+
+  //--------------------------------------------------------------
+
+  @Override
+  public final DoubleDouble divide (final DoubleDouble b) {
+    if (b.isZero()) { throw new ArithmeticException("divide by zero"); }
+    // long division, a double of quotient at a time
+    final double q1 = _hi/b._hi;
+    final DoubleDouble r1 = subtract(b.multiply(q1));
+    final double q2 = r1._hi/b._hi;
+    final DoubleDouble r2 = r1.subtract(b.multiply(q2));
+    final double q3 = r2._hi/b._hi;
+    final double h = q1+q2;
+    return new DoubleDouble(h,fastTwoSumLow(q1,q2,h)).add(q3); }
+
+  @Override
+  public final DoubleDouble invert () { return ONE.divide(this); }
+
+  //--------------------------------------------------------------
+  // 'Number' interface
+  //--------------------------------------------------------------
+
+  /** The exact value of <code>hi+lo</code>. */
+
+  public final BigFloat bigFloatValue () {
+    return BigFloat.valueOf(_hi).add(BigFloat.valueOf(_lo)); }
+
+  /** Correctly rounded, because <code>hi</code> is. */
+
+  @Override
+  public final double doubleValue () { return _hi; }
+
+  /** Correctly rounded, via the exact value. */
+
+  @Override
+  public final float floatValue () {
+    return bigFloatValue().floatValue(); }
+
+  //--------------------------------------------------------------
+  // Comparable methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final int compareTo (final DoubleDouble b) {
+    // lexicographic, since hi is the rounded sum
+    if (_hi<b._hi) { return -1; }
+    if (_hi>b._hi) { return 1; }
+    if (_lo<b._lo) { return -1; }
+    if (_lo>b._lo) { return 1; }
+    return 0; }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  public final boolean equals (final DoubleDouble b) {
+    return 0==compareTo(b); }
+
+  @Override
+  public boolean equals (final Object o) {
+    if (!(o instanceof DoubleDouble)) { return false; }
+    return equals((DoubleDouble) o); }
+
+  @Override
+  public int hashCode () {
+    // +0.0 identifies signed zeros
+    int h = 17;
+    h = (31*h) + Double.hashCode(_hi+0.0);
+    h = (31*h) + Double.hashCode(_lo+0.0);
+    return h; }
+
+  @Override
+  public final String toString () {
+    return Double.toHexString(_hi) + "+" + Double.toHexString(_lo); }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private DoubleDouble (final double hi,
+                        final double lo) {
+    _hi = hi;
+    _lo = lo; }
+
+  public static final DoubleDouble valueOf (final double x) {
+    return new DoubleDouble(x,0.0); }
+
+  /** The exact sum, which must be representable. */
+
+  public static final DoubleDouble valueOf (final double x,
+                                            final double y) {
+    final double h = x+y;
+    return new DoubleDouble(h,twoSumLow(x,y,h)); }
+
+  /** Nearest <code>hi</code>, then nearest <code>lo</code>. */
+
+  public static final DoubleDouble valueOf (final BigFloat x) {
+    final double h = x.doubleValue();
+    if (! Double.isFinite(h)) { return new DoubleDouble(h,0.0); }
+    final double l = x.subtract(BigFloat.valueOf(h)).doubleValue();
+    return new DoubleDouble(h,l); }
+
+  public static final DoubleDouble ZERO = valueOf(0.0);
+  public static final DoubleDouble ONE = valueOf(1.0);
+
+  //--------------------------------------------------------------
+  // bulk kernels
+  //--------------------------------------------------------------
+
+  /** <code>sum(x<sub>i</sub>)</code>; relative error about
+   * 2<sup>-106</sup>, plus
+   * <code>n<sup>2</sup>2<sup>-106</sup>sum(|x<sub>i</sub>|)</code>
+   * absolute.
+   */
+
+  public static final DoubleDouble sum (final double[] x) {
+    double s = 0.0;
+    double c = 0.0;
+    for (final double xi : x) {
+      final double t = s+xi;
+      c += twoSumLow(s,xi,t);
+      s = t; }
+    return valueOf(s,c); }
+
+  /** <code>sum(x<sub>i</sub>*y<sub>i</sub>)</code>, as accurate
+   * as {@link #sum}.
+   */
+
+  public static final DoubleDouble dot (final double[] x,
+                                        final double[] y) {
+    final int n = x.length;
+    assert n==y.length;
+    double s = 0.0;
+    double c = 0.0;
+    for (int i=0;i<n;i++) {
+      final double p = x[i]*y[i];
+      final double pe = twoProductLow(x[i],y[i],p);
+      final double t = s+p;
+      c += twoSumLow(s,p,t) + pe;
+      s = t; }
+    return valueOf(s,c); }
+
+  /** <code>y &larr; a*x + y</code>, where <code>y[0]</code> and
+   * <code>y[1]</code> hold the high and low parts of a vector of
+   * double-doubles.
+   */
+
+  public static final void axpy (final DoubleDouble a,
+                                 final double[] x,
+                                 final double[][] y) {
+    final double ah = a._hi;
+    final double al = a._lo;
+    final double[] yh = y[0];
+    final double[] yl = y[1];
+    final int n = x.length;
+    assert (n==yh.length) && (n==yl.length);
+    for (int i=0;i<n;i++) {
+      final double xi = x[i];
+      final double p0 = ah*xi;
+      final double e0 = Math.fma(al,xi,twoProductLow(ah,xi,p0));
+      final double p = p0+e0;
+      final double pl = fastTwoSumLow(p0,e0,p);
+      final double s = yh[i]+p;
+      final double e = twoSumLow(yh[i],p,s);
+      final double t = yl[i]+pl;
+      final double f = twoSumLow(yl[i],pl,t);
+      final double e1 = e+t;
+      final double h1 = s+e1;
+      final double e2 = fastTwoSumLow(s,e1,h1) + f;
+      final double h2 = h1+e2;
+      yh[i] = h2;
+      yl[i] = fastTwoSumLow(h1,e2,h2); } }
+
+  /** <code>sum(a<sub>i</sub>*x<sup>i</sup>)</code>, by
+   * compensated Horner.
+   */
+
+  public static final DoubleDouble horner (final double[] a,
+                                           final double x) {
+    final int n = a.length;
+    if (0==n) { return ZERO; }
+    double s = a[n-1];
+    double c = 0.0;
+    for (int i=n-2;i>=0;i--) {
+      final double p = s*x;
+      final double pe = twoProductLow(s,x,p);
+      s = p+a[i];
+      c = Math.fma(c,x,pe + twoSumLow(p,a[i],s)); }
+    return valueOf(s,c); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
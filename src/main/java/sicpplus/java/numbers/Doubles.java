@@ -386,6 +386,39 @@ public final class Doubles implements Set {
 
   public static final double MAX_INTEGER = 9007199254740992D;
 
+  //--------------------------------------------------------------
+  // error free transformations
+  //--------------------------------------------------------------
+  /** Rounding error in <code>s=fl(a+b)</code> (Knuth's
+   * branch-free two-sum): <code>a+b == s+e</code> exactly,
+   * barring overflow.
+   */
+
+  public static final double twoSumLow (final double a,
+                                        final double b,
+                                        final double s) {
+    final double z = s-a;
+    return (a-(s-z)) + (b-z); }
+
+  /** Rounding error in <code>s=fl(a+b)</code>, for
+   * <code>|a| &gt;= |b|</code> (Dekker's fast two-sum).
+   */
+
+  public static final double fastTwoSumLow (final double a,
+                                            final double b,
+                                            final double s) {
+    return b-(s-a); }
+
+  /** Rounding error in <code>p=fl(a*b)</code>:
+   * <code>a*b == p+e</code> exactly, barring overflow and
+   * underflow.
+   */
+
+  public static final double twoProductLow (final double a,
+                                            final double b,
+                                            final double p) {
+    return Math.fma(a,b,-p); }
+
   //--------------------------------------------------------------
   // operations for algebraic structures over Doubles.
   //--------------------------------------------------------------
@@ -0,0 +1,240 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Doubles.fastTwoSumLow;
+import static sicpplus.java.numbers.Doubles.twoProductLow;
+import static sicpplus.java.numbers.Doubles.twoSumLow;
+
+/** Shewchuk's floating point expansions: exact sums of
+ * non-overlapping <code>double</code>s, stored in
+ * <code>e[0..n)</code> in order of increasing magnitude, with
+ * zero components eliminated, so the empty expansion is zero.
+ * Operations are exact, barring overflow and underflow; the
+ * output array must be long enough for the worst case, and
+ * may be the (first) input array, where noted.
+ * <p>
+ * Reference:
+ * <p>
+ * <a href="https://people.eecs.berkeley.edu/~jrs/papers/robustr.pdf">
+ * Jonathan Richard Shewchuk, "Adaptive Precision Floating-Point
+ * Arithmetic and Fast Robust Geometric Predicates",
+ * Discrete &amp; Computational Geometry 18:305-363, 1997.</a>
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class Expansions {
+
+  //--------------------------------------------------------------
+  /** <code>h = e + b</code>, <code>h</code> may be
+   * <code>e</code>, with room for <code>n+1</code> components.
+   */
+
+  static final int grow (final int n,
+                         final double[] e,
+                         final double b,
+                         final double[] h) {
+    double q = b;
+    int k = 0;
+    for (int i=0;i<n;i++) {
+      final double ei = e[i];
+      final double s = q+ei;
+      final double hh = twoSumLow(q,ei,s);
+      q = s;
+      if (0.0!=hh) { h[k++] = hh; } }
+    if (0.0!=q) { h[k++] = q; }
+    return k; }
+
+  /** <code>h = e + f</code>, with room for <code>n+m</code>
+   * components; <code>h</code> distinct from the inputs.
+   */
+
+  static final int sum (final int n,
+                        final double[] e,
+                        final int m,
+                        final double[] f,
+                        final double[] h) {
+    if (0==n) { System.arraycopy(f,0,h,0,m); return m; }
+    if (0==m) { System.arraycopy(e,0,h,0,n); return n; }
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    double q = 0.0;
+    boolean first = true;
+    // merge by magnitude, carrying the running sum up
+    while ((i<n) || (j<m)) {
+      final double g;
+      if ((j>=m) || ((i<n) && (Math.abs(e[i])<=Math.abs(f[j])))) {
+        g = e[i++]; }
+      else {
+        g = f[j++]; }
+      if (first) { q = g; first = false; }
+      else {
+        final double s = q+g;
+        final double hh = twoSumLow(q,g,s);
+        q = s;
+        if (0.0!=hh) { h[k++] = hh; } } }
+    if (0.0!=q) { h[k++] = q; }
+    return k; }
+
+  /** <code>h = b*e</code>, with room for <code>2n</code>
+   * components; <code>h</code> distinct from <code>e</code>.
+   */
+
+  static final int scale (final int n,
+                          final double[] e,
+                          final double b,
+                          final double[] h) {
+    if ((0==n) || (0.0==b)) { return 0; }
+    int k = 0;
+    double q = e[0]*b;
+    final double h0 = twoProductLow(e[0],b,q);
+    if (0.0!=h0) { h[k++] = h0; }
+    for (int i=1;i<n;i++) {
+      final double p1 = e[i]*b;
+      final double p0 = twoProductLow(e[i],b,p1);
+      final double s = q+p0;
+      final double hh = twoSumLow(q,p0,s);
+      if (0.0!=hh) { h[k++] = hh; }
+      q = p1+s;
+      final double hl = fastTwoSumLow(p1,s,q);
+      if (0.0!=hl) { h[k++] = hl; } }
+    if (0.0!=q) { h[k++] = q; }
+    return k; }
+
+  /** <code>h = -e</code>; <code>h</code> may be <code>e</code>.
+   */
+
+  static final int negate (final int n,
+                           final double[] e,
+                           final double[] h) {
+    for (int i=0;i<n;i++) { h[i] = -e[i]; }
+    return n; }
+
+  //--------------------------------------------------------------
+  /** Fewer, larger, non-adjacent components, in place. */
+
+  static final int compress (final int n,
+                             final double[] e) {
+    if (0==n) { return 0; }
+    int bottom = n-1;
+    double q = e[bottom];
+    for (int i=n-2;i>=0;i--) {
+      final double s = q+e[i];
+      final double ql = fastTwoSumLow(q,e[i],s);
+      if (0.0!=ql) { e[bottom--] = s; q = ql; }
+      else { q = s; } }
+    int top = 0;
+    for (int i=bottom+1;i<n;i++) {
+      final double s = e[i]+q;
+      final double ql = fastTwoSumLow(e[i],q,s);
+      if (0.0!=ql) { e[top++] = ql; }
+      q = s; }
+    if (0.0!=q) { e[top++] = q; }
+    return top; }
+
+  /** Keep (about) the leading <code>m</code> components, in
+   * place, each at most an ulp of the next larger. The rest
+   * are folded into the smallest kept component, with one
+   * rounding.
+   */
+
+  static final int truncate (final int n,
+                             final double[] e,
+                             final int m) {
+    final int n1 = compress(n,e);
+    if (0==n1) { return 0; }
+    final int k = Math.min(m,n1);
+    // c[0] largest
+    final double[] c = new double[k];
+    for (int i=0;i<k;i++) { c[i] = e[n1-1-i]; }
+    double rest = 0.0;
+    for (int i=0;i<(n1-k);i++) { rest += e[i]; }
+    c[k-1] += rest;
+    // bottom up, then top down (Joldes, Muller, Popescu)
+    double s = c[k-1];
+    for (int i=k-2;i>=0;i--) {
+      final double si = c[i]+s;
+      c[i+1] = fastTwoSumLow(c[i],s,si);
+      s = si; }
+    c[0] = s;
+    int j = 0;
+    double eps = c[0];
+    for (int i=1;i<k;i++) {
+      final double r = eps+c[i];
+      final double eps1 = fastTwoSumLow(eps,c[i],r);
+      if (0.0!=eps1) { c[j++] = r; eps = eps1; }
+      else { eps = r; } }
+    if (0.0!=eps) { c[j++] = eps; }
+    for (int i=0;i<j;i++) { e[i] = c[j-1-i]; }
+    return j; }
+
+  //--------------------------------------------------------------
+  /** Sign of the value: the sign of the largest component,
+   * unless the rest might outweigh it, which can only happen if
+   * the expansion isn't really non-overlapping.
+   */
+
+  static final int signum (final int n,
+                           final double[] e) {
+    if (0==n) { return 0; }
+    final double top = e[n-1];
+    double rest = 0.0;
+    for (int i=0;i<(n-1);i++) { rest += Math.abs(e[i]); }
+    if ((rest*(1.0+0x1p-50))<Math.abs(top)) {
+      return (0.0<top) ? 1 : -1; }
+    return Integer.signum(bigFloatValue(n,e).compareTo(BigFloat.ZERO)); }
+
+  /** The nearest <code>double</code> to the value, even ties.
+   * Checks a faithful approximation against the exact
+   * remainder, falling back to {@link BigFloat#doubleValue()}
+   * near overflow and underflow.
+   */
+
+  static final double nearest (final int n,
+                               final double[] e) {
+    if (0==n) { return 0.0; }
+    double s = e[0];
+    for (int i=1;i<n;i++) { s = e[i]+s; }
+    if ((! Double.isFinite(s))
+      || (Math.abs(s)<0x1p-1000)
+      || (Math.abs(s)>0x1p1020)) {
+      return bigFloatValue(n,e).doubleValue(); }
+    final double[] r = new double[n+1];
+    final int nr = grow(n,e,-s,r);
+    if (0==nr) { return s; }
+    // is the value strictly between s and its neighbor t?
+    final boolean up = (0<signum(nr,r));
+    final double t = up ? Math.nextUp(s) : Math.nextDown(s);
+    final double gap = t-s;
+    final double[] g = new double[nr+1];
+    final int cg = signum(grow(nr,r,-gap,g),g);
+    if (up ? (0<=cg) : (0>=cg)) {
+      return bigFloatValue(n,e).doubleValue(); }
+    final int c = signum(grow(nr,r,-0.5*gap,g),g);
+    if (0==c) {
+      return (0L==(Double.doubleToRawLongBits(s)&1L)) ? s : t; }
+    return ((0<c)==up) ? t : s; }
+
+  //--------------------------------------------------------------
+
+  static final BigFloat bigFloatValue (final int n,
+                                       final double[] e) {
+    BigFloat s = BigFloat.ZERO;
+    for (int i=0;i<n;i++) { s = s.add(BigFloat.valueOf(e[i])); }
+    return s; }
+
+  //--------------------------------------------------------------
+  // disabled constructor
+  //--------------------------------------------------------------
+
+  private Expansions () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
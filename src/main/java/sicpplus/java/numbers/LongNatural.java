@@ -0,0 +1,718 @@
+package sicpplus.java.numbers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/** Immutable arbitrary-precision non-negative integers
+ * (natural numbers), represented by a <code>long[]</code> of
+ * 64 bit limbs, starting with the least significant limb at
+ * <code>long[0]</code>.
+ * Each <code>long</code> limb is treated as unsigned 64 bits,
+ * using {@link Math#multiplyHigh(long,long)} (corrected to
+ * unsigned) for the high half of limb products, and
+ * {@link Long#compareUnsigned(long,long)} and
+ * {@link Long#divideUnsigned(long,long)} elsewhere.
+ * <p>
+ * A 64 bit limb halves the number of inner loop iterations of
+ * the schoolbook algorithms, relative to the 32 bit words of
+ * {@link BoundedNatural}, and quarters the number of limb
+ * products, at the cost of 2 multiplies per product.
+ * <p>
+ * Same range as {@link BoundedNatural}: at most
+ * {@link #MAX_BITS} bits; operations whose result would be
+ * larger throw an {@link ArithmeticException}.
+ * <p>
+ * Multiplication is schoolbook below
+ * {@link #KARATSUBA_THRESHOLD} limbs, and Karatsuba above.
+ * Division is Knuth's Algorithm D on 64 bit limbs, with a
+ * 128/64 bit quotient estimate. <code>gcd</code> and
+ * <code>reduce</code> convert to and from
+ * {@link BoundedNatural}, which is linear, and use its
+ * Lehmer/half-gcd implementation.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class LongNatural implements Ringlike<LongNatural> {
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  /** Same bound as {@link BoundedNatural#MAX_BITS}. */
+
+  public static final int MAX_BITS = BoundedNatural.MAX_BITS;
+
+  /** Operand size, in limbs, above which
+   * {@link #multiply(LongNatural)} switches from schoolbook
+   * to Karatsuba. Roughly half the
+   * {@link BoundedNatural} crossover in words, since each limb
+   * product here costs about 2 word products there.
+   */
+
+  public static final int KARATSUBA_THRESHOLD = 40;
+
+  /** Trimmed: the most significant limb, if any, is non-zero.
+   * This array is never modified.
+   */
+
+  private final long[] _limbs;
+
+  private static final long[] NO_LIMBS = new long[0];
+
+  //--------------------------------------------------------------
+
+  public final int hiLong () { return _limbs.length; }
+
+  /** The <code>i</code>th limb, as unsigned 64 bits; zero
+   * above {@link #hiLong()}.
+   */
+
+  public final long limb (final int i) {
+    assert 0<=i : "Negative index: " + i;
+    if (_limbs.length<=i) { return 0L; }
+    return _limbs[i]; }
+
+  public final int hiBit () {
+    final int n = _limbs.length;
+    if (0==n) { return 0; }
+    return (n<<6)-Long.numberOfLeadingZeros(_limbs[n-1]); }
+
+  public final int loBit () {
+    for (int i=0;i<_limbs.length;i++) {
+      final long li = _limbs[i];
+      if (0L!=li) { return (i<<6)+Long.numberOfTrailingZeros(li); } }
+    return 0; }
+
+  public final boolean testBit (final int n) {
+    assert 0<=n;
+    return 0L!=(limb(n>>>6) & (1L<<(n&0x3F))); }
+
+  //--------------------------------------------------------------
+  // unsigned 64 bit limb arithmetic
+  //--------------------------------------------------------------
+  /** High 64 bits of the unsigned 128 bit product.
+   * <code>Math.unsignedMultiplyHigh</code> needs Java 18;
+   * this is the same correction of the signed high half.
+   */
+
+  static final long multiplyHighUnsigned (final long a,
+                                          final long b) {
+    return Math.multiplyHigh(a,b) + ((a>>63)&b) + ((b>>63)&a); }
+
+  private static final boolean lessThan (final long a,
+                                         final long b) {
+    return Long.compareUnsigned(a,b) < 0; }
+
+  /** Divide the unsigned 128 bit <code>(u1,u0)</code> by
+   * <code>v</code>, where <code>u1 &lt; v</code>, so the
+   * quotient fits in 64 bits. The remainder is returned in
+   * <code>r[0]</code>.
+   * (Hacker's Delight, 2nd ed, 9-4, <code>divlu</code>,
+   * on 32 bit half limbs.)
+   */
+
+  static final long divide128 (final long u1,
+                               final long u0,
+                               final long v,
+                               final long[] r) {
+    assert lessThan(u1,v);
+    final long b = (1L<<32);
+    final int s = Long.numberOfLeadingZeros(v);
+    final long vs = (v<<s);
+    final long vn1 = (vs>>>32);
+    final long vn0 = (vs&0xFFFFFFFFL);
+    final long un32 =
+      (0==s) ? u1 : ((u1<<s)|(u0>>>(64-s)));
+    final long un10 = (u0<<s);
+    final long un1 = (un10>>>32);
+    final long un0 = (un10&0xFFFFFFFFL);
+
+    long q1 = Long.divideUnsigned(un32,vn1);
+    long rhat = un32-(q1*vn1);
+    while (lessThan(b-1,q1)
+      || lessThan((b*rhat)+un1,q1*vn0)) {
+      q1--;
+      rhat += vn1;
+      if (lessThan(b-1,rhat)) { break; } }
+
+    final long un21 = ((un32<<32)+un1)-(q1*vs);
+    long q0 = Long.divideUnsigned(un21,vn1);
+    rhat = un21-(q0*vn1);
+    while (lessThan(b-1,q0)
+      || lessThan((b*rhat)+un0,q0*vn0)) {
+      q0--;
+      rhat += vn1;
+      if (lessThan(b-1,rhat)) { break; } }
+
+    r[0] = ((((un21<<32)+un0)-(q0*vs))>>>s);
+    return (q1<<32)+q0; }
+
+  //--------------------------------------------------------------
+  // ordering
+  //--------------------------------------------------------------
+
+  private static final int compare (final long[] a,
+                                    final long[] b) {
+    final int na = a.length;
+    final int nb = b.length;
+    if (na<nb) { return -1; }
+    if (na>nb) { return 1; }
+    for (int i=na-1;i>=0;i--) {
+      final int c = Long.compareUnsigned(a[i],b[i]);
+      if (0!=c) { return c; } }
+    return 0; }
+
+  @Override
+  public final int compareTo (final LongNatural u) {
+    return compare(_limbs,u._limbs); }
+
+  @Override
+  public final LongNatural min (final LongNatural u) {
+    return (0<=compareTo(u)) ? u : this; }
+
+  @Override
+  public final LongNatural max (final LongNatural u) {
+    return (0<=compareTo(u)) ? this : u; }
+
+  //--------------------------------------------------------------
+  // additive
+  //--------------------------------------------------------------
+
+  public static final LongNatural ZERO = new LongNatural(NO_LIMBS);
+
+  @Override
+  public final boolean isZero () { return 0==_limbs.length; }
+
+  @Override
+  public final LongNatural zero () { return ZERO; }
+
+  @Override
+  public final LongNatural abs () { return this; }
+
+  /** <code>a+b</code>, for <code>b.length&lt;=a.length</code>,
+   * untrimmed, with room for the final carry.
+   * Carry out is the majority of the top bits of
+   * <code>a</code>, <code>b</code>, and <code>~sum</code>.
+   */
+
+  private static final long[] add (final long[] a,
+                                   final long[] b) {
+    final int na = a.length;
+    final int nb = b.length;
+    assert nb<=na;
+    final long[] s = new long[na+1];
+    long carry = 0L;
+    int i=0;
+    for (;i<nb;i++) {
+      final long ai = a[i];
+      final long bi = b[i];
+      final long si = ai+bi+carry;
+      s[i] = si;
+      carry = ((ai&bi)|((ai|bi)&~si))>>>63; }
+    for (;i<na;i++) {
+      final long ai = a[i];
+      final long si = ai+carry;
+      s[i] = si;
+      carry = (ai&~si)>>>63; }
+    s[na] = carry;
+    return s; }
+
+  /** <code>a-b</code>, for <code>a&gt;=b</code>, untrimmed. */
+
+  private static final long[] subtract (final long[] a,
+                                        final long[] b) {
+    final int na = a.length;
+    final int nb = b.length;
+    assert nb<=na;
+    final long[] d = new long[na];
+    long borrow = 0L;
+    int i=0;
+    for (;i<nb;i++) {
+      final long ai = a[i];
+      final long bi = b[i];
+      final long di = ai-bi-borrow;
+      d[i] = di;
+      borrow = ((~ai&bi)|((~ai|bi)&di))>>>63; }
+    for (;i<na;i++) {
+      final long ai = a[i];
+      final long di = ai-borrow;
+      d[i] = di;
+      borrow = (~ai&di)>>>63; }
+    assert 0L==borrow : "negative difference";
+    return d; }
+
+  @Override
+  public final LongNatural add (final LongNatural u) {
+    if (u.isZero()) { return this; }
+    if (isZero()) { return u; }
+    if (_limbs.length<u._limbs.length) {
+      return make(add(u._limbs,_limbs)); }
+    return make(add(_limbs,u._limbs)); }
+
+  @Override
+  public final LongNatural subtract (final LongNatural u) {
+    assert 0<=compareTo(u);
+    if (u.isZero()) { return this; }
+    return make(subtract(_limbs,u._limbs)); }
+
+  @Override
+  public final LongNatural absDiff (final LongNatural u) {
+    final int c = compareTo(u);
+    if (0==c) { return ZERO; }
+    if (0>c) { return u.subtract(this); }
+    return subtract(u); }
+
+  //--------------------------------------------------------------
+  // multiplicative
+  //--------------------------------------------------------------
+
+  public static final LongNatural ONE =
+    new LongNatural(new long[] { 1L, });
+
+  @Override
+  public final LongNatural one () { return ONE; }
+
+  @Override
+  public final boolean isOne () {
+    return (1==_limbs.length) && (1L==_limbs[0]); }
+
+  /** Schoolbook product, untrimmed, <code>na+nb</code> limbs.
+   */
+
+  private static final long[] multiplySimple (final long[] a,
+                                              final long[] b) {
+    final int na = a.length;
+    final int nb = b.length;
+    final long[] p = new long[na+nb];
+    for (int i=0;i<na;i++) {
+      final long ai = a[i];
+      if (0L==ai) { continue; }
+      long carry = 0L;
+      for (int j=0,k=i;j<nb;j++,k++) {
+        final long bj = b[j];
+        final long lo = ai*bj;
+        long hi = multiplyHighUnsigned(ai,bj);
+        final long pk = p[k];
+        final long s0 = lo+pk;
+        if (lessThan(s0,pk)) { hi++; }
+        final long s1 = s0+carry;
+        if (lessThan(s1,carry)) { hi++; }
+        p[k] = s1;
+        carry = hi; }
+      p[i+nb] = carry; }
+    return p; }
+
+  /** Limbs <code>[i0,min(i1,n))</code>, trimmed. */
+
+  private static final long[] slice (final long[] a,
+                                     final int i0,
+                                     final int i1) {
+    final int n = Math.min(i1,a.length);
+    if (n<=i0) { return NO_LIMBS; }
+    int m = n;
+    while ((i0<m) && (0L==a[m-1])) { m--; }
+    return Arrays.copyOfRange(a,i0,m); }
+
+  private static final long[] trim (final long[] a) {
+    int n = a.length;
+    while ((0<n) && (0L==a[n-1])) { n--; }
+    if (n==a.length) { return a; }
+    return Arrays.copyOf(a,n); }
+
+  /** <code>p += (a &lt;&lt; (64*shift))</code>, in place;
+   * <code>p</code> must be large enough for the carry.
+   */
+
+  private static final void addInPlace (final long[] p,
+                                        final long[] a,
+                                        final int shift) {
+    long carry = 0L;
+    int k = shift;
+    for (int i=0;i<a.length;i++,k++) {
+      final long pk = p[k];
+      final long ai = a[i];
+      final long sk = pk+ai+carry;
+      p[k] = sk;
+      carry = ((pk&ai)|((pk|ai)&~sk))>>>63; }
+    while (0L!=carry) {
+      final long pk = p[k];
+      final long sk = pk+carry;
+      p[k++] = sk;
+      carry = (pk&~sk)>>>63; } }
+
+  /** Karatsuba, on trimmed operands; the result is untrimmed,
+   * <code>na+nb</code> limbs.
+   */
+
+  private static final long[] multiply (final long[] a,
+                                        final long[] b) {
+    final int na = a.length;
+    final int nb = b.length;
+    if ((0==na) || (0==nb)) { return NO_LIMBS; }
+    if ((na<KARATSUBA_THRESHOLD) || (nb<KARATSUBA_THRESHOLD)) {
+      return multiplySimple(a,b); }
+    final int half = (Math.max(na,nb)+1)>>>1;
+    final long[] a0 = slice(a,0,half);
+    final long[] a1 = slice(a,half,na);
+    final long[] b0 = slice(b,0,half);
+    final long[] b1 = slice(b,half,nb);
+    final long[] p0 = trim(multiply(a0,b0));
+    final long[] p2 = trim(multiply(a1,b1));
+    final long[] sa = trim(sum(a0,a1));
+    final long[] sb = trim(sum(b0,b1));
+    final long[] p1 =
+      trim(subtract(subtract(trim(multiply(sa,sb)),p0),p2));
+    final long[] p = new long[na+nb+1];
+    System.arraycopy(p0,0,p,0,p0.length);
+    addInPlace(p,p1,half);
+    addInPlace(p,p2,2*half);
+    assert 0L==p[na+nb];
+    return Arrays.copyOf(p,na+nb); }
+
+  private static final long[] sum (final long[] a,
+                                   final long[] b) {
+    if (a.length<b.length) { return add(b,a); }
+    return add(a,b); }
+
+  private static final void checkOverflow (final int hiBit) {
+    if (hiBit > MAX_BITS) {
+      throw new ArithmeticException(
+        "Attempting to create an instance of LongNatural"
+          + " overflowing the range: "
+          + hiBit + " bits."); } }
+
+  @Override
+  public final LongNatural multiply (final LongNatural u) {
+    if (isZero() || u.isZero()) { return ZERO; }
+    if (isOne()) { return u; }
+    if (u.isOne()) { return this; }
+    // the product has at least hiBit()+u.hiBit()-1 bits
+    checkOverflow(hiBit()+u.hiBit()-1);
+    return make(multiply(_limbs,u._limbs)); }
+
+  /** <code>this*u</code>, for a single unsigned 64 bit
+   * <code>u</code>.
+   */
+
+  public final LongNatural multiply (final long u) {
+    if (isZero() || (0L==u)) { return ZERO; }
+    final long[] a = _limbs;
+    final int n = a.length;
+    final long[] p = new long[n+1];
+    long carry = 0L;
+    for (int i=0;i<n;i++) {
+      final long lo = a[i]*u;
+      long hi = multiplyHighUnsigned(a[i],u);
+      final long s = lo+carry;
+      if (lessThan(s,carry)) { hi++; }
+      p[i] = s;
+      carry = hi; }
+    p[n] = carry;
+    return make(p); }
+
+  @Override
+  public final LongNatural square () { return multiply(this); }
+
+  //--------------------------------------------------------------
+  // division
+  //--------------------------------------------------------------
+  /** Quotient and remainder for a single limb divisor.
+   */
+
+  private static final List<LongNatural>
+  divideByLimb (final long[] u,
+                final long v) {
+    assert 0L!=v;
+    final int n = u.length;
+    final long[] q = new long[n];
+    final long[] r = new long[1];
+    long rem = 0L;
+    for (int i=n-1;i>=0;i--) {
+      q[i] = divide128(rem,u[i],v,r);
+      rem = r[0]; }
+    return List.of(make(q),valueOf(rem)); }
+
+  /** <code>a &lt;&lt; s</code>, for <code>0&lt;=s&lt;64</code>,
+   * into <code>n</code> limbs.
+   */
+
+  private static final long[] shiftUp (final long[] a,
+                                       final int s,
+                                       final int n) {
+    final long[] b = new long[n];
+    if (0==s) {
+      System.arraycopy(a,0,b,0,a.length);
+      return b; }
+    long carry = 0L;
+    for (int i=0;i<a.length;i++) {
+      final long ai = a[i];
+      b[i] = (ai<<s)|carry;
+      carry = (ai>>>(64-s)); }
+    if (a.length<n) { b[a.length] = carry; }
+    return b; }
+
+  /** Knuth, TAOCP vol 2, 4.3.1, Algorithm D, with 64 bit
+   * limbs.
+   */
+
+  private static final List<LongNatural>
+  divideAndRemainderKnuth (final long[] u,
+                           final long[] v) {
+    final int n = v.length;
+    final int m = u.length-n;
+    assert 2<=n;
+    assert 0<=m;
+    final int s = Long.numberOfLeadingZeros(v[n-1]);
+    final long[] vn = shiftUp(v,s,n);
+    final long[] un = shiftUp(u,s,u.length+1);
+    final long[] q = new long[m+1];
+    final long vh = vn[n-1];
+    final long vl = vn[n-2];
+    final long[] r = new long[1];
+    for (int j=m;j>=0;j--) {
+      final long uh = un[j+n];
+      final long um = un[j+n-1];
+      final long ul = un[j+n-2];
+      long qhat;
+      long rhat;
+      boolean rOverflow = false;
+      if (uh==vh) {
+        // qhat = 2^64-1, rhat = uh*2^64+um - qhat*vh = um+vh
+        qhat = -1L;
+        rhat = um+vh;
+        rOverflow = lessThan(rhat,um); }
+      else {
+        qhat = divide128(uh,um,vh,r);
+        rhat = r[0]; }
+      // while qhat*vl > rhat*2^64+ul
+      while (!rOverflow) {
+        final long plo = qhat*vl;
+        final long phi = multiplyHighUnsigned(qhat,vl);
+        if (lessThan(rhat,phi)
+          || ((rhat==phi) && lessThan(ul,plo))) {
+          qhat--;
+          final long rh = rhat+vh;
+          rOverflow = lessThan(rh,rhat);
+          rhat = rh; }
+        else { break; } }
+      // multiply and subtract
+      long borrow = 0L;
+      for (int i=0;i<n;i++) {
+        final long plo = qhat*vn[i];
+        long phi = multiplyHighUnsigned(qhat,vn[i]);
+        final long sub = plo+borrow;
+        if (lessThan(sub,plo)) { phi++; }
+        final long t = un[i+j];
+        if (lessThan(t,sub)) { phi++; }
+        un[i+j] = t-sub;
+        borrow = phi; }
+      final long t = un[j+n];
+      un[j+n] = t-borrow;
+      if (lessThan(t,borrow)) {
+        // add back
+        qhat--;
+        long carry = 0L;
+        for (int i=0;i<n;i++) {
+          final long a = un[i+j];
+          final long b = vn[i];
+          final long c = a+b+carry;
+          un[i+j] = c;
+          carry = ((a&b)|((a|b)&~c))>>>63; }
+        un[j+n] += carry; }
+      q[j] = qhat; }
+    // unnormalize the remainder
+    final long[] rr = new long[n];
+    if (0==s) { System.arraycopy(un,0,rr,0,n); }
+    else {
+      for (int i=0;i<n;i++) {
+        rr[i] = (un[i]>>>s)|(un[i+1]<<(64-s)); } }
+    return List.of(make(q),make(rr)); }
+
+  @Override
+  public final List<LongNatural>
+  divideAndRemainder (final LongNatural u) {
+    if (u.isZero()) {
+      throw new ArithmeticException("divide by zero"); }
+    if (u.isOne()) { return List.of(this,ZERO); }
+    final int c = compareTo(u);
+    if (0>c) { return List.of(ZERO,this); }
+    if (0==c) { return List.of(ONE,ZERO); }
+    if (1==u._limbs.length) {
+      return divideByLimb(_limbs,u._limbs[0]); }
+    return divideAndRemainderKnuth(_limbs,u._limbs); }
+
+  @Override
+  public final LongNatural divide (final LongNatural u) {
+    return divideAndRemainder(u).get(0); }
+
+  @Override
+  public final LongNatural remainder (final LongNatural u) {
+    return divideAndRemainder(u).get(1); }
+
+  //--------------------------------------------------------------
+  // gcd
+  //--------------------------------------------------------------
+
+  @Override
+  public final LongNatural gcd (final LongNatural u) {
+    return valueOf(boundedNaturalValue().gcd(u.boundedNaturalValue())); }
+
+  @Override
+  public final List<LongNatural> reduce (final LongNatural d) {
+    final List<BoundedNatural> r =
+      boundedNaturalValue().reduce(d.boundedNaturalValue());
+    return List.of(valueOf(r.get(0)),valueOf(r.get(1))); }
+
+  //--------------------------------------------------------------
+  // shifts
+  //--------------------------------------------------------------
+
+  public final LongNatural shiftUp (final int upShift) {
+    assert 0<=upShift;
+    if ((0==upShift) || isZero()) { return this; }
+    checkOverflow(hiBit()+upShift);
+    final int iShift = (upShift>>>6);
+    final int bShift = (upShift&0x3F);
+    final long[] a = _limbs;
+    final int na = a.length;
+    final long[] b = new long[na+iShift+1];
+    if (0==bShift) { System.arraycopy(a,0,b,iShift,na); }
+    else {
+      long carry = 0L;
+      for (int i=0;i<na;i++) {
+        final long ai = a[i];
+        b[i+iShift] = (ai<<bShift)|carry;
+        carry = (ai>>>(64-bShift)); }
+      b[na+iShift] = carry; }
+    return make(b); }
+
+  public final LongNatural shiftDown (final int downShift) {
+    assert 0<=downShift;
+    if ((0==downShift) || isZero()) { return this; }
+    final int iShift = (downShift>>>6);
+    final int bShift = (downShift&0x3F);
+    final long[] a = _limbs;
+    final int na = a.length;
+    final int nb = na-iShift;
+    if (0>=nb) { return ZERO; }
+    final long[] b = new long[nb];
+    if (0==bShift) { System.arraycopy(a,iShift,b,0,nb); }
+    else {
+      for (int i=0,j=iShift;i<nb;i++,j++) {
+        final long hi = ((j+1)<na) ? a[j+1] : 0L;
+        b[i] = (a[j]>>>bShift)|(hi<<(64-bShift)); } }
+    return make(b); }
+
+  //--------------------------------------------------------------
+  // Number methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final int intValue () {
+    assert hiBit()<=31;
+    return (int) limb(0); }
+
+  @Override
+  public final long longValue () {
+    assert hiBit()<=63;
+    return limb(0); }
+
+  //--------------------------------------------------------------
+  // conversion
+  //--------------------------------------------------------------
+
+  /** Linear time: pairs of 32 bit words, no arithmetic. */
+
+  public final BoundedNatural boundedNaturalValue () {
+    final int n = _limbs.length;
+    if (0==n) { return BoundedNatural.ZERO; }
+    final int[] w = new int[2*n];
+    for (int i=0;i<n;i++) {
+      final long li = _limbs[i];
+      w[2*i] = (int) li;
+      w[(2*i)+1] = (int) (li>>>32); }
+    return BoundedNatural.unsafe(w); }
+
+  public final BigInteger bigIntegerValue () {
+    return boundedNaturalValue().bigIntegerValue(); }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final int hashCode () { return Arrays.hashCode(_limbs); }
+
+  @Override
+  public final boolean equals (final Object x) {
+    if (x==this) { return true; }
+    if (!(x instanceof LongNatural)) { return false; }
+    return Arrays.equals(_limbs,((LongNatural) x)._limbs); }
+
+  public final String toHexString () {
+    final int n = _limbs.length-1;
+    if (0>n) { return "0"; }
+    final StringBuilder b = new StringBuilder("");
+    b.append(Long.toHexString(_limbs[n]));
+    for (int i=n-1;i>=0;i--) {
+      b.append(String.format("%016x",Long.valueOf(_limbs[i]))); }
+    return b.toString(); }
+
+  @Override
+  public final String toString () { return toHexString(); }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private LongNatural (final long[] limbs) { _limbs = limbs; }
+
+  /** Takes ownership of <code>limbs</code>, trimming if
+   * necessary.
+   */
+
+  private static final LongNatural make (final long[] limbs) {
+    final long[] t = trim(limbs);
+    if (0==t.length) { return ZERO; }
+    final LongNatural u = new LongNatural(t);
+    checkOverflow(u.hiBit());
+    return u; }
+
+  /** Copies <code>limbs</code>. */
+
+  public static final LongNatural valueOf (final long[] limbs) {
+    return make(Arrays.copyOf(limbs,limbs.length)); }
+
+  /** <code>u</code> treated as unsigned 64 bits. */
+
+  public static final LongNatural valueOf (final long u) {
+    if (0L==u) { return ZERO; }
+    return new LongNatural(new long[] { u, }); }
+
+  /** Linear time: pairs of 32 bit words, no arithmetic. */
+
+  public static final LongNatural valueOf (final BoundedNatural u) {
+    final int nw = u.hiInt();
+    final int n = (nw+1)>>>1;
+    final long[] a = new long[n];
+    for (int i=0;i<n;i++) {
+      a[i] = u.uword(2*i) | (u.uword((2*i)+1)<<32); }
+    return make(a); }
+
+  public static final LongNatural valueOf (final BigInteger u) {
+    return valueOf(BoundedNatural.valueOf(u)); }
+
+  public static final LongNatural valueOf (final String s,
+                                           final int radix) {
+    return valueOf(BoundedNatural.valueOf(s,radix)); }
+
+  public static final LongNatural valueOf (final String s) {
+    return valueOf(s,0x10); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
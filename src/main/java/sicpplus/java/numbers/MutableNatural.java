@@ -0,0 +1,560 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Numbers.hiWord;
+import static sicpplus.java.numbers.Numbers.unsigned;
+
+import java.util.Arrays;
+
+/** Mutable, growable natural number, used as a scratch
+ * accumulator inside multiplication and division, so that
+ * a result can be assembled in a single <code>int[]</code>
+ * rather than through a chain of immutable intermediates,
+ * and as the numerator of {@link MutableRationalFloat}.
+ * <p>
+ * Same little-endian word layout as {@link BoundedNatural}:
+ * <code>int[0]</code> is the least significant word.
+ * Words at and above {@link #hiInt()} are always zero.
+ * <p>
+ * Not thread safe. After {@link #immutable()} the instance
+ * must not be used again, since the resulting
+ * {@link BoundedNatural} shares its word array.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class MutableNatural {
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  private int[] _words;
+  private int _hiInt;
+
+  public final int hiInt () { return _hiInt; }
+
+  public final boolean isZero () { return 0==_hiInt; }
+
+  public final int hiBit () {
+    final int i = _hiInt-1;
+    if (0>i) { return 0; }
+    return ((i<<5)+Integer.SIZE)-Integer.numberOfLeadingZeros(_words[i]); }
+
+  public final int loBit () {
+    for (int i=0;i<_hiInt;i++) {
+      final int wi = _words[i];
+      if (0!=wi) { return (i<<5)+Integer.numberOfTrailingZeros(wi); } }
+    return 0; }
+
+  /** Reset to zero, keeping the word array. */
+
+  public final MutableNatural clear () {
+    Arrays.fill(_words,0,_hiInt,0);
+    _hiInt = 0;
+    return this; }
+
+  public final long uword (final int i) {
+    assert 0<=i : "Negative index: " + i;
+    if (_hiInt<=i) { return 0L; }
+    return unsigned(_words[i]); }
+
+  private final void trim () {
+    int n = _hiInt;
+    while ((0<n) && (0==_words[n-1])) { n--; }
+    _hiInt = n; }
+
+  /** Grow the word array, if necessary, so that
+   * <code>n</code> words can be written.
+   */
+
+  private final void ensureCapacity (final int n) {
+    if (_words.length<n) {
+      final int m = Math.max(n,_words.length+(_words.length>>1));
+      _words = Arrays.copyOf(_words,m); } }
+
+  //--------------------------------------------------------------
+  // in place arithmetic
+  //--------------------------------------------------------------
+  /** <code>this += (u &lt;&lt; (32*iShift))</code>. */
+
+  public final MutableNatural add (final BoundedNatural u,
+                                   final int iShift) {
+    assert 0<=iShift;
+    final int nu = u.hiInt();
+    if (0==nu) { return this; }
+    final int[] uu = u.words();
+    final int n = Math.max(_hiInt,nu+iShift);
+    ensureCapacity(n+1);
+    final int[] tt = _words;
+    long sum = 0L;
+    int i=iShift;
+    for (int j=0;j<nu;i++,j++) {
+      sum += unsigned(tt[i]) + unsigned(uu[j]);
+      tt[i] = (int) sum;
+      sum = hiWord(sum); }
+    while (0L!=sum) {
+      sum += unsigned(tt[i]);
+      tt[i++] = (int) sum;
+      sum = hiWord(sum); }
+    _hiInt = Math.max(n,i);
+    trim();
+    return this; }
+
+  public final MutableNatural add (final BoundedNatural u) {
+    return add(u,0); }
+
+  //--------------------------------------------------------------
+  /** <code>this -= (u &lt;&lt; (32*iShift))</code>.
+   * The difference must not be negative.
+   */
+
+  public final MutableNatural subtract (final BoundedNatural u,
+                                        final int iShift) {
+    assert 0<=iShift;
+    final int nu = u.hiInt();
+    if (0==nu) { return this; }
+    assert nu+iShift<=_hiInt;
+    final int[] uu = u.words();
+    final int[] tt = _words;
+    long dif = 0L;
+    int i=iShift;
+    for (int j=0;j<nu;i++,j++) {
+      dif += unsigned(tt[i]) - unsigned(uu[j]);
+      tt[i] = (int) dif;
+      dif = (dif>>32); }
+    while ((0L!=dif) && (i<_hiInt)) {
+      dif += unsigned(tt[i]);
+      tt[i++] = (int) dif;
+      dif = (dif>>32); }
+    assert 0L==dif : "negative difference";
+    trim();
+    return this; }
+
+  public final MutableNatural subtract (final BoundedNatural u) {
+    return subtract(u,0); }
+
+  /** <code>this = (u &lt;&lt; (32*iShift)) - this</code>.
+   * The difference must not be negative.
+   */
+
+  public final MutableNatural subtractFrom (final BoundedNatural u,
+                                            final int iShift) {
+    assert 0<=iShift;
+    final int nu = u.hiInt();
+    final int n = nu+iShift;
+    assert _hiInt<=n;
+    ensureCapacity(n);
+    final int[] uu = u.words();
+    final int[] tt = _words;
+    long dif = 0L;
+    for (int i=0;i<n;i++) {
+      final long ui = (i<iShift) ? 0L : unsigned(uu[i-iShift]);
+      dif += ui - unsigned(tt[i]);
+      tt[i] = (int) dif;
+      dif = (dif>>32); }
+    assert 0L==dif : "negative difference";
+    _hiInt = n;
+    trim();
+    return this; }
+
+  //--------------------------------------------------------------
+
+  public final int compareTo (final BoundedNatural u,
+                              final int iShift) {
+    assert 0<=iShift;
+    final int nu = u.hiInt();
+    if (0==nu) { return (0==_hiInt) ? 0 : 1; }
+    final int n = nu+iShift;
+    if (_hiInt!=n) { return (_hiInt<n) ? -1 : 1; }
+    final int[] uu = u.words();
+    final int[] tt = _words;
+    for (int i=n-1;i>=iShift;i--) {
+      final int c = Integer.compareUnsigned(tt[i],uu[i-iShift]);
+      if (0!=c) { return c; } }
+    for (int i=iShift-1;i>=0;i--) { if (0!=tt[i]) { return 1; } }
+    return 0; }
+
+  //--------------------------------------------------------------
+  // 128 bit terms, eg, products of double significands,
+  // shifted by bits rather than words, without allocation.
+  //--------------------------------------------------------------
+  /** Word <code>k</code> of <code>(hi:lo) &lt;&lt; bShift</code>,
+   * with <code>hi</code> and <code>lo</code> unsigned, and
+   * <code>0&lt;=bShift&lt;32</code>.
+   */
+
+  private static final int shiftedWord (final long hi,
+                                        final long lo,
+                                        final int bShift,
+                                        final int k) {
+    final long w;
+    switch (k>>>1) {
+    case 0 : w = (lo<<bShift); break;
+    case 1 :
+      w = (0==bShift) ? hi : ((hi<<bShift)|(lo>>>(64-bShift)));
+      break;
+    default : w = (0==bShift) ? 0L : (hi>>>(64-bShift)); }
+    return (int) ((0==(k&1)) ? w : (w>>>32)); }
+
+  /** Number of words in <code>(hi:lo) &lt;&lt; bShift</code>.
+   */
+
+  private static final int shiftedHiInt (final long hi,
+                                         final long lo,
+                                         final int bShift) {
+    final int bits = (0L!=hi)
+      ? (128-Long.numberOfLeadingZeros(hi))
+        : (64-Long.numberOfLeadingZeros(lo));
+    if (0==bits) { return 0; }
+    return (bits+bShift+31)>>>5; }
+
+  /** <code>this += ((hi:lo) &lt;&lt; upShift)</code>, with
+   * <code>hi</code> and <code>lo</code> unsigned, and the shift
+   * in bits.
+   */
+
+  public final MutableNatural add (final long hi,
+                                   final long lo,
+                                   final int upShift) {
+    assert 0<=upShift;
+    final int iShift = (upShift>>>5);
+    final int bShift = (upShift&0x1f);
+    final int nu = shiftedHiInt(hi,lo,bShift);
+    if (0==nu) { return this; }
+    final int n = Math.max(_hiInt,nu+iShift);
+    ensureCapacity(n+1);
+    final int[] tt = _words;
+    long sum = 0L;
+    int i=iShift;
+    for (int k=0;k<nu;i++,k++) {
+      sum += unsigned(tt[i]) + unsigned(shiftedWord(hi,lo,bShift,k));
+      tt[i] = (int) sum;
+      sum = hiWord(sum); }
+    while (0L!=sum) {
+      sum += unsigned(tt[i]);
+      tt[i++] = (int) sum;
+      sum = hiWord(sum); }
+    _hiInt = Math.max(n,i);
+    trim();
+    return this; }
+
+  /** <code>this -= ((hi:lo) &lt;&lt; upShift)</code>.
+   * The difference must not be negative.
+   */
+
+  public final MutableNatural subtract (final long hi,
+                                        final long lo,
+                                        final int upShift) {
+    assert 0<=upShift;
+    final int iShift = (upShift>>>5);
+    final int bShift = (upShift&0x1f);
+    final int nu = shiftedHiInt(hi,lo,bShift);
+    if (0==nu) { return this; }
+    assert nu+iShift<=_hiInt;
+    final int[] tt = _words;
+    long dif = 0L;
+    int i=iShift;
+    for (int k=0;k<nu;i++,k++) {
+      dif += unsigned(tt[i]) - unsigned(shiftedWord(hi,lo,bShift,k));
+      tt[i] = (int) dif;
+      dif = (dif>>32); }
+    while ((0L!=dif) && (i<_hiInt)) {
+      dif += unsigned(tt[i]);
+      tt[i++] = (int) dif;
+      dif = (dif>>32); }
+    assert 0L==dif : "negative difference";
+    trim();
+    return this; }
+
+  /** <code>this = ((hi:lo) &lt;&lt; upShift) - this</code>.
+   * The difference must not be negative.
+   */
+
+  public final MutableNatural subtractFrom (final long hi,
+                                            final long lo,
+                                            final int upShift) {
+    assert 0<=upShift;
+    final int iShift = (upShift>>>5);
+    final int bShift = (upShift&0x1f);
+    final int n = shiftedHiInt(hi,lo,bShift)+iShift;
+    assert _hiInt<=n;
+    ensureCapacity(n);
+    final int[] tt = _words;
+    long dif = 0L;
+    for (int i=0;i<n;i++) {
+      final long ui = (i<iShift) ? 0L
+        : unsigned(shiftedWord(hi,lo,bShift,i-iShift));
+      dif += ui - unsigned(tt[i]);
+      tt[i] = (int) dif;
+      dif = (dif>>32); }
+    assert 0L==dif : "negative difference";
+    _hiInt = n;
+    trim();
+    return this; }
+
+  public final int compareTo (final long hi,
+                              final long lo,
+                              final int upShift) {
+    assert 0<=upShift;
+    final int iShift = (upShift>>>5);
+    final int bShift = (upShift&0x1f);
+    final int nu = shiftedHiInt(hi,lo,bShift);
+    if (0==nu) { return (0==_hiInt) ? 0 : 1; }
+    final int n = nu+iShift;
+    if (_hiInt!=n) { return (_hiInt<n) ? -1 : 1; }
+    final int[] tt = _words;
+    for (int i=n-1;i>=iShift;i--) {
+      final int c = Integer.compareUnsigned(
+        tt[i],shiftedWord(hi,lo,bShift,i-iShift));
+      if (0!=c) { return c; } }
+    for (int i=iShift-1;i>=0;i--) { if (0!=tt[i]) { return 1; } }
+    return 0; }
+
+  //--------------------------------------------------------------
+  /** <code>this += ((u*x) &lt;&lt; (32*iShift))</code>,
+   * with <code>x</code> treated as an unsigned 32 bit word.
+   */
+
+  public final MutableNatural
+  multiplyAccumulate (final BoundedNatural u,
+                      final int x,
+                      final int iShift) {
+    assert 0<=iShift;
+    final int nu = u.hiInt();
+    if ((0==nu) || (0==x)) { return this; }
+    final long xx = unsigned(x);
+    final int[] uu = u.words();
+    final int n = Math.max(_hiInt,nu+iShift);
+    ensureCapacity(n+1);
+    final int[] tt = _words;
+    long carry = 0L;
+    int i=iShift;
+    for (int j=0;j<nu;i++,j++) {
+      final long product = (unsigned(uu[j])*xx)
+        + unsigned(tt[i]) + carry;
+      tt[i] = (int) product;
+      carry = (product>>>32); }
+    while (0L!=carry) {
+      carry += unsigned(tt[i]);
+      tt[i++] = (int) carry;
+      carry = hiWord(carry); }
+    _hiInt = Math.max(n,i);
+    trim();
+    return this; }
+
+  /** <code>this -= ((u*x) &lt;&lt; (32*iShift))</code>,
+   * with <code>x</code> treated as an unsigned 32 bit word.
+   * The difference must not be negative.
+   */
+
+  public final MutableNatural
+  multiplySubtract (final BoundedNatural u,
+                    final int x,
+                    final int iShift) {
+    assert 0<=iShift;
+    final int nu = u.hiInt();
+    if ((0==nu) || (0==x)) { return this; }
+    assert nu+iShift<=_hiInt;
+    final long xx = unsigned(x);
+    final int[] uu = u.words();
+    final int[] tt = _words;
+    long borrow = 0L;
+    int i=iShift;
+    for (int j=0;j<nu;i++,j++) {
+      final long product = (unsigned(uu[j])*xx) + borrow;
+      final long dif = unsigned(tt[i]) - unsigned((int) product);
+      tt[i] = (int) dif;
+      borrow = (product>>>32) - (dif>>32); }
+    while ((0L!=borrow) && (i<_hiInt)) {
+      final long dif = unsigned(tt[i]) - borrow;
+      tt[i++] = (int) dif;
+      borrow = -(dif>>32); }
+    assert 0L==borrow : "negative difference";
+    trim();
+    return this; }
+
+  //--------------------------------------------------------------
+  /** <code>this += ((a*b) &lt;&lt; (32*iShift))</code>.
+   * When either factor is below the Karatsuba threshold, the
+   * partial product rows are accumulated straight into
+   * <code>this</code>; otherwise the product is formed by
+   * {@link NaturalMultiply} and then added.
+   */
+
+  public final MutableNatural multiplyAdd (final BoundedNatural a,
+                                           final BoundedNatural b,
+                                           final int iShift) {
+    final BoundedNatural u = (a.hiInt()<=b.hiInt()) ? a : b;
+    final BoundedNatural v = (u==a) ? b : a;
+    final int nu = u.hiInt();
+    if (0==nu) { return this; }
+    if (NaturalMultiply.KARATSUBA_THRESHOLD<=nu) {
+      return add(a.multiply(b),iShift); }
+    ensureCapacity(Math.max(_hiInt,nu+v.hiInt()+iShift)+1);
+    for (int i=0;i<nu;i++) {
+      multiplyAccumulate(v,u.word(i),iShift+i); }
+    return this; }
+
+  /** <code>this -= ((a*b) &lt;&lt; (32*iShift))</code>.
+   * The difference must not be negative.
+   * See {@link #multiplyAdd(BoundedNatural,BoundedNatural,int)}.
+   */
+
+  public final MutableNatural
+  multiplySubtract (final BoundedNatural a,
+                    final BoundedNatural b,
+                    final int iShift) {
+    final BoundedNatural u = (a.hiInt()<=b.hiInt()) ? a : b;
+    final BoundedNatural v = (u==a) ? b : a;
+    final int nu = u.hiInt();
+    if (0==nu) { return this; }
+    if (NaturalMultiply.KARATSUBA_THRESHOLD<=nu) {
+      return subtract(a.multiply(b),iShift); }
+    // every prefix of the rows is at most a*b, so the
+    // running difference never goes negative
+    for (int i=0;i<nu;i++) {
+      multiplySubtract(v,u.word(i),iShift+i); }
+    return this; }
+
+  //--------------------------------------------------------------
+  /** Replace <code>this</code> by
+   * <code>floor(this/d)</code>, with <code>d</code> treated as
+   * an unsigned 32 bit word.
+   * @return the remainder, as an unsigned 32 bit word.
+   */
+
+  public final int divideByWord (final int d) {
+    assert 0!=d;
+    final long dd = unsigned(d);
+    final int[] tt = _words;
+    long r = 0L;
+    for (int i=_hiInt-1;i>=0;i--) {
+      final long nEst = (r<<32) | unsigned(tt[i]);
+      final long q;
+      if (nEst >= 0) {
+        q = nEst/dd;
+        r = nEst-(q*dd); }
+      else {
+        final long tmp = Ints.divWord(nEst,dd);
+        q = Numbers.loWord(tmp);
+        r = Numbers.hiWord(tmp); }
+      tt[i] = (int) q; }
+    trim();
+    return (int) r; }
+
+  //--------------------------------------------------------------
+  // shifts
+  //--------------------------------------------------------------
+
+  public final MutableNatural shiftUp (final int upShift) {
+    assert 0<=upShift;
+    if ((0==upShift) || (0==_hiInt)) { return this; }
+    final int iShift = (upShift>>>5);
+    final int bShift = (upShift&0x1f);
+    final int nt = _hiInt;
+    ensureCapacity(nt+iShift+1);
+    final int[] tt = _words;
+    if (0==bShift) {
+      System.arraycopy(tt,0,tt,iShift,nt);
+      Arrays.fill(tt,0,iShift,0);
+      _hiInt = nt+iShift;
+      return this; }
+    final int rShift = 32-bShift;
+    tt[nt+iShift] = (tt[nt-1]>>>rShift);
+    for (int i=nt-1;i>0;i--) {
+      tt[i+iShift] = ((tt[i]<<bShift)|(tt[i-1]>>>rShift)); }
+    tt[iShift] = (tt[0]<<bShift);
+    Arrays.fill(tt,0,iShift,0);
+    _hiInt = nt+iShift+1;
+    trim();
+    return this; }
+
+  public final MutableNatural shiftDown (final int downShift) {
+    assert 0<=downShift;
+    if ((0==downShift) || (0==_hiInt)) { return this; }
+    final int iShift = (downShift>>>5);
+    final int bShift = (downShift&0x1f);
+    final int nt = _hiInt;
+    final int[] tt = _words;
+    final int nv = nt-iShift;
+    if (0>=nv) {
+      Arrays.fill(tt,0,nt,0);
+      _hiInt = 0;
+      return this; }
+    if (0==bShift) {
+      System.arraycopy(tt,iShift,tt,0,nv); }
+    else {
+      final int rShift = 32-bShift;
+      for (int i=0,j=iShift;i<nv;i++,j++) {
+        final int hi = ((j+1)<nt) ? tt[j+1] : 0;
+        tt[i] = ((hi<<rShift)|(tt[j]>>>bShift)); } }
+    Arrays.fill(tt,nv,nt,0);
+    _hiInt = nv;
+    trim();
+    return this; }
+
+  //--------------------------------------------------------------
+  // conversion
+  //--------------------------------------------------------------
+  /** Freeze the current value. The word array is handed over
+   * without copying when it is exactly full; otherwise it is
+   * trimmed once. <code>this</code> must not be used
+   * afterwards.
+   */
+
+  public final BoundedNatural immutable () {
+    final int[] tt = _words;
+    _words = null;
+    if (0==_hiInt) { return BoundedNatural.ZERO; }
+    return BoundedNatural.unsafe(tt,_hiInt); }
+
+  /** A copy of the current value; <code>this</code> remains
+   * usable.
+   */
+
+  public final BoundedNatural immutableCopy () {
+    if (0==_hiInt) { return BoundedNatural.ZERO; }
+    return BoundedNatural.unsafe(Arrays.copyOf(_words,_hiInt),_hiInt); }
+
+  @Override
+  public final String toString () {
+    return "MutableNatural["
+      + BoundedNatural.make(Arrays.copyOf(_words,_hiInt))
+      .toHexString()
+      + "]"; }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private MutableNatural (final int[] words,
+                          final int hiInt) {
+    _words = words;
+    _hiInt = hiInt; }
+
+  /** Zero, with room for <code>capacity</code> words before
+   * any reallocation.
+   */
+
+  public static final MutableNatural make (final int capacity) {
+    return new MutableNatural(new int[Math.max(1,capacity)],0); }
+
+  /** A copy of <code>u</code>, with room for
+   * <code>capacity</code> words before any reallocation.
+   */
+
+  public static final MutableNatural copy (final BoundedNatural u,
+                                           final int capacity) {
+    final int nu = u.hiInt();
+    final int[] tt = new int[Math.max(Math.max(1,nu),capacity)];
+    System.arraycopy(u.words(),0,tt,0,nu);
+    return new MutableNatural(tt,nu); }
+
+  public static final MutableNatural copy (final BoundedNatural u) {
+    return copy(u,u.hiInt()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,265 @@
+package sicpplus.java.numbers;
+
+/** Mutable {@link RationalFloat} cell, for exact sums of
+ * <code>double</code> terms.
+ * <p>
+ * The value is
+ * <code>(-1)<sup>p</sup> * numerator / denominator *
+ * 2<sup>exponent</sup></code>, with the numerator held in a
+ * {@link MutableNatural} that is updated in place.
+ * Adding a <code>double</code>, square, or product of
+ * <code>double</code>s leaves the denominator unchanged, so,
+ * when the denominator is 1, each update is a shift and add
+ * (or subtract) of at most 128 bits into the existing
+ * numerator words, with no allocation beyond occasional
+ * growth. Other denominators multiply the term first.
+ * <p>
+ * Not reduced, except by {@link #reduce()}; see
+ * {@link RationalFloatContext#apply(MutableRationalFloat)}.
+ * <p>
+ * Not thread safe.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class MutableRationalFloat {
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  private boolean _nonNegative;
+  public final boolean nonNegative () { return _nonNegative; }
+
+  private final MutableNatural _numerator;
+  /** A copy of the current numerator. */
+  public final BoundedNatural numerator () {
+    return _numerator.immutableCopy(); }
+
+  private BoundedNatural _denominator;
+  public final BoundedNatural denominator () { return _denominator; }
+
+  private int _exponent;
+  public final int exponent () { return _exponent; }
+
+  public final boolean isZero () { return _numerator.isZero(); }
+
+  /** Numerator plus denominator bits. */
+
+  final long bits () {
+    return ((long) _numerator.hiBit()) + _denominator.hiBit(); }
+
+  //--------------------------------------------------------------
+
+  public final MutableRationalFloat clear () {
+    _nonNegative = true;
+    _numerator.clear();
+    _denominator = BoundedNatural.ONE;
+    _exponent = 0;
+    return this; }
+
+  public final MutableRationalFloat set (final RationalFloat q) {
+    clear();
+    if (q.isZero()) { return this; }
+    _nonNegative = q.nonNegative();
+    _numerator.add(q.numerator());
+    _denominator = q.denominator();
+    _exponent = q.exponent();
+    return this; }
+
+  /** Lowest terms. With denominator 1, just moves trailing
+   * zeros of the numerator into the exponent, in place.
+   */
+
+  public final MutableRationalFloat reduce () {
+    if (isZero()) { return clear(); }
+    if (_denominator.isOne()) {
+      final int s = _numerator.loBit();
+      if (0<s) {
+        _numerator.shiftDown(s);
+        _exponent += s; }
+      return this; }
+    return set(value().reduce()); }
+
+  //--------------------------------------------------------------
+  // in place arithmetic
+  //--------------------------------------------------------------
+  /** Add <code>+/- t0*t1*2<sup>e</sup></code>, with
+   * <code>0&lt;t0,t1&lt;2<sup>63</sup></code>.
+   */
+
+  private final MutableRationalFloat add (final boolean p,
+                                          final long t00,
+                                          final long t10,
+                                          final int e0) {
+    // minimize term bits
+    final int s0 = Numbers.loBit(t00);
+    final int s1 = Numbers.loBit(t10);
+    final long t0 = (t00>>>s0);
+    final long t1 = (t10>>>s1);
+    final int e = e0+s0+s1;
+
+    if (isZero()) {
+      _nonNegative = p;
+      _denominator = BoundedNatural.ONE;
+      _exponent = e;
+      _numerator.add(Math.multiplyHigh(t0,t1),t0*t1,0);
+      return this; }
+
+    if (e<_exponent) {
+      _numerator.shiftUp(_exponent-e);
+      _exponent = e; }
+    final int upShift = e-_exponent;
+
+    if (_denominator.isOne()) {
+      final long hi = Math.multiplyHigh(t0,t1);
+      final long lo = t0*t1;
+      if (p==_nonNegative) { _numerator.add(hi,lo,upShift); }
+      else {
+        final int c = _numerator.compareTo(hi,lo,upShift);
+        if (0<c) { _numerator.subtract(hi,lo,upShift); }
+        else if (0>c) {
+          _numerator.subtractFrom(hi,lo,upShift);
+          _nonNegative = p; }
+        else { clear(); } }
+      return this; }
+
+    final BoundedNatural u =
+      _denominator.multiply(BoundedNatural.product(t0,t1))
+      .shiftUp(upShift&0x1f);
+    final int iShift = (upShift>>>5);
+    if (p==_nonNegative) { _numerator.add(u,iShift); }
+    else {
+      final int c = _numerator.compareTo(u,iShift);
+      if (0<c) { _numerator.subtract(u,iShift); }
+      else if (0>c) {
+        _numerator.subtractFrom(u,iShift);
+        _nonNegative = p; }
+      else { clear(); } }
+    return this; }
+
+  //--------------------------------------------------------------
+
+  public final MutableRationalFloat add (final double z) {
+    //assert Double.isFinite(z);
+    if (0.0==z) { return this; }
+    return add(
+      Doubles.nonNegative(z),
+      Doubles.significand(z),
+      1L,
+      Doubles.exponent(z)); }
+
+  public final MutableRationalFloat subtract (final double z) {
+    return add(-z); }
+
+  public final MutableRationalFloat addAbs (final double z) {
+    //assert Double.isFinite(z);
+    if (0.0==z) { return this; }
+    return add(true,Doubles.significand(z),1L,Doubles.exponent(z)); }
+
+  public final MutableRationalFloat add2 (final double z) {
+    //assert Double.isFinite(z);
+    if (0.0==z) { return this; }
+    final long t = Doubles.significand(z);
+    return add(true,t,t,2*Doubles.exponent(z)); }
+
+  public final MutableRationalFloat addProduct (final double z0,
+                                                final double z1) {
+    //assert Double.isFinite(z0);
+    //assert Double.isFinite(z1);
+    if ((0.0==z0) || (0.0==z1)) { return this; }
+    return add(
+      Doubles.nonNegative(z0)==Doubles.nonNegative(z1),
+      Doubles.significand(z0),
+      Doubles.significand(z1),
+      Doubles.exponent(z0)+Doubles.exponent(z1)); }
+
+  public final MutableRationalFloat addL1 (final double z0,
+                                           final double z1) {
+    if (z0>z1) { return add(z0).add(-z1); }
+    if (z0<z1) { return add(-z0).add(z1); }
+    return this; }
+
+  public final MutableRationalFloat addL2 (final double z0,
+                                           final double z1) {
+    add2(z0).add2(z1);
+    if ((0.0==z0) || (0.0==z1)) { return this; }
+    // -2*z0*z1
+    return add(
+      Doubles.nonNegative(z0)!=Doubles.nonNegative(z1),
+      Doubles.significand(z0),
+      Doubles.significand(z1),
+      Doubles.exponent(z0)+Doubles.exponent(z1)+1); }
+
+  /** In place when both denominators are 1. */
+
+  public final MutableRationalFloat add (final RationalFloat q) {
+    if (q.isZero()) { return this; }
+    if (isZero()) { return set(q); }
+    if (! (_denominator.isOne() && q.denominator().isOne())) {
+      return set(value().add(q)); }
+    final int e = q.exponent();
+    if (e<_exponent) {
+      _numerator.shiftUp(_exponent-e);
+      _exponent = e; }
+    final int upShift = e-_exponent;
+    final BoundedNatural u = q.numerator().shiftUp(upShift&0x1f);
+    final int iShift = (upShift>>>5);
+    final boolean p = q.nonNegative();
+    if (p==_nonNegative) { _numerator.add(u,iShift); }
+    else {
+      final int c = _numerator.compareTo(u,iShift);
+      if (0<c) { _numerator.subtract(u,iShift); }
+      else if (0>c) {
+        _numerator.subtractFrom(u,iShift);
+        _nonNegative = p; }
+      else { clear(); } }
+    return this; }
+
+  //--------------------------------------------------------------
+  // conversion
+  //--------------------------------------------------------------
+  /** An immutable copy of the current value. */
+
+  public final RationalFloat value () {
+    if (isZero()) { return RationalFloat.ZERO; }
+    return RationalFloat.valueOf(
+      _nonNegative,numerator(),_denominator,_exponent); }
+
+  public final double doubleValue () {
+    if (isZero()) { return 0.0; }
+    if (_denominator.isOne()) {
+      return BigFloat.doubleValue(_nonNegative,numerator(),_exponent); }
+    return RationalFloat.doubleValue(
+      _nonNegative,numerator(),_denominator,_exponent); }
+
+  public final float floatValue () {
+    if (isZero()) { return 0.0F; }
+    return value().floatValue(); }
+
+  @Override
+  public final String toString () {
+    return "MutableRationalFloat[" + value() + "]"; }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private MutableRationalFloat (final int capacity) {
+    _numerator = MutableNatural.make(capacity);
+    clear(); }
+
+  /** Zero. */
+
+  public static final MutableRationalFloat make () {
+    return new MutableRationalFloat(4); }
+
+  public static final MutableRationalFloat
+  make (final RationalFloat q) {
+    return new MutableRationalFloat(q.numerator().hiInt()+4).set(q); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
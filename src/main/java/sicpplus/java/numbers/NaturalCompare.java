@@ -0,0 +1,206 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Numbers.hiBit;
+
+/** Ordering of scaled products of natural numbers,
+ * <code>a0*b0*2<sup>e0</sup></code> versus
+ * <code>a1*b1*2<sup>e1</sup></code>, the cross multiplied
+ * comparison of two ratios, without forming the products
+ * unless the values are (nearly) tied.
+ * <ol>
+ * <li>Bit lengths and exponents bound each side within a
+ * factor of 4; disjoint bounds decide in <code>O(1)</code>.
+ * <li>The leading {@link #LEAD_BITS} bits of each factor bound
+ * each product within a relative error of about
+ * <code>2<sup>-LEAD_BITS</sup></code>; disjoint bounds decide
+ * in <code>O(1)</code>.
+ * <li>Otherwise, the exact products are compared, skipping
+ * factors equal to 1, and shifting words on the fly rather than
+ * allocating shifted copies.
+ * </ol>
+ * Only equal, or nearly equal, values pay for full
+ * multiplication.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class NaturalCompare {
+
+  //--------------------------------------------------------------
+  // leading bits
+  //--------------------------------------------------------------
+  /** Bits taken from the top of each factor. Products of
+   * (bounds on) leading bits have at most 62 bits, so aligned
+   * bounds fit in an unsigned <code>long</code>.
+   */
+
+  static final int LEAD_BITS = 31;
+
+  /** The leading {@link #LEAD_BITS} bits of <code>u</code>, which
+   * has <code>hiBit</code> bits.
+   */
+
+  private static final long lead (final BoundedNatural u,
+                                  final int hiBit) {
+    if (hiBit<=LEAD_BITS) { return u.uword(0); }
+    return u.getShiftedLong(hiBit-LEAD_BITS) & 0x7FFFFFFFL; }
+
+  /** Compare <code>m0*2<sup>k0</sup></code> with
+   * <code>m1*2<sup>k1</sup></code>, for positive
+   * <code>m0,m1 &lt; 2<sup>63</sup></code>.
+   */
+
+  private static final int compare (final long m0,
+                                    final long k0,
+                                    final long m1,
+                                    final long k1) {
+    assert 0L<m0;
+    assert 0L<m1;
+    final long h0 = hiBit(m0) + k0;
+    final long h1 = hiBit(m1) + k1;
+    if (h0<h1) { return -1; }
+    if (h0>h1) { return 1; }
+    // same bit length, so the aligned value fits in 63 bits
+    if (k0>=k1) { return Long.compare(m0<<(k0-k1),m1); }
+    return Long.compare(m0,m1<<(k1-k0)); }
+
+  /** Bounds from leading bits: 0 if they don't decide. */
+
+  private static final int compareLeading (final BoundedNatural a0,
+                                           final int ha0,
+                                           final BoundedNatural b0,
+                                           final int hb0,
+                                           final int e0,
+                                           final BoundedNatural a1,
+                                           final int ha1,
+                                           final BoundedNatural b1,
+                                           final int hb1,
+                                           final int e1) {
+    // u in [t*2^s, (t+1)*2^s) if truncated, u == t*2^s if not
+    final long ta0 = lead(a0,ha0);
+    final long tb0 = lead(b0,hb0);
+    final long ta1 = lead(a1,ha1);
+    final long tb1 = lead(b1,hb1);
+    final int sa0 = Math.max(0,ha0-LEAD_BITS);
+    final int sb0 = Math.max(0,hb0-LEAD_BITS);
+    final int sa1 = Math.max(0,ha1-LEAD_BITS);
+    final int sb1 = Math.max(0,hb1-LEAD_BITS);
+    final long k0 = ((long) sa0) + sb0 + e0;
+    final long k1 = ((long) sa1) + sb1 + e1;
+    final boolean exact0 = (0==sa0) && (0==sb0);
+    final boolean exact1 = (0==sa1) && (0==sb1);
+    final long lo0 = ta0*tb0;
+    final long lo1 = ta1*tb1;
+    if (exact0 && exact1) { return compare(lo0,k0,lo1,k1); }
+    final long hi0 = exact0 ? lo0 :
+      (ta0+((0==sa0)?0:1))*(tb0+((0==sb0)?0:1));
+    final long hi1 = exact1 ? lo1 :
+      (ta1+((0==sa1)?0:1))*(tb1+((0==sb1)?0:1));
+    // x0 <= hi0 < lo1 <= x1, with at least one strict
+    if (0>compare(hi0,k0,lo1,k1)) { return -1; }
+    if (0<compare(lo0,k0,hi1,k1)) { return 1; }
+    // hi0 == lo1 is a tie only if both are exact
+    if (!exact0 && (0==compare(hi0,k0,lo1,k1))) { return -1; }
+    if (!exact1 && (0==compare(lo0,k0,hi1,k1))) { return 1; }
+    return 0; }
+
+  //--------------------------------------------------------------
+  // exact
+  //--------------------------------------------------------------
+  /** Word <code>i</code> of <code>u*2<sup>upShift</sup></code>.
+   */
+
+  private static final long shiftedWord (final BoundedNatural u,
+                                         final int iShift,
+                                         final int bShift,
+                                         final int i) {
+    final int j = i-iShift;
+    if (0>j) { return 0L; }
+    if (0==bShift) { return u.uword(j); }
+    final long hi = (u.uword(j)<<bShift) & 0xFFFFFFFFL;
+    final long lo = (0==j) ? 0L : (u.uword(j-1)>>>(32-bShift));
+    return hi|lo; }
+
+  /** Compare <code>u</code> with
+   * <code>v*2<sup>upShift</sup></code>, without allocating.
+   */
+
+  static final int compare (final BoundedNatural u,
+                            final BoundedNatural v,
+                            final int upShift) {
+    assert 0<=upShift;
+    if (0==upShift) { return u.compareTo(v); }
+    if (v.isZero()) { return (u.isZero() ? 0 : 1); }
+    final long hu = u.hiBit();
+    final long hv = ((long) v.hiBit()) + upShift;
+    if (hu<hv) { return -1; }
+    if (hu>hv) { return 1; }
+    final int iShift = (upShift>>>5);
+    final int bShift = (upShift&0x1F);
+    for (int i=u.hiInt()-1;i>=0;i--) {
+      final long ui = u.uword(i);
+      final long vi = shiftedWord(v,iShift,bShift,i);
+      if (ui<vi) { return -1; }
+      if (ui>vi) { return 1; } }
+    return 0; }
+
+  private static final BoundedNatural product (final BoundedNatural a,
+                                               final BoundedNatural b) {
+    if (a.isOne()) { return b; }
+    if (b.isOne()) { return a; }
+    return a.multiply(b); }
+
+  //--------------------------------------------------------------
+  /** Compare <code>a0*b0*2<sup>e0</sup></code> with
+   * <code>a1*b1*2<sup>e1</sup></code>.
+   */
+
+  static final int compare (final BoundedNatural a0,
+                            final BoundedNatural b0,
+                            final int e0,
+                            final BoundedNatural a1,
+                            final BoundedNatural b1,
+                            final int e1) {
+    final boolean z0 = a0.isZero() || b0.isZero();
+    final boolean z1 = a1.isZero() || b1.isZero();
+    if (z0) { return (z1 ? 0 : -1); }
+    if (z1) { return 1; }
+
+    // 2^(h-2) <= a*b*2^e < 2^h
+    final int ha0 = a0.hiBit();
+    final int hb0 = b0.hiBit();
+    final int ha1 = a1.hiBit();
+    final int hb1 = b1.hiBit();
+    final long h0 = ((long) ha0) + hb0 + e0;
+    final long h1 = ((long) ha1) + hb1 + e1;
+    if (h0<=(h1-2)) { return -1; }
+    if (h1<=(h0-2)) { return 1; }
+
+    final int c =
+      compareLeading(a0,ha0,b0,hb0,e0,a1,ha1,b1,hb1,e1);
+    if (0!=c) { return c; }
+    if ((ha0<=LEAD_BITS) && (hb0<=LEAD_BITS)
+      && (ha1<=LEAD_BITS) && (hb1<=LEAD_BITS)) {
+      // leading bits were exact
+      return 0; }
+
+    final BoundedNatural p0 = product(a0,b0);
+    final BoundedNatural p1 = product(a1,b1);
+    if (e0<=e1) { return compare(p0,p1,Math.subtractExact(e1,e0)); }
+    return -compare(p1,p0,Math.subtractExact(e0,e1)); }
+
+  //--------------------------------------------------------------
+  // disabled constructor
+  //--------------------------------------------------------------
+
+  private NaturalCompare () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,277 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Numbers.unsigned;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Decimal radix conversion of natural numbers, by divide and
+ * conquer over a cached tree of powers of ten,
+ * <code>10<sup>9*2<sup>k</sup></sup></code>.
+ * <p>
+ * Printing splits the value at the largest cached power below
+ * its square root, with one division, and prints the quotient
+ * and the (zero padded) remainder recursively. Parsing splits
+ * the digits at the largest power of two groups of 9 below the
+ * digit count, and combines the halves with one multiply and
+ * one add. Both cost <code>O(M(n) log n)</code>, given
+ * subquadratic multiply and divide, rather than the
+ * <code>O(n<sup>2</sup>)</code> of digit group at a time
+ * conversion, which is still used below {@link #LEAF_WORDS}.
+ * <p>
+ * The power tree grows on demand and is shared by all threads.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class NaturalDecimal {
+
+  //--------------------------------------------------------------
+  // power tree
+  //--------------------------------------------------------------
+  /** Decimal digits per leaf group. */
+
+  static final int DIGITS = 9;
+
+  /** <code>10<sup>DIGITS</sup></code>, the largest power of 10
+   * that fits in a word.
+   */
+
+  private static final int GROUP = 1000000000;
+
+  /** Values with at most this many words, and strings with at
+   * most <code>DIGITS*LEAF_WORDS</code> digits, are converted a
+   * digit group at a time.
+   */
+
+  static final int LEAF_WORDS = 40;
+
+  private static final int LEAF_DIGITS = DIGITS*LEAF_WORDS;
+
+  /** <code>powers[k] = 10<sup>DIGITS*2<sup>k</sup></sup></code>.
+   * Replaced, never modified, when extended.
+   */
+
+  private static volatile BoundedNatural[] powers = {
+    BoundedNatural.valueOf(GROUP), };
+
+  /** <code>10<sup>DIGITS*2<sup>k</sup></sup></code>. */
+
+  static final BoundedNatural power (final int k) {
+    final BoundedNatural[] p = powers;
+    if (k<p.length) { return p[k]; }
+    synchronized (NaturalDecimal.class) {
+      BoundedNatural[] q = powers;
+      if (k<q.length) { return q[k]; }
+      final int n0 = q.length;
+      q = Arrays.copyOf(q,k+1);
+      for (int i=n0;i<=k;i++) { q[i] = q[i-1].square(); }
+      powers = q;
+      return q[k]; } }
+
+  /** Decimal digits in <code>power(k)</code>. */
+
+  private static final int powerDigits (final int k) {
+    return DIGITS<<k; }
+
+  /** <code>10<sup>n</sup></code>, from the power tree. */
+
+  static final BoundedNatural pow10 (final int n) {
+    if (0>n) {
+      throw new IllegalArgumentException("negative exponent: " + n); }
+    BoundedNatural p = BoundedNatural.valueOf(
+      (long) Math.pow(10,n%DIGITS));
+    final int m = n/DIGITS;
+    for (int k=0;(m>>k)!=0;k++) {
+      if (0!=((m>>k)&1)) { p = p.multiply(power(k)); } }
+    return p; }
+
+  /** <code>5<sup>n</sup> = 10<sup>n</sup>/2<sup>n</sup></code>.
+   */
+
+  static final BoundedNatural pow5 (final int n) {
+    return pow10(n).shiftDown(n); }
+
+  //--------------------------------------------------------------
+  // printing
+  //--------------------------------------------------------------
+
+  /** Append exactly <code>digits</code> digits of
+   * <code>g</code>, with leading zeros.
+   */
+
+  private static final void appendPadded (final StringBuilder b,
+                                          final int g,
+                                          final int digits) {
+    final String s = Integer.toString(g);
+    for (int i=s.length();i<digits;i++) { b.append('0'); }
+    b.append(s); }
+
+  /** Digit group at a time: repeated short division by
+   * {@link #GROUP}. <code>digits</code> is the padded width, or
+   * 0 for no leading zeros.
+   */
+
+  private static final void leaf (final BoundedNatural u,
+                                  final StringBuilder b,
+                                  final int digits) {
+    final int n = u.hiInt();
+    final int[] w = new int[n];
+    for (int i=0;i<n;i++) { w[i] = u.word(i); }
+    // at most 2 groups per word, since 2^32 < 10^18
+    final int[] groups = new int[(2*n)+1];
+    int ng = 0;
+    int hi = n;
+    while (0<hi) {
+      long r = 0L;
+      for (int i=hi-1;i>=0;i--) {
+        final long x = (r<<32) | unsigned(w[i]);
+        w[i] = (int) (x/GROUP);
+        r = x%GROUP; }
+      groups[ng++] = (int) r;
+      while ((0<hi) && (0==w[hi-1])) { hi--; } }
+    if (0==digits) {
+      if (0==ng) { b.append('0'); return; }
+      b.append(groups[ng-1]);
+      for (int i=ng-2;i>=0;i--) { appendPadded(b,groups[i],DIGITS); } }
+    else {
+      // padded widths are multiples of DIGITS
+      final int lead = digits - (DIGITS*ng);
+      assert 0<=lead;
+      for (int i=0;i<lead;i++) { b.append('0'); }
+      for (int i=ng-1;i>=0;i--) {
+        appendPadded(b,groups[i],DIGITS); } } }
+
+  /** <code>digits</code> is the padded width, or 0 for no
+   * leading zeros.
+   */
+
+  private static final void toDecimal (final BoundedNatural u,
+                                       final StringBuilder b,
+                                       final int digits) {
+    if (u.hiInt()<=LEAF_WORDS) { leaf(u,b,digits); return; }
+    // power(k+1) has at least 2*power(k).hiBit()-1 bits;
+    // step up while that is at most half of u's, without
+    // computing powers larger than needed
+    final int bits = u.hiBit();
+    int k = 0;
+    while ((2*((2*power(k).hiBit())-1))<=(bits+1)) { k++; }
+    final List<BoundedNatural> qr = u.divideAndRemainder(power(k));
+    final int dk = powerDigits(k);
+    toDecimal(qr.get(0),b,(0==digits) ? 0 : (digits-dk));
+    toDecimal(qr.get(1),b,dk); }
+
+  static final String toDecimalString (final BoundedNatural u) {
+    final StringBuilder b = new StringBuilder();
+    toDecimal(u,b,0);
+    return b.toString(); }
+
+  /** Exact positional decimal for <code>t*2<sup>e</sup></code>,
+   * which always terminates: for <code>e&lt;0</code>, the digits
+   * of <code>t*5<sup>-e</sup></code>, with the decimal point
+   * <code>-e</code> places from the right. No trailing zeros
+   * after the point.
+   */
+
+  static final String toDecimalString (final BoundedNatural t,
+                                       final int e) {
+    if (t.isZero()) { return "0"; }
+    if (0<=e) { return toDecimalString(t.shiftUp(e)); }
+    final int s = Math.min(t.loBit(),-e);
+    final int k = -(e+s);
+    final BoundedNatural t0 = t.shiftDown(s);
+    if (0==k) { return toDecimalString(t0); }
+    final StringBuilder b = new StringBuilder();
+    toDecimal(t0.multiply(pow5(k)),b,0);
+    final int n = b.length();
+    if (n<=k) {
+      b.insert(0,"0".repeat(k+1-n)); }
+    b.insert(b.length()-k,'.');
+    return b.toString(); }
+
+  //--------------------------------------------------------------
+  // parsing
+  //--------------------------------------------------------------
+
+  private static final int digit (final CharSequence s,
+                                  final int i) {
+    final char c = s.charAt(i);
+    if (('0'>c) || ('9'<c)) {
+      throw new NumberFormatException(
+        "Illegal digit '" + c + "' at " + i + " in \"" + s + "\""); }
+    return c-'0'; }
+
+  private static final int group (final CharSequence s,
+                                  final int i0,
+                                  final int i1) {
+    int g = 0;
+    for (int i=i0;i<i1;i++) { g = (10*g) + digit(s,i); }
+    return g; }
+
+  /** Digit group at a time: <code>m = m*GROUP + g</code>. */
+
+  private static final BoundedNatural leaf (final CharSequence s,
+                                            final int i0,
+                                            final int i1) {
+    final int nd = i1-i0;
+    // 10^9 < 2^30
+    final int[] m = new int[((30*((nd+DIGITS-1)/DIGITS))+31)/32];
+    int hi = 0;
+    int i = i0;
+    int first = nd%DIGITS;
+    if (0==first) { first = DIGITS; }
+    for (int j=i+first;i<i1;i=j,j+=DIGITS) {
+      long carry = group(s,i,j);
+      for (int k=0;k<hi;k++) {
+        carry += unsigned(m[k])*GROUP;
+        m[k] = (int) carry;
+        carry >>>= 32; }
+      if (0L!=carry) { m[hi++] = (int) carry; } }
+    return BoundedNatural.unsafe(m); }
+
+  private static final BoundedNatural fromDecimal (final CharSequence s,
+                                                   final int i0,
+                                                   final int i1) {
+    final int nd = i1-i0;
+    if (nd<=LEAF_DIGITS) { return leaf(s,i0,i1); }
+    // largest power with fewer digits than s[i0,i1)
+    int k = 0;
+    while (powerDigits(k+1)<nd) { k++; }
+    final int split = i1-powerDigits(k);
+    final BoundedNatural hi = fromDecimal(s,i0,split);
+    final BoundedNatural lo = fromDecimal(s,split,i1);
+    return hi.multiply(power(k)).add(lo); }
+
+  /** Digits only, no sign.
+   * @throws NumberFormatException on an empty string or any
+   * non-digit.
+   */
+
+  static final BoundedNatural parseDecimal (final CharSequence s,
+                                            final int i0,
+                                            final int i1) {
+    if (i0>=i1) {
+      throw new NumberFormatException(
+        "no digits in \"" + s + "\""); }
+    int i = i0;
+    while ((i<i1-1) && ('0'==s.charAt(i))) { i++; }
+    return fromDecimal(s,i,i1); }
+
+  static final BoundedNatural parseDecimal (final CharSequence s) {
+    return parseDecimal(s,0,s.length()); }
+
+  //--------------------------------------------------------------
+  // disabled constructor
+  //--------------------------------------------------------------
+
+  private NaturalDecimal () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -12,7 +12,7 @@ import java.util.List;
  * Non-instantiable.
  *
  * @author palisades dot lakes at gmail dot com
- * @version 2019-09-04
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
@@ -22,8 +22,20 @@ public final class NaturalDivide {
   // division
   //--------------------------------------------------------------
 
-  private static final int BURNIKEL_ZIEGLER_THRESHOLD = 80;
-  private static final int BURNIKEL_ZIEGLER_OFFSET = 40;
+  // defaults and machine-specific profiles in Thresholds
+
+  private static final int BURNIKEL_ZIEGLER_THRESHOLD =
+    Thresholds.get(Thresholds.BURNIKEL_ZIEGLER);
+  private static final int BURNIKEL_ZIEGLER_OFFSET =
+    Thresholds.get(Thresholds.BURNIKEL_ZIEGLER_OFFSET);
+  private static final int NEWTON_THRESHOLD =
+    Thresholds.get(Thresholds.NEWTON);
+  /** {@link #exactDivide} lifts a Newton inverse, rather than
+   * dividing word by word, when both the divisor and the quotient
+   * have at least this many words.
+   */
+  private static final int EXACT_DIVIDE_THRESHOLD =
+    Thresholds.get(Thresholds.EXACT_DIVIDE);
 
   //--------------------------------------------------------------
 
@@ -48,38 +60,14 @@ public final class NaturalDivide {
     final long dd = unsigned(d);
     if (1==nu) {
       final long nn = u.uword(0);
-      final int q = (int) (nn/dd);
-      final int r = (int) (nn-(q*dd));
+      final long q = nn/dd;
+      final long r = nn-(q*dd);
       return List.of(BoundedNatural.valueOf(q),BoundedNatural.valueOf(r)); }
 
-    BoundedNatural qq = u;
-
-    final int shift = Integer.numberOfLeadingZeros(d);
-    int r = u.word(u.hiInt()-1);
-    long rr = unsigned(r);
-    if (rr < dd) { 
-      qq = qq.setWord(qq.hiInt()-1,0); }
-    else {
-      final int rrdd = (int) (rr / dd);
-      qq = qq.setWord(u.hiInt()-1,rrdd);
-      r = (int) (rr-(rrdd*dd));
-      rr = unsigned(r); }
-
-    int xlen = u.hiInt();
-    while (--xlen > 0) {
-      final long nEst = (rr << 32) | u.uword(xlen-1);
-      final int q;
-      if (nEst >= 0) {
-        q = (int) (nEst / dd);
-        r = (int) (nEst - (q * dd)); }
-      else {
-        final long tmp = Ints.divWord(nEst,dd);
-        q = (int) Numbers.loWord(tmp);
-        r = (int) Numbers.hiWord(tmp); }
-      qq = qq.setWord(xlen-1,q);
-      rr = unsigned(r); }
-    if (shift > 0) { return List.of(qq,BoundedNatural.valueOf(r%d)); }
-    return List.of(qq,BoundedNatural.valueOf(r)); }
+    // quotient computed in place in a copy of u
+    final MutableNatural qq = MutableNatural.copy(u);
+    final int r = qq.divideByWord(d);
+    return List.of(qq.immutable(),BoundedNatural.valueOf(unsigned(r))); }
 
   //--------------------------------------------------------------
   /** Special shifted fused multiply-subtract 
@@ -174,7 +162,8 @@ public final class NaturalDivide {
       final long rm = r.uword(i-1);
       long qhat; long qrem;
       if (rh==dh) {
-        qhat=0xFFFFFFFFL; qrem=rh+rm; correctQhat=(qrem>=rh); }
+        // no correction if qrem overflows a word
+        qhat=0xFFFFFFFFL; qrem=rh+rm; correctQhat=(0L==hiWord(qrem)); }
       else {
         final long nChunk = (rh<<32) | rm;
         if (nChunk >= 0) {
@@ -214,7 +203,7 @@ public final class NaturalDivide {
     final long nh = r.uword(nd);
     final long nm =  r.uword(nd-1);
     if (nh==dh) {
-      qhat=0xFFFFFFFFL; qrem=nh+nm; correctQhat=(qrem>=nh); }
+      qhat=0xFFFFFFFFL; qrem=nh+nm; correctQhat=(0L==hiWord(qrem)); }
     else {
       final long nChunk = (nh << 32) | nm;
       if (nChunk >= 0) {
@@ -470,116 +459,248 @@ public final class NaturalDivide {
 
   //--------------------------------------------------------------
 
+  // Newton iteration for the reciprocal
+  //--------------------------------------------------------------
+  /** Extra bits carried through the reciprocal and quotient
+   * estimates.
+   */
+
+  private static final int NEWTON_GUARD = 16;
+
+  /** Use Newton division when both the divisor and the
+   * quotient have at least this many words.
+   */
+
+  private static final boolean useNewtonDivision (final BoundedNatural u,
+                                                  final BoundedNatural v) {
+    final int nn = u.hiInt();
+    final int nd = v.hiInt();
+    return
+      (nd >= NEWTON_THRESHOLD)
+      &&
+      ((nn-nd) >= NEWTON_THRESHOLD); }
+
+  /** Knuth or Burnikel-Ziegler. */
+
+  private static final List<BoundedNatural>
+  divideAndRemainderClassical (final BoundedNatural u,
+                               final BoundedNatural v) {
+    if (useKnuthDivision(u,v)) {
+      return NaturalDivide.divideAndRemainderKnuth(u,v); }
+    return NaturalDivide.divideAndRemainderBurnikelZiegler(u,v); }
+
+  /** Approximately <code>2<sup>n+p</sup>/v</code>, where
+   * <code>n = v.hiBit()</code>, within a few units.
+   * <p>
+   * Each Newton step <code>x + x(1-vx)</code> doubles the
+   * precision, from a recursive reciprocal to half the
+   * precision, using only the leading <code>p</code> (plus guard)
+   * bits of <code>v</code>. The cost is a small multiple of the
+   * cost of a <code>p</code> bit multiply.
+   */
+
+  static final BoundedNatural reciprocal (final BoundedNatural v,
+                                          final int p) {
+    final int n = v.hiBit();
+    final int t = Math.min(n,p+NEWTON_GUARD);
+    final BoundedNatural vt = v.shiftDown(n-t);
+    if (p <= (32L*NEWTON_THRESHOLD)) {
+      final BoundedNatural pw = BoundedNatural.ZERO.setBit(p+t);
+      return divideAndRemainderClassical(pw,vt).get(0); }
+
+    final int h = (p/2) + NEWTON_GUARD;
+    final BoundedNatural xh = reciprocal(v,h);
+    // e = 2^(h+t) - vt*xh, relative size 2^-h
+    final BoundedNatural vx = vt.multiply(xh);
+    final BoundedNatural pw = BoundedNatural.ZERO.setBit(h+t);
+    final int shift = ((2*h)+t)-p;
+    final BoundedNatural x = xh.shiftUp(p-h);
+    final int c = vx.compareTo(pw);
+    if (0==c) { return x; }
+    if (0>c) {
+      return x.add(xh.multiply(pw.subtract(vx)).shiftDown(shift)); }
+    return x.subtract(xh.multiply(vx.subtract(pw)).shiftDown(shift)); }
+
+  /** Quotient from the leading bits of <code>u</code> times
+   * a reciprocal of <code>v</code> to the precision of the
+   * quotient, then corrected by at most a few multiples of
+   * <code>v</code>.
+   */
+
+  public static final List<BoundedNatural>
+  divideAndRemainderNewton (final BoundedNatural u,
+                            final BoundedNatural v) {
+    final int c = u.compareTo(v);
+    if (0==c) { return List.of(u.one(),u.zero()); }
+    if (0>c) { return List.of(u.zero(),u); }
+    final int m = u.hiBit();
+    final int n = v.hiBit();
+    final int p = (m-n)+1+NEWTON_GUARD;
+    final BoundedNatural x = reciprocal(v,p);
+    final int d = Math.max(0,n-NEWTON_GUARD);
+    BoundedNatural q = u.shiftDown(d).multiply(x).shiftDown((p+n)-d);
+    BoundedNatural qv = q.multiply(v);
+    while (qv.compareTo(u) > 0) {
+      q = q.subtract(1L);
+      qv = qv.subtract(v); }
+    BoundedNatural r = u.subtract(qv);
+    while (r.compareTo(v) >= 0) {
+      q = q.add(1L);
+      r = r.subtract(v); }
+    return List.of(q,r); }
+
+  //--------------------------------------------------------------
+
   public static final List<BoundedNatural> 
   divideAndRemainder (final BoundedNatural u,
                       final BoundedNatural v) {
     //assert (! v.isZero());
     if (useKnuthDivision(u,v)) { 
       return NaturalDivide.divideAndRemainderKnuth(u,v); }
+    if (useNewtonDivision(u,v)) {
+      return NaturalDivide.divideAndRemainderNewton(u,v); }
     return NaturalDivide.divideAndRemainderBurnikelZiegler(u,v); }
 
   //--------------------------------------------------------------
-  // gcd
+  // exact division
   //--------------------------------------------------------------
-  /** Algorithm B from Knuth section 4.5.2 */
-
-  private static final BoundedNatural gcdKnuth (final BoundedNatural u,
-                                         final BoundedNatural v) {
-//    BoundedNatural a = u.copy();
-//    BoundedNatural b = v.copy();
-    BoundedNatural a = u;
-    BoundedNatural b = v;
-    //assert a.isValid();
-    //assert b.isValid();
-    //assert u.isValid();
-    //assert v.isValid();
-    // B1
-    final int sa = a.loBit();
-    final int s = Math.min(sa,b.loBit());
-    if (s!=0) { a = a.shiftDown(s); b = b.shiftDown(s); }
-    //assert a.isValid();
-    //assert b.isValid();
-    //assert u.isValid();
-    //assert v.isValid();
-    // B2
-    int tsign = (s==sa) ? -1 : 1;
-    BoundedNatural t = (0<tsign) ? a : b;
-    for (int lb=t.loBit();lb>=0;lb=t.loBit()) {
-      //assert a.isValid();
-      //assert b.isValid();
-      //assert u.isValid();
-      //assert v.isValid();
-      // B3 and B4
-      //assert t.isValid() : Classes.className(t) + "\n" + t;
-      t = t.shiftDown(lb);
-      //assert t.isValid() : Classes.className(t) + "\n" + t;
-      //assert a.isValid();
-      //assert b.isValid() : Classes.className(b) + "\n" + b;
-      //assert u.isValid();
-      //assert v.isValid();
-      // step B5
-      if (0<tsign) { a = t; } else { b = t; }
-      final int an = a.hiInt();
-      final int bn = b.hiInt();
-      if ((an<2) && (bn<2)) {
-        final int x = a.word(an-1);
-        final int y = b.word(bn-1);
-        BoundedNatural r = BoundedNatural.valueOf(Ints.unsignedGcd(x,y));
-        if (s > 0) { r = r.shiftUp(s); }
-        //assert a.isValid();
-        //assert b.isValid();
-        //assert u.isValid();
-        //assert v.isValid();
-        return r; }
-      // B6
-      tsign = a.compareTo(b);
-      if (0==tsign) { 
-        //assert a.isValid();
-        //assert b.isValid();
-        //assert u.isValid();
-        //assert v.isValid();
-        break; }
-      else if (0<tsign) { a = a.subtract(b); t = a;  }
-      else { b = b.subtract(a); t = b; } 
-      //assert a.isValid();
-      //assert b.isValid();
-      //assert u.isValid();
-      //assert v.isValid();
-    }
-    //assert a.isValid();
-    //assert b.isValid();
-    //assert u.isValid();
-    //assert v.isValid();
-    if (s > 0) { a = a.shiftUp(s); }
-    //assert a.isValid();
-    //assert b.isValid();
-    //assert u.isValid();
-    //assert v.isValid();
-    return a; }
+  /** <code>v<sup>-1</sup> mod 2<sup>32</sup></code>, for odd
+   * <code>v</code>, by Newton iteration: each step doubles the
+   * number of correct low bits, starting from 3.
+   */
+
+  private static final int inverseWord (final int v) {
+    assert 1==(v&1);
+    int x = v;
+    for (int i=0;i<4;i++) { x *= 2-(v*x); }
+    return x; }
+
+  /** <code>v<sup>-1</sup> mod 2<sup>32k</sup></code>, for odd
+   * <code>v</code>, by Newton (Hensel) lifting:
+   * if <code>vx = 1 + f 2<sup>32m</sup></code>, then
+   * <code>x - xf 2<sup>32m</sup></code> is correct to twice as
+   * many words.
+   */
+
+  private static final BoundedNatural inverseMod (final BoundedNatural v,
+                                                  final int k) {
+    BoundedNatural x = BoundedNatural.valueOf(
+      unsigned(inverseWord(v.word(0))));
+    int m = 1;
+    while (m<k) {
+      final int m2 = Math.min(2*m,k);
+      final BoundedNatural f =
+        v.words(0,m2).multiply(x).words(m,m2);
+      final BoundedNatural t = x.multiply(f).words(0,m2-m);
+      if (! t.isZero()) {
+        // x + (2^(32(m2-m)) - t) 2^(32m)
+        final BoundedNatural nt =
+          BoundedNatural.ZERO.setBit(32*(m2-m)).subtract(t);
+        x = x.add(nt,32*m); }
+      m = m2; }
+    return x; }
+
+  /** Hensel division, low words first, by an odd divisor:
+   * each quotient word is the low remainder word times
+   * <code>v<sup>-1</sup> mod 2<sup>32</sup></code>. Only the
+   * remainder words below <code>nq</code> are ever updated, since
+   * the higher words can't affect the quotient (Jebelean).
+   */
+
+  static final BoundedNatural
+  exactDivideHensel (final BoundedNatural u,
+                     final BoundedNatural v,
+                     final int nq) {
+    final int nv = v.hiInt();
+    final int[] vv = v.words();
+    final int[] r = new int[nq];
+    System.arraycopy(u.words(),0,r,0,Math.min(nq,u.hiInt()));
+    final int inv = inverseWord(vv[0]);
+    final int[] q = new int[nq];
+    for (int i=0;i<nq;i++) {
+      final int qi = r[i]*inv;
+      q[i] = qi;
+      if (0==qi) { continue; }
+      final long qq = unsigned(qi);
+      final int jn = Math.min(nv,nq-i);
+      long carry = 0L;
+      long borrow = 0L;
+      for (int j=0;j<jn;j++) {
+        final long p = (unsigned(vv[j])*qq) + carry;
+        carry = (p>>>32);
+        final long d = (unsigned(r[i+j]) - loWord(p)) - borrow;
+        r[i+j] = (int) d;
+        borrow = (d>>>63); }
+      // propagate into the remaining words below nq
+      long c = carry + borrow;
+      for (int j=i+jn;(j<nq) && (0L!=c);j++) {
+        final long d = unsigned(r[j]) - c;
+        r[j] = (int) d;
+        c = (d>>>63); } }
+    return BoundedNatural.unsafe(q); }
+
+  /** <code>u v<sup>-1</sup> mod 2<sup>32nq</sup></code>, for
+   * odd <code>v</code>: a Newton-lifted inverse and one multiply.
+   */
+
+  static final BoundedNatural
+  exactDivideNewton (final BoundedNatural u,
+                     final BoundedNatural v,
+                     final int nq) {
+    final BoundedNatural x = inverseMod(v,nq);
+    return u.words(0,nq).multiply(x).words(0,nq); }
+
+  /** <code>u/v</code>, when <code>v</code> is known to divide
+   * <code>u</code> exactly. The result is unspecified
+   * otherwise.
+   * <p>
+   * No remainder is computed. After removing the common power
+   * of 2, the quotient is <code>u v<sup>-1</sup></code> modulo
+   * a power of 2 large enough to hold it: Hensel (Jebelean)
+   * division for small operands, and a Newton-lifted inverse
+   * <code>mod 2<sup>32k</sup></code> and a single multiply for
+   * large ones.
+   */
+
+  public static final BoundedNatural exactDivide (final BoundedNatural u,
+                                                  final BoundedNatural v) {
+    assert ! v.isZero();
+    if (v.isOne() || u.isZero()) { return u; }
+    final int s = v.loBit();
+    final BoundedNatural a = (0==s) ? u : u.shiftDown(s);
+    final BoundedNatural b = (0==s) ? v : v.shiftDown(s);
+    if (b.isOne()) { return a; }
+    final int nq = (a.hiInt()-b.hiInt())+1;
+    if (0>=nq) { return u.zero(); }
+    if ((nq < EXACT_DIVIDE_THRESHOLD)
+      || (b.hiInt() < EXACT_DIVIDE_THRESHOLD)) {
+      return exactDivideHensel(a,b,nq); }
+    return exactDivideNewton(a,b,nq); }
 
   //--------------------------------------------------------------
-  /** Use Euclid until the numbers are approximately the
-   * same length, then use the Knuth algorithm.
+  // gcd
+  //--------------------------------------------------------------
+  /** Lehmer's algorithm for moderate sizes, and a recursive
+   * half-gcd for large operands. See {@link NaturalGCD}.
    */
 
   public static final BoundedNatural gcd (final BoundedNatural u,
                                    final BoundedNatural v) {
-    BoundedNatural a = u;
-    BoundedNatural b = v;
-    //assert a.isValid();
-    //assert b.isValid();
-    while (!b.isZero()) {
-      if (Math.abs(a.hiInt()-b.hiInt()) < 2) { 
-        final BoundedNatural g = gcdKnuth(a,b); 
-        //assert a.isValid();
-        //assert b.isValid();
-        return g; }
-      final List<BoundedNatural> qr = divideAndRemainder(a,b);
-      //assert a.isValid();
-      //assert b.isValid();
-      a = b;
-      b = qr.get(1); }
-    return a; }
+    return NaturalGCD.gcd(u,v); }
+
+  /** Returns <code>[g, u/g, v/g, x, y]</code>, where
+   * <code>g = gcd(u,v)</code>, and the Bezout cofactors
+   * <code>x</code> and <code>y</code> satisfy
+   * <code>|x*u - y*v| = g</code>.
+   * <p>
+   * The quotients <code>u/g</code> and <code>v/g</code> come
+   * from the accumulated Euclidean matrix, without any division.
+   */
+
+  public static final List<BoundedNatural>
+  gcdExtended (final BoundedNatural u,
+               final BoundedNatural v) {
+    return NaturalGCD.gcdExtended(u,v); }
 
   public static final List<BoundedNatural> reduce (final BoundedNatural n0,
                                             final BoundedNatural d0) {
@@ -593,17 +714,13 @@ public final class NaturalDivide {
     if (n.equals(d)) { return List.of(n0.one(),n0.one()); }
     if (d.isOne()) { return List.of(n,n0.one()); }
     if (n.isOne()) { return List.of(n0.one(),d); }
-    final BoundedNatural g = gcd(n,d);
-    //assert g.isValid();
-    //assert n.isValid();
-    //assert d.isValid();
-    if (g.compareTo(n.one()) > 0) {
-      final BoundedNatural ng = n.divide(g);
-      final BoundedNatural dg = d.divide(g);
-      //assert ng.isValid();
-      //assert dg.isValid();
-      return List.of(ng,dg); }
-    return List.of(n,d); }
+    if (Math.min(n.hiInt(),d.hiInt()) < NaturalGCD.HGCD_THRESHOLD) {
+      final BoundedNatural g = gcd(n,d);
+      if (g.isOne()) { return List.of(n,d); }
+      return List.of(exactDivide(n,g),exactDivide(d,g)); }
+    // cofactors n/g and d/g, with no division
+    final List<BoundedNatural> g = gcdExtended(n,d);
+    return List.of(g.get(1),g.get(2)); }
 
   public static final List<BigInteger> 
   reduce (final BigInteger n0,
@@ -0,0 +1,405 @@
+package sicpplus.java.numbers;
+
+import java.util.List;
+
+/** Greatest common divisors of natural numbers:
+ * Lehmer's algorithm, with 62 bit leading parts and 31 bit
+ * cofactors, for moderate sizes, and a recursive half-gcd
+ * (after Sch&ouml;nhage, Thull-Yap and M&ouml;ller) for large
+ * operands, costing <code>O(M(n) log n)</code>.
+ * <p>
+ * Both work by accumulating a 2x2 matrix <code>M</code>, with
+ * natural number entries and determinant <code>&plusmn;1</code>,
+ * such that <code>(a,b) = M (c,d)</code> for the current pair
+ * of remainders <code>(c,d)</code>. Any such unimodular
+ * <code>M</code> preserves the gcd, and when <code>d</code>
+ * reaches zero, <code>c</code> is the gcd, and the first column
+ * of <code>M</code> holds the cofactors <code>a/gcd</code> and
+ * <code>b/gcd</code>, so a fraction can be reduced without any
+ * division.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class NaturalGCD {
+
+  //--------------------------------------------------------------
+  // thresholds
+  //--------------------------------------------------------------
+  /** Use the half-gcd when the smaller operand has at least
+   * this many words. Default and machine-specific profiles in
+   * {@link Thresholds}.
+   */
+
+  static final int HGCD_THRESHOLD = Thresholds.get(Thresholds.HGCD);
+
+  /** Lengths that differ by more than this many words get a
+   * full division step first.
+   */
+
+  private static final int UNBALANCED = 2;
+
+  //--------------------------------------------------------------
+  // 2x2 matrices of naturals, det = +/-1
+  //--------------------------------------------------------------
+  /** <code>[[m00,m01],[m10,m11]]</code> with
+   * <code>det = (positive ? 1 : -1)</code>.
+   */
+
+  private static final class Matrix {
+    private final BoundedNatural m00;
+    private final BoundedNatural m01;
+    private final BoundedNatural m10;
+    private final BoundedNatural m11;
+    private final boolean positive;
+
+    private Matrix (final BoundedNatural a00,
+                    final BoundedNatural a01,
+                    final BoundedNatural a10,
+                    final BoundedNatural a11,
+                    final boolean p) {
+      m00 = a00; m01 = a01; m10 = a10; m11 = a11; positive = p; }
+
+    private static final Matrix IDENTITY =
+      new Matrix(
+        BoundedNatural.ONE,BoundedNatural.ZERO,
+        BoundedNatural.ZERO,BoundedNatural.ONE,
+        true);
+
+    private static final Matrix SWAP =
+      new Matrix(
+        BoundedNatural.ZERO,BoundedNatural.ONE,
+        BoundedNatural.ONE,BoundedNatural.ZERO,
+        false);
+
+    private final boolean isIdentity () { return this==IDENTITY; }
+
+    /** <code>this * [[q,1],[1,0]]</code>. */
+
+    private final Matrix quotient (final BoundedNatural q) {
+      return new Matrix(
+        m00.multiply(q).add(m01), m00,
+        m10.multiply(q).add(m11), m10,
+        ! positive); }
+
+    private final Matrix multiply (final Matrix b) {
+      if (isIdentity()) { return b; }
+      if (b.isIdentity()) { return this; }
+      return new Matrix(
+        m00.multiply(b.m00).add(m01.multiply(b.m10)),
+        m00.multiply(b.m01).add(m01.multiply(b.m11)),
+        m10.multiply(b.m00).add(m11.multiply(b.m10)),
+        m10.multiply(b.m01).add(m11.multiply(b.m11)),
+        positive==b.positive); }
+
+    /** <code>M<sup>-1</sup>(a,b)</code>, or <code>null</code>
+     * if either component would be negative.
+     */
+
+    private final BoundedNatural[] solve (final BoundedNatural a,
+                                          final BoundedNatural b) {
+      // M^-1 = det * [[m11,-m01],[-m10,m00]]
+      final BoundedNatural c0 = m11.multiply(a);
+      final BoundedNatural c1 = m01.multiply(b);
+      final BoundedNatural d0 = m00.multiply(b);
+      final BoundedNatural d1 = m10.multiply(a);
+      final BoundedNatural c;
+      final BoundedNatural d;
+      if (positive) {
+        if ((c0.compareTo(c1)<0) || (d0.compareTo(d1)<0)) {
+          return null; }
+        c = c0.subtract(c1); d = d0.subtract(d1); }
+      else {
+        if ((c1.compareTo(c0)<0) || (d1.compareTo(d0)<0)) {
+          return null; }
+        c = c1.subtract(c0); d = d1.subtract(d0); }
+      return new BoundedNatural[] { c, d, }; } }
+
+  /** Matrix and remainders after a partial reduction. */
+
+  private static final class Reduction {
+    private final Matrix m;
+    private final BoundedNatural c;
+    private final BoundedNatural d;
+    private Reduction (final Matrix mm,
+                       final BoundedNatural cc,
+                       final BoundedNatural dd) {
+      m = mm; c = cc; d = dd; } }
+
+  //--------------------------------------------------------------
+  // Lehmer
+  //--------------------------------------------------------------
+
+  private static final long MAX_COFACTOR = 0x7FFFFFFFL;
+
+  /** <code>p*x - q*y</code>, which must be non-negative,
+   * for <code>0 &le; p,q &lt; 2<sup>31</sup></code>.
+   */
+
+  private static final BoundedNatural combine (final BoundedNatural x,
+                                               final long p,
+                                               final BoundedNatural y,
+                                               final long q) {
+    final int n = Math.max(x.hiInt(),y.hiInt());
+    final int[] vv = new int[n];
+    long carry = 0L;
+    for (int i=0;i<n;i++) {
+      final long t = ((p*x.uword(i)) - (q*y.uword(i))) + carry;
+      vv[i] = (int) t;
+      carry = (t>>32); }
+    assert 0L==carry : "negative combination";
+    return BoundedNatural.unsafe(vv); }
+
+  /** One pass of Knuth's Algorithm L (TAOCP 4.5.2), on the
+   * leading 62 bits of <code>x &ge; y</code>.
+   * @return the forward cofactors <code>{A,B,C,D}</code>,
+   * with <code>(x',y') = (Ax+By, Cx+Dy)</code>, or
+   * <code>null</code> if no quotient could be determined.
+   */
+
+  private static final long[] lehmerCofactors (final BoundedNatural x,
+                                               final BoundedNatural y) {
+    final int shift = Math.max(0,x.hiBit()-62);
+    long xh = x.getShiftedLong(shift);
+    long yh = y.getShiftedLong(shift);
+    long a = 1L; long b = 0L; long c = 0L; long d = 1L;
+    for (;;) {
+      final long yc = yh + c;
+      final long yd = yh + d;
+      if ((0L>=yc) || (0L>=yd)) { break; }
+      final long q = (xh + a)/yc;
+      if ((q != ((xh + b)/yd)) || (q > MAX_COFACTOR)) { break; }
+      final long a1 = a - (q*c);
+      final long b1 = b - (q*d);
+      if ((Math.abs(a1) > MAX_COFACTOR)
+        || (Math.abs(b1) > MAX_COFACTOR)) { break; }
+      a = c; c = a1;
+      b = d; d = b1;
+      final long t = xh - (q*yh);
+      xh = yh; yh = t; }
+    if (0L==b) { return null; }
+    return new long[] { a, b, c, d, }; }
+
+  /** Apply forward cofactors to <code>(x,y)</code>.
+   * In each row, the signs of the cofactors differ.
+   */
+
+  private static final BoundedNatural[] lehmerApply (final long[] f,
+                                                     final BoundedNatural x,
+                                                     final BoundedNatural y) {
+    final long a = f[0]; final long b = f[1];
+    final long c = f[2]; final long d = f[3];
+    final BoundedNatural x1 = (0L<=a)
+      ? combine(x,a,y,-b) : combine(y,b,x,-a);
+    final BoundedNatural y1 = (0L<=c)
+      ? combine(x,c,y,-d) : combine(y,d,x,-c);
+    return new BoundedNatural[] { x1, y1, }; }
+
+  /** The inverse of the forward cofactors, which has natural
+   * entries: a product of <code>[[q,1],[1,0]]</code>.
+   */
+
+  private static final Matrix lehmerMatrix (final long[] f) {
+    final long a = f[0]; final long b = f[1];
+    final long c = f[2]; final long d = f[3];
+    final boolean positive = (((a*d)-(b*c)) > 0L);
+    return new Matrix(
+      BoundedNatural.valueOf(Math.abs(d)),
+      BoundedNatural.valueOf(Math.abs(b)),
+      BoundedNatural.valueOf(Math.abs(c)),
+      BoundedNatural.valueOf(Math.abs(a)),
+      positive); }
+
+  //--------------------------------------------------------------
+  // half gcd
+  //--------------------------------------------------------------
+  /** Reduce <code>(a,b)</code>, <code>a &ge; b</code>,
+   * with Euclidean steps, without letting the smaller
+   * remainder drop below <code>2<sup>s</sup></code>.
+   * Lehmer passes, then single division steps near the end.
+   */
+
+  private static final Reduction reduceBase (final BoundedNatural a,
+                                             final BoundedNatural b,
+                                             final int s) {
+    Matrix m = Matrix.IDENTITY;
+    BoundedNatural x = a;
+    BoundedNatural y = b;
+    // Lehmer passes while they don't overshoot
+    while (y.hiBit() > s) {
+      final long[] f = lehmerCofactors(x,y);
+      if (null==f) { break; }
+      final BoundedNatural[] xy = lehmerApply(f,x,y);
+      if (xy[1].hiBit() <= s) { break; }
+      m = m.multiply(lehmerMatrix(f));
+      x = xy[0]; y = xy[1]; }
+    // single steps to the stopping point
+    while (y.hiBit() > s) {
+      final List<BoundedNatural> qr = NaturalDivide.divideAndRemainder(x,y);
+      final BoundedNatural r = qr.get(1);
+      if (r.hiBit() <= s) { break; }
+      m = m.quotient(qr.get(0));
+      x = y; y = r; }
+    return new Reduction(m,x,y); }
+
+  /** Order the remainders, largest first. */
+
+  private static final Reduction ordered (final Matrix m,
+                                          final BoundedNatural c,
+                                          final BoundedNatural d) {
+    if (c.compareTo(d) >= 0) { return new Reduction(m,c,d); }
+    return new Reduction(m.multiply(Matrix.SWAP),d,c); }
+
+  /** Roughly halve the size of <code>(a,b)</code>,
+   * <code>a &ge; b</code>: returns <code>(M,c,d)</code> with
+   * <code>(a,b) = M (c,d)</code>, <code>c &ge; d</code>,
+   * and <code>d &ge; 2<sup>s</sup></code>, where
+   * <code>s = hiBit(a)/2 + 1</code>.
+   * <p>
+   * The reduction of the leading half of the operands,
+   * applied to the full operands, leaves both remainders
+   * positive, because the reduced leading parts exceed
+   * <code>2<sup>s'</sup></code> while the matrix entries are
+   * less than <code>2<sup>n'-s'</sup></code>, with
+   * <code>s' &gt; n'/2</code>. If that ever fails, fall back to
+   * the base case.
+   */
+
+  private static final Reduction hgcd (final BoundedNatural a,
+                                       final BoundedNatural b,
+                                       final int threshold) {
+    final int n = a.hiBit();
+    final int s = (n/2) + 1;
+    if (b.hiBit() <= s) {
+      return new Reduction(Matrix.IDENTITY,a,b); }
+    if (b.hiInt() < threshold) { return reduceBase(a,b,s); }
+
+    // leading half
+    final int k = n/2;
+    final Reduction r1 = hgcd(a.shiftDown(k),b.shiftDown(k),threshold);
+    Matrix m = r1.m;
+    BoundedNatural c = a;
+    BoundedNatural d = b;
+    if (! m.isIdentity()) {
+      final BoundedNatural[] cd = m.solve(a,b);
+      if (null==cd) { return reduceBase(a,b,s); }
+      final Reduction o = ordered(m,cd[0],cd[1]);
+      m = o.m; c = o.c; d = o.d; }
+
+    // one division step
+    if (d.hiBit() <= s) { return new Reduction(m,c,d); }
+    final List<BoundedNatural> qr = NaturalDivide.divideAndRemainder(c,d);
+    final BoundedNatural r = qr.get(1);
+    if (r.hiBit() <= s) { return new Reduction(m,c,d); }
+    m = m.quotient(qr.get(0));
+    c = d; d = r;
+
+    // second half
+    final int n2 = c.hiBit();
+    final int k2 = Math.max(0,(2*s)-n2);
+    final Reduction r2 =
+      hgcd(c.shiftDown(k2),d.shiftDown(k2),threshold);
+    if (r2.m.isIdentity()) { return new Reduction(m,c,d); }
+    final BoundedNatural[] cd = r2.m.solve(c,d);
+    if (null==cd) {
+      final Reduction rb = reduceBase(c,d,s);
+      return new Reduction(m.multiply(rb.m),rb.c,rb.d); }
+    if (cd[1].hiBit() <= s) {
+      // overshot the stopping point; keep what we have
+      return new Reduction(m,c,d); }
+    return ordered(m.multiply(r2.m),cd[0],cd[1]); }
+
+  //--------------------------------------------------------------
+  // gcd
+  //--------------------------------------------------------------
+  /** Reduce <code>(a,b)</code>, <code>a &ge; b &gt; 0</code>,
+   * by at least one Euclidean step.
+   */
+
+  private static final Reduction step (final BoundedNatural a,
+                                       final BoundedNatural b,
+                                       final int threshold) {
+    if ((a.hiInt()-b.hiInt()) <= UNBALANCED) {
+      if (b.hiInt() >= threshold) {
+        final Reduction r = hgcd(a,b,threshold);
+        if (! r.m.isIdentity()) { return r; } }
+      else if (1 < b.hiInt()) {
+        final long[] f = lehmerCofactors(a,b);
+        if (null!=f) {
+          final BoundedNatural[] xy = lehmerApply(f,a,b);
+          return ordered(lehmerMatrix(f),xy[0],xy[1]); } } }
+    final List<BoundedNatural> qr = NaturalDivide.divideAndRemainder(a,b);
+    return new Reduction(
+      Matrix.IDENTITY.quotient(qr.get(0)),b,qr.get(1)); }
+
+  /** Both fit in 64 unsigned bits. */
+
+  private static final BoundedNatural gcd64 (final BoundedNatural a,
+                                             final BoundedNatural b) {
+    long x = (a.uword(1)<<32) | a.uword(0);
+    long y = (b.uword(1)<<32) | b.uword(0);
+    while (0L!=y) {
+      final long t = Long.remainderUnsigned(x,y);
+      x = y; y = t; }
+    if (0L<=x) { return BoundedNatural.valueOf(x); }
+    return BoundedNatural.make(new int[] { (int) x, (int) (x>>>32), }); }
+
+  /** Half-gcd from <code>threshold</code> words, for
+   * calibration.
+   */
+
+  static final BoundedNatural gcd (final BoundedNatural u,
+                                   final BoundedNatural v,
+                                   final int threshold) {
+    BoundedNatural a = u;
+    BoundedNatural b = v;
+    if (a.compareTo(b) < 0) { a = v; b = u; }
+    while (! b.isZero()) {
+      if (a.hiInt() <= 2) { return gcd64(a,b); }
+      final Reduction r = step(a,b,threshold);
+      a = r.c; b = r.d; }
+    return a; }
+
+  static final BoundedNatural gcd (final BoundedNatural u,
+                                   final BoundedNatural v) {
+    return gcd(u,v,HGCD_THRESHOLD); }
+
+  /** Returns <code>[g, u/g, v/g, x, y]</code> where
+   * <code>g = gcd(u,v)</code>, and the Bezout cofactors satisfy
+   * <code>|x*u - y*v| = g</code>.
+   * <code>gcd(0,0)</code> is <code>0</code>, with cofactors
+   * <code>[0,0,0,1]</code>.
+   */
+
+  static final List<BoundedNatural> gcdExtended (final BoundedNatural u,
+                                                 final BoundedNatural v) {
+    final boolean swapped = (u.compareTo(v) < 0);
+    BoundedNatural a = swapped ? v : u;
+    BoundedNatural b = swapped ? u : v;
+    Matrix m = swapped ? Matrix.SWAP : Matrix.IDENTITY;
+    while (! b.isZero()) {
+      final Reduction r = step(a,b,HGCD_THRESHOLD);
+      m = m.multiply(r.m);
+      a = r.c; b = r.d; }
+    // (u,v) = M (g,0)
+    // g = det * (m11*u - m01*v)
+    if (a.isZero()) {
+      return List.of(a,a,a,BoundedNatural.ZERO,BoundedNatural.ONE); }
+    return List.of(a,m.m00,m.m10,m.m11,m.m01); }
+
+  //--------------------------------------------------------------
+  // disable constructor
+  //--------------------------------------------------------------
+
+  private NaturalGCD () {
+    throw new
+    UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
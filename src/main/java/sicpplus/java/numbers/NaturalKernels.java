@@ -0,0 +1,181 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Numbers.hiWord;
+import static sicpplus.java.numbers.Numbers.unsigned;
+
+/** Word loops for add, subtract and bit shifts of
+ * <code>int[]</code> natural numbers, used by
+ * {@link BoundedNatural}.
+ * <p>
+ * The default implementation is the plain scalar carry loop.
+ * When the <code>jdk.incubator.vector</code> module is present
+ * (<code>--add-modules jdk.incubator.vector</code>), and the
+ * <code>vector</code> build profile has compiled
+ * <code>src/vector/java</code>, a Vector API implementation is
+ * loaded reflectively instead. Setting the system property
+ * <code>sicpplus.simd=false</code> forces the scalar loops.
+ * Nothing in the default build refers to the incubator module.
+ * <p>
+ * Callers only go through {@link #kernels()} for operands of at
+ * least {@link #minWords()} words; below that the set up cost
+ * of the vector loops isn't recovered.
+ * <p>
+ * Copies are left to {@link System#arraycopy}, which is already
+ * an intrinsic using the widest vector moves available.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+abstract class NaturalKernels {
+
+  //--------------------------------------------------------------
+  // kernels
+  //--------------------------------------------------------------
+  /** <code>s[s0+i] = a[a0+i] + b[b0+i] + carry</code>,
+   * for <code>0&lt;=i&lt;n</code>, with the carry
+   * propagated from word to word.
+   * @return the carry out, 0 or 1.
+   */
+
+  abstract int add (int[] a, int a0,
+                    int[] b, int b0,
+                    int[] s, int s0,
+                    int n,
+                    int carry);
+
+  /** <code>d[d0+i] = a[a0+i] - b[b0+i] - borrow</code>,
+   * for <code>0&lt;=i&lt;n</code>, with the borrow
+   * propagated from word to word.
+   * @return the borrow out, 0 or 1.
+   */
+
+  abstract int subtract (int[] a, int a0,
+                         int[] b, int b0,
+                         int[] d, int d0,
+                         int n,
+                         int borrow);
+
+  /** <code>v[v0+i] = (a[i] &lt;&lt; bShift) |
+   * (a[i-1] &gt;&gt;&gt; (32-bShift))</code>,
+   * for <code>0&lt;=i&lt;=n</code>, treating <code>a[-1]</code>
+   * and <code>a[n]</code> as zero, so <code>n+1</code> words are
+   * written. <code>0&lt;bShift&lt;32</code>.
+   */
+
+  abstract void shiftUp (int[] a, int n,
+                         int bShift,
+                         int[] v, int v0);
+
+  /** <code>v[i] = (a[a0+i] &gt;&gt;&gt; bShift) |
+   * (a[a0+i+1] &lt;&lt; (32-bShift))</code>,
+   * for <code>0&lt;=i&lt;n</code>, treating words at and above
+   * <code>na</code> as zero. <code>0&lt;bShift&lt;32</code>.
+   */
+
+  abstract void shiftDown (int[] a, int a0, int na,
+                           int bShift,
+                           int[] v, int n);
+
+  /** For reporting. */
+
+  abstract String name ();
+
+  //--------------------------------------------------------------
+  // scalar
+  //--------------------------------------------------------------
+
+  static final class Scalar extends NaturalKernels {
+
+    @Override
+    final int add (final int[] a, final int a0,
+                   final int[] b, final int b0,
+                   final int[] s, final int s0,
+                   final int n,
+                   final int carry) {
+      long sum = carry;
+      for (int i=0;i<n;i++) {
+        sum += unsigned(a[a0+i]) + unsigned(b[b0+i]);
+        s[s0+i] = (int) sum;
+        sum = hiWord(sum); }
+      return (int) sum; }
+
+    @Override
+    final int subtract (final int[] a, final int a0,
+                        final int[] b, final int b0,
+                        final int[] d, final int d0,
+                        final int n,
+                        final int borrow) {
+      long dif = -borrow;
+      for (int i=0;i<n;i++) {
+        dif += unsigned(a[a0+i]) - unsigned(b[b0+i]);
+        d[d0+i] = (int) dif;
+        dif = (dif>>32); }
+      return (int) -dif; }
+
+    @Override
+    final void shiftUp (final int[] a, final int n,
+                        final int bShift,
+                        final int[] v, final int v0) {
+      final int rShift = 32-bShift;
+      int w0 = 0;
+      for (int i=0;i<n;i++) {
+        final int w1 = a[i];
+        v[v0+i] = ((w1<<bShift)|(w0>>>rShift));
+        w0 = w1; }
+      v[v0+n] = (w0>>>rShift); }
+
+    @Override
+    final void shiftDown (final int[] a, final int a0, final int na,
+                          final int bShift,
+                          final int[] v, final int n) {
+      final int rShift = 32-bShift;
+      for (int i=0,j=a0;i<n;i++,j++) {
+        final int w1 = ((j+1)<na) ? a[j+1] : 0;
+        v[i] = ((w1<<rShift)|(a[j]>>>bShift)); } }
+
+    @Override
+    final String name () { return "scalar"; }
+
+    Scalar () { }
+  }
+
+  //--------------------------------------------------------------
+  // selection
+  //--------------------------------------------------------------
+
+  private static final String VECTOR_CLASS =
+    "sicpplus.java.numbers.NaturalKernelsVector";
+
+  private static final NaturalKernels load () {
+    if (! Boolean.parseBoolean(
+      System.getProperty("sicpplus.simd","true"))) {
+      return new Scalar(); }
+    if (ModuleLayer.boot()
+      .findModule("jdk.incubator.vector").isEmpty()) {
+      return new Scalar(); }
+    try {
+      return (NaturalKernels)
+        Class.forName(VECTOR_CLASS)
+        .getDeclaredConstructor()
+        .newInstance(); }
+    catch (final ReflectiveOperationException | LinkageError e) {
+      // not compiled into this build
+      return new Scalar(); } }
+
+  private static final NaturalKernels KERNELS = load();
+
+  static final NaturalKernels kernels () { return KERNELS; }
+
+  /** Callers keep their inline loops for operands below this
+   * many words.
+   */
+
+  static final int minWords () { return MIN_WORDS; }
+
+  private static final int MIN_WORDS = 32;
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -2,23 +2,83 @@ package sicpplus.java.numbers;
 
 import static sicpplus.java.numbers.Numbers.loWord;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
 /** Multiplication of natural numbers.
  * 
  * Non-instantiable.
  *
  * @author palisades dot lakes at gmail dot com
- * @version 2019-10-06
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
 public final class NaturalMultiply {
 
+  //--------------------------------------------------------------
+  // parallelism
+  //--------------------------------------------------------------
+  /** Opt-in: operands with at least this many words have their
+   * independent Karatsuba, Toom-Cook and transform sub-products
+   * forked onto the common {@link ForkJoinPool}.
+   * {@link Integer#MAX_VALUE}, the default, means never.
+   */
+
+  private static volatile int parallelThreshold = Integer.MAX_VALUE;
+
+  public static final int parallelThreshold () {
+    return parallelThreshold; }
+
+  /** Fork sub-products of operands with at least
+   * <code>nwords</code> words.
+   * Pass {@link Integer#MAX_VALUE} to turn parallelism off.
+   */
+
+  public static final void setParallelThreshold (final int nwords) {
+    if (0>=nwords) {
+      throw new IllegalArgumentException(
+        "parallel threshold must be positive: " + nwords); }
+    parallelThreshold = nwords; }
+
+  /** Evaluate independent sub-products, forking all but the
+   * first when <code>nwords</code> reaches the parallel
+   * threshold, and the first in the calling thread.
+   */
+
+  @SafeVarargs
+  static final <T> List<T> evaluate (final int nwords,
+                                     final Supplier<T>... ps) {
+    final int n = ps.length;
+    final Object[] z = new Object[n];
+    if (nwords < parallelThreshold) {
+      for (int i=0;i<n;i++) { z[i] = ps[i].get(); }
+      return (List<T>) Arrays.asList(z); }
+    final ForkJoinTask<?>[] f = new ForkJoinTask<?>[n];
+    for (int i=1;i<n;i++) {
+      f[i] = ForkJoinTask.adapt(ps[i]::get).fork(); }
+    z[0] = ps[0].get();
+    for (int i=n-1;i>0;i--) { z[i] = f[i].join(); }
+    return (List<T>) Arrays.asList(z); }
+
   //--------------------------------------------------------------
   // square
   //--------------------------------------------------------------
 
-  static final int KARATSUBA_SQUARE_THRESHOLD = 128;
-  static final int TOOM_COOK_SQUARE_THRESHOLD = 216;
+  // defaults and machine-specific profiles in Thresholds
+
+  static final int KARATSUBA_SQUARE_THRESHOLD =
+    Thresholds.get(Thresholds.KARATSUBA_SQUARE);
+  static final int TOOM_COOK_SQUARE_THRESHOLD =
+    Thresholds.get(Thresholds.TOOM_COOK_SQUARE);
+  /** Above this many words, square with a number theoretic
+   * transform, see {@link NaturalNTT}.
+   */
+  static final int NTT_SQUARE_THRESHOLD =
+    Thresholds.get(Thresholds.NTT_SQUARE);
 
   //--------------------------------------------------------------
 
@@ -27,17 +87,23 @@ public final class NaturalMultiply {
     final int half = (n+1)/2;
     final BoundedNatural xl = u.words(0,half);
     final BoundedNatural xh = u.words(half,n);
-    final BoundedNatural xhs = xh.square();
-    final BoundedNatural xls = xl.square();
+    final BoundedNatural xm = xl.add(xh);
+    final List<BoundedNatural> p = evaluate(n,
+      () -> xh.square(),
+      () -> xl.square(),
+      () -> xm.square());
+    final BoundedNatural xhs = p.get(0);
+    final BoundedNatural xls = p.get(1);
+    final BoundedNatural xms = p.get(2);
     // (xh^2<<64) + (((xl+xh)^2-(xh^2+xl^2))<<32) + xl^2
-    final int h32 = half*32;
-    return 
-      xhs.shiftUp(h32)
-      .add(
-        xl.add(xh).square()
-        .subtract(xhs.add(xls)))
-      .shiftUp(h32)
-      .add(xls); }
+    // accumulated in place, in a single array
+    final MutableNatural w = MutableNatural.make((2*n)+1);
+    w.add(xls);
+    w.add(xhs,2*half);
+    w.add(xms,half);
+    w.subtract(xhs,half);
+    w.subtract(xls,half);
+    return w.immutable(); }
 
   //--------------------------------------------------------------
 
@@ -52,14 +118,22 @@ public final class NaturalMultiply {
     final BoundedNatural a2 = getToomSlice(u,k,r,0,n);
     final BoundedNatural a1 = getToomSlice(u,k,r,1,n);
     final BoundedNatural a0 = getToomSlice(u,k,r,2,n);
-    final BoundedNatural v0 = a0.square();
     final BoundedNatural da0 = a2.add(a0);
     // subtract here causes errors due to negative answer
-    final BoundedNatural vm1 = da0.absDiff(a1).square();
+    final BoundedNatural dm1 = da0.absDiff(a1);
     final BoundedNatural da1 = da0.add(a1);
-    final BoundedNatural v1 = da1.square();
-    final BoundedNatural vinf = a2.square();
-    final BoundedNatural v2 = da1.add(a2).shiftUp(1).subtract(a0).square();
+    final BoundedNatural da2 = da1.add(a2).shiftUp(1).subtract(a0);
+    final List<BoundedNatural> p = evaluate(n,
+      () -> a0.square(),
+      () -> dm1.square(),
+      () -> da1.square(),
+      () -> a2.square(),
+      () -> da2.square());
+    final BoundedNatural v0 = p.get(0);
+    final BoundedNatural vm1 = p.get(1);
+    final BoundedNatural v1 = p.get(2);
+    final BoundedNatural vinf = p.get(3);
+    final BoundedNatural v2 = p.get(4);
 
     // The algorithm requires two divisions by 2 and one by 3.
     // All divisions are known to be exact, that is, they do not
@@ -76,43 +150,38 @@ public final class NaturalMultiply {
     t1 = t1.subtract(vinf);
     t2 = t2.subtract(vinf.shiftUp(1));
     tm1 = tm1.subtract(t2);
-    final int k32 = k*32;
-    return 
-      vinf.shiftUp(k32)
-      .add(t2).shiftUp(k32)
-      .add(t1).shiftUp(k32)
-      .add(tm1).shiftUp(k32)
-      .add(v0); }
+    return toomCookCompose(v0,tm1,t1,t2,vinf,k,2*n); }
 
   //--------------------------------------------------------------
 
-  private static final int MULTIPLY_SQUARE_THRESHOLD = 20;
-  private static final int KARATSUBA_THRESHOLD = 80;
-  private static final int TOOM_COOK_THRESHOLD = 240;
+  private static final int MULTIPLY_SQUARE_THRESHOLD =
+    Thresholds.get(Thresholds.MULTIPLY_SQUARE);
+  static final int KARATSUBA_THRESHOLD =
+    Thresholds.get(Thresholds.KARATSUBA);
+  private static final int TOOM_COOK_THRESHOLD =
+    Thresholds.get(Thresholds.TOOM_COOK);
+  /** When both operands have at least this many words, multiply
+   * with a number theoretic transform, see {@link NaturalNTT}.
+   */
+  private static final int NTT_THRESHOLD =
+    Thresholds.get(Thresholds.NTT);
 
   //--------------------------------------------------------------
 
-  private static final BoundedNatural multiplySimple (final BoundedNatural u,
+  static final BoundedNatural multiplySimple (final BoundedNatural u,
                                                final BoundedNatural v) {
     final int n0 = u.hiInt();
     final int n1 = v.hiInt();
-    BoundedNatural w = u.zero();
-    long carry = 0L;
-    for (int i0=0;i0<n0;i0++) {
-      carry = 0L;
-      for (int i1=0;i1<n1;i1++) {
-        final int i2 = i0+i1;
-        final long product =
-          (v.uword(i1)*u.uword(i0)) + w.uword(i2) + carry;
-        w = w.setWord(i2, (int) product);
-        carry = (product>>>32); }
-      final int i2 = i0+n1;
-      w = w.setWord(i2, (int) carry); }
-    return w; }
+    // one row of partial products per word of u,
+    // accumulated in place
+    final MutableNatural w = MutableNatural.make(n0+n1+1);
+    final int[] uu = u.words();
+    for (int i0=0;i0<n0;i0++) { w.multiplyAccumulate(v,uu[i0],i0); }
+    return w.immutable(); }
 
   //--------------------------------------------------------------
 
-  private static final BoundedNatural multiplyKaratsuba (final BoundedNatural u,
+  static final BoundedNatural multiplyKaratsuba (final BoundedNatural u,
                                                   final BoundedNatural v) {
     final int n0 = u.hiInt();
     final int n1 = v.hiInt();
@@ -121,15 +190,24 @@ public final class NaturalMultiply {
     final BoundedNatural xh = u.words(half,u.hiInt());
     final BoundedNatural yl = v.words(0,half);
     final BoundedNatural yh = v.words(half,v.hiInt());
-    final BoundedNatural p1 = xh.multiply(yh);
-    final BoundedNatural p2 = xl.multiply(yl);
-    final BoundedNatural p3 = xh.add(xl).multiply(yh.add(yl));
-    final int h32 = half*32;
-    final BoundedNatural p4 = p1.shiftUp(h32);
-    final BoundedNatural p5 =
-      p4.add(p3.subtract(p1).subtract(p2))
-      .shiftUp(h32);
-    return p5.add(p2); }
+    final BoundedNatural xm = xh.add(xl);
+    final BoundedNatural ym = yh.add(yl);
+    final List<BoundedNatural> p = evaluate(Math.max(n0,n1),
+      () -> xh.multiply(yh),
+      () -> xl.multiply(yl),
+      () -> xm.multiply(ym));
+    final BoundedNatural p1 = p.get(0);
+    final BoundedNatural p2 = p.get(1);
+    final BoundedNatural p3 = p.get(2);
+    // (p1<<64) + ((p3-p1-p2)<<32) + p2
+    // accumulated in place, in a single array
+    final MutableNatural w = MutableNatural.make(n0+n1+1);
+    w.add(p2);
+    w.add(p1,2*half);
+    w.add(p3,half);
+    w.subtract(p1,half);
+    w.subtract(p2,half);
+    return w.immutable(); }
 
   //--------------------------------------------------------------
 
@@ -173,6 +251,28 @@ public final class NaturalMultiply {
         if (q>=0xAAAAAAABL) { borrow++; } } }
     return BoundedNatural.unsafe(t); }
 
+  //--------------------------------------------------------------
+  /** <code>v0 + (t1&lt;&lt;k) + (t2&lt;&lt;2k) + (t3&lt;&lt;3k)
+   * + (t4&lt;&lt;4k)</code>, shifts in words,
+   * accumulated in place, in a single array.
+   */
+
+  private static final BoundedNatural
+  toomCookCompose (final BoundedNatural t0,
+                   final BoundedNatural t1,
+                   final BoundedNatural t2,
+                   final BoundedNatural t3,
+                   final BoundedNatural t4,
+                   final int k,
+                   final int n) {
+    final MutableNatural w = MutableNatural.make(n+1);
+    w.add(t0);
+    w.add(t1,k);
+    w.add(t2,2*k);
+    w.add(t3,3*k);
+    w.add(t4,4*k);
+    return w.immutable(); }
+
   //--------------------------------------------------------------
 
   private static final BoundedNatural getToomSlice (final BoundedNatural u,
@@ -201,7 +301,7 @@ public final class NaturalMultiply {
 
   //--------------------------------------------------------------
 
-  private static final BoundedNatural multiplyToomCook3 (final BoundedNatural u,
+  static final BoundedNatural multiplyToomCook3 (final BoundedNatural u,
                                                   final BoundedNatural v) {
     final int n0 = u.hiInt();
     final int n1 = v.hiInt();
@@ -220,32 +320,37 @@ public final class NaturalMultiply {
     final BoundedNatural b2 = getToomSlice(v,k,r,0,largest);
     final BoundedNatural b1 = getToomSlice(v,k,r,1,largest);
     final BoundedNatural b0 = getToomSlice(v,k,r,2,largest);
-    final BoundedNatural v0 = a0.multiply(b0);
-    BoundedNatural da1 = a2.add(a0);
-    BoundedNatural db1 = b2.add(b0);
+    final BoundedNatural da0 = a2.add(a0);
+    final BoundedNatural db0 = b2.add(b0);
 
     // might be negative
-    final BoundedNatural da1_a1;
-    final int ca = da1.compareTo(a1);
-    if (0 < ca) { da1_a1 = da1.subtract(a1); }
-    else { da1_a1 = a1.subtract(da1); }
+    final BoundedNatural da0_a1;
+    final int ca = da0.compareTo(a1);
+    if (0 < ca) { da0_a1 = da0.subtract(a1); }
+    else { da0_a1 = a1.subtract(da0); }
     // might be negative
-    final BoundedNatural db1_b1;
-    final int cb = db1.compareTo(b1);
-    if (0 < cb) { db1_b1 = db1.subtract(b1); }
-    else { db1_b1 = b1.subtract(db1); }
+    final BoundedNatural db0_b1;
+    final int cb = db0.compareTo(b1);
+    if (0 < cb) { db0_b1 = db0.subtract(b1); }
+    else { db0_b1 = b1.subtract(db0); }
     final int cv = ca * cb;
-    final BoundedNatural vm1 = da1_a1.multiply(db1_b1);
-
-    da1 = da1.add(a1);
-    db1 = db1.add(b1);
-    final BoundedNatural v1 = da1.multiply(db1);
-    final BoundedNatural v2 =
-      da1.add(a2).shiftUp(1).subtract(a0)
-      .multiply(
-        db1.add(b2).shiftUp(1).subtract(b0));
 
-    final BoundedNatural vinf = a2.multiply(b2);
+    final BoundedNatural da1 = da0.add(a1);
+    final BoundedNatural db1 = db0.add(b1);
+    final BoundedNatural da2 = da1.add(a2).shiftUp(1).subtract(a0);
+    final BoundedNatural db2 = db1.add(b2).shiftUp(1).subtract(b0);
+
+    final List<BoundedNatural> p = evaluate(largest,
+      () -> a0.multiply(b0),
+      () -> da0_a1.multiply(db0_b1),
+      () -> da1.multiply(db1),
+      () -> da2.multiply(db2),
+      () -> a2.multiply(b2));
+    final BoundedNatural v0 = p.get(0);
+    final BoundedNatural vm1 = p.get(1);
+    final BoundedNatural v1 = p.get(2);
+    final BoundedNatural v2 = p.get(3);
+    final BoundedNatural vinf = p.get(4);
 
     // The algorithm requires two divisions by 2 and one by 3.
     // All divisions are known to be exact, that is, they do not
@@ -271,15 +376,7 @@ public final class NaturalMultiply {
     t2 = t2.subtract(vinf.shiftUp(1));
     tm1 = tm1.subtract(t2);
 
-    // Number of bits to shift left.
-    final int ss = k * 32;
-
-    return
-      vinf.shiftUp(ss)
-      .add(t2).shiftUp(ss)
-      .add(t1).shiftUp(ss)
-      .add(tm1).shiftUp(ss)
-      .add(v0); }
+    return toomCookCompose(v0,tm1,t1,t2,vinf,k,n0+n1); }
 
   //--------------------------------------------------------------
 
@@ -296,7 +393,11 @@ public final class NaturalMultiply {
       return multiplySimple(u,v); }
     if ((n0<TOOM_COOK_THRESHOLD) && (n1<TOOM_COOK_THRESHOLD)) {
       return multiplyKaratsuba(u,v); }
-    return multiplyToomCook3(u,v); }
+    if ((n0<NTT_THRESHOLD) || (n1<NTT_THRESHOLD)
+      || (! NaturalNTT.fits(n0+n1))) {
+      // Toom-Cook splits products too large for one transform
+      return multiplyToomCook3(u,v); }
+    return NaturalNTT.multiply(u,v); }
 
 //  public static final BoundedNatural multiply (final BoundedNatural t,
 //                                        final long u) {
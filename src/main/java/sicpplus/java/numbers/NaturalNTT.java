@@ -0,0 +1,304 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Numbers.unsigned;
+
+import java.util.List;
+
+/** Multiplication of large natural numbers via number
+ * theoretic transforms.
+ * <p>
+ * The 32 bit words of each operand are the coefficients of a
+ * polynomial. The exact convolution of the coefficients
+ * is computed modulo 3 primes of the form
+ * <code>c*2<sup>k</sup>+1</code>, each below
+ * <code>2<sup>31</sup></code>, and reassembled with the Chinese
+ * remainder theorem (Garner's algorithm), while propagating
+ * carries into the 32 bit result words.
+ * <p>
+ * The product of the 3 primes exceeds <code>2<sup>90</sup></code>,
+ * which bounds every convolution coefficient as long as the
+ * transform length is at most {@link #MAX_LENGTH}. Larger
+ * products must be split by the caller (Toom-Cook 3 does this
+ * naturally).
+ * <p>
+ * The 3 residue convolutions are independent, and are forked
+ * when {@link NaturalMultiply#parallelThreshold()} allows.
+ * <p>
+ * Arithmetic modulo each prime uses Montgomery multiplication
+ * with <code>R=2<sup>32</sup></code>. Transformed values are
+ * kept in ordinary (not Montgomery) form; only the roots of
+ * unity and scale factors are stored in Montgomery form, so
+ * <code>mul(x,w<sub>M</sub>) = x*w mod p</code>.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class NaturalNTT {
+
+  //--------------------------------------------------------------
+  // primes
+  //--------------------------------------------------------------
+  // p = c*2^k + 1, with generator g of the multiplicative group
+
+  private static final long P0 = 469762049L;  //  7*2^26+1, g=3
+  private static final long P1 = 2013265921L; // 15*2^27+1, g=31
+  private static final long P2 = 2113929217L; // 63*2^25+1, g=5
+
+  private static final long[] PRIMES = { P0, P1, P2, };
+  private static final long[] GENERATORS = { 3L, 31L, 5L, };
+
+  /** Largest supported transform length, limited by the
+   * power of 2 dividing <code>P2-1</code>.
+   */
+
+  static final int MAX_LENGTH = (1<<25);
+
+  //--------------------------------------------------------------
+  // modular arithmetic
+  //--------------------------------------------------------------
+
+  private static final long powMod (final long b,
+                                    final long e,
+                                    final long p) {
+    long r = 1L;
+    long x = b % p;
+    long k = e;
+    while (0L<k) {
+      if (0L!=(k&1L)) { r = (r*x) % p; }
+      x = (x*x) % p;
+      k >>>= 1; }
+    return r; }
+
+  private static final long invMod (final long a,
+                                    final long p) {
+    return powMod(a,p-2,p); }
+
+  /** <code>-p<sup>-1</sup> mod 2<sup>32</sup></code>,
+   * by Newton iteration.
+   */
+
+  private static final long montNegInv (final long p) {
+    long x = p;
+    for (int i=0;i<5;i++) { x *= 2L-(p*x); }
+    return (-x) & 0xFFFFFFFFL; }
+
+  /** <code>a*b*2<sup>-32</sup> mod p</code>, for
+   * <code>a,b &lt; p &lt; 2<sup>31</sup></code>.
+   */
+
+  private static final long mul (final long a,
+                                 final long b,
+                                 final long p,
+                                 final long pinv) {
+    final long t = a*b;
+    final long m = ((t&0xFFFFFFFFL)*pinv) & 0xFFFFFFFFL;
+    // t + m*p < 2^64, unsigned
+    final long u = (t+(m*p))>>>32;
+    return (u>=p) ? u-p : u; }
+
+  /** <code>x*2<sup>32</sup> mod p</code>. */
+
+  private static final long toMont (final long x,
+                                    final long p) {
+    return (x<<32) % p; }
+
+  //--------------------------------------------------------------
+  // transforms
+  //--------------------------------------------------------------
+  /** Powers <code>w<sup>j</sup></code>, <code>j &lt; n/2</code>,
+   * in Montgomery form, where <code>w</code> is a primitive
+   * <code>n</code>-th root of unity mod <code>p</code>
+   * (or its inverse).
+   */
+
+  private static final int[] roots (final int n,
+                                    final long p,
+                                    final long g,
+                                    final long pinv,
+                                    final boolean inverse) {
+    final long w0 = powMod(g,(p-1)/n,p);
+    final long w = inverse ? invMod(w0,p) : w0;
+    final long wm = toMont(w,p);
+    final int h = Math.max(1,n>>>1);
+    final int[] r = new int[h];
+    long x = toMont(1L,p);
+    for (int j=0;j<h;j++) {
+      r[j] = (int) x;
+      x = mul(x,wm,p,pinv); }
+    return r; }
+
+  /** Decimation in frequency: natural order in,
+   * bit-reversed order out.
+   */
+
+  private static final void forward (final int[] a,
+                                     final int[] w,
+                                     final long p,
+                                     final long pinv) {
+    final int n = a.length;
+    for (int len=n;len>=2;len>>>=1) {
+      final int half = len>>>1;
+      final int stride = n/len;
+      for (int i=0;i<n;i+=len) {
+        for (int j=0,k=0;j<half;j++,k+=stride) {
+          final int i0 = i+j;
+          final int i1 = i0+half;
+          final long u = a[i0];
+          final long v = a[i1];
+          final long s = u+v;
+          a[i0] = (int) ((s>=p) ? s-p : s);
+          final long d = u-v;
+          a[i1] = (int) mul((d<0L) ? d+p : d,w[k],p,pinv); } } } }
+
+  /** Decimation in time: bit-reversed order in,
+   * natural order out. Unscaled.
+   */
+
+  private static final void inverse (final int[] a,
+                                     final int[] w,
+                                     final long p,
+                                     final long pinv) {
+    final int n = a.length;
+    for (int len=2;len<=n;len<<=1) {
+      final int half = len>>>1;
+      final int stride = n/len;
+      for (int i=0;i<n;i+=len) {
+        for (int j=0,k=0;j<half;j++,k+=stride) {
+          final int i0 = i+j;
+          final int i1 = i0+half;
+          final long u = a[i0];
+          final long v = mul(a[i1],w[k],p,pinv);
+          final long s = u+v;
+          a[i0] = (int) ((s>=p) ? s-p : s);
+          final long d = u-v;
+          a[i1] = (int) ((d<0L) ? d+p : d); } } } }
+
+  //--------------------------------------------------------------
+  /** Cyclic convolution of the words of <code>u</code> and
+   * <code>v</code> (<code>null</code> for a square),
+   * modulo <code>PRIMES[ip]</code>.
+   */
+
+  private static final int[] convolution (final BoundedNatural u,
+                                          final BoundedNatural v,
+                                          final int n,
+                                          final int ip) {
+    final long p = PRIMES[ip];
+    final long g = GENERATORS[ip];
+    final long pinv = montNegInv(p);
+    final int[] a = residues(u,n,p);
+    final int[] w = roots(n,p,g,pinv,false);
+    forward(a,w,p,pinv);
+    if (null==v) {
+      for (int i=0;i<n;i++) { a[i] = (int) mul(a[i],a[i],p,pinv); } }
+    else {
+      final int[] b = residues(v,n,p);
+      forward(b,w,p,pinv);
+      for (int i=0;i<n;i++) { a[i] = (int) mul(a[i],b[i],p,pinv); } }
+    inverse(a,roots(n,p,g,pinv,true),p,pinv);
+    // undo the extra R^-1 from the pointwise product,
+    // and divide by n
+    final long scale = toMont(toMont(invMod(n,p),p),p);
+    for (int i=0;i<n;i++) { a[i] = (int) mul(a[i],scale,p,pinv); }
+    return a; }
+
+  private static final int[] residues (final BoundedNatural u,
+                                       final int n,
+                                       final long p) {
+    final int nu = u.hiInt();
+    final int[] uu = u.words();
+    final int[] a = new int[n];
+    for (int i=0;i<nu;i++) { a[i] = (int) (unsigned(uu[i]) % p); }
+    return a; }
+
+  //--------------------------------------------------------------
+  /** Garner's algorithm, coefficient by coefficient, with carry
+   * propagation into 32 bit words.
+   */
+
+  private static final BoundedNatural crt (final int[] r0,
+                                           final int[] r1,
+                                           final int[] r2,
+                                           final int nw) {
+    final long p0p1 = P0*P1;
+    final long i01 = invMod(P0,P1);
+    final long i02 = invMod(P0 % P2,P2);
+    final long i12 = invMod(P1 % P2,P2);
+    final int[] ww = new int[nw];
+    // 128 bit carry
+    long clo = 0L;
+    long chi = 0L;
+    for (int i=0;i<nw;i++) {
+      final long x0 = (i<r0.length) ? r0[i] : 0L;
+      final long x1 = (i<r1.length) ? r1[i] : 0L;
+      final long x2 = (i<r2.length) ? r2[i] : 0L;
+      final long v1 = (((x1-x0+P1) % P1)*i01) % P1;
+      final long t2 = (((x2-(x0%P2)+P2) % P2)*i02) % P2;
+      final long v2 = (((t2-(v1%P2)+P2) % P2)*i12) % P2;
+      // x = x0 + P0*v1 + P0*P1*v2, as 128 bits
+      long lo = p0p1*v2;
+      long hi = Math.multiplyHigh(p0p1,v2);
+      final long a = x0 + (P0*v1);
+      long s = lo + a;
+      if (Long.compareUnsigned(s,lo)<0) { hi++; }
+      lo = s;
+      s = lo + clo;
+      if (Long.compareUnsigned(s,lo)<0) { hi++; }
+      lo = s;
+      hi += chi;
+      ww[i] = (int) lo;
+      clo = (lo>>>32) | (hi<<32);
+      chi = (hi>>>32); }
+    assert (0L==clo) && (0L==chi);
+    return BoundedNatural.unsafe(ww); }
+
+  //--------------------------------------------------------------
+
+  private static final int transformLength (final int nw) {
+    final int n = Integer.highestOneBit(nw);
+    return (n<nw) ? (n<<1) : n; }
+
+  /** Whether a product with <code>nw</code> words fits in a
+   * single transform.
+   */
+
+  static final boolean fits (final int nw) {
+    return nw <= MAX_LENGTH; }
+
+  static final BoundedNatural multiply (final BoundedNatural u,
+                                        final BoundedNatural v) {
+    final int nw = u.hiInt() + v.hiInt();
+    assert fits(nw);
+    final int n = transformLength(nw);
+    final List<int[]> r = NaturalMultiply.evaluate(nw,
+      () -> convolution(u,v,n,0),
+      () -> convolution(u,v,n,1),
+      () -> convolution(u,v,n,2));
+    return crt(r.get(0),r.get(1),r.get(2),nw); }
+
+  static final BoundedNatural square (final BoundedNatural u) {
+    final int nw = 2*u.hiInt();
+    assert fits(nw);
+    final int n = transformLength(nw);
+    final List<int[]> r = NaturalMultiply.evaluate(nw,
+      () -> convolution(u,null,n,0),
+      () -> convolution(u,null,n,1),
+      () -> convolution(u,null,n,2));
+    return crt(r.get(0),r.get(1),r.get(2),nw); }
+
+  //--------------------------------------------------------------
+  // disable constructor
+  //--------------------------------------------------------------
+
+  private NaturalNTT () {
+    throw new
+    UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,494 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Numbers.hiWord;
+import static sicpplus.java.numbers.Numbers.unsigned;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** Mutable natural numbers held outside the Java heap, in
+ * direct or memory-mapped buffers, for values too large for
+ * a single <code>int[]</code> (see {@link BoundedNatural#MAX_WORDS})
+ * or for the heap.
+ * <p>
+ * The words are little-endian <code>int</code>s, least
+ * significant first, in segments of at most
+ * {@link #SEGMENT_WORDS} words, each a separate
+ * {@link ByteBuffer}, so word indexes are <code>long</code>.
+ * Each instance has a fixed capacity, in words; its value
+ * is the words below {@link #nwords()}, and words above that are
+ * zero.
+ * <p>
+ * All arithmetic streams over the words in windows of
+ * {@link #WINDOW_WORDS} on heap words, using the
+ * {@link NaturalKernels} word loops. Results are written into
+ * <code>this</code>, which may be one of the operands
+ * (except for {@link #multiply(OffHeapNatural,OffHeapNatural,int)}).
+ * A result that doesn't fit in the capacity throws an
+ * {@link ArithmeticException}, leaving <code>this</code> holding
+ * garbage.
+ * <p>
+ * The out-of-core multiply reads blocks of both operands onto the
+ * heap as {@link BoundedNatural}, multiplies them with
+ * {@link NaturalMultiply}, and accumulates the block products
+ * into <code>this</code>, so only a few blocks are on the heap at
+ * any time.
+ * <p>
+ * Java 17's <code>MemorySegment</code> is still an incubator
+ * API, so this uses <code>ByteBuffer</code> segments.
+ * Files passed to {@link #map(Path,long,int)} belong to the
+ * caller, and are left in place. Scratch files created by
+ * {@link #scratch(Path,long,int)} are opened
+ * delete-on-close, so the file system removes them once the
+ * mapping is gone, with nothing for {@link #close()} to delete.
+ * As with any direct or mapped buffer, the memory is only
+ * released when the buffers are garbage collected.
+ * <p>
+ * After {@link #close()}, the instance is unusable: any
+ * operation that touches its words throws an
+ * {@link IllegalStateException}.
+ * <p>
+ * Not thread safe.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class OffHeapNatural
+implements Comparable<OffHeapNatural>, AutoCloseable {
+
+  //--------------------------------------------------------------
+  // fields
+  //--------------------------------------------------------------
+
+  /** Default segment size: 1 GB. */
+
+  public static final int SEGMENT_WORDS = (1<<28);
+
+  /** Words moved to the heap at a time by the streaming
+   * operations.
+   */
+
+  public static final int WINDOW_WORDS = (1<<12);
+
+  private final IntBuffer[] _segments;
+  private final int _segmentWords;
+  private final long _capacity;
+  /** The mapped file, if any, for {@link #toString()}. */
+
+  private final Path _file;
+
+  private long _nwords;
+
+  public final long capacity () { return _capacity; }
+
+  public final long nwords () { return _nwords; }
+
+  public final boolean isZero () { return 0L==_nwords; }
+
+  private final void checkCapacity (final long n) {
+    if (n>_capacity) {
+      throw new ArithmeticException(
+        "OffHeapNatural capacity exceeded: "
+          + n + " > " + _capacity + " words"); } }
+
+  //--------------------------------------------------------------
+  // word access
+  //--------------------------------------------------------------
+
+  private final IntBuffer segment (final int s) {
+    final IntBuffer b = _segments[s];
+    if (null==b) {
+      throw new IllegalStateException("closed OffHeapNatural"); }
+    return b; }
+
+  public final int word (final long i) {
+    assert 0L<=i;
+    if (_nwords<=i) { return 0; }
+    return segment((int) (i/_segmentWords))
+      .get((int) (i%_segmentWords)); }
+
+  public final long hiBit () {
+    if (0L==_nwords) { return 0L; }
+    return (_nwords<<5)
+      - Integer.numberOfLeadingZeros(word(_nwords-1)); }
+
+  /** Copy words <code>[i0,i0+n)</code> into
+   * <code>dst[0..n)</code>; words at and above
+   * {@link #capacity()} read as zero.
+   */
+
+  private final void read (final long i0,
+                           final int[] dst,
+                           final int n) {
+    int d = 0;
+    long i = i0;
+    final long end = Math.min(i0+n,_capacity);
+    while (i<end) {
+      final int s = (int) (i/_segmentWords);
+      final int o = (int) (i%_segmentWords);
+      final int m = (int) Math.min(_segmentWords-o,end-i);
+      segment(s).get(o,dst,d,m);
+      d += m;
+      i += m; }
+    if (d<n) { Arrays.fill(dst,d,n,0); } }
+
+  /** Copy <code>src[0..n)</code> into words
+   * <code>[i0,i0+n)</code>.
+   */
+
+  private final void write (final long i0,
+                            final int[] src,
+                            final int n) {
+    int d = 0;
+    long i = i0;
+    final long end = i0+n;
+    assert end<=_capacity;
+    while (i<end) {
+      final int s = (int) (i/_segmentWords);
+      final int o = (int) (i%_segmentWords);
+      final int m = (int) Math.min(_segmentWords-o,end-i);
+      segment(s).put(o,src,d,m);
+      d += m;
+      i += m; } }
+
+  /** Zero words <code>[i0,i1)</code>. */
+
+  private final void clear (final long i0,
+                            final long i1) {
+    final int[] zeros = new int[WINDOW_WORDS];
+    for (long i=i0;i<i1;i+=WINDOW_WORDS) {
+      write(i,zeros,(int) Math.min(WINDOW_WORDS,i1-i)); } }
+
+  /** Set {@link #nwords()} to the number of words below
+   * <code>n</code>, ignoring leading zeros.
+   */
+
+  private final void trim (final long n) {
+    long m = n;
+    while ((0L<m) && (0==readWord(m-1))) { m--; }
+    _nwords = m; }
+
+  private final int readWord (final long i) {
+    return segment((int) (i/_segmentWords))
+      .get((int) (i%_segmentWords)); }
+
+  /** Words <code>[i0,i0+n)</code>, on the heap. */
+
+  public final BoundedNatural block (final long i0,
+                                     final int n) {
+    if (_nwords<=i0) { return BoundedNatural.ZERO; }
+    final int m = (int) Math.min(n,_nwords-i0);
+    final int[] w = new int[m];
+    read(i0,w,m);
+    return BoundedNatural.unsafe(w); }
+
+  //--------------------------------------------------------------
+  // ordering
+  //--------------------------------------------------------------
+
+  @Override
+  public final int compareTo (final OffHeapNatural u) {
+    if (_nwords<u._nwords) { return -1; }
+    if (_nwords>u._nwords) { return 1; }
+    final int[] tw = new int[WINDOW_WORDS];
+    final int[] uw = new int[WINDOW_WORDS];
+    for (long i1=_nwords;i1>0;i1-=WINDOW_WORDS) {
+      final long i0 = Math.max(0L,i1-WINDOW_WORDS);
+      final int m = (int) (i1-i0);
+      read(i0,tw,m);
+      u.read(i0,uw,m);
+      for (int i=m-1;i>=0;i--) {
+        final int c = Integer.compareUnsigned(tw[i],uw[i]);
+        if (0!=c) { return c; } } }
+    return 0; }
+
+  //--------------------------------------------------------------
+  // streaming arithmetic
+  //--------------------------------------------------------------
+  /** <code>this = a + b</code>. */
+
+  public final OffHeapNatural add (final OffHeapNatural a,
+                                   final OffHeapNatural b) {
+    final long n = Math.max(a._nwords,b._nwords);
+    final NaturalKernels k = NaturalKernels.kernels();
+    final int[] aw = new int[WINDOW_WORDS];
+    final int[] bw = new int[WINDOW_WORDS];
+    final int[] sw = new int[WINDOW_WORDS];
+    final long oldWords = _nwords;
+    int carry = 0;
+    for (long i=0;i<n;i+=WINDOW_WORDS) {
+      final int m = (int) Math.min(WINDOW_WORDS,n-i);
+      checkCapacity(i+m);
+      a.read(i,aw,m);
+      b.read(i,bw,m);
+      carry = k.add(aw,0,bw,0,sw,0,m,carry);
+      write(i,sw,m); }
+    long nn = n;
+    if (0!=carry) {
+      checkCapacity(n+1);
+      write(n,new int[] { carry, },1);
+      nn = n+1; }
+    if (nn<oldWords) { clear(nn,oldWords); }
+    _nwords = nn;
+    return this; }
+
+  /** <code>this = a * w</code>, with <code>w</code> treated as
+   * an unsigned 32 bit word.
+   */
+
+  public final OffHeapNatural multiply (final OffHeapNatural a,
+                                        final int w) {
+    final long n = a._nwords;
+    final long oldWords = _nwords;
+    if (0==w) {
+      clear(0L,oldWords);
+      _nwords = 0L;
+      return this; }
+    final long ww = unsigned(w);
+    final int[] aw = new int[WINDOW_WORDS];
+    long carry = 0L;
+    for (long i=0;i<n;i+=WINDOW_WORDS) {
+      final int m = (int) Math.min(WINDOW_WORDS,n-i);
+      checkCapacity(i+m);
+      a.read(i,aw,m);
+      for (int j=0;j<m;j++) {
+        carry += unsigned(aw[j])*ww;
+        aw[j] = (int) carry;
+        carry = (carry>>>32); }
+      write(i,aw,m); }
+    long nn = n;
+    if (0L!=carry) {
+      checkCapacity(n+1);
+      write(n,new int[] { (int) carry, },1);
+      nn = n+1; }
+    if (nn<oldWords) { clear(nn,oldWords); }
+    _nwords = nn;
+    return this; }
+
+  /** <code>this += (p &lt;&lt; (32*offset))</code>, streaming
+   * over the words of <code>p</code> and the carry.
+   */
+
+  public final OffHeapNatural addAt (final long offset,
+                                     final BoundedNatural p) {
+    final int np = p.hiInt();
+    if (0==np) { return this; }
+    final int[] pw = p.words();
+    final NaturalKernels k = NaturalKernels.kernels();
+    final int[] tw = new int[WINDOW_WORDS];
+    int carry = 0;
+    for (int j=0;j<np;j+=WINDOW_WORDS) {
+      final int m = Math.min(WINDOW_WORDS,np-j);
+      checkCapacity(offset+j+m);
+      read(offset+j,tw,m);
+      carry = k.add(tw,0,pw,j,tw,0,m,carry);
+      write(offset+j,tw,m); }
+    long i = offset+np;
+    while (0!=carry) {
+      checkCapacity(i+1);
+      final long s = unsigned(readWord(i)) + carry;
+      write(i,new int[] { (int) s, },1);
+      carry = (int) hiWord(s);
+      i++; }
+    _nwords = Math.max(_nwords,i);
+    return this; }
+
+  /** Out-of-core <code>this = a * b</code>, block by block,
+   * with blocks of <code>blockWords</code> words on the heap.
+   * <code>this</code> must not be <code>a</code> or
+   * <code>b</code>.
+   */
+
+  public final OffHeapNatural multiply (final OffHeapNatural a,
+                                        final OffHeapNatural b,
+                                        final int blockWords) {
+    if ((this==a) || (this==b)) {
+      throw new IllegalArgumentException(
+        "out-of-core multiply can't overwrite an operand"); }
+    if ((0>=blockWords) || (BoundedNatural.MAX_WORDS/2<blockWords)) {
+      throw new IllegalArgumentException(
+        "block words must be in [1," + (BoundedNatural.MAX_WORDS/2)
+        + "]: " + blockWords); }
+    clear(0L,_nwords);
+    _nwords = 0L;
+    if (a.isZero() || b.isZero()) { return this; }
+    checkCapacity(a._nwords+b._nwords-1);
+    final long na = (a._nwords+blockWords-1)/blockWords;
+    final long nb = (b._nwords+blockWords-1)/blockWords;
+    for (long i=0;i<na;i++) {
+      final BoundedNatural ai = a.block(i*blockWords,blockWords);
+      if (ai.isZero()) { continue; }
+      for (long j=0;j<nb;j++) {
+        final BoundedNatural bj = b.block(j*blockWords,blockWords);
+        addAt((i+j)*blockWords,ai.multiply(bj)); } }
+    trim(_nwords);
+    return this; }
+
+  /** {@link #multiply(OffHeapNatural,OffHeapNatural,int)} with
+   * blocks of a quarter of {@link BoundedNatural#MAX_WORDS}.
+   */
+
+  public final OffHeapNatural multiply (final OffHeapNatural a,
+                                        final OffHeapNatural b) {
+    return multiply(a,b,BoundedNatural.MAX_WORDS/4); }
+
+  //--------------------------------------------------------------
+  // conversion
+  //--------------------------------------------------------------
+  /** <code>this = u</code>. */
+
+  public final OffHeapNatural set (final BoundedNatural u) {
+    final int n = u.hiInt();
+    checkCapacity(n);
+    clear(n,_nwords);
+    write(0L,u.words(),n);
+    _nwords = n;
+    return this; }
+
+  /** @throws ArithmeticException if <code>this</code> has more
+   * than {@link BoundedNatural#MAX_WORDS} words.
+   */
+
+  public final BoundedNatural boundedNaturalValue () {
+    if (BoundedNatural.MAX_WORDS<_nwords) {
+      throw new ArithmeticException(
+        "too large for BoundedNatural: " + _nwords + " words"); }
+    return block(0L,(int) _nwords); }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final String toString () {
+    return "OffHeapNatural[" + _nwords + "/" + _capacity
+      + " words" + ((null==_file) ? "" : (", " + _file))
+      + "]"; }
+
+  /** Drops the buffers, which are released when garbage
+   * collected. The instance is unusable afterwards. Mapped files
+   * are not deleted.
+   */
+
+  @Override
+  public final void close () {
+    Arrays.fill(_segments,null); }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private OffHeapNatural (final IntBuffer[] segments,
+                          final int segmentWords,
+                          final long capacity,
+                          final Path file) {
+    _segments = segments;
+    _segmentWords = segmentWords;
+    _capacity = capacity;
+    _file = file;
+    _nwords = 0L; }
+
+  private static final int nsegments (final long capacity,
+                                      final int segmentWords) {
+    if ((0L>capacity) || (0>=segmentWords)
+      || (SEGMENT_WORDS<segmentWords)) {
+      throw new IllegalArgumentException(
+        "capacity=" + capacity + ", segmentWords=" + segmentWords); }
+    return (int) Math.max(1L,(capacity+segmentWords-1)/segmentWords); }
+
+  /** Zero, with room for <code>capacity</code> words, in direct
+   * buffers of <code>segmentWords</code> words.
+   */
+
+  public static final OffHeapNatural
+  allocate (final long capacity,
+            final int segmentWords) {
+    final int ns = nsegments(capacity,segmentWords);
+    final IntBuffer[] segments = new IntBuffer[ns];
+    long remaining = capacity;
+    for (int s=0;s<ns;s++) {
+      final int m = (int) Math.min(segmentWords,remaining);
+      segments[s] = ByteBuffer.allocateDirect(4*m)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .asIntBuffer();
+      remaining -= m; }
+    return new OffHeapNatural(segments,segmentWords,capacity,null); }
+
+  public static final OffHeapNatural allocate (final long capacity) {
+    return allocate(capacity,SEGMENT_WORDS); }
+
+  private static final OffHeapNatural map (final Path file,
+                                           final long capacity,
+                                           final int segmentWords,
+                                           final OpenOption... options) {
+    final int ns = nsegments(capacity,segmentWords);
+    final IntBuffer[] segments = new IntBuffer[ns];
+    try (FileChannel ch = FileChannel.open(file,options)) {
+      long remaining = capacity;
+      for (int s=0;s<ns;s++) {
+        final int m = (int) Math.min(segmentWords,remaining);
+        segments[s] = ch.map(FileChannel.MapMode.READ_WRITE,
+          4L*s*segmentWords,4L*m)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .asIntBuffer();
+        remaining -= m; } }
+    catch (final IOException e) {
+      throw new UncheckedIOException(e); }
+    return new OffHeapNatural(segments,segmentWords,capacity,file); }
+
+  /** Zero, with room for <code>capacity</code> words, memory
+   * mapped to <code>file</code>, which is created or truncated.
+   * The file belongs to the caller: {@link #close()} leaves it
+   * in place.
+   */
+
+  public static final OffHeapNatural map (final Path file,
+                                          final long capacity,
+                                          final int segmentWords) {
+    return map(file,capacity,segmentWords,
+      StandardOpenOption.CREATE,
+      StandardOpenOption.TRUNCATE_EXISTING,
+      StandardOpenOption.READ,
+      StandardOpenOption.WRITE); }
+
+  public static final OffHeapNatural map (final Path file,
+                                          final long capacity) {
+    return map(file,capacity,SEGMENT_WORDS); }
+
+  /** Zero, with room for <code>capacity</code> words, memory
+   * mapped to a new scratch file in <code>dir</code>. The file is
+   * opened delete-on-close, so it is removed once unmapped (on
+   * POSIX systems, as soon as it is mapped), even if
+   * {@link #close()} is never called.
+   */
+
+  public static final OffHeapNatural scratch (final Path dir,
+                                              final long capacity,
+                                              final int segmentWords) {
+    final Path file;
+    try { file = Files.createTempFile(dir,"OffHeapNatural",".bin"); }
+    catch (final IOException e) {
+      throw new UncheckedIOException(e); }
+    return map(file,capacity,segmentWords,
+      StandardOpenOption.READ,
+      StandardOpenOption.WRITE,
+      StandardOpenOption.DELETE_ON_CLOSE); }
+
+  public static final OffHeapNatural scratch (final Path dir,
+                                              final long capacity) {
+    return scratch(dir,capacity,SEGMENT_WORDS); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,367 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Doubles.twoProductLow;
+import static sicpplus.java.numbers.Doubles.twoSumLow;
+import static sicpplus.java.numbers.Numbers.loBit;
+
+/** Exact signs of simple expressions in <code>double</code>
+ * inputs, evaluated adaptively, after Shewchuk:
+ * <ol>
+ * <li> in <code>double</code>, with a forward error bound,
+ * returning if the result is farther from zero than the bound;
+ * <li> for dot products, a compensated evaluation, in about
+ * twice working precision, with its own bound;
+ * <li> exactly, in {@link Expansions expansion} arithmetic,
+ * when the inputs are far enough from overflow and underflow
+ * for the error free transformations to be exact;
+ * <li> otherwise exactly, in {@link RationalFloat}.
+ * </ol>
+ * On inputs that aren't close to degenerate, almost all calls
+ * return from the first stage, at about the cost of evaluating
+ * the expression in <code>double</code>.
+ * <p>
+ * Inputs must be finite.
+ * <p>
+ * Reference:
+ * <p>
+ * <a href="https://people.eecs.berkeley.edu/~jrs/papers/robustr.pdf">
+ * Jonathan Richard Shewchuk, "Adaptive Precision Floating-Point
+ * Arithmetic and Fast Robust Geometric Predicates",
+ * Discrete &amp; Computational Geometry 18:305-363, 1997.</a>
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class Predicates {
+
+  // unit roundoff
+  private static final double EPS = 0x1p-53;
+
+  // Shewchuk's ccwerrboundA
+  private static final double DET2_BOUND = (3.0 + (16.0*EPS))*EPS;
+
+  private static final int signum (final double x) {
+    return (0.0<x) ? 1 : ((0.0>x) ? -1 : 0); }
+
+  private static final int signum (final RationalFloat x) {
+    return x.isZero() ? 0 : (x.nonNegative() ? 1 : -1); }
+
+  //--------------------------------------------------------------
+  // range checks for the exact expansion stage
+  //--------------------------------------------------------------
+
+  /** Exponent of the lowest non-zero bit. */
+
+  private static final int lowExponent (final double x) {
+    return Doubles.exponent(x) + loBit(Doubles.significand(x)); }
+
+  /** Products and differences of products of safe values, and
+   * their error terms, are exact <code>double</code>s: the
+   * lowest bits stay above 2<sup>-1074</sup>, and the
+   * magnitudes below 2<sup>1000</sup>.
+   */
+
+  private static final boolean safe (final double x) {
+    return
+      (0.0==x)
+      || ((-530<=lowExponent(x)) && (480>=Math.getExponent(x))); }
+
+  private static final boolean safe (final double[] x) {
+    for (final double xi : x) { if (! safe(xi)) { return false; } }
+    return true; }
+
+  //--------------------------------------------------------------
+  // sums
+  //--------------------------------------------------------------
+
+  /** Sign of <code>sum(x<sub>i</sub>)</code>. */
+
+  public static final int signSum (final double[] x) {
+    final int n = x.length;
+    double s = 0.0;
+    double a = 0.0;
+    for (final double xi : x) { s += xi; a += Math.abs(xi); }
+    // sums never underflow
+    final double bound = (2*(n+1))*EPS*a;
+    if (Math.abs(s)>bound) { return signum(s); }
+    if (0.0==a) { return 0; }
+    if (a<=0x1p1020) {
+      final double[] e = new double[64+1];
+      int m = 0;
+      for (final double xi : x) {
+        m = Expansions.grow(m,e,xi,e);
+        if (64<=m) { m = Expansions.compress(m,e); } }
+      return Expansions.signum(m,e); }
+    return signum(RationalFloat.ZERO.addAll(x)); }
+
+  //--------------------------------------------------------------
+  // dot products
+  //--------------------------------------------------------------
+
+  /** Sign of <code>sum(x<sub>i</sub>*y<sub>i</sub>)</code>. */
+
+  public static final int signDot (final double[] x,
+                                   final double[] y) {
+    final int n = x.length;
+    assert n==y.length;
+    double s = 0.0;
+    double a = 0.0;
+    for (int i=0;i<n;i++) {
+      final double p = x[i]*y[i];
+      s += p;
+      a += Math.abs(p); }
+    final double boundA =
+      ((2*(n+2))*EPS*a) + (n*Double.MIN_VALUE);
+    if (Math.abs(s)>boundA) { return signum(s); }
+    if (0.0==a) { return 0; }
+    if (Double.isFinite(a) && safe(x) && safe(y)) {
+      // compensated (Ogita, Rump, Oishi Dot2)
+      double s2 = 0.0;
+      double c = 0.0;
+      for (int i=0;i<n;i++) {
+        final double p = x[i]*y[i];
+        final double t = s2+p;
+        c += twoSumLow(s2,p,t) + twoProductLow(x[i],y[i],p);
+        s2 = t; }
+      final double r = s2+c;
+      final double ne = n*EPS;
+      final double boundB = (2.0*EPS*Math.abs(r)) + (4.0*ne*ne*a);
+      if (Math.abs(r)>boundB) { return signum(r); }
+      // exact
+      final double[] e = new double[64+2];
+      int m = 0;
+      for (int i=0;i<n;i++) {
+        final double p = x[i]*y[i];
+        m = Expansions.grow(m,e,p,e);
+        m = Expansions.grow(m,e,twoProductLow(x[i],y[i],p),e);
+        if (64<=m) { m = Expansions.compress(m,e); } }
+      return Expansions.signum(m,e); }
+    return signum(RationalFloat.ZERO.addProducts(x,y)); }
+
+  //--------------------------------------------------------------
+  // determinants
+  //--------------------------------------------------------------
+
+  /** Sign of <code>a*d - b*c</code>. */
+
+  public static final int signDeterminant (final double a,
+                                           final double b,
+                                           final double c,
+                                           final double d) {
+    final double p = a*d;
+    final double q = b*c;
+    final double det = p-q;
+    final double bound =
+      (DET2_BOUND*(Math.abs(p)+Math.abs(q))) + Double.MIN_VALUE;
+    if (Math.abs(det)>bound) { return signum(det); }
+    if (safe(a) && safe(b) && safe(c) && safe(d)) {
+      final double[] e = new double[2];
+      final double[] f = new double[2];
+      final double[] h = new double[4];
+      final int ne = expansion(twoProductLow(a,d,p),p,e);
+      final int nf = expansion(-twoProductLow(b,c,q),-q,f);
+      return Expansions.signum(Expansions.sum(ne,e,nf,f,h),h); }
+    return signum(
+      RationalFloat.valueOf(a).multiply(RationalFloat.valueOf(d))
+      .subtract(
+        RationalFloat.valueOf(b).multiply(RationalFloat.valueOf(c)))); }
+
+  /** Orientation of the triangle <code>a, b, c</code>:
+   * positive if counterclockwise, negative if clockwise, zero if
+   * the points are collinear. The sign of
+   * <code>(ax-cx)*(by-cy) - (ay-cy)*(bx-cx)</code>.
+   */
+
+  public static final int orientation (final double ax,
+                                       final double ay,
+                                       final double bx,
+                                       final double by,
+                                       final double cx,
+                                       final double cy) {
+    final double left = (ax-cx)*(by-cy);
+    final double right = (ay-cy)*(bx-cx);
+    final double det = left-right;
+    final double bound =
+      (DET2_BOUND*(Math.abs(left)+Math.abs(right)))
+      + Double.MIN_VALUE;
+    if (Math.abs(det)>bound) { return signum(det); }
+    if (safe(ax) && safe(ay) && safe(bx) && safe(by)
+      && safe(cx) && safe(cy)) {
+      final double acx = ax-cx;
+      final double bcy = by-cy;
+      final double acy = ay-cy;
+      final double bcx = bx-cx;
+      final double[] e = new double[8];
+      final double[] f = new double[8];
+      final double[] h = new double[16];
+      final int ne = product(
+        twoSumLow(ax,-cx,acx),acx,twoSumLow(by,-cy,bcy),bcy,e);
+      final int nf = product(
+        twoSumLow(ay,-cy,acy),acy,-twoSumLow(bx,-cx,bcx),-bcx,f);
+      return Expansions.signum(Expansions.sum(ne,e,nf,f,h),h); }
+    final RationalFloat rcx = RationalFloat.valueOf(cx);
+    final RationalFloat rcy = RationalFloat.valueOf(cy);
+    return signum(
+      RationalFloat.valueOf(ax).subtract(rcx)
+      .multiply(RationalFloat.valueOf(by).subtract(rcy))
+      .subtract(
+        RationalFloat.valueOf(ay).subtract(rcy)
+        .multiply(RationalFloat.valueOf(bx).subtract(rcx)))); }
+
+  /** Expansion of <code>lo+hi</code>, with
+   * <code>|lo| &lt;= ulp(hi)/2</code>.
+   */
+
+  private static final int expansion (final double lo,
+                                      final double hi,
+                                      final double[] e) {
+    int n = 0;
+    if (0.0!=lo) { e[n++] = lo; }
+    if (0.0!=hi) { e[n++] = hi; }
+    return n; }
+
+  /** Exact <code>(a1+a0)*(b1+b0)</code>, in <code>h</code>,
+   * with room for 8 components.
+   */
+
+  private static final int product (final double a0,
+                                    final double a1,
+                                    final double b0,
+                                    final double b1,
+                                    final double[] h) {
+    final double[] e = new double[2];
+    final double[] p = new double[4];
+    final double[] q = new double[4];
+    final int n = expansion(a0,a1,e);
+    final int np = Expansions.scale(n,e,b1,p);
+    final int nq = Expansions.scale(n,e,b0,q);
+    return Expansions.sum(np,p,nq,q,h); }
+
+  //--------------------------------------------------------------
+  // polynomials
+  //--------------------------------------------------------------
+
+  /** <code>{p(x), p(|x|) with |a<sub>i</sub>|}</code>, by
+   * Horner in <code>double</code>.
+   */
+
+  private static final double[] horner (final double[] a,
+                                        final double x) {
+    final double ax = Math.abs(x);
+    double p = 0.0;
+    double pa = 0.0;
+    for (int i=a.length-1;i>=0;i--) {
+      p = (p*x) + a[i];
+      pa = (pa*ax) + Math.abs(a[i]); }
+    return new double[] { p, pa, }; }
+
+  /** Forward error bound for Horner (Higham 5.1), plus a term
+   * for underflow in each step.
+   */
+
+  private static final double hornerBound (final double[] a,
+                                           final double x,
+                                           final double pa) {
+    final int n = a.length;
+    final double under =
+      (2*n)*Double.MIN_VALUE*Math.pow(Math.max(1.0,Math.abs(x)),n);
+    return ((4*(n+1))*EPS*pa) + under; }
+
+  /** Horner in expansion arithmetic is exact, if no term
+   * <code>a<sub>i</sub>x<sup>i</sup></code> has bits below
+   * 2<sup>-1074</sup>, or a partial sum comes near overflow.
+   */
+
+  private static final boolean safe (final double[] a,
+                                     final double x) {
+    if (0.0==x) { return true; }
+    final int n = a.length;
+    final int lx = Math.min(0,lowExponent(x));
+    final int hx = Math.max(0,Math.getExponent(x)+1);
+    final int hn = 32-Integer.numberOfLeadingZeros(n);
+    for (int i=0;i<n;i++) {
+      final double ai = a[i];
+      if (0.0!=ai) {
+        if ((lowExponent(ai)+((long) i*lx))<-1074L) { return false; }
+        if ((Math.getExponent(ai)+1+hn+((long) i*hx))>1000L) {
+          return false; } } }
+    return true; }
+
+  /** Exact <code>p(x)</code> as an expansion, in
+   * <code>h[0]</code>.
+   */
+
+  private static final int exactHorner (final double[] a,
+                                        final double x,
+                                        final double[][] h) {
+    double[] e = new double[1];
+    int n = 0;
+    for (int i=a.length-1;i>=0;i--) {
+      final double[] p = new double[(2*n)+1];
+      final int np = Expansions.scale(n,e,x,p);
+      n = Expansions.compress(Expansions.grow(np,p,a[i],p),p);
+      e = p; }
+    h[0] = e;
+    return n; }
+
+  private static final RationalFloat rationalHorner (final double[] a,
+                                                     final double x) {
+    final RationalFloat q = RationalFloat.valueOf(x);
+    RationalFloat p = RationalFloat.ZERO;
+    for (int i=a.length-1;i>=0;i--) { p = p.multiply(q).add(a[i]); }
+    return p; }
+
+  /** Sign of <code>sum(a<sub>i</sub>*x<sup>i</sup>)</code>. */
+
+  public static final int signPolynomial (final double[] a,
+                                          final double x) {
+    final double[] p = horner(a,x);
+    final double bound = hornerBound(a,x,p[1]);
+    if (Math.abs(p[0])>bound) { return signum(p[0]); }
+    if (safe(a,x)) {
+      final double[][] e = new double[1][];
+      final int n = exactHorner(a,x,e);
+      return Expansions.signum(n,e[0]); }
+    return signum(rationalHorner(a,x)); }
+
+  /** Sign of
+   * <code>sum(a<sub>i</sub>*x<sup>i</sup>)
+   * - sum(b<sub>i</sub>*y<sup>i</sup>)</code>.
+   */
+
+  public static final int comparePolynomials (final double[] a,
+                                              final double x,
+                                              final double[] b,
+                                              final double y) {
+    final double[] p = horner(a,x);
+    final double[] q = horner(b,y);
+    final double bound =
+      hornerBound(a,x,p[1]) + hornerBound(b,y,q[1]);
+    final double d = p[0]-q[0];
+    // the subtraction's rounding is covered by doubling the bound
+    if (Math.abs(d)>(2.0*bound)) { return signum(d); }
+    if (safe(a,x) && safe(b,y)) {
+      final double[][] e = new double[1][];
+      final int ne = exactHorner(a,x,e);
+      final double[][] f = new double[1][];
+      final int nf = exactHorner(b,y,f);
+      Expansions.negate(nf,f[0],f[0]);
+      final double[] h = new double[ne+nf];
+      return Expansions.signum(Expansions.sum(ne,e[0],nf,f[0],h),h); }
+    return signum(rationalHorner(a,x).subtract(rationalHorner(b,y))); }
+
+  //--------------------------------------------------------------
+  // disabled constructor
+  //--------------------------------------------------------------
+
+  private Predicates () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
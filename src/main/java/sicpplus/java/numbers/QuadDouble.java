@@ -0,0 +1,391 @@
+package sicpplus.java.numbers;
+
+import static sicpplus.java.numbers.Doubles.twoProductLow;
+
+/** An unevaluated sum of four <code>double</code>s,
+ * <code>x0+x1+x2+x3</code>, in decreasing magnitude, each at
+ * most an ulp of the previous: about 212 significant bits.
+ * <p>
+ * Each operation computes the exact result as a Shewchuk
+ * expansion, then keeps the leading four components, so the
+ * relative error is a small multiple of 2<sup>-212</sup>.
+ * {@link #compareTo}, {@link #doubleValue()} and
+ * {@link #equals} are exact. The exponent range is that of
+ * <code>double</code>, and no attempt is made to handle
+ * infinities, NaN, or overflow/underflow of the lower
+ * components.
+ * <p>
+ * As with {@link DoubleDouble}, the static kernels on
+ * <code>double[]</code> keep their accumulators in local
+ * expansions, rather than allocating per element.
+ * <p>
+ * Immutable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class QuadDouble
+implements Ringlike<QuadDouble> {
+
+  //--------------------------------------------------------------
+  // instance fields and methods
+  //--------------------------------------------------------------
+
+  private final double _x0;
+  public final double x0 () { return _x0; }
+
+  private final double _x1;
+  public final double x1 () { return _x1; }
+
+  private final double _x2;
+  public final double x2 () { return _x2; }
+
+  private final double _x3;
+  public final double x3 () { return _x3; }
+
+  /** Non-zero components into <code>e</code>, smallest first.
+   */
+
+  private final int expansion (final double[] e) {
+    int n = 0;
+    if (0.0!=_x3) { e[n++] = _x3; }
+    if (0.0!=_x2) { e[n++] = _x2; }
+    if (0.0!=_x1) { e[n++] = _x1; }
+    if (0.0!=_x0) { e[n++] = _x0; }
+    return n; }
+
+  //--------------------------------------------------------------
+  // Ringlike
+  //--------------------------------------------------------------
+
+  @Override
+  public final boolean isZero () { return 0.0==_x0; }
+
+  @Override
+  public final boolean isOne () {
+    return (1.0==_x0) && (0.0==_x1) && (0.0==_x2) && (0.0==_x3); }
+
+  @Override
+  public final QuadDouble zero () { return ZERO; }
+
+  @Override
+  public final QuadDouble one () { return ONE; }
+
+  //--------------------------------------------------------------
+
+  @Override
+  public final QuadDouble negate () {
+    return new QuadDouble(-_x0,-_x1,-_x2,-_x3); }
+
+  @Override
+  public final QuadDouble abs () {
+    if (0.0<=_x0) { return this; }
+    return negate(); }
+
+  //--------------------------------------------------------------
+
+  public final QuadDouble add (final double b) {
+    final double[] e = new double[5];
+    final int n = expansion(e);
+    return make(Expansions.grow(n,e,b,e),e); }
+
+  @Override
+  public final QuadDouble add (final QuadDouble b) {
+    final double[] e = new double[4];
+    final double[] f = new double[4];
+    final double[] h = new double[8];
+    return make(
+      Expansions.sum(expansion(e),e,b.expansion(f),f,h),h); }
+
+  @Override
+  public final QuadDouble subtract (final QuadDouble b) {
+    return add(b.negate()); }
+
+  public final QuadDouble subtract (final double b) {
+    return add(-b); }
+
+  //--------------------------------------------------------------
+
+  public final QuadDouble multiply (final double b) {
+    final double[] e = new double[4];
+    final double[] h = new double[8];
+    return make(Expansions.scale(expansion(e),e,b,h),h); }
+
+  /** Exact product of <code>this</code> and <code>b</code>, in
+   * <code>h</code>, which needs room for 32 components.
+   */
+
+  private final int product (final QuadDouble b,
+                             final double[] h) {
+    final double[] e = new double[4];
+    final double[] f = new double[4];
+    final double[] p = new double[8];
+    final double[] t = new double[32];
+    final int n = expansion(e);
+    final int m = b.expansion(f);
+    int k = 0;
+    double[] acc = h;
+    double[] tmp = t;
+    for (int j=0;j<m;j++) {
+      final int np = Expansions.scale(n,e,f[j],p);
+      k = Expansions.sum(k,acc,np,p,tmp);
+      final double[] swap = acc; acc = tmp; tmp = swap; }
+    if (acc!=h) { System.arraycopy(acc,0,h,0,k); }
+    return k; }
+
+  @Override
+  public final QuadDouble multiply (final QuadDouble b) {
+    final double[] h = new double[32];
+    return make(product(b,h),h); }
+
+  @Override
+  public final QuadDouble square () { return multiply(this); }
+
+  /** <code>this + a*b</code>, rounded to quad-double once. */
+
+  @Override
+  public final QuadDouble multiplyAdd (final QuadDouble a,
+                                       final QuadDouble b) {
+    final double[] p = new double[32];
+    final int np = a.product(b,p);
+    final double[] e = new double[4];
+    final double[] h = new double[36];
+    return make(Expansions.sum(expansion(e),e,np,p,h),h); }
+
+  @Override
+  public final QuadDouble multiplySubtract (final QuadDouble a,
+                                            final QuadDouble b) {
+    return multiplyAdd(a.negate(),b); }
+
+  //--------------------------------------------------------------
+
+  @Override
+  public final QuadDouble divide (final QuadDouble b) {
+    if (b.isZero()) { throw new ArithmeticException("divide by zero"); }
+    // long division, with an exact remainder; each quotient
+    // digit gains about 52 bits
+    final double[] f = new double[4];
+    final int m = b.expansion(f);
+    final double b0 = b._x0;
+    final double[] p = new double[8];
+    double[] r = new double[4+(5*8)];
+    double[] tmp = new double[r.length];
+    int nr = expansion(r);
+    final double[] q = new double[6];
+    int nq = 0;
+    for (int i=0;(i<5) && (0<nr);i++) {
+      double ri = r[0];
+      for (int j=1;j<nr;j++) { ri = r[j]+ri; }
+      final double qi = ri/b0;
+      nq = Expansions.grow(nq,q,qi,q);
+      final int np = Expansions.scale(m,f,-qi,p);
+      nr = Expansions.sum(nr,r,np,p,tmp);
+      final double[] swap = r; r = tmp; tmp = swap; }
+    return make(nq,q); }
+
+  @Override
+  public final QuadDouble invert () { return ONE.divide(this); }
+
+  //--------------------------------------------------------------
+  // 'Number' interface
+  //--------------------------------------------------------------
+
+  /** The exact value of the sum of the components. */
+
+  public final BigFloat bigFloatValue () {
+    final double[] e = new double[4];
+    return Expansions.bigFloatValue(expansion(e),e); }
+
+  /** Correctly rounded. */
+
+  @Override
+  public final double doubleValue () {
+    final double[] e = new double[4];
+    return Expansions.nearest(expansion(e),e); }
+
+  /** Correctly rounded, via the exact value. */
+
+  @Override
+  public final float floatValue () {
+    return bigFloatValue().floatValue(); }
+
+  //--------------------------------------------------------------
+  // Comparable methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final int compareTo (final QuadDouble b) {
+    final double[] e = new double[4];
+    final double[] f = new double[4];
+    final double[] h = new double[8];
+    final int m = b.expansion(f);
+    Expansions.negate(m,f,f);
+    return Expansions.signum(
+      Expansions.sum(expansion(e),e,m,f,h),h); }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  public final boolean equals (final QuadDouble b) {
+    return 0==compareTo(b); }
+
+  @Override
+  public boolean equals (final Object o) {
+    if (!(o instanceof QuadDouble)) { return false; }
+    return equals((QuadDouble) o); }
+
+  /** Equal values have equal nearest <code>double</code>s,
+   * whatever their components.
+   */
+
+  @Override
+  public int hashCode () {
+    return Double.hashCode(doubleValue()+0.0); }
+
+  @Override
+  public final String toString () {
+    return
+      Double.toHexString(_x0)
+      + "+" + Double.toHexString(_x1)
+      + "+" + Double.toHexString(_x2)
+      + "+" + Double.toHexString(_x3); }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private QuadDouble (final double x0,
+                      final double x1,
+                      final double x2,
+                      final double x3) {
+    _x0 = x0;
+    _x1 = x1;
+    _x2 = x2;
+    _x3 = x3; }
+
+  /** From the exact expansion <code>e[0..n)</code>, which is
+   * overwritten.
+   */
+
+  private static final QuadDouble make (final int n,
+                                        final double[] e) {
+    final int k = Expansions.truncate(n,e,4);
+    return new QuadDouble(
+      (0<k) ? e[k-1] : 0.0,
+      (1<k) ? e[k-2] : 0.0,
+      (2<k) ? e[k-3] : 0.0,
+      (3<k) ? e[k-4] : 0.0); }
+
+  public static final QuadDouble valueOf (final double x) {
+    return new QuadDouble(x,0.0,0.0,0.0); }
+
+  public static final QuadDouble valueOf (final DoubleDouble x) {
+    return new QuadDouble(x.hi(),x.lo(),0.0,0.0); }
+
+  /** The exact sum, which must be representable. */
+
+  public static final QuadDouble valueOf (final double... x) {
+    final double[] e = new double[x.length];
+    int n = 0;
+    for (final double xi : x) { n = Expansions.grow(n,e,xi,e); }
+    return make(n,e); }
+
+  /** Nearest leading component, then nearest to each
+   * remainder.
+   */
+
+  public static final QuadDouble valueOf (final BigFloat x) {
+    final double[] c = new double[4];
+    BigFloat r = x;
+    for (int i=0;i<4;i++) {
+      c[i] = r.doubleValue();
+      if ((! Double.isFinite(c[i])) || (0.0==c[i])) { break; }
+      r = r.subtract(BigFloat.valueOf(c[i])); }
+    return new QuadDouble(c[0],c[1],c[2],c[3]); }
+
+  public static final QuadDouble ZERO = valueOf(0.0);
+  public static final QuadDouble ONE = valueOf(1.0);
+
+  //--------------------------------------------------------------
+  // bulk kernels
+  //--------------------------------------------------------------
+
+  // accumulators grow to at most this many components before
+  // being truncated back to 4
+  private static final int GROW = 16;
+
+  /** <code>sum(x<sub>i</sub>)</code>, with a quad-double
+   * accumulator.
+   */
+
+  public static final QuadDouble sum (final double[] x) {
+    final double[] acc = new double[GROW+1];
+    int n = 0;
+    for (final double xi : x) {
+      n = Expansions.grow(n,acc,xi,acc);
+      if (GROW<=n) { n = Expansions.truncate(n,acc,4); } }
+    return make(n,acc); }
+
+  /** <code>sum(x<sub>i</sub>*y<sub>i</sub>)</code>, with exact
+   * products and a quad-double accumulator.
+   */
+
+  public static final QuadDouble dot (final double[] x,
+                                      final double[] y) {
+    final int m = x.length;
+    assert m==y.length;
+    final double[] acc = new double[GROW+2];
+    int n = 0;
+    for (int i=0;i<m;i++) {
+      final double p = x[i]*y[i];
+      n = Expansions.grow(n,acc,p,acc);
+      n = Expansions.grow(n,acc,twoProductLow(x[i],y[i],p),acc);
+      if (GROW<=n) { n = Expansions.truncate(n,acc,4); } }
+    return make(n,acc); }
+
+  /** <code>y &larr; a*x + y</code>, where <code>y[0..3]</code>
+   * hold the components of a vector of quad-doubles.
+   */
+
+  public static final void axpy (final QuadDouble a,
+                                 final double[] x,
+                                 final double[][] y) {
+    final double[] e = new double[4];
+    final int na = a.expansion(e);
+    final double[] p = new double[8];
+    final double[] f = new double[4];
+    final double[] h = new double[12];
+    final int m = x.length;
+    assert (4==y.length) && (m==y[0].length);
+    for (int i=0;i<m;i++) {
+      final int np = Expansions.scale(na,e,x[i],p);
+      int nf = 0;
+      for (int j=3;j>=0;j--) {
+        if (0.0!=y[j][i]) { f[nf++] = y[j][i]; } }
+      final int k = Expansions.truncate(
+        Expansions.sum(nf,f,np,p,h),h,4);
+      for (int j=0;j<4;j++) { y[j][i] = (j<k) ? h[k-1-j] : 0.0; } } }
+
+  /** <code>sum(a<sub>i</sub>*x<sup>i</sup>)</code>, by Horner,
+   * each step exact, then truncated to quad-double.
+   */
+
+  public static final QuadDouble horner (final double[] a,
+                                         final double x) {
+    final int m = a.length;
+    if (0==m) { return ZERO; }
+    final double[] acc = new double[9];
+    final double[] p = new double[9];
+    int n = Expansions.grow(0,acc,a[m-1],acc);
+    for (int i=m-2;i>=0;i--) {
+      final int np = Expansions.scale(n,acc,x,p);
+      n = Expansions.truncate(Expansions.grow(np,p,a[i],p),p,4);
+      System.arraycopy(p,0,acc,0,n); }
+    return make(n,acc); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
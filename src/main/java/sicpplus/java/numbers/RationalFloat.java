@@ -100,6 +100,24 @@ implements Ringlike<RationalFloat> {
 
   //--------------------------------------------------------------
 
+  /** <code>(&plusmn;n0*2<sup>e0</sup>
+   * &plusmn; x*y*2<sup>e1</sup>)/d</code>, fused,
+   * see {@link BigFloat#multiplyAdd(boolean,BoundedNatural,int,boolean,BoundedNatural,BoundedNatural,int)}.
+   */
+
+  private static final RationalFloat
+  multiplyAdd (final boolean p0,
+               final BoundedNatural n0,
+               final int e0,
+               final boolean p1,
+               final BoundedNatural x,
+               final BoundedNatural y,
+               final int e1,
+               final BoundedNatural d) {
+    final BigFloat s = BigFloat.multiplyAdd(p0,n0,e0,p1,x,y,e1);
+    if (s.isZero()) { return ZERO; }
+    return valueOf(s.nonNegative(),s.significand(),d,s.exponent()); }
+
   private static final RationalFloat add7 (final boolean p0,
                                            final BoundedNatural n0,
                                            final BoundedNatural d0,
@@ -107,42 +125,8 @@ implements Ringlike<RationalFloat> {
                                            final boolean p1,
                                            final BoundedNatural n1,
                                            final int e1) {
-    final BoundedNatural n0d1 = n0;
-    final BoundedNatural n1d0 = n1.multiply(d0);
-
-    final BoundedNatural a;
-    final BoundedNatural b;
-    final int e;
-    if (e0 == e1) {
-      a = n0d1;
-      b = n1d0;
-      e = e0; }
-    else if (e0 > e1) {
-      a = n0d1.shiftUp(e0-e1);
-      b = n1d0;
-      e = e1; }
-    else {
-      a = n0d1;
-      b = n1d0.shiftUp(e1-e0);
-      e = e0; }
-
-    final boolean p;
-    final BoundedNatural n;
-    if (p0) {
-      if (p1) { n = a.add(b); p = true; }
-      else {
-        final int c = a.compareTo(b);
-        if (0 <= c) { n = a.subtract(b); p = true; }
-        else { n = b.subtract(a); p = false; } } }
-    else {
-      if (p1) {
-        final int c = b.compareTo(a);
-        if (0 <= c) { n = b.subtract(a); p = true; }
-        else { n = a.subtract(b); p = false; } }
-      else { n = a.add(b); p = false; } }
-
-    final BoundedNatural d = d0;
-    return valueOf(p,n,d,e); }
+    // n0 + n1*d0 over d0
+    return multiplyAdd(p0,n0,e0,p1,n1,d0,e1,d0); }
 
   private static final RationalFloat add8 (final boolean p0,
                                            final BoundedNatural n0,
@@ -152,42 +136,9 @@ implements Ringlike<RationalFloat> {
                                            final BoundedNatural n1,
                                            final BoundedNatural d1,
                                            final int e1) {
-    final BoundedNatural n0d1 = n0.multiply(d1);
-    final BoundedNatural n1d0 = n1.multiply(d0);
-
-    final BoundedNatural a;
-    final BoundedNatural b;
-    final int e;
-    if (e0 == e1) {
-      a = n0d1;
-      b = n1d0;
-      e = e0; }
-    else if (e0 > e1) {
-      a = n0d1.shiftUp(e0-e1);
-      b = n1d0;
-      e = e1; }
-    else {
-      a = n0d1;
-      b = n1d0.shiftUp(e1-e0);
-      e = e0; }
-
-    final boolean p;
-    final BoundedNatural n;
-    if (p0) {
-      if (p1) { n = a.add(b); p = true; }
-      else {
-        final int c = a.compareTo(b);
-        if (0 <= c) { n = a.subtract(b); p = true; }
-        else { n = b.subtract(a); p = false; } } }
-    else {
-      if (p1) {
-        final int c = b.compareTo(a);
-        if (0 <= c) { n = b.subtract(a); p = true; }
-        else { n = a.subtract(b); p = false; } }
-      else { n = a.add(b); p = false; } }
-
-    final BoundedNatural d = d0.multiply(d1);
-    return valueOf(p,n,d,e); }
+    // n0*d1 + n1*d0 over d0*d1
+    return multiplyAdd(
+      p0,n0.multiply(d1),e0,p1,n1,d0,e1,d0.multiply(d1)); }
 
   //--------------------------------------------------------------
 
@@ -408,6 +359,59 @@ implements Ringlike<RationalFloat> {
       q.denominator(),
       q.exponent()); }
 
+  //--------------------------------------------------------------
+  /** <code>this + (&plusmn;n*2<sup>e</sup>/d)*(a/b)</code>,
+   * with <code>a</code> the numerator of a product: one fused
+   * step, no separate product.
+   */
+
+  private final RationalFloat multiplyAdd (final boolean p1,
+                                           final BoundedNatural na,
+                                           final BoundedNatural nb,
+                                           final BoundedNatural d1,
+                                           final int e1) {
+    final boolean p0 = nonNegative();
+    final BoundedNatural n0 = numerator();
+    final BoundedNatural d0 = denominator();
+    final int e0 = exponent();
+    if (d0.isOne()) {
+      // n0*d1 + na*nb over d1
+      final BoundedNatural n0d1 = d1.isOne() ? n0 : n0.multiply(d1);
+      return multiplyAdd(p0,n0d1,e0,p1,na,nb,e1,d1); }
+    // n0*d1 + (na*nb)*d0 over d0*d1
+    final BoundedNatural n0d1 = d1.isOne() ? n0 : n0.multiply(d1);
+    final BoundedNatural d = d1.isOne() ? d0 : d0.multiply(d1);
+    return multiplyAdd(p0,n0d1,e0,p1,na.multiply(nb),d0,e1,d); }
+
+  /** <code>this + a*b</code>, exact, with the numerator
+   * product accumulated into the sum.
+   */
+
+  @Override
+  public final RationalFloat multiplyAdd (final RationalFloat a,
+                                          final RationalFloat b) {
+    if (a.isZero() || b.isZero()) { return this; }
+    return multiplyAdd(
+      a.nonNegative()==b.nonNegative(),
+      a.numerator(),b.numerator(),
+      a.denominator().multiply(b.denominator()),
+      a.exponent()+b.exponent()); }
+
+  /** <code>this - a*b</code>, exact, with the numerator
+   * product accumulated into the difference.
+   */
+
+  @Override
+  public final RationalFloat
+  multiplySubtract (final RationalFloat a,
+                    final RationalFloat b) {
+    if (a.isZero() || b.isZero()) { return this; }
+    return multiplyAdd(
+      a.nonNegative()!=b.nonNegative(),
+      a.numerator(),b.numerator(),
+      a.denominator().multiply(b.denominator()),
+      a.exponent()+b.exponent()); }
+
   //--------------------------------------------------------------
 
   private final RationalFloat
@@ -569,7 +573,7 @@ implements Ringlike<RationalFloat> {
   axpy (final double a,
         final RationalFloat x,
         final double y) {
-    return x.multiply(a).add(y); }
+    return valueOf(y).multiplyAdd(x,valueOf(a)); }
 
   /** Exact <code>a*this+y</code> (aka fma). */
 
@@ -854,40 +858,38 @@ implements Ringlike<RationalFloat> {
   // Comparable methods
   //--------------------------------------------------------------
 
+  /** Decided by signs, bit lengths and exponents, or leading
+   * bits, in constant time, for all but (nearly) equal values;
+   * see {@link NaturalCompare}. Zeros of either sign are equal.
+   */
+
   @Override
   public final int compareTo (final RationalFloat q) {
-    if (nonNegative() && (! q.nonNegative())) { return 1; }
-    if ((! nonNegative()) && q.nonNegative()) { return -1; }
+    final boolean z0 = isZero();
+    final boolean z1 = q.isZero();
+    if (z0 && z1) { return 0; }
+    final boolean p0 = nonNegative() || z0;
+    final boolean p1 = q.nonNegative() || z1;
+    if (p0 && (! p1)) { return 1; }
+    if ((! p0) && p1) { return -1; }
     // same signs
-    final BoundedNatural n0d1 = numerator().multiply(q.denominator());
-    final BoundedNatural n1d0 = q.numerator().multiply(denominator());
-    final int e0 = exponent();
-    final int e1 = q.exponent();
-    final int c;
-    if (e0 <= e1) {
-      c = n0d1.compareTo(n1d0.shiftUp(e1-e0)); }
-    else {
-      c = n0d1.shiftUp(e0-e1).compareTo(n1d0); }
-    return (nonNegative() ? c : -c); }
+    final int c = NaturalCompare.compare(
+      numerator(),q.denominator(),exponent(),
+      q.numerator(),denominator(),q.exponent());
+    return (p0 ? c : -c); }
 
   //--------------------------------------------------------------
   // Object methods
   //--------------------------------------------------------------
 
+  /** Cross multiplied comparison, rather than reducing both
+   * sides with gcds.
+   */
+
   public final boolean equals (final RationalFloat q) {
     if (this == q) { return true; }
     if (null == q) { return false; }
-    final RationalFloat rf0 = reduce();
-    final RationalFloat rf1 = q.reduce();
-    // assuming reduced
-    return
-      (rf0.nonNegative() == rf1.nonNegative())
-      &&
-      (rf0.exponent() == rf1.exponent())
-      &&
-      rf0.numerator().equals(rf1.numerator())
-      &&
-      rf0.denominator().equals(rf1.denominator()); }
+    return 0==compareTo(q); }
 
   @Override
   public boolean equals (final Object o) {
@@ -914,6 +916,25 @@ implements Ringlike<RationalFloat> {
       + " / "
       + denominator().toHexString(); }
 
+  /** Exact decimal: positional, like <code>-12.375</code>, when
+   * the reduced denominator is a power of 2, and otherwise a
+   * ratio of decimal integers, like <code>-1/3</code>.
+   * Subquadratic for large values; see {@link NaturalDecimal}.
+   */
+
+  public final String toDecimalString () {
+    final RationalFloat r = reduce();
+    final String sign = r.nonNegative() ? "" : "-";
+    if (r.isZero()) { return "0"; }
+    final int e = r.exponent();
+    final BoundedNatural d = r.denominator();
+    if (d.isOne()) {
+      return sign + NaturalDecimal.toDecimalString(r.numerator(),e); }
+    final BoundedNatural n =
+      (0<e) ? r.numerator().shiftUp(e) : r.numerator();
+    final BoundedNatural d0 = (0>e) ? d.shiftUp(-e) : d;
+    return sign + n.toDecimalString() + "/" + d0.toDecimalString(); }
+
   //--------------------------------------------------------------
   // construction
   //--------------------------------------------------------------
@@ -979,12 +1000,17 @@ implements Ringlike<RationalFloat> {
         if (n0.isOne()) {
           return new RationalFloat(p,BoundedNatural.ONE,d0,e0); }
 
-        final BoundedNatural gcd = n0.gcd(d0);
-        final BoundedNatural n1 = n0.divide(gcd);
-        final BoundedNatural d1 = d0.divide(gcd);
-        return new RationalFloat(p,n1,d1,e0); }
+        // exact division by the gcd, or cofactors from the
+        // extended gcd
+        final List<BoundedNatural> nd = NaturalDivide.reduce(n0,d0);
+        return new RationalFloat(p,nd.get(0),nd.get(1),e0); }
+
+  /** Lowest terms: odd numerator and denominator, with no
+   * common factor. See {@link RationalFloatContext} for when to
+   * call this.
+   */
 
-  private final RationalFloat reduce () {
+  final RationalFloat reduce () {
     return 
       reduce(
         nonNegative(),numerator(),denominator(),exponent()); }
@@ -995,6 +1021,7 @@ implements Ringlike<RationalFloat> {
                                              final BoundedNatural n,
                                              final BoundedNatural d,
                                              final int e) {
+    // not reduced: see RationalFloatContext for policies
     //    return reduce(nonNegative,n,d,e); }
     return new RationalFloat(p,n,d,e); }
 
@@ -1017,6 +1044,70 @@ implements Ringlike<RationalFloat> {
       BoundedNatural.valueOf(d.abs()),
       0); }
 
+  //--------------------------------------------------------------
+  /** Inverse of {@link #toDecimalString()}, also accepting
+   * scientific notation: an optional sign, then either
+   * <code>n/d</code>, with decimal integers <code>n</code> and
+   * <code>d</code>, or decimal digits with an optional
+   * <code>.</code> and optional exponent
+   * <code>e&plusmn;x</code> or <code>E&plusmn;x</code>.
+   * Exact: <code>12.5e-3</code> is <code>125/10<sup>4</sup></code>.
+   * @throws NumberFormatException if <code>s</code> isn't in one
+   * of those forms.
+   * @throws ArithmeticException for a zero denominator.
+   */
+
+  public static final RationalFloat parseDecimal (final String s) {
+    final int len = s.length();
+    int i = 0;
+    boolean p = true;
+    if ((i<len) && (('-'==s.charAt(i)) || ('+'==s.charAt(i)))) {
+      p = ('+'==s.charAt(i));
+      i++; }
+    final int slash = s.indexOf('/',i);
+    if (0<=slash) {
+      final BoundedNatural n = NaturalDecimal.parseDecimal(s,i,slash);
+      final BoundedNatural d =
+        NaturalDecimal.parseDecimal(s,slash+1,len);
+      if (d.isZero()) {
+        throw new ArithmeticException("zero denominator: " + s); }
+      if (n.isZero()) { return ZERO; }
+      return valueOf(p,n,d,0); }
+    int end = len;
+    int x = 0;
+    final int ie = Math.max(s.indexOf('e',i),s.indexOf('E',i));
+    if (0<=ie) {
+      int j = ie+1;
+      boolean xp = true;
+      if ((j<len) && (('-'==s.charAt(j)) || ('+'==s.charAt(j)))) {
+        xp = ('+'==s.charAt(j));
+        j++; }
+      final BoundedNatural xm = NaturalDecimal.parseDecimal(s,j,len);
+      if (31<=xm.hiBit()) {
+        throw new NumberFormatException(
+          "exponent out of range: \"" + s + "\""); }
+      x = (int) xm.uword(0);
+      if (! xp) { x = -x; }
+      end = ie; }
+    final int dot = s.indexOf('.',i);
+    final BoundedNatural m;
+    if ((0<=dot) && (dot<end)) {
+      final int nf = end-dot-1;
+      if ((dot==i) && (0==nf)) {
+        throw new NumberFormatException("no digits in \"" + s + "\""); }
+      final BoundedNatural ip = (dot==i) ? BoundedNatural.ZERO
+        : NaturalDecimal.parseDecimal(s,i,dot);
+      final BoundedNatural fp = (0==nf) ? BoundedNatural.ZERO
+        : NaturalDecimal.parseDecimal(s,dot+1,end);
+      m = ip.multiply(NaturalDecimal.pow10(nf)).add(fp);
+      x = Math.subtractExact(x,nf); }
+    else {
+      m = NaturalDecimal.parseDecimal(s,i,end); }
+    if (m.isZero()) { return ZERO; }
+    if (0<=x) {
+      return valueOf(p,m.multiply(NaturalDecimal.pow5(x)),x); }
+    return valueOf(p,m,NaturalDecimal.pow5(-x),x); }
+
   //--------------------------------------------------------------
 
   private static final RationalFloat valueOf (final boolean p0,
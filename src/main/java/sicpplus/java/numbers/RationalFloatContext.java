@@ -0,0 +1,223 @@
+package sicpplus.java.numbers;
+
+/** {@link RationalFloat} arithmetic with a reduction policy.
+ * <p>
+ * <code>RationalFloat</code> operations don't reduce their
+ * results, so numerators and denominators in long chains of
+ * operations can grow without bound; reducing every result
+ * costs a gcd per operation. A context decides, after each
+ * operation, whether to reduce the result:
+ * <ul>
+ * <li>{@link #never()}: as the bare operations;
+ * <li>{@link #always()}: every result;
+ * <li>{@link #bitsExceed(int)}: when numerator plus denominator
+ * bits exceed a threshold;
+ * <li>{@link #every(int)}: every <code>k</code>-th result.
+ * </ul>
+ * Powers of 2 are always kept in the exponent; only the odd
+ * parts need a gcd.
+ * <p>
+ * The context counts operations, reductions, and the bits they
+ * saved, for tuning a policy to a workload; see
+ * {@link #operations()}, {@link #reductions()},
+ * {@link #bitsSaved()}.
+ * <p>
+ * Mutable, because of the counts, and not thread safe: use one
+ * per computation (or accumulator).
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class RationalFloatContext {
+
+  private static enum Policy { NEVER, ALWAYS, BITS, EVERY; }
+
+  //--------------------------------------------------------------
+  // instance fields and methods
+  //--------------------------------------------------------------
+
+  private final Policy _policy;
+
+  // threshold in bits, or period in operations
+  private final int _parameter;
+
+  private long _operations = 0L;
+  public final long operations () { return _operations; }
+
+  private long _reductions = 0L;
+  public final long reductions () { return _reductions; }
+
+  private long _bitsSaved = 0L;
+  /** Total numerator plus denominator bits removed by
+   * reductions.
+   */
+  public final long bitsSaved () { return _bitsSaved; }
+
+  public final RationalFloatContext resetStatistics () {
+    _operations = 0L;
+    _reductions = 0L;
+    _bitsSaved = 0L;
+    return this; }
+
+  //--------------------------------------------------------------
+
+  private static final long bits (final RationalFloat q) {
+    return ((long) q.numerator().hiBit()) + q.denominator().hiBit(); }
+
+  private final RationalFloat reduce (final RationalFloat q,
+                                      final long bits) {
+    final RationalFloat r = q.reduce();
+    _reductions++;
+    _bitsSaved += bits - bits(r);
+    return r; }
+
+  /** Count an operation producing <code>q</code>, and reduce
+   * it if the policy says so.
+   */
+
+  public final RationalFloat apply (final RationalFloat q) {
+    _operations++;
+    switch (_policy) {
+    case NEVER : return q;
+    case ALWAYS : return reduce(q,bits(q));
+    case BITS : {
+      final long b = bits(q);
+      return (b>_parameter) ? reduce(q,b) : q; }
+    case EVERY :
+      return (0L==(_operations%_parameter)) ? reduce(q,bits(q)) : q;
+    default :
+      throw new IllegalStateException("unknown policy: " + _policy); } }
+
+  private final void reduce (final MutableRationalFloat q,
+                             final long bits) {
+    q.reduce();
+    _reductions++;
+    _bitsSaved += bits - q.bits(); }
+
+  /** Count an in-place operation on <code>q</code>, and reduce
+   * it in place if the policy says so.
+   */
+
+  public final MutableRationalFloat apply (final MutableRationalFloat q) {
+    _operations++;
+    switch (_policy) {
+    case NEVER : return q;
+    case ALWAYS : reduce(q,q.bits()); return q;
+    case BITS : {
+      final long b = q.bits();
+      if (b>_parameter) { reduce(q,b); }
+      return q; }
+    case EVERY :
+      if (0L==(_operations%_parameter)) { reduce(q,q.bits()); }
+      return q;
+    default :
+      throw new IllegalStateException("unknown policy: " + _policy); } }
+
+  //--------------------------------------------------------------
+  // arithmetic
+  //--------------------------------------------------------------
+
+  public final RationalFloat add (final RationalFloat q0,
+                                  final RationalFloat q1) {
+    return apply(q0.add(q1)); }
+
+  public final RationalFloat add (final RationalFloat q,
+                                  final double z) {
+    return apply(q.add(z)); }
+
+  public final RationalFloat subtract (final RationalFloat q0,
+                                       final RationalFloat q1) {
+    return apply(q0.subtract(q1)); }
+
+  public final RationalFloat multiply (final RationalFloat q0,
+                                       final RationalFloat q1) {
+    return apply(q0.multiply(q1)); }
+
+  public final RationalFloat multiply (final RationalFloat q,
+                                       final double z) {
+    return apply(q.multiply(z)); }
+
+  public final RationalFloat square (final RationalFloat q) {
+    return apply(q.square()); }
+
+  /** <code>z+a*b</code>. */
+
+  public final RationalFloat multiplyAdd (final RationalFloat z,
+                                          final RationalFloat a,
+                                          final RationalFloat b) {
+    return apply(z.multiplyAdd(a,b)); }
+
+  /** <code>z-a*b</code>. */
+
+  public final RationalFloat multiplySubtract (final RationalFloat z,
+                                               final RationalFloat a,
+                                               final RationalFloat b) {
+    return apply(z.multiplySubtract(a,b)); }
+
+  /** <code>z+z0*z1</code>. */
+
+  public final RationalFloat addProduct (final RationalFloat z,
+                                         final double z0,
+                                         final double z1) {
+    return apply(z.addProduct(z0,z1)); }
+
+  //--------------------------------------------------------------
+  // Object methods
+  //--------------------------------------------------------------
+
+  @Override
+  public final String toString () {
+    final String p;
+    switch (_policy) {
+    case BITS : p = "BITS>" + _parameter; break;
+    case EVERY : p = "EVERY " + _parameter; break;
+    default : p = _policy.toString(); }
+    return
+      "RationalFloatContext[" + p
+      + ", operations=" + operations()
+      + ", reductions=" + reductions()
+      + ", bitsSaved=" + bitsSaved() + "]"; }
+
+  //--------------------------------------------------------------
+  // construction
+  //--------------------------------------------------------------
+
+  private RationalFloatContext (final Policy policy,
+                                final int parameter) {
+    _policy = policy;
+    _parameter = parameter; }
+
+  public static final RationalFloatContext never () {
+    return new RationalFloatContext(Policy.NEVER,0); }
+
+  public static final RationalFloatContext always () {
+    return new RationalFloatContext(Policy.ALWAYS,0); }
+
+  /** Reduce when numerator plus denominator bits exceed
+   * <code>bits</code>.
+   * @throws IllegalArgumentException if <code>bits</code> is
+   * negative.
+   */
+
+  public static final RationalFloatContext bitsExceed (final int bits) {
+    if (0>bits) {
+      throw new IllegalArgumentException(
+        "bit threshold must be non-negative: " + bits); }
+    return new RationalFloatContext(Policy.BITS,bits); }
+
+  /** Reduce every <code>k</code>-th result.
+   * @throws IllegalArgumentException unless
+   * <code>0&lt;k</code>.
+   */
+
+  public static final RationalFloatContext every (final int k) {
+    if (0>=k) {
+      throw new IllegalArgumentException(
+        "period must be positive: " + k); }
+    return new RationalFloatContext(Policy.EVERY,k); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -11,7 +11,7 @@ import sicpplus.java.exceptions.Exceptions;
  * (eq associativity).
  *
  * @author palisades dot lakes at gmail dot com
- * @version 2019-07-08
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
@@ -19,8 +19,6 @@ public interface Ringlike<T extends Ringlike>
 extends Comparable<T> {
 
   //--------------------------------------------------------------
-  // TODO: fma?
-  //--------------------------------------------------------------
 
   default T add (final T x) {
     throw Exceptions.unsupportedOperation(this,"add",x); }
@@ -51,6 +49,22 @@ extends Comparable<T> {
   default T multiply (final T x) {
     throw Exceptions.unsupportedOperation(this,"multiply",x); }
 
+  /** <code>this + a*b</code>. Implementations may avoid
+   * allocating the intermediate product.
+   */
+
+  default T multiplyAdd (final T a,
+                         final T b) {
+    return add((T) a.multiply(b)); }
+
+  /** <code>this - a*b</code>. Implementations may avoid
+   * allocating the intermediate product.
+   */
+
+  default T multiplySubtract (final T a,
+                              final T b) {
+    return subtract((T) a.multiply(b)); }
+
   default T divide (final T x) {
     throw Exceptions.unsupportedOperation(this,"divide",x); }
 
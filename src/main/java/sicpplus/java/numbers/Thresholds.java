@@ -0,0 +1,377 @@
+package sicpplus.java.numbers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.apache.commons.rng.UniformRandomProvider;
+
+import sicpplus.java.prng.PRNG;
+
+/** Word-count crossovers between the multiplication, squaring,
+ * division and gcd algorithms in {@link NaturalMultiply},
+ * {@link NaturalDivide}, {@link NaturalGCD} and
+ * {@link BoundedNatural}.
+ * <p>
+ * The defaults are the values inherited from
+ * {@link java.math.BigInteger}, plus the transform tier.
+ * A machine-specific profile, as written by {@link #calibrate},
+ * is a {@link Properties} file, read once, when the arithmetic
+ * classes are initialized, from:
+ * <ol>
+ * <li>the file named by the system property
+ * {@value #PROFILE_PROPERTY}, if set, otherwise
+ * <li>the classpath resource {@value #PROFILE_RESOURCE},
+ * if present.
+ * </ol>
+ * Missing, unparseable or non-positive entries fall back to the
+ * defaults.
+ * <p>
+ * Non-instantiable.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class Thresholds {
+
+  //--------------------------------------------------------------
+  // keys
+  //--------------------------------------------------------------
+
+  public static final String MULTIPLY_SQUARE = "multiplySquare";
+  public static final String KARATSUBA = "karatsuba";
+  public static final String TOOM_COOK = "toomCook";
+  public static final String NTT = "ntt";
+  public static final String KARATSUBA_SQUARE = "karatsubaSquare";
+  public static final String TOOM_COOK_SQUARE = "toomCookSquare";
+  public static final String NTT_SQUARE = "nttSquare";
+  public static final String BURNIKEL_ZIEGLER = "burnikelZiegler";
+  public static final String BURNIKEL_ZIEGLER_OFFSET =
+    "burnikelZieglerOffset";
+  public static final String NEWTON = "newton";
+  public static final String EXACT_DIVIDE = "exactDivide";
+  public static final String HGCD = "hgcd";
+
+  /** Profile value for a crossover that never happens: the
+   * upper algorithm is never chosen.
+   */
+
+  public static final int NEVER = Integer.MAX_VALUE;
+
+  public static final String PROFILE_PROPERTY =
+    "sicpplus.thresholds";
+  public static final String PROFILE_RESOURCE =
+    "sicpplus/java/numbers/thresholds.properties";
+
+  //--------------------------------------------------------------
+
+  private static final Map<String,Integer> DEFAULTS;
+  static {
+    final Map<String,Integer> m = new LinkedHashMap<>();
+    m.put(MULTIPLY_SQUARE,Integer.valueOf(20));
+    m.put(KARATSUBA,Integer.valueOf(80));
+    m.put(TOOM_COOK,Integer.valueOf(240));
+    m.put(NTT,Integer.valueOf(2048));
+    m.put(KARATSUBA_SQUARE,Integer.valueOf(128));
+    m.put(TOOM_COOK_SQUARE,Integer.valueOf(216));
+    m.put(NTT_SQUARE,Integer.valueOf(1024));
+    m.put(BURNIKEL_ZIEGLER,Integer.valueOf(80));
+    m.put(BURNIKEL_ZIEGLER_OFFSET,Integer.valueOf(40));
+    m.put(NEWTON,Integer.valueOf(6144));
+    m.put(EXACT_DIVIDE,Integer.valueOf(80));
+    m.put(HGCD,Integer.valueOf(48));
+    DEFAULTS = Collections.unmodifiableMap(m); }
+
+  /** Keys in calibration order. */
+
+  public static final List<String> KEYS = List.of(
+    MULTIPLY_SQUARE,
+    KARATSUBA, TOOM_COOK, NTT,
+    KARATSUBA_SQUARE, TOOM_COOK_SQUARE, NTT_SQUARE,
+    BURNIKEL_ZIEGLER, BURNIKEL_ZIEGLER_OFFSET, NEWTON,
+    EXACT_DIVIDE, HGCD);
+
+  public static final Map<String,Integer> defaults () {
+    return DEFAULTS; }
+
+  //--------------------------------------------------------------
+  // profile
+  //--------------------------------------------------------------
+  /** The defaults, overridden by any valid entries in
+   * <code>profile</code>.
+   */
+
+  public static final Map<String,Integer>
+  merge (final Properties profile) {
+    final Map<String,Integer> m = new LinkedHashMap<>();
+    for (final String key : KEYS) {
+      Integer v = DEFAULTS.get(key);
+      final String s = profile.getProperty(key);
+      if (null!=s) {
+        try {
+          final int i = Integer.parseInt(s.trim());
+          if (0<i) { v = Integer.valueOf(i); } }
+        catch (final NumberFormatException e) { /* use default */ } }
+      m.put(key,v); }
+    return Collections.unmodifiableMap(m); }
+
+  /** Read a profile file, as written by
+   * {@link Properties#store(java.io.Writer,String)}.
+   */
+
+  public static final Properties readProfile (final Path file)
+    throws IOException {
+    final Properties p = new Properties();
+    try (InputStream in = Files.newInputStream(file)) { p.load(in); }
+    return p; }
+
+  /** Read a profile classpath resource; empty if there is no
+   * such resource.
+   */
+
+  public static final Properties readProfile (final String resource)
+    throws IOException {
+    final Properties p = new Properties();
+    final ClassLoader cl = Thresholds.class.getClassLoader();
+    try (InputStream in = cl.getResourceAsStream(resource)) {
+      if (null!=in) { p.load(in); } }
+    return p; }
+
+  private static final Properties readProfile () {
+    try {
+      final String file = System.getProperty(PROFILE_PROPERTY);
+      if (null!=file) { return readProfile(Path.of(file)); }
+      return readProfile(PROFILE_RESOURCE); }
+    catch (final IOException | SecurityException e) {
+      // unreadable profile: use defaults
+      return new Properties(); } }
+
+  private static final Map<String,Integer> CURRENT =
+    merge(readProfile());
+
+  /** The thresholds in effect in this JVM. */
+
+  public static final Map<String,Integer> current () {
+    return CURRENT; }
+
+  static final int get (final String key) {
+    return CURRENT.get(key).intValue(); }
+
+  //--------------------------------------------------------------
+  // calibration
+  //--------------------------------------------------------------
+
+  private static final BoundedNatural
+  random (final UniformRandomProvider urp,
+          final int nwords) {
+    final int[] w = new int[nwords];
+    for (int i=0;i<nwords;i++) { w[i] = urp.nextInt(); }
+    w[nwords-1] |= 0x80000000;
+    return BoundedNatural.make(w); }
+
+  private static final BoundedNatural
+  odd (final UniformRandomProvider urp,
+       final int nwords) {
+    return random(urp,nwords).setBit(0); }
+
+  /** Every timed result is folded into this, so the JIT can't
+   * eliminate any of the timed work.
+   */
+
+  private static volatile int sink = 0;
+
+  /** Best of several trials, nanoseconds per call. */
+
+  private static final double time (final Supplier<?> op) {
+    int h = 0;
+    // warm up, and size the trials to roughly 2ms each
+    long reps = 1;
+    for (;;) {
+      final long t0 = System.nanoTime();
+      for (long i=0;i<reps;i++) {
+        h += System.identityHashCode(op.get()); }
+      final long dt = System.nanoTime()-t0;
+      if ((2000000L<=dt) || ((1L<<20)<=reps)) { break; }
+      reps *= 2; }
+    double best = Double.POSITIVE_INFINITY;
+    for (int trial=0;trial<5;trial++) {
+      final long t0 = System.nanoTime();
+      for (long i=0;i<reps;i++) {
+        h += System.identityHashCode(op.get()); }
+      final double dt = ((double) (System.nanoTime()-t0))/reps;
+      best = Math.min(best,dt); }
+    sink += h;
+    return best; }
+
+  /** Smallest size, on a geometric grid in
+   * <code>[lo,hi]</code>, at which <code>upper</code> beats
+   * <code>lower</code> at that and the next grid point;
+   * {@link #NEVER} if there is no such size.
+   */
+
+  private static final int
+  crossover (final String key,
+             final IntFunction<Supplier<?>> lower,
+             final IntFunction<Supplier<?>> upper,
+             final int lo,
+             final int hi,
+             final PrintStream log) {
+    int first = -1;
+    for (int n=lo;n<=hi;n=((n*9)/8)+1) {
+      final double t0 = time(lower.apply(n));
+      final double t1 = time(upper.apply(n));
+      if (null!=log) {
+        log.printf("%s %6d %12.0f %12.0f%n",key,
+          Integer.valueOf(n),Double.valueOf(t0),Double.valueOf(t1)); }
+      if (t1<t0) {
+        if (0<first) { return first; }
+        first = n; }
+      else { first = -1; } }
+    return NEVER; }
+
+  /** Benchmark each algorithm crossover on the current machine.
+   * Recursive algorithms use the thresholds {@link #current()}
+   * for their sub-products.
+   * @param log progress, may be <code>null</code>.
+   * @return a profile suitable for
+   * {@link Properties#store(java.io.Writer,String)}.
+   */
+
+  public static final Properties calibrate (final PrintStream log) {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    final Properties p = new Properties();
+
+    p.setProperty(MULTIPLY_SQUARE, Integer.toString(
+      crossover(MULTIPLY_SQUARE,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> NaturalMultiply.multiplySimple(u,u); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> u.squareSimple(); },
+        2,256,log)));
+    p.setProperty(KARATSUBA, Integer.toString(
+      crossover(KARATSUBA,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalMultiply.multiplySimple(u,v); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalMultiply.multiplyKaratsuba(u,v); },
+        16,1024,log)));
+    p.setProperty(TOOM_COOK, Integer.toString(
+      crossover(TOOM_COOK,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalMultiply.multiplyKaratsuba(u,v); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalMultiply.multiplyToomCook3(u,v); },
+        64,4096,log)));
+    p.setProperty(NTT, Integer.toString(
+      crossover(NTT,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalMultiply.multiplyToomCook3(u,v); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalNTT.multiply(u,v); },
+        256,32768,log)));
+    p.setProperty(KARATSUBA_SQUARE, Integer.toString(
+      crossover(KARATSUBA_SQUARE,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> u.squareSimple(); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> NaturalMultiply.squareKaratsuba(u); },
+        16,1024,log)));
+    p.setProperty(TOOM_COOK_SQUARE, Integer.toString(
+      crossover(TOOM_COOK_SQUARE,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> NaturalMultiply.squareKaratsuba(u); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> NaturalMultiply.squareToomCook3(u); },
+        64,4096,log)));
+    p.setProperty(NTT_SQUARE, Integer.toString(
+      crossover(NTT_SQUARE,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> NaturalMultiply.squareToomCook3(u); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        return () -> NaturalNTT.square(u); },
+        256,32768,log)));
+    final int bz =
+      crossover(BURNIKEL_ZIEGLER,
+        (n) -> { final BoundedNatural u = random(urp,2*n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalDivide.divideAndRemainderKnuth(u,v); },
+        (n) -> { final BoundedNatural u = random(urp,2*n);
+        final BoundedNatural v = random(urp,n);
+        return () ->
+        NaturalDivide.divideAndRemainderBurnikelZiegler(u,v); },
+        16,1024,log);
+    p.setProperty(BURNIKEL_ZIEGLER, Integer.toString(bz));
+    // quotient length crossover, for a divisor well above the
+    // threshold; moot if Burnikel-Ziegler never wins
+    if (NEVER!=bz) {
+      final int nd = 2*bz;
+      p.setProperty(BURNIKEL_ZIEGLER_OFFSET, Integer.toString(
+        crossover(BURNIKEL_ZIEGLER_OFFSET,
+          (n) -> { final BoundedNatural u = random(urp,nd+n);
+          final BoundedNatural v = random(urp,nd);
+          return () -> NaturalDivide.divideAndRemainderKnuth(u,v); },
+          (n) -> { final BoundedNatural u = random(urp,nd+n);
+          final BoundedNatural v = random(urp,nd);
+          return () ->
+          NaturalDivide.divideAndRemainderBurnikelZiegler(u,v); },
+          4,2*nd,log))); }
+    p.setProperty(NEWTON, Integer.toString(
+      crossover(NEWTON,
+        (n) -> { final BoundedNatural u = random(urp,2*n);
+        final BoundedNatural v = random(urp,n);
+        return () ->
+        NaturalDivide.divideAndRemainderBurnikelZiegler(u,v); },
+        (n) -> { final BoundedNatural u = random(urp,2*n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalDivide.divideAndRemainderNewton(u,v); },
+        256,32768,log)));
+    p.setProperty(EXACT_DIVIDE, Integer.toString(
+      crossover(EXACT_DIVIDE,
+        (n) -> { final BoundedNatural v = odd(urp,n);
+        final BoundedNatural u = random(urp,n).multiply(v);
+        return () -> NaturalDivide.exactDivideHensel(u,v,n+1); },
+        (n) -> { final BoundedNatural v = odd(urp,n);
+        final BoundedNatural u = random(urp,n).multiply(v);
+        return () -> NaturalDivide.exactDivideNewton(u,v,n+1); },
+        16,4096,log)));
+    p.setProperty(HGCD, Integer.toString(
+      crossover(HGCD,
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalGCD.gcd(u,v,NEVER); },
+        (n) -> { final BoundedNatural u = random(urp,n);
+        final BoundedNatural v = random(urp,n);
+        return () -> NaturalGCD.gcd(u,v,n); },
+        8,2048,log)));
+    return p; }
+
+  //--------------------------------------------------------------
+  // disable constructor
+  //--------------------------------------------------------------
+
+  private Thresholds () {
+    throw new
+    UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
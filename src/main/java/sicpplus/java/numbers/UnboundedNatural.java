@@ -3,6 +3,9 @@ package sicpplus.java.numbers;
 import static sicpplus.java.numbers.Numbers.hiWord;
 import static sicpplus.java.numbers.Numbers.unsigned;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BinaryOperator;
@@ -17,148 +20,501 @@ import sicpplus.java.prng.Generator;
 import sicpplus.java.prng.GeneratorBase;
 import sicpplus.java.prng.Generators;
 
-/** A proof-of-concept implementation of unbounded natural
- * numbers. Only implementing a commutative monoid 
- * (ie just addition) for now.
- * 
+/** Unbounded natural numbers.
+ *
  * This is in contrast to {@link BoundedNatural} and
  * {@link java.math.BigInteger}, which both have bounded ranges,
  * limited, for one thing, by the fact that bits are addressable
  * by <code>int</code>.
- *  
+ * <p>
+ * The words are held in a rope of fixed size
+ * <code>int[]</code> chunks of {@link #CHUNK_WORDS} words,
+ * least significant word first. Every chunk but the last is
+ * full, and the last is trimmed, so the most significant word,
+ * if any, is non-zero. Word and bit indexes are
+ * <code>long</code>. The only remaining bound is
+ * <code>2<sup>31</sup></code> chunks, ie
+ * <code>2<sup>47</sup></code> words, far past available
+ * memory.
+ * <p>
+ * Add, subtract and shifts work chunk by chunk with the
+ * {@link NaturalKernels} word loops. Multiply and divide work
+ * on blocks of {@link #blockWords()} words as
+ * {@link BoundedNatural}, so the block products use
+ * Karatsuba, Toom-Cook and the number theoretic transform from
+ * {@link NaturalMultiply}:
+ * <ul>
+ * <li> operands whose product fits in 2 blocks are multiplied
+ * as a single {@link BoundedNatural}; larger products are
+ * schoolbook over blocks.
+ * <li> dividends that fit in 2 blocks are divided as a single
+ * {@link BoundedNatural}; otherwise, divisors of at most 1 block
+ * use short division, block by block, and larger divisors use
+ * Knuth's Algorithm D with block sized digits.
+ * </ul>
+ *
  * @author palisades dot lakes at gmail dot com
- * @version 2021-06-01
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
-public final class UnboundedNatural 
-implements Comparable<UnboundedNatural> {
+public final class UnboundedNatural
+implements Ringlike<UnboundedNatural> {
 
   //--------------------------------------------------------------
-  // an unbounded immutable sequence of ints
+  // chunks
   //--------------------------------------------------------------
-  // TODO: Any value to implementing Iterator<Integer> or
-  // PrimitiveIterator.OfInt?
-  //
-  // TODO: What about zero-length sequences? 
-  // Is there a better choice than just null?
-  //
-  // TODO: could do without this class; have the U.N. be the
-  // sequence. Then next/rest would be shifting down 32 bits?
-
-  private static record Words (int word, Words next) { }
-
-  /** Will return <code>null</code> if <code>s</code> is 
-   * <code>null</code>.
-   */
-  private static final Words reverse (final Words s) {
-    if (null == s) { return null; }
-    Words out = new Words(s.word,null);
-    Words in = s.next;
-    while (null != in) {
-      out = new Words(in.word,out);
-      in = in.next; }
-    return out; }
+
+  private static final int CHUNK_SHIFT = 16;
+
+  /** Words per chunk. */
+
+  public static final int CHUNK_WORDS = (1<<CHUNK_SHIFT);
+
+  private static final long CHUNK_MASK = CHUNK_WORDS-1;
+
+  private static final int[][] NO_CHUNKS = new int[0][];
+
+  private static final int chunkIndex (final long i) {
+    final long c = (i>>>CHUNK_SHIFT);
+    if (c >= Integer.MAX_VALUE) {
+      throw new ArithmeticException(
+        "Attempting to create an instance of UnboundedNatural"
+          + " with more than 2^47 words: " + i); }
+    return (int) c; }
+
+  /** Zeroed chunks for <code>n</code> words. */
+
+  private static final int[][] allocate (final long n) {
+    if (0L>=n) { return NO_CHUNKS; }
+    final int k = chunkIndex(n-1)+1;
+    final int[][] r = new int[k][];
+    for (int c=0;c<k-1;c++) { r[c] = new int[CHUNK_WORDS]; }
+    r[k-1] = new int[(int) (n-(((long) (k-1))<<CHUNK_SHIFT))];
+    return r; }
 
   //--------------------------------------------------------------
   // fields
   //--------------------------------------------------------------
-  /** Least significant word first. Never modified.
+  /** Never modified. */
+
+  private final int[][] _chunks;
+
+  private final long _nwords;
+
+  /** Number of words, the most significant non-zero. */
+
+  public final long nwords () { return _nwords; }
+
+  public final long hiBit () {
+    if (0L==_nwords) { return 0L; }
+    return (_nwords<<5)
+      - Integer.numberOfLeadingZeros(word(_nwords-1)); }
+
+  public final int word (final long i) {
+    assert 0L<=i;
+    if (_nwords<=i) { return 0; }
+    return _chunks[(int) (i>>>CHUNK_SHIFT)][(int) (i&CHUNK_MASK)]; }
+
+  /** Copy words <code>[i0,i0+n)</code> into
+   * <code>dst[d0..d0+n)</code>; words outside
+   * <code>[0,nwords())</code> are zero.
    */
 
-  private final Words words;
+  private final void copyWords (final long i0,
+                                final int[] dst,
+                                final int d0,
+                                final int n) {
+    int d = d0;
+    long i = i0;
+    final long end = i0+n;
+    while (i<end) {
+      if ((i<0L) || (_nwords<=i)) {
+        final long stop = (i<0L) ? Math.min(0L,end) : end;
+        final int m = (int) (stop-i);
+        Arrays.fill(dst,d,d+m,0);
+        d += m;
+        i = stop; }
+      else {
+        final int[] chunk = _chunks[(int) (i>>>CHUNK_SHIFT)];
+        final int o = (int) (i&CHUNK_MASK);
+        final int m = (int) Math.min(chunk.length-o,end-i);
+        System.arraycopy(chunk,o,dst,d,m);
+        d += m;
+        i += m; } } }
+
+  /** Words <code>[i0,i0+n)</code>, as a {@link BoundedNatural}.
+   */
 
-  /** Singleton. */
-  public static final UnboundedNatural ZERO = 
-    new UnboundedNatural(null); 
+  private final BoundedNatural block (final long i0,
+                                      final int n) {
+    if (_nwords<=i0) { return BoundedNatural.ZERO; }
+    final int m = (int) Math.min(n,_nwords-i0);
+    final int[] w = new int[m];
+    copyWords(i0,w,0,m);
+    return BoundedNatural.unsafe(w); }
 
-  /** Singleton. */
-  public static final UnboundedNatural ONE = 
-    new UnboundedNatural(new Words(1,null)); 
+  //--------------------------------------------------------------
+  // blocks for multiply and divide
+  //--------------------------------------------------------------
+
+  private static volatile int blockWords =
+    BoundedNatural.MAX_WORDS/2;
+
+  public static final int blockWords () { return blockWords; }
+
+  /** Size, in words, of the {@link BoundedNatural} blocks
+   * used by multiply and divide. Must be at most half of
+   * {@link BoundedNatural#MAX_WORDS}, so products and 2 block
+   * partial remainders fit. Smaller values are only useful
+   * for testing the block algorithms on small numbers.
+   */
+
+  public static final void setBlockWords (final int nwords) {
+    if ((0>=nwords) || (BoundedNatural.MAX_WORDS/2<nwords)) {
+      throw new IllegalArgumentException(
+        "block words must be in [1," + (BoundedNatural.MAX_WORDS/2)
+        + "]: " + nwords); }
+    blockWords = nwords; }
 
   //--------------------------------------------------------------
-  // monoid operation
+  // ordering
   //--------------------------------------------------------------
 
+  @Override
+  public final int compareTo (final UnboundedNatural u) {
+    if (_nwords<u._nwords) { return -1; }
+    if (_nwords>u._nwords) { return 1; }
+    for (int c=_chunks.length-1;c>=0;c--) {
+      final int[] t = _chunks[c];
+      final int[] v = u._chunks[c];
+      for (int i=t.length-1;i>=0;i--) {
+        final int ci = Integer.compareUnsigned(t[i],v[i]);
+        if (0!=ci) { return ci; } } }
+    return 0; }
+
+  @Override
+  public final UnboundedNatural min (final UnboundedNatural u) {
+    return (0<=compareTo(u)) ? u : this; }
+
+  @Override
+  public final UnboundedNatural max (final UnboundedNatural u) {
+    return (0<=compareTo(u)) ? this : u; }
+
+  //--------------------------------------------------------------
+  // additive
+  //--------------------------------------------------------------
+
+  /** Singleton. */
+  public static final UnboundedNatural ZERO =
+    new UnboundedNatural(NO_CHUNKS,0L);
+
+  @Override
+  public final UnboundedNatural zero () { return ZERO; }
+
+  @Override
+  public final boolean isZero () { return 0L==_nwords; }
+
+  @Override
+  public final UnboundedNatural abs () { return this; }
+
+  private static final int[] chunk (final int[][] chunks,
+                                    final int c) {
+    return (c<chunks.length) ? chunks[c] : null; }
+
+  @Override
   public final UnboundedNatural add (final UnboundedNatural u) {
-    Words tt = words;
-    Words uu = u.words;
-    Words vv = null;
-    long sum = 0L;
-    for (;(null!=tt)&&(null!=uu);
-      tt = tt.next,uu = uu.next) {
-      sum += unsigned(tt.word) + unsigned(uu.word);
-      vv = new Words((int) sum,vv); 
-      sum = hiWord(sum); }
-    if (null==tt) {
-      for (;null!=uu;uu=uu.next) {
-        sum += unsigned(uu.word);
-        vv = new Words((int) sum,vv); 
-        sum = hiWord(sum); } }
-    else {
-      for (;null!=tt;tt=tt.next) {
-        sum += unsigned(tt.word);
-        vv = new Words((int) sum,vv); 
-        sum = hiWord(sum); } }
-    if (0L!=sum) { vv = new Words(1,vv); } 
-    return new UnboundedNatural(reverse(vv)); }
+    if (u.isZero()) { return this; }
+    if (isZero()) { return u; }
+    final int[][] r = allocate(Math.max(_nwords,u._nwords)+1);
+    final NaturalKernels k = NaturalKernels.kernels();
+    long carry = 0L;
+    for (int c=0;c<r.length;c++) {
+      final int[] rc = r[c];
+      int[] a = chunk(_chunks,c);
+      int[] b = chunk(u._chunks,c);
+      int na = (null==a) ? 0 : a.length;
+      int nb = (null==b) ? 0 : b.length;
+      if (na<nb) {
+        final int[] tmp = a; a = b; b = tmp;
+        final int ntmp = na; na = nb; nb = ntmp; }
+      int i = 0;
+      if (0<nb) { carry = k.add(a,0,b,0,rc,0,nb,(int) carry); i = nb; }
+      for (;i<na;i++) {
+        carry += unsigned(a[i]);
+        rc[i] = (int) carry;
+        carry = hiWord(carry); }
+      if ((0L!=carry) && (i<rc.length)) { rc[i] = 1; carry = 0L; } }
+    assert 0L==carry;
+    return make(r); }
+
+  @Override
+  public final UnboundedNatural subtract (final UnboundedNatural u) {
+    assert 0<=compareTo(u) : "negative difference";
+    if (u.isZero()) { return this; }
+    final int[][] r = allocate(_nwords);
+    final NaturalKernels k = NaturalKernels.kernels();
+    long borrow = 0L;
+    for (int c=0;c<r.length;c++) {
+      final int[] rc = r[c];
+      final int[] a = _chunks[c];
+      final int[] b = chunk(u._chunks,c);
+      final int nb = (null==b) ? 0 : b.length;
+      int i = 0;
+      if (0<nb) {
+        borrow = k.subtract(a,0,b,0,rc,0,nb,(int) borrow); i = nb; }
+      if (0L==borrow) {
+        System.arraycopy(a,i,rc,i,a.length-i); }
+      else {
+        long dif = -borrow;
+        for (;i<a.length;i++) {
+          dif += unsigned(a[i]);
+          rc[i] = (int) dif;
+          dif = (dif>>32); }
+        borrow = -dif; } }
+    assert 0L==borrow;
+    return make(r); }
+
+  @Override
+  public final UnboundedNatural absDiff (final UnboundedNatural u) {
+    final int c = compareTo(u);
+    if (0==c) { return ZERO; }
+    if (0>c) { return u.subtract(this); }
+    return subtract(u); }
+
+  //--------------------------------------------------------------
+  // shifts
+  //--------------------------------------------------------------
+
+  public final UnboundedNatural shiftUp (final long upShift) {
+    assert 0L<=upShift;
+    if ((0L==upShift) || isZero()) { return this; }
+    final long iShift = (upShift>>>5);
+    final int bShift = (int) (upShift&0x1FL);
+    final long n = ((hiBit()+upShift+31L)>>>5);
+    final int[][] r = allocate(n);
+    final NaturalKernels k = NaturalKernels.kernels();
+    long j = 0L;
+    for (final int[] rc : r) {
+      final int m = rc.length;
+      if (0==bShift) { copyWords(j-iShift,rc,0,m); }
+      else {
+        // rc[i] = (w[i+1] << b) | (w[i] >>> (32-b)),
+        // w = source words from j-iShift-1
+        final int[] w = new int[m+1];
+        copyWords(j-iShift-1,w,0,m+1);
+        k.shiftDown(w,0,m+1,32-bShift,rc,m); }
+      j += m; }
+    return make(r); }
+
+  public final UnboundedNatural shiftDown (final long downShift) {
+    assert 0L<=downShift;
+    if ((0L==downShift) || isZero()) { return this; }
+    if (hiBit()<=downShift) { return ZERO; }
+    final long iShift = (downShift>>>5);
+    final int bShift = (int) (downShift&0x1FL);
+    final int[][] r = allocate(_nwords-iShift);
+    final NaturalKernels k = NaturalKernels.kernels();
+    long j = iShift;
+    for (final int[] rc : r) {
+      final int m = rc.length;
+      if (0==bShift) { copyWords(j,rc,0,m); }
+      else {
+        final int[] w = new int[m+1];
+        copyWords(j,w,0,m+1);
+        k.shiftDown(w,0,m+1,bShift,rc,m); }
+      j += m; }
+    return make(r); }
 
   //--------------------------------------------------------------
-  // Comparable
+  // multiplicative
   //--------------------------------------------------------------
 
+  /** Singleton. */
+  public static final UnboundedNatural ONE =
+    new UnboundedNatural(new int[][] { { 1, }, },1L);
+
   @Override
-  public final int compareTo (final UnboundedNatural u) {
-    Words tt = words;
-    Words uu = u.words;
-    int result = 0;
-    for (;(null!=tt)&&(null!=uu); tt=tt.next,uu=uu.next) {
-      final int c = Integer.compareUnsigned(tt.word,uu.word);
-      if (c<0) { result = -1; }
-      else if (c>0) { result = 1; } } 
-    if (null==tt) {
-      for (;null!=uu;uu=uu.next) {
-        if (0!=uu.word) { return -1; } } }
-    else {
-      for (;null!=tt;tt=tt.next) { 
-        if (0!=tt.word) { return 1; } } }
-    return result; }
+  public final UnboundedNatural one () { return ONE; }
+
+  @Override
+  public final boolean isOne () {
+    return (1L==_nwords) && (1==word(0)); }
+
+  /** <code>r += (p &lt;&lt; (32*offset))</code>, in place. */
+
+  private static final void addInPlace (final int[][] r,
+                                        final long offset,
+                                        final BoundedNatural p) {
+    final int n = p.hiInt();
+    if (0==n) { return; }
+    final int[] pw = p.words();
+    final NaturalKernels k = NaturalKernels.kernels();
+    long carry = 0L;
+    long i = offset;
+    int j = 0;
+    while (j<n) {
+      final int[] rc = r[(int) (i>>>CHUNK_SHIFT)];
+      final int o = (int) (i&CHUNK_MASK);
+      final int m = Math.min(rc.length-o,n-j);
+      carry = k.add(rc,o,pw,j,rc,o,m,(int) carry);
+      i += m;
+      j += m; }
+    while (0L!=carry) {
+      final int[] rc = r[(int) (i>>>CHUNK_SHIFT)];
+      final int o = (int) (i&CHUNK_MASK);
+      carry += unsigned(rc[o]);
+      rc[o] = (int) carry;
+      carry = hiWord(carry);
+      i++; } }
+
+  private final List<BoundedNatural> blocks (final int b) {
+    final long nb = (_nwords+b-1)/b;
+    final List<BoundedNatural> bs = new ArrayList<>();
+    for (long i=0;i<nb;i++) { bs.add(block(i*b,b)); }
+    return bs; }
+
+  /** Schoolbook over blocks of <code>b</code> words. */
+
+  private static final UnboundedNatural
+  multiply (final List<BoundedNatural> t,
+            final List<BoundedNatural> u,
+            final int b,
+            final long nwords) {
+    final int[][] r = allocate(nwords);
+    for (int i=0;i<t.size();i++) {
+      final BoundedNatural ti = t.get(i);
+      if (ti.isZero()) { continue; }
+      for (int j=0;j<u.size();j++) {
+        addInPlace(r,((long) (i+j))*b,ti.multiply(u.get(j))); } }
+    return make(r); }
+
+  @Override
+  public final UnboundedNatural multiply (final UnboundedNatural u) {
+    if (isZero() || u.isZero()) { return ZERO; }
+    if (isOne()) { return u; }
+    if (u.isOne()) { return this; }
+    final int b = blockWords;
+    if ((_nwords+u._nwords)<=(2L*b)) {
+      return valueOf(
+        boundedNaturalValue().multiply(u.boundedNaturalValue())); }
+    return multiply(blocks(b),u.blocks(b),b,_nwords+u._nwords); }
+
+  @Override
+  public final UnboundedNatural square () { return multiply(this); }
+
+  //--------------------------------------------------------------
+  // division
+  //--------------------------------------------------------------
+  /** Short division, block by block, for a divisor of at most
+   * <code>b</code> words.
+   */
+
+  private final List<UnboundedNatural>
+  divideByBlock (final BoundedNatural v,
+                 final int b) {
+    final int[][] q = allocate(_nwords);
+    final long nb = (_nwords+b-1)/b;
+    BoundedNatural r = BoundedNatural.ZERO;
+    for (long i=nb-1;i>=0;i--) {
+      final BoundedNatural x =
+        r.shiftUp(32*b).add(block(i*b,b));
+      final List<BoundedNatural> qr = x.divideAndRemainder(v);
+      addInPlace(q,i*b,qr.get(0));
+      r = qr.get(1); }
+    return List.of(make(q),valueOf(r)); }
+
+  /** Knuth, TAOCP vol 2, 4.3.1, Algorithm D, with
+   * <code>b</code> word digits.
+   */
+
+  private final List<UnboundedNatural>
+  divideByBlocks (final UnboundedNatural v,
+                  final int b) {
+    final long digit = 32L*b;
+    // normalize: top digit of the divisor has its high bit set
+    final long s = (digit-(v.hiBit()%digit))%digit;
+    final UnboundedNatural vn = v.shiftUp(s);
+    final List<BoundedNatural> vb = vn.blocks(b);
+    final int n = vb.size();
+    final BoundedNatural vtop = vb.get(n-1);
+    final BoundedNatural base1 = BoundedNatural.ones(b);
+    UnboundedNatural r = shiftUp(s);
+    final long m = ((r._nwords+b-1)/b)-n;
+    final int[][] q = allocate((m+1)*b);
+    for (long j=m;j>=0;j--) {
+      // r < vn * base^(j+1)
+      final BoundedNatural top = r.block((j+n-1)*b,2*b);
+      BoundedNatural qhat = top.divide(vtop);
+      if (qhat.hiBit()>digit) { qhat = base1; }
+      if (qhat.isZero()) { continue; }
+      final long shift = j*digit;
+      UnboundedNatural t =
+        multiply(vb,List.of(qhat),b,vn._nwords+b).shiftUp(shift);
+      if (0<t.compareTo(r)) {
+        final UnboundedNatural vs = vn.shiftUp(shift);
+        // at most twice, for a normalized divisor
+        while (0<t.compareTo(r)) {
+          qhat = qhat.subtract(BoundedNatural.ONE);
+          t = t.subtract(vs); } }
+      r = r.subtract(t);
+      addInPlace(q,j*b,qhat); }
+    return List.of(make(q),r.shiftDown(s)); }
+
+  @Override
+  public final List<UnboundedNatural>
+  divideAndRemainder (final UnboundedNatural v) {
+    if (v.isZero()) {
+      throw new ArithmeticException("divide by zero"); }
+    if (v.isOne()) { return List.of(this,ZERO); }
+    final int c = compareTo(v);
+    if (0>c) { return List.of(ZERO,this); }
+    if (0==c) { return List.of(ONE,ZERO); }
+    final int b = blockWords;
+    if (_nwords<=(2L*b)) {
+      final List<BoundedNatural> qr =
+        boundedNaturalValue().divideAndRemainder(
+          v.boundedNaturalValue());
+      return List.of(valueOf(qr.get(0)),valueOf(qr.get(1))); }
+    if (v._nwords<=b) {
+      return divideByBlock(v.boundedNaturalValue(),b); }
+    return divideByBlocks(v,b); }
+
+  @Override
+  public final UnboundedNatural divide (final UnboundedNatural v) {
+    return divideAndRemainder(v).get(0); }
+
+  @Override
+  public final UnboundedNatural remainder (final UnboundedNatural v) {
+    return divideAndRemainder(v).get(1); }
 
   //--------------------------------------------------------------
   // Object methods
   //--------------------------------------------------------------
 
   @Override
-  public final int hashCode () { 
-    final int prime = 31;
-    int c = 1;
-    Words tt = words;
-    while (null != tt) { 
-      c = (int) ((prime * c) + unsigned(tt.word)); }
-    return c; }
+  public final int hashCode () {
+    int h = 0;
+    for (final int[] chunk : _chunks) {
+      for (final int w : chunk) { h = (31*h) + w; } }
+    return h; }
 
   @Override
   public final boolean equals (final Object x) {
     if (x==this) { return true; }
     if (!(x instanceof UnboundedNatural)) { return false; }
-    final UnboundedNatural u = (UnboundedNatural) x;
-    Words tt = words;
-    Words uu = u.words;
-    while ((null!=tt)&&(null!=uu)) {
-      final int ti = tt.word;
-      final int ui = uu.word;
-      if (ti!=ui) { return false; }
-      tt = tt.next;
-      uu = uu.next; }
-    if (null==tt) {
-      while (null!=uu) {
-        if (0!=uu.word) { return false; }
-        uu = uu.next; } }
-    else {
-      while (null!=tt) {
-        if (0!=tt.word) { return false; }
-        tt = tt.next; } }
-    return true; }
+    return 0==compareTo((UnboundedNatural) x); }
+
+  public final String toHexString () {
+    if (isZero()) { return "0"; }
+    final StringBuilder b = new StringBuilder("");
+    b.append(Integer.toHexString(word(_nwords-1)));
+    for (long i=_nwords-2;i>=0;i--) {
+      b.append(String.format("%08x",Integer.valueOf(word(i)))); }
+    return b.toString(); }
+
+  @Override
+  public final String toString () { return toHexString(); }
 
   //--------------------------------------------------------------
   // "random" instances for testing, etc.
@@ -168,33 +524,35 @@ implements Comparable<UnboundedNatural> {
    * random <code>int</code> words.
    */
 
-  public static final Generator 
+  public static final Generator
   randomBitsGenerator (final long n,
                        final UniformRandomProvider urp) {
     final Generator ig = Generators.intGenerator(urp);
     return new GeneratorBase ("UnboundedNaturalRandomBits:" + n) {
       @Override
       public final Object next () {
-        Words w = null;
-        for (long i=0;i<n;i++) { w = new Words(ig.nextInt(),w); }
-        return new UnboundedNatural(w); } }; }
+        final int[][] r = allocate(n);
+        for (final int[] chunk : r) {
+          for (int i=0;i<chunk.length;i++) {
+            chunk[i] = ig.nextInt(); } }
+        return make(r); } }; }
 
-  /** Intended primarily for testing. 
+  /** Intended primarily for testing.
    * For now, just a relatively small number of random bits.
-   * Not large enough to test unboundedness compared to 
+   * Not large enough to test unboundedness compared to
    * {@link BoundedNatural}, but large examples take too long to
    * run as unit tests, cause OOM, etc..
    */
 
   public static final Generator
   generator (final UniformRandomProvider urp)  {
-    final Generator g0 = 
+    final Generator g0 =
       randomBitsGenerator (1L,urp);
-    final Generator g1 = 
+    final Generator g1 =
       randomBitsGenerator (2L,urp);
-    final Generator g2 = 
+    final Generator g2 =
       randomBitsGenerator (4L,urp);
-    //    final Generator g3 = 
+    //    final Generator g3 =
     //      randomBitsGenerator (1L+BoundedNatural.MAX_WORDS,urp);
     final CollectionSampler gs =
       new CollectionSampler(urp,List.of(
@@ -212,19 +570,65 @@ implements Comparable<UnboundedNatural> {
   // construction
   //-------------------------------------------------------------
 
-  private UnboundedNatural (final Words w) { words = w; }
+  private UnboundedNatural (final int[][] chunks,
+                            final long nwords) {
+    _chunks = chunks;
+    _nwords = nwords; }
 
-  public static final UnboundedNatural 
+  /** Takes ownership of <code>chunks</code>, as produced by
+   * {@link #allocate(long)}, trimming leading zero words.
+   */
+
+  private static final UnboundedNatural make (final int[][] chunks) {
+    int k = chunks.length;
+    while (0<k) {
+      final int[] last = chunks[k-1];
+      int m = last.length;
+      while ((0<m) && (0==last[m-1])) { m--; }
+      if (0<m) {
+        final int[][] r = (k==chunks.length)
+          ? chunks : Arrays.copyOf(chunks,k);
+        if (m<last.length) {
+          r[k-1] = Arrays.copyOf(last,m); }
+        return new UnboundedNatural(r,
+          (((long) (k-1))<<CHUNK_SHIFT)+m); }
+      k--; }
+    return ZERO; }
+
+  public static final UnboundedNatural
   valueOf (final BoundedNatural u) {
     final int n = u.hiInt();
-    Words r = null;
-    for (int i=0;i<n;i++) { r = new Words(u.word(i),r); }
-    return new UnboundedNatural(reverse(r)); }
+    if (0==n) { return ZERO; }
+    final int[] w = u.words();
+    final int[][] r = allocate(n);
+    int i = 0;
+    for (final int[] chunk : r) {
+      System.arraycopy(w,i,chunk,0,chunk.length);
+      i += chunk.length; }
+    return new UnboundedNatural(r,n); }
+
+  public static final UnboundedNatural valueOf (final BigInteger u) {
+    return valueOf(BoundedNatural.valueOf(u)); }
+
+  /** @throws ArithmeticException if <code>this</code> has more
+   * than {@link BoundedNatural#MAX_WORDS} words.
+   */
+
+  public final BoundedNatural boundedNaturalValue () {
+    if (BoundedNatural.MAX_WORDS<_nwords) {
+      throw new ArithmeticException(
+        "too large for BoundedNatural: " + _nwords + " words"); }
+    final int[] w = new int[(int) _nwords];
+    copyWords(0L,w,0,w.length);
+    return BoundedNatural.unsafe(w); }
+
+  public final BigInteger bigIntegerValue () {
+    return boundedNaturalValue().bigIntegerValue(); }
 
   //--------------------------------------------------------------
   // mathematical structures using UnboundedNatural
   //--------------------------------------------------------------
-  /** Contains all instances of {@link UnboundedNatural}. 
+  /** Contains all instances of {@link UnboundedNatural}.
    * Could be extended to include BoundedNatural,
    * all non-negative integer values, etc.,
    * but not necessary for proof of concept.
@@ -234,7 +638,7 @@ implements Comparable<UnboundedNatural> {
     @Override
     @SuppressWarnings("unused")
     public boolean contains (final Object element) {
-      return element instanceof UnboundedNatural; } 
+      return element instanceof UnboundedNatural; }
     @Override
     public final Supplier generator (final Map options) {
       final UniformRandomProvider urp = Set.urp(options);
@@ -248,16 +652,16 @@ implements Comparable<UnboundedNatural> {
   public static final BinaryOperator<UnboundedNatural> adder () {
     return new BinaryOperator<> () {
       @Override
-      public final String toString () { 
+      public final String toString () {
         return "UnboundedNatural.add(UnboundedNatural)"; }
       @Override
-      public final UnboundedNatural 
+      public final UnboundedNatural
       apply (final UnboundedNatural q0,
              final UnboundedNatural q1) {
         return q0.add(q1); } }; }
 
-  public static final OneSetOneOperation MONOID = 
-    OneSetOneOperation.commutativeMonoid(adder(),SET,ZERO); 
+  public static final OneSetOneOperation MONOID =
+    OneSetOneOperation.commutativeMonoid(adder(),SET,ZERO);
 
 
   //--------------------------------------------------------------
@@ -1,14 +1,22 @@
 package sicpplus.java.polynomial;
 
+import java.util.Objects;
+
 import sicpplus.java.linear.Dn;
 import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.BigFloatContext;
 
 /** Approximate cubic {@link Polynomial} 
  * using <code>double</code> coefficients with 
  * {@link BigFloat} accumulator for exactness.
+ * <p>
+ * Exact Horner evaluation adds 53 bits to the significand at each
+ * step. Given a {@link BigFloatContext}, each step is instead
+ * rounded to the context's precision, trading exactness for
+ * bounded time and space.
  * 
  * @author palisades dot lakes at gmail dot com
- * @version 2019-10-08
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
@@ -17,10 +25,13 @@ implements Polynomial<BigFloat> {
 
   private final double[] _a;
 
+  // null for exact evaluation
+  private final BigFloatContext _context;
+
   //--------------------------------------------------------------
 
   @Override
-  public final boolean isExact () { return true; }
+  public final boolean isExact () { return null==_context; }
 
   //--------------------------------------------------------------
 
@@ -28,6 +39,13 @@ implements Polynomial<BigFloat> {
   public final BigFloat value (final double x) {
     int i = _a.length-1;
     if (0>i) { return BigFloat.ZERO; }
+    final BigFloatContext mc = _context;
+    if (null!=mc) {
+      if (0==i) { return mc.valueOf(_a[0]); }
+      BigFloat tmp = mc.axpy(x,_a[i],_a[i-1]);
+      i=i-2;
+      for (;0<=i;i--) { tmp = mc.axpy(x,tmp,_a[i]); }
+      return tmp; }
     if (0==i) { return BigFloat.valueOf(_a[0]); }
     BigFloat tmp = BigFloat.axpy(x,_a[i],_a[i-1]);
     //System.out.println(tmp);
@@ -48,12 +66,23 @@ implements Polynomial<BigFloat> {
   //--------------------------------------------------------------
   /** Unsafe, retains reference to <code>a</code>. */
   
-  private MonomialDoubleBF (final double[] a) {
+  private MonomialDoubleBF (final double[] a,
+                            final BigFloatContext mc) {
     assert 0.0!=a[a.length-1];
-    _a=a; }
+    _a=a;
+    _context=mc; }
 
   public static final MonomialDoubleBF make (final double[] a) {
-    return new MonomialDoubleBF(Dn.copyWoutTrailingZeros(a)); }
+    return new MonomialDoubleBF(Dn.copyWoutTrailingZeros(a),null); }
+
+  /** Horner steps rounded in <code>mc</code>; {@link #value}
+   * and {@link #doubleValue} are then only approximate.
+   */
+
+  public static final MonomialDoubleBF make (final double[] a,
+                                             final BigFloatContext mc) {
+    return new MonomialDoubleBF(
+      Dn.copyWoutTrailingZeros(a),Objects.requireNonNull(mc)); }
 
   //--------------------------------------------------------------
 }
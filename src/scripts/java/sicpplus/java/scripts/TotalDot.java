@@ -10,7 +10,7 @@ import sicpplus.java.prng.Generators;
  * jy --source 12 src/scripts/java/xfp/java/scripts/TotalDot.java
  * </pre>
  * @author palisades dot lakes at gmail dot com
- * @version 2019-08-26
+ * @version 2026-10-18
  */
 @SuppressWarnings("unchecked")
 public final class TotalDot {
@@ -20,7 +20,7 @@ public final class TotalDot {
     final int trys = 8 * 1024;
     final Generator g = Generators.make("exponential",dim);
     final Accumulator a =
-      sicpplus.java.accumulators.BigFloatAccumulator.make();
+      sicpplus.java.accumulators.RationalFloatAccumulator.make();
     assert a.isExact();
     //Debug.DEBUG = true;
     for (int i=0;i<trys;i++) {
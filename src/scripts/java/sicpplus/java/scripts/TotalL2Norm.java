@@ -1,7 +1,7 @@
 package sicpplus.java.scripts;
 
 import sicpplus.java.accumulators.Accumulator;
-import sicpplus.java.accumulators.BigFloatAccumulator;
+import sicpplus.java.accumulators.RationalFloatAccumulator;
 import sicpplus.java.prng.Generator;
 import sicpplus.java.prng.Generators;
 
@@ -11,7 +11,7 @@ import sicpplus.java.prng.Generators;
  * jy --source 12 src/scripts/java/xfp/java/scripts/TotalL2Norm.java
  * </pre>
  * @author palisades dot lakes at gmail dot com
- * @version 2019-08-16
+ * @version 2026-10-18
  */
 @SuppressWarnings("unchecked")
 public final class TotalL2Norm {
@@ -20,7 +20,7 @@ public final class TotalL2Norm {
     final int dim = 524289;//(8*1024*1024) - 1;
     final int trys = 1 * 1024;
     final Generator g = Generators.make("finite",dim);
-    final Accumulator a = BigFloatAccumulator.make();
+    final Accumulator a = RationalFloatAccumulator.make();
     assert a.isExact();
     for (int i=0;i<trys;i++) {
       final double[] x = (double[]) g.next();
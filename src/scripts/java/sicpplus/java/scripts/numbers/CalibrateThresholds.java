@@ -0,0 +1,55 @@
+package sicpplus.java.scripts.numbers;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import sicpplus.java.SystemInfo;
+import sicpplus.java.numbers.Thresholds;
+
+/** Benchmark the multiply, square and divide algorithm
+ * crossovers on this machine, and write a threshold profile,
+ * tagged with the cpu and jvm.
+ * <p>
+ * To use the profile, either run with
+ * <code>-Dsicpplus.thresholds=thresholds.properties</code>,
+ * or copy it to
+ * <code>src/main/resources/sicpplus/java/numbers/thresholds.properties</code>.
+ * See {@link Thresholds}.
+ *
+ * <pre>
+ * j src/scripts/java/sicpplus/java/scripts/numbers/CalibrateThresholds.java thresholds.properties
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class CalibrateThresholds {
+
+  public static final void main (final String[] args)
+    throws IOException {
+    final Path file =
+      Path.of((0<args.length) ? args[0] : "thresholds.properties");
+    final String cpu = SystemInfo.processorName();
+    final String machine = SystemInfo.manufacturerModel();
+    System.out.println(cpu);
+    System.out.println(machine);
+    System.out.println("defaults: " + Thresholds.defaults());
+
+    final Properties profile = Thresholds.calibrate(System.out);
+
+    System.out.println("calibrated: " + Thresholds.merge(profile));
+    try (Writer w = Files.newBufferedWriter(file)) {
+      profile.store(w,
+        "cpu: " + cpu
+        + "\nmachine: " + machine
+        + "\njvm: " + System.getProperty("java.vm.name")
+        + " " + System.getProperty("java.vm.version")); }
+    System.out.println("wrote " + file.toAbsolutePath()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,53 @@
+package sicpplus.java.scripts.numbers;
+
+import java.math.BigInteger;
+
+import sicpplus.java.numbers.BoundedNatural;
+
+//----------------------------------------------------------------
+/** Time decimal conversion of {@link BoundedNatural}, against
+ * {@link BigInteger} and the digit group at a time
+ * {@link BoundedNatural#valueOf(String,int)}.
+ * <p>
+ * <pre>
+ * j src/scripts/java/sicpplus/java/scripts/numbers/Decimal.java
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class Decimal {
+
+  private static final double seconds (final long t0,
+                                       final long t1) {
+    return (t1-t0)*1.0e-9; }
+
+  public static final void main (final String[] args) {
+    System.out.println(
+      "words     print   BigInteger   parse   valueOf(s,10)");
+    for (final int n : new int[] { 1000, 10000, 100000, 300000, }) {
+      final BigInteger z =
+        BigInteger.ONE.shiftLeft(32*n).divide(BigInteger.valueOf(7));
+      final BoundedNatural u = BoundedNatural.valueOf(z);
+      final long t0 = System.nanoTime();
+      final String s = u.toDecimalString();
+      final long t1 = System.nanoTime();
+      final String s1 = z.toString();
+      final long t2 = System.nanoTime();
+      final BoundedNatural v = BoundedNatural.parseDecimal(s);
+      final long t3 = System.nanoTime();
+      final BoundedNatural w = BoundedNatural.valueOf(s,10);
+      final long t4 = System.nanoTime();
+      assert s.equals(s1) && u.equals(v) && u.equals(w);
+      System.out.printf("%7d %7.3f %10.3f %9.3f %11.3f\n",
+        Integer.valueOf(n),
+        Double.valueOf(seconds(t0,t1)),
+        Double.valueOf(seconds(t1,t2)),
+        Double.valueOf(seconds(t2,t3)),
+        Double.valueOf(seconds(t3,t4))); } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,96 @@
+package sicpplus.java.scripts.numbers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.LongNatural;
+
+/** Side by side timing of {@link BoundedNatural} (32 bit
+ * words) and {@link LongNatural} (64 bit limbs), for add,
+ * multiply and divide, over a range of operand sizes.
+ * <p>
+ * The same random values are used for both; times are the
+ * median of several passes, in microseconds per operation.
+ *
+ * <pre>
+ * j src/scripts/java/sicpplus/java/scripts/numbers/LongLimbs.java
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class LongLimbs {
+
+  private static final int[] WORDS = {
+    2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 4096, };
+
+  private static final int PASSES = 7;
+
+  private static final BoundedNatural random (final Random r,
+                                              final int nwords) {
+    final int[] w = new int[nwords];
+    for (int i=0;i<nwords;i++) { w[i] = r.nextInt(); }
+    w[nwords-1] |= 0x80000000;
+    return BoundedNatural.make(w); }
+
+  /** Median microseconds per call of <code>f</code>. */
+
+  private static final <T> double time (final Supplier<T> f,
+                                        final int reps) {
+    final double[] t = new double[PASSES];
+    Object sink = null;
+    for (int p=0;p<PASSES;p++) {
+      final long t0 = System.nanoTime();
+      for (int i=0;i<reps;i++) { sink = f.get(); }
+      t[p] = (System.nanoTime()-t0)*1.0e-3/reps; }
+    if (null==sink) { System.out.print(""); }
+    Arrays.sort(t);
+    return t[PASSES/2]; }
+
+  private static final <T> void
+  row (final String op,
+       final int n,
+       final int reps,
+       final T a0, final T a1,
+       final BinaryOperator<T> fa,
+       final LongNatural b0, final LongNatural b1,
+       final BinaryOperator<LongNatural> fb) {
+    final double ta = time(() -> fa.apply(a0,a1),reps);
+    final double tb = time(() -> fb.apply(b0,b1),reps);
+    System.out.printf("%-8s %6d %12.3f %12.3f %8.2f%n",
+      op,Integer.valueOf(n),Double.valueOf(ta),Double.valueOf(tb),
+      Double.valueOf(ta/tb)); }
+
+  public static final void main (final String[] args) {
+    final Random r = new Random(20261018L);
+    System.out.printf("%-8s %6s %12s %12s %8s%n",
+      "op","words","int[] us","long[] us","ratio");
+    for (final int n : WORDS) {
+      final int reps = Math.max(3,(1<<22)/(n*n));
+      final BoundedNatural x0 = random(r,n);
+      final BoundedNatural x1 = random(r,n);
+      final BoundedNatural d = random(r,n/2+1);
+      final BoundedNatural x2 = x0.multiply(x1);
+      final LongNatural y0 = LongNatural.valueOf(x0);
+      final LongNatural y1 = LongNatural.valueOf(x1);
+      final LongNatural e = LongNatural.valueOf(d);
+      final LongNatural y2 = LongNatural.valueOf(x2);
+      row("add",n,16*reps,x0,x1,BoundedNatural::add,
+        y0,y1,LongNatural::add);
+      row("multiply",n,reps,x0,x1,BoundedNatural::multiply,
+        y0,y1,LongNatural::multiply);
+      row("divide",n,reps,x2,d,
+        (a,b) -> { final List<BoundedNatural> qr =
+          a.divideAndRemainder(b); return qr.get(0); },
+        y2,e,
+        (a,b) -> { final List<LongNatural> qr =
+          a.divideAndRemainder(b); return qr.get(0); }); } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,75 @@
+package sicpplus.java.scripts.numbers;
+
+import java.nio.file.Path;
+
+import org.apache.commons.rng.UniformRandomProvider;
+
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.OffHeapNatural;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Streaming arithmetic on memory-mapped
+ * {@link OffHeapNatural}s larger than
+ * {@link BoundedNatural#MAX_WORDS}, in a small heap.
+ * <p>
+ * <pre>
+ * j -Xmx4g src/scripts/java/sicpplus/java/scripts/numbers/OffHeap.java [nwords] [scratch directory]
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+public final class OffHeap {
+
+  private static final void time (final String label,
+                                  final long t0) {
+    System.out.printf("%-16s %8.3f sec\n",label,
+      Double.valueOf((System.nanoTime()-t0)*1.0e-9)); }
+
+  /** Fill <code>x</code> with random words, a block at a time.
+   */
+
+  private static final void random (final OffHeapNatural x,
+                                    final long nwords,
+                                    final UniformRandomProvider urp) {
+    final int block = 1<<20;
+    final int[] w = new int[block];
+    for (long i=0;i<nwords;i+=block) {
+      final int m = (int) Math.min(block,nwords-i);
+      for (int j=0;j<m;j++) { w[j] = urp.nextInt(); }
+      x.addAt(i,BoundedNatural.make(w).words(0,m)); } }
+
+  public static final void main (final String[] args) {
+    final long n = (0<args.length)
+      ? Long.parseLong(args[0])
+        : 1L+(4L*BoundedNatural.MAX_WORDS);
+    final Path dir = (1<args.length)
+      ? Path.of(args[1])
+        : Path.of(System.getProperty("java.io.tmpdir"));
+    System.out.println("n=" + n + " words, in " + dir);
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    final long t0 = System.nanoTime();
+    try (OffHeapNatural x = OffHeapNatural.scratch(dir,n+1);
+      OffHeapNatural y = OffHeapNatural.scratch(dir,n+1)) {
+      random(x,n,urp);
+      time("random",t0);
+      long t = System.nanoTime();
+      y.add(x,x);
+      time("add",t);
+      t = System.nanoTime();
+      final int c = x.compareTo(y);
+      time("compare",t);
+      assert (c<0) || x.isZero();
+      t = System.nanoTime();
+      y.multiply(x,0xDEADBEEF);
+      time("multiply word",t);
+      System.out.println(y); }
+    finally { time("total",t0); } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
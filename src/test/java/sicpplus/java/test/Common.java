@@ -21,6 +21,7 @@ import sicpplus.java.Classes;
 import sicpplus.java.Debug;
 import sicpplus.java.accumulators.Accumulator;
 import sicpplus.java.linear.Dn;
+import sicpplus.java.numbers.BigFloat;
 import sicpplus.java.numbers.Doubles;
 import sicpplus.java.numbers.Floats;
 import sicpplus.java.numbers.BoundedNatural;
@@ -94,9 +95,28 @@ public final class Common {
       .map(Common::makeAccumulator)
       .collect(Collectors.toUnmodifiableList()); }
 
+  //--------------------------------------------------------------
+  /** Exact, for computing oracle values. */
+
+  public static final BigFloat bf (final double x) {
+    return BigFloat.valueOf(x); }
+
   //--------------------------------------------------------------
   // natural number/ integer tests
 
+  /** Uniformly random bits, with the top word nonzero, so
+   * exactly <code>nwords</code> words.
+   */
+
+  public static final BigInteger
+  randomNatural (final UniformRandomProvider urp,
+                 final int nwords) {
+    if (0==nwords) { return BigInteger.ZERO; }
+    final byte[] b = new byte[4*nwords];
+    urp.nextBytes(b);
+    b[0] |= 0x01;
+    return new BigInteger(1,b); }
+
   public static final <T extends Ringlike<T>> void
   hiBit (final Function<BigInteger,T> fromBI,
          final BigInteger z0) {
@@ -309,6 +329,41 @@ public final class Common {
     + "\n\n" + x3.toString(0x10)
     + "\n\n" + dx.toString(0x10)); }
 
+  /** <code>x0 + x1*x2</code>, and back with
+   * <code>multiplySubtract</code>.
+   */
+
+  public static final <T extends Ringlike<T>> void
+  multiplyAdd (final Function<BigInteger,T> fromBI,
+               final Function<T,BigInteger> toBI,
+               final BigInteger x0,
+               final BigInteger x1,
+               final BigInteger x2) {
+    final BigInteger x3 = x0.add(x1.multiply(x2));
+    final T y0 = fromBI.apply(x0);
+    final T y1 = fromBI.apply(x1);
+    final T y2 = fromBI.apply(x2);
+    final T y3 = y0.multiplyAdd(y1,y2);
+    Assertions.assertEquals(x3,toBI.apply(y3),() ->
+    "\n" + x0.toString(0x10)
+    + "\n + "
+    + "\n" +  x1.toString(0x10)
+    + "\n * "
+    + "\n" +  x2.toString(0x10)
+    + "\n -> "
+    + "\n" + x3.toString(0x10)
+    + "\n\n" + y3.toString());
+    final T y4 = y3.multiplySubtract(y1,y2);
+    Assertions.assertEquals(x0,toBI.apply(y4),() ->
+    "\n" + x3.toString(0x10)
+    + "\n - "
+    + "\n" +  x1.toString(0x10)
+    + "\n * "
+    + "\n" +  x2.toString(0x10)
+    + "\n -> "
+    + "\n" + x0.toString(0x10)
+    + "\n\n" + y4.toString()); }
+
   public static final <T extends Ringlike<T>> void
   divide (final Function<BigInteger,T> fromBI,
           final Function<T,BigInteger> toBI,
@@ -453,6 +508,35 @@ public final class Common {
       + "\n" + y2.get(1).toString()
       + "\n" + x3[1].toString(0x10) + "\n"); } }
 
+  public static final void
+  divideAndRemainderNewton (final Function<BigInteger,BoundedNatural> fromBI,
+                            final Function<BoundedNatural,BigInteger> toBI,
+                            final BigInteger x0,
+                            final BigInteger x1) {
+    if (0 != x1.signum()) {
+      final BoundedNatural y0 = fromBI.apply(x0);
+      final BoundedNatural y1 = fromBI.apply(x1);
+      final BigInteger[] x2 = x0.divideAndRemainder(x1);
+      final List<BoundedNatural> y2 = y0.divideAndRemainderNewton(y1);
+      final BigInteger[] x3 = { toBI.apply(y2.get(0)),
+                                toBI.apply(y2.get(1)),};
+
+      Assertions.assertEquals(x2[0],x3[0],() ->
+      "\n" + x0.toString(0x10)
+      + "\n / "
+      + "\n" +  x1.toString(0x10)
+      + "\n -> "
+      + "\n" + x2[0].toString(0x10)
+      + "\n" + x3[0].toString(0x10) + "\n");
+
+      Assertions.assertEquals(x2[1],x3[1],() ->
+      "\n" + x0.toString(0x10)
+      + "\n rem "
+      + "\n" +  x1.toString(0x10)
+      + "\n -> "
+      + "\n" + x2[1].toString(0x10)
+      + "\n" + x3[1].toString(0x10) + "\n"); } }
+
   public static final <T extends Ringlike<T>> void
   remainder (final Function<BigInteger,T> fromBI,
              final Function<T,BigInteger> toBI,
@@ -582,6 +666,8 @@ public final class Common {
     divideAndRemainderKnuth(fromBI,toBI,z0,z0);
     divideAndRemainderBurnikelZiegler(fromBI,toBI,z0,z1);
     divideAndRemainderBurnikelZiegler(fromBI,toBI,z0,z0);
+    divideAndRemainderNewton(fromBI,toBI,z0,z1);
+    divideAndRemainderNewton(fromBI,toBI,z0,z0);
     remainder(fromBI,toBI,z0,z1);
     remainder(fromBI,toBI,z0,z0);
     gcd(fromBI,toBI,z0,z1);
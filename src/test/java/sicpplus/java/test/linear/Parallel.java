@@ -0,0 +1,39 @@
+package sicpplus.java.test.linear;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import sicpplus.java.linear.RationalFloatMatrix;
+import sicpplus.java.linear.RefinedLU;
+
+//----------------------------------------------------------------
+/** Shared fixture for the parallel row loop tests: run checks
+ * with parallelism forced on, then restore the threshold.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+final class Parallel {
+
+  static final void check (final Runnable checks) {
+    final int t = RationalFloatMatrix.parallelThreshold();
+    try {
+      RationalFloatMatrix.setParallelThreshold(1);
+      assertEquals(1,RefinedLU.parallelThreshold());
+      checks.run(); }
+    finally { RationalFloatMatrix.setParallelThreshold(t); }
+    assertThrows(IllegalArgumentException.class,
+      () -> RationalFloatMatrix.setParallelThreshold(0));
+    assertThrows(IllegalArgumentException.class,
+      () -> RefinedLU.setParallelThreshold(0));
+    assertEquals(t,RefinedLU.parallelThreshold()); }
+
+  private Parallel () {
+    throw new
+    UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
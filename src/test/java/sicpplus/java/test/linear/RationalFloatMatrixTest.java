@@ -0,0 +1,190 @@
+package sicpplus.java.test.linear;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.linear.RationalFloatMatrix;
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link RationalFloatMatrix}: exact residuals, Bareiss
+ * against modular, singular and rank deficient cases.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/linear/RationalFloatMatrixTest test > RFMT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class RationalFloatMatrixTest {
+
+  private static final long[] DENOMINATORS = { 1, 1, 1, 3, 5, 7, 9, };
+
+  private static final RationalFloat
+  random (final UniformRandomProvider urp) {
+    if (0==urp.nextInt(6)) { return RationalFloat.ZERO; }
+    return RationalFloat.valueOf(
+      urp.nextBoolean(),
+      BoundedNatural.valueOf(1L+urp.nextInt(1<<16)),
+      BoundedNatural.valueOf(
+        DENOMINATORS[urp.nextInt(DENOMINATORS.length)]),
+      urp.nextInt(64)-32); }
+
+  private static final RationalFloat[][] random (final UniformRandomProvider urp,
+                                                 final int m,
+                                                 final int n) {
+    final RationalFloat[][] a = new RationalFloat[m][n];
+    for (int i=0;i<m;i++) {
+      for (int j=0;j<n;j++) { a[i][j] = random(urp); } }
+    return a; }
+
+  private static final double[][] randomDoubles (final UniformRandomProvider urp,
+                                                 final int n) {
+    final double[][] a = new double[n][n];
+    for (int i=0;i<n;i++) {
+      for (int j=0;j<n;j++) {
+        a[i][j] = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(200)-100); } }
+    return a; }
+
+  /** Row i+2 = row i + row i+1, for i in [0,k). */
+
+  private static final RationalFloat[][] deficient (final RationalFloat[][] a,
+                                                    final int k) {
+    for (int i=0;i<k;i++) {
+      for (int j=0;j<a[i].length;j++) {
+        a[i+2][j] = a[i][j].add(a[i+1][j]); } }
+    return a; }
+
+  //--------------------------------------------------------------
+
+  private static final void checkSolve (final RationalFloatMatrix a,
+                                        final RationalFloat[] b) {
+    final RationalFloat[] x = a.solveBareiss(b);
+    assertArrayEquals(b,a.multiply(x));
+    assertArrayEquals(x,a.solveModular(b));
+    assertArrayEquals(x,a.solve(b));
+    assertEquals(a.determinantBareiss(),a.determinantModular()); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void solve () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (int n=1;n<=12;n++) {
+      for (int k=0;k<4;k++) {
+        final RationalFloatMatrix a =
+          RationalFloatMatrix.make(random(urp,n,n));
+        if (a.rank()<n) { continue; }
+        final RationalFloat[] b = random(urp,1,n)[0];
+        checkSolve(a,b);
+        assertEquals(n,a.rank());
+        final RationalFloatMatrix ai = a.inverse();
+        assertEquals(RationalFloatMatrix.identity(n),a.multiply(ai));
+        assertEquals(RationalFloat.valueOf(1.0),
+          a.determinant().multiply(ai.determinant())); } }
+    for (final int n : new int[] { 5, 17, 33, }) {
+      final RationalFloatMatrix a =
+        RationalFloatMatrix.valueOf(randomDoubles(urp,n));
+      final RationalFloat[] b =
+        RationalFloatMatrix.valueOf(randomDoubles(urp,n)).row(0);
+      checkSolve(a,b); } }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void determinant () {
+    final double[][] d = {
+      { 2.0, -1.0, 0.0, },
+      { -1.0, 2.0, -1.0, },
+      { 0.0, -1.0, 2.0, }, };
+    final RationalFloatMatrix a = RationalFloatMatrix.valueOf(d);
+    assertEquals(RationalFloat.valueOf(4.0),a.determinantBareiss());
+    assertEquals(RationalFloat.valueOf(4.0),a.determinantModular());
+    // swapping rows flips the sign
+    final RationalFloatMatrix b =
+      RationalFloatMatrix.valueOf(new double[][] { d[1], d[0], d[2], });
+    assertEquals(RationalFloat.valueOf(-4.0),b.determinantBareiss());
+    assertEquals(RationalFloat.valueOf(-4.0),b.determinantModular());
+    // scaling a row by 1/3 scales the determinant
+    final RationalFloat third = RationalFloat.valueOf(
+      true,BoundedNatural.valueOf(1),BoundedNatural.valueOf(3),-1);
+    final RationalFloat[][] c = new RationalFloat[3][];
+    for (int i=0;i<3;i++) { c[i] = a.row(i); }
+    for (int j=0;j<3;j++) { c[1][j] = c[1][j].multiply(third); }
+    final RationalFloat dc = RationalFloat.valueOf(4.0).multiply(third);
+    assertEquals(dc,RationalFloatMatrix.make(c).determinantBareiss());
+    assertEquals(dc,RationalFloatMatrix.make(c).determinantModular());
+    assertEquals(RationalFloat.valueOf(1.0),
+      RationalFloatMatrix.identity(0).determinant()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void singular () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (int n=3;n<=10;n++) {
+      for (int k=1;k<=(n-2);k++) {
+        final RationalFloatMatrix a =
+          RationalFloatMatrix.make(deficient(random(urp,n,n),k));
+        final RationalFloat[] b = random(urp,1,n)[0];
+        if (a.rank()<(n-k)) { continue; }
+        assertEquals(n-k,a.rank());
+        assertEquals(RationalFloat.ZERO,a.determinantBareiss());
+        assertEquals(RationalFloat.ZERO,a.determinantModular());
+        assertThrows(ArithmeticException.class,() -> a.solveBareiss(b));
+        assertThrows(ArithmeticException.class,() -> a.solveModular(b));
+        assertThrows(ArithmeticException.class,() -> a.inverse()); } }
+    // non-square
+    final RationalFloatMatrix r =
+      RationalFloatMatrix.make(deficient(random(urp,5,8),2));
+    assertEquals(3,r.rank());
+    assertThrows(IllegalArgumentException.class,() -> r.determinant());
+    assertThrows(IllegalArgumentException.class,
+      () -> RationalFloatMatrix.identity(3).solve(new double[2]));
+    assertEquals(0,RationalFloatMatrix.valueOf(new double[3][4]).rank()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void empty () {
+    final RationalFloatMatrix a = RationalFloatMatrix.identity(0);
+    final RationalFloat[] b = new RationalFloat[0];
+    assertArrayEquals(b,a.solve(b));
+    assertArrayEquals(b,a.solve(new double[0]));
+    assertArrayEquals(b,a.solveBareiss(b));
+    assertArrayEquals(b,a.solveModular(b));
+    assertEquals(a,a.inverse()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void parallel () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    final RationalFloatMatrix a = RationalFloatMatrix.make(random(urp,24,24));
+    final RationalFloat[] b = random(urp,1,24)[0];
+    final RationalFloat[] x = a.solveBareiss(b);
+    final RationalFloat d = a.determinantModular();
+    final RationalFloatMatrix ai = a.inverse();
+    Parallel.check(() -> {
+      assertArrayEquals(x,a.solveBareiss(b));
+      assertArrayEquals(x,a.solveModular(b));
+      assertEquals(d,a.determinantBareiss());
+      assertEquals(ai,a.inverse()); }); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,160 @@
+package sicpplus.java.test.linear;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.linear.Qn;
+import sicpplus.java.linear.RationalFloatVector;
+import sicpplus.java.linear.RationalFloatsN;
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link RationalFloatVector} against coordinatewise
+ * {@link RationalFloat} arithmetic.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/linear/RationalFloatVectorTest test > RFVT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class RationalFloatVectorTest {
+
+  private static final int TRYS = 128;
+
+  private static final long[] DENOMINATORS = { 1, 1, 1, 3, 5, 9, 12, 35, };
+
+  private static final RationalFloat
+  random (final UniformRandomProvider urp,
+          final boolean dyadic) {
+    if (0==urp.nextInt(8)) { return RationalFloat.ZERO; }
+    final long d =
+      dyadic ? 1L : DENOMINATORS[urp.nextInt(DENOMINATORS.length)];
+    return RationalFloat.valueOf(
+      urp.nextBoolean(),
+      BoundedNatural.valueOf(1L+urp.nextInt(1<<20)),
+      BoundedNatural.valueOf(d),
+      urp.nextInt(128)-64); }
+
+  private static final RationalFloat[] random (final UniformRandomProvider urp,
+                                               final int n,
+                                               final boolean dyadic) {
+    final RationalFloat[] q = new RationalFloat[n];
+    for (int i=0;i<n;i++) { q[i] = random(urp,dyadic); }
+    return q; }
+
+  private static final void check (final RationalFloat[] expected,
+                                   final RationalFloatVector actual) {
+    assertEquals(expected.length,actual.dimension());
+    for (int i=0;i<expected.length;i++) {
+      assertEquals(expected[i],actual.get(i),actual::toString); }
+    assertEquals(RationalFloatVector.valueOf(expected),actual); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void arithmetic () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (int k=0;k<TRYS;k++) {
+      final int n = 1+urp.nextInt(17);
+      final boolean dyadic = (0==(k%2));
+      final RationalFloat[] q0 = random(urp,n,dyadic);
+      final RationalFloat[] q1 = random(urp,n,dyadic);
+      final RationalFloatVector v0 = RationalFloatVector.valueOf(q0);
+      final RationalFloatVector v1 = RationalFloatVector.valueOf(q1);
+      check(q0,v0);
+      assertArrayEquals(q0,v0.toRationalFloats());
+      if (dyadic) {
+        assertEquals(BoundedNatural.valueOf(1L),v0.denominator()); }
+
+      final RationalFloat[] sum = new RationalFloat[n];
+      final RationalFloat[] dif = new RationalFloat[n];
+      final RationalFloat[] neg = new RationalFloat[n];
+      final RationalFloat[] scaled = new RationalFloat[n];
+      final RationalFloat a = random(urp,false);
+      RationalFloat dot = RationalFloat.ZERO;
+      for (int i=0;i<n;i++) {
+        sum[i] = q0[i].add(q1[i]);
+        dif[i] = q0[i].subtract(q1[i]);
+        neg[i] = q0[i].negate();
+        scaled[i] = q0[i].multiply(a);
+        dot = dot.add(q0[i].multiply(q1[i])); }
+      check(sum,v0.add(v1));
+      check(dif,v0.subtract(v1));
+      check(neg,v0.negate());
+      check(scaled,v0.scale(a));
+      assertEquals(dot,v0.dot(v1));
+      assertTrue(v0.subtract(v0).isZero());
+      assertEquals(RationalFloat.ZERO,v0.dot(v0.subtract(v0)));
+
+      // reduction keeps values
+      final RationalFloatVector r = v0.add(v1).scale(a).reduce();
+      check(scaled(sum,a),r);
+      assertEquals(r,r.reduce());
+
+      // vector overloads stay vectors, generic operations don't
+      final RationalFloatsN rn = RationalFloatsN.get(n);
+      check(sum,rn.add(v0,v1));
+      check(neg,rn.negate(v0));
+      check(scaled,rn.scale(a,v0));
+      assertArrayEquals(sum,rn.add((Object) v0,(Object) v1));
+      assertArrayEquals(neg,rn.negate((Object) v0));
+      assertArrayEquals(scaled,Qn.get(n).scale(a,(Object) v0));
+      assertTrue(Qn.get(n).equals(Qn.get(n).add(v0,q1),sum));
+      assertTrue(Qn.get(n).contains(v0));
+      assertTrue(! Qn.get(n+1).contains(v0)); } }
+
+  private static final RationalFloat[] scaled (final RationalFloat[] q,
+                                               final RationalFloat a) {
+    final RationalFloat[] qa = new RationalFloat[q.length];
+    for (int i=0;i<q.length;i++) { qa[i] = q[i].multiply(a); }
+    return qa; }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void sharedDenominator () {
+    // {2/3, 1/5, 7/15}: lcm 15
+    final RationalFloat[] q = {
+      RationalFloat.valueOf(true,BoundedNatural.valueOf(2),
+        BoundedNatural.valueOf(3),0),
+      RationalFloat.valueOf(false,BoundedNatural.valueOf(1),
+        BoundedNatural.valueOf(5),0),
+      RationalFloat.valueOf(true,BoundedNatural.valueOf(7),
+        BoundedNatural.valueOf(15),0), };
+    final RationalFloatVector v = RationalFloatVector.valueOf(q);
+    assertEquals(BoundedNatural.valueOf(15),v.denominator());
+    assertEquals(BoundedNatural.valueOf(10),v.numerator(0));
+    assertEquals(BoundedNatural.valueOf(3),v.numerator(1));
+    assertTrue(! v.nonNegative(1));
+    // {6, 3, 12} * 3/36 is {18, 9, 36}/36, which reduces to
+    // {2, 1, 4} * 2^-2
+    final RationalFloatVector w = RationalFloatVector.valueOf(
+      new double[] { 6.0, 3.0, 12.0, })
+      .scale(RationalFloat.valueOf(true,BoundedNatural.valueOf(3),
+        BoundedNatural.valueOf(36),0));
+    final RationalFloatVector r = w.reduce();
+    assertEquals(w,r);
+    assertEquals(BoundedNatural.valueOf(36),w.denominator());
+    assertEquals(BoundedNatural.valueOf(1),r.denominator());
+    assertEquals(BoundedNatural.valueOf(2),r.numerator(0));
+    assertEquals(-2,r.exponent());
+    assertEquals(RationalFloatVector.zero(3),
+      RationalFloatVector.zero(3).reduce());
+    assertArrayEquals(new double[] { 0.5, 0.25, 1.0, },
+      r.add(RationalFloatVector.zero(3)).doubleValues()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
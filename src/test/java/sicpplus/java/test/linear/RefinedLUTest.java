@@ -0,0 +1,146 @@
+package sicpplus.java.test.linear;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.accumulators.DoubleAccumulator;
+import sicpplus.java.accumulators.RationalFloatAccumulator;
+import sicpplus.java.linear.RationalFloatMatrix;
+import sicpplus.java.linear.RefinedLU;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link RefinedLU} against the correctly rounded exact
+ * solution from {@link RationalFloatMatrix}.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/linear/RefinedLUTest test > RLUT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class RefinedLUTest {
+
+  private static final double[][] random (final UniformRandomProvider urp,
+                                          final int m,
+                                          final int n,
+                                          final int spread) {
+    final double[][] a = new double[m][n];
+    for (int i=0;i<m;i++) {
+      for (int j=0;j<n;j++) {
+        a[i][j] = Math.scalb(
+          urp.nextDouble()-0.5,urp.nextInt(2*spread+1)-spread); } }
+    return a; }
+
+  private static final double[][] hilbert (final int n) {
+    final double[][] a = new double[n][n];
+    for (int i=0;i<n;i++) {
+      for (int j=0;j<n;j++) { a[i][j] = 1.0/(i+j+1); } }
+    return a; }
+
+  private static final double[] exact (final double[][] a,
+                                       final double[] b) {
+    final RationalFloat[] q = RationalFloatMatrix.valueOf(a).solve(b);
+    final double[] x = new double[q.length];
+    for (int i=0;i<q.length;i++) { x[i] = q[i].doubleValue(); }
+    return x; }
+
+  /** Every claim of correct rounding must hold. */
+
+  private static final RefinedLU.Solution check (final RefinedLU lu,
+                                                 final double[][] a,
+                                                 final double[] b) {
+    final RefinedLU.Solution s = lu.refine(b);
+    if (s.correctlyRounded()) {
+      assertArrayEquals(exact(a,b),s.x()); }
+    return s; }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void wellConditioned () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (final int n : new int[] { 1, 2, 3, 8, 17, 65, 80, }) {
+      final double[][] a = random(urp,n,n,4);
+      final RefinedLU lu = RefinedLU.make(a);
+      assertEquals(n,lu.dimension());
+      for (int k=0;k<2;k++) {
+        final double[] b = random(urp,1,n,4)[0];
+        final RefinedLU.Solution s = check(lu,a,b);
+        assertTrue(s.correctlyRounded(),s::toString);
+        assertTrue(s.iterations()<=4,s::toString); } }
+    // exactly representable solution: zero residual
+    final double[][] a = new double[9][9];
+    final double[] x = { 1, -2, 3, -4, 5, -6, 7, -8, 9, };
+    final double[] b = new double[9];
+    for (int i=0;i<9;i++) {
+      for (int j=0;j<9;j++) {
+        a[i][j] = urp.nextInt(21)-10;
+        b[i] += a[i][j]*x[j]; } }
+    final RefinedLU.Solution s = check(RefinedLU.make(a),a,b);
+    assertTrue(s.correctlyRounded(),s::toString);
+    assertArrayEquals(x,s.x()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void illConditioned () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    // cond up to ~1e16: more steps, still correctly rounded
+    for (int n=4;n<=12;n++) {
+      final double[][] a = hilbert(n);
+      final RefinedLU lu =
+        RefinedLU.make(a,RationalFloatAccumulator.make());
+      final double[] b = random(urp,1,n,0)[0];
+      final RefinedLU.Solution s = check(lu,a,b);
+      assertTrue(s.correctlyRounded(),s::toString); }
+    // cond ~ 1e18: refinement can't contract
+    final double[][] a = hilbert(13);
+    final RefinedLU.Solution s =
+      check(RefinedLU.make(a),a,random(urp,1,13,0)[0]);
+    assertTrue(! s.correctlyRounded(),s::toString); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void errors () {
+    assertThrows(ArithmeticException.class,
+      () -> RefinedLU.make(new double[3][3]));
+    assertThrows(IllegalArgumentException.class,
+      () -> RefinedLU.make(new double[2][3]));
+    assertThrows(IllegalArgumentException.class,
+      () -> RefinedLU.make(hilbert(2),DoubleAccumulator.make()));
+    assertThrows(IllegalArgumentException.class,
+      () -> RefinedLU.make(hilbert(2)).refine(new double[3]));
+    assertArrayEquals(new double[2],
+      RefinedLU.make(hilbert(2)).solve(new double[2])); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void parallel () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    final double[][] a = random(urp,150,150,8);
+    final double[] b = random(urp,1,150,8)[0];
+    final double[] x = RefinedLU.make(a).solve(b);
+    Parallel.check(
+      () -> assertArrayEquals(x,RefinedLU.make(a).solve(b))); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
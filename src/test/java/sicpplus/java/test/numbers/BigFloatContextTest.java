@@ -0,0 +1,224 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.RoundingMode;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.BigFloatContext;
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.polynomial.MonomialDoubleBF;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link BigFloatContext}: binary32 and binary64 against
+ * <code>float</code> and <code>double</code> arithmetic, and
+ * directed rounding against exact results.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/BigFloatContextTest test > BFCT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class BigFloatContextTest {
+
+  private static final double randomDouble (final UniformRandomProvider urp) {
+    return Math.scalb(urp.nextDouble()-0.5,urp.nextInt(200)-100); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void ieee () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    final BigFloatContext d = BigFloatContext.BINARY64;
+    final BigFloatContext f = BigFloatContext.BINARY32;
+    for (int i=0;i<4097;i++) {
+      final double x = randomDouble(urp);
+      final double y = randomDouble(urp);
+      final double z = randomDouble(urp);
+      final BigFloat bx = BigFloat.valueOf(x);
+      final BigFloat by = BigFloat.valueOf(y);
+      final BigFloat bz = BigFloat.valueOf(z);
+      assertEquals(x+y,d.add(bx,by).doubleValue());
+      assertEquals(x-y,d.subtract(bx,by).doubleValue());
+      assertEquals(x*y,d.multiply(bx,by).doubleValue());
+      assertEquals(x*x,d.square(bx).doubleValue());
+      assertEquals(x/y,d.divide(bx,by).doubleValue());
+      assertEquals(Math.fma(x,y,z),d.multiplyAdd(bz,bx,by).doubleValue());
+      assertEquals(Math.fma(x,y,z),d.axpy(x,by,z).doubleValue());
+      // tiny addends only contribute a sticky bit
+      final double w = Math.scalb(y,-urp.nextInt(2000));
+      assertEquals(x+w,
+        d.add(bx,BigFloat.valueOf(w)).doubleValue());
+      final float xf =
+        (float) Math.scalb(urp.nextDouble()-0.5,urp.nextInt(100)-50);
+      final float yf =
+        (float) Math.scalb(urp.nextDouble()-0.5,urp.nextInt(100)-50);
+      assertEquals(xf+yf,f.add(BigFloat.valueOf(xf),
+        BigFloat.valueOf(yf)).floatValue());
+      assertEquals(xf*yf,f.multiply(BigFloat.valueOf(xf),
+        BigFloat.valueOf(yf)).floatValue());
+      assertEquals(xf/yf,f.divide(BigFloat.valueOf(xf),
+        BigFloat.valueOf(yf)).floatValue());
+      assertEquals(xf,f.valueOf(xf).floatValue());
+      assertEquals((float) x,f.valueOf(x).floatValue()); } }
+
+  //--------------------------------------------------------------
+
+  private static final RationalFloat rf (final BigFloat x) {
+    return RationalFloat.valueOf(
+      x.nonNegative(),x.significand(),x.exponent()); }
+
+  private static final BigFloatContext context (final int p,
+                                                final RoundingMode m) {
+    return BigFloatContext.make(p,m); }
+
+  /** Rounded results bracket the exact value, are consecutive
+   * at the given precision, and agree in mode.
+   */
+
+  private static final void directed (final int p,
+                                      final RationalFloat exact,
+                                      final BigFloat floor,
+                                      final BigFloat ceiling,
+                                      final BigFloat down,
+                                      final BigFloat up,
+                                      final BigFloat even) {
+    for (final BigFloat r : new BigFloat[] {floor,ceiling,down,up,even}) {
+      assertTrue(r.significand().hiBit()<=p); }
+    final RationalFloat f = rf(floor);
+    final RationalFloat c = rf(ceiling);
+    assertTrue(0>=f.compareTo(exact));
+    assertTrue(0<=c.compareTo(exact));
+    if (f.equals(c)) {
+      assertEquals(f,rf(down));
+      assertEquals(f,rf(up));
+      assertEquals(f,rf(even));
+      return; }
+    // consecutive: at most one ulp apart
+    final int h = Math.max(top(floor),top(ceiling));
+    assertTrue(0>=c.subtract(f).compareTo(
+      RationalFloat.valueOf(Math.scalb(1.0,h-p))),
+      () -> floor + " " + ceiling);
+    final boolean positive = exact.nonNegative();
+    assertEquals(positive ? f : c,rf(down));
+    assertEquals(positive ? c : f,rf(up));
+    final int cmp = exact.subtract(f).compareTo(c.subtract(exact));
+    final RationalFloat e = rf(even);
+    if (0>cmp) { assertEquals(f,e); }
+    else if (0<cmp) { assertEquals(c,e); }
+    else {
+      assertTrue(e.equals(f) || e.equals(c));
+      final BoundedNatural t = even.significand();
+      final int k = t.hiBit()-p;
+      assertTrue((0>k) || (! t.testBit(k))); } }
+
+  private static final int top (final BigFloat x) {
+    return x.exponent() + x.significand().hiBit(); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void directedRounding () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (final int p : new int[] { 1, 2, 7, 32, 53, 64, 200, }) {
+      final BigFloatContext rf = context(p,RoundingMode.FLOOR);
+      final BigFloatContext rc = context(p,RoundingMode.CEILING);
+      final BigFloatContext rd = context(p,RoundingMode.DOWN);
+      final BigFloatContext ru = context(p,RoundingMode.UP);
+      final BigFloatContext re = context(p,RoundingMode.HALF_EVEN);
+      for (int i=0;i<257;i++) {
+        final BigFloat x = BigFloat.valueOf(randomDouble(urp))
+          .multiply(BigFloat.valueOf(randomDouble(urp)))
+          .multiply(BigFloat.valueOf(randomDouble(urp)));
+        final BigFloat y = BigFloat.valueOf(randomDouble(urp))
+          .multiply(BigFloat.valueOf(randomDouble(urp)));
+        directed(p,rf(x),
+          rf.round(x),rc.round(x),rd.round(x),ru.round(x),re.round(x));
+        directed(p,rf(x.add(y)),
+          rf.add(x,y),rc.add(x,y),rd.add(x,y),ru.add(x,y),re.add(x,y));
+        directed(p,rf(x.multiply(y)),
+          rf.multiply(x,y),rc.multiply(x,y),rd.multiply(x,y),
+          ru.multiply(x,y),re.multiply(x,y));
+        final RationalFloat q = RationalFloat.valueOf(
+          x.nonNegative()==y.nonNegative(),
+          x.significand(),y.significand(),x.exponent()-y.exponent());
+        directed(p,q,
+          rf.divide(x,y),rc.divide(x,y),rd.divide(x,y),
+          ru.divide(x,y),re.divide(x,y));
+        directed(p,q,
+          rf.valueOf(q),rc.valueOf(q),rd.valueOf(q),
+          ru.valueOf(q),re.valueOf(q)); } } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void edgeCases () {
+    final BigFloatContext c = context(3,RoundingMode.HALF_EVEN);
+    // 9 = 1001b -> 8; 11 = 1011b -> 12; 13 = 1101b -> 12
+    assertEquals(8.0,c.valueOf(9.0).doubleValue());
+    assertEquals(12.0,c.valueOf(11.0).doubleValue());
+    assertEquals(12.0,c.valueOf(13.0).doubleValue());
+    // carry out of the significand
+    assertEquals(16.0,c.valueOf(15.0).doubleValue());
+    assertEquals(16.0,
+      context(3,RoundingMode.CEILING).valueOf(14.5).doubleValue());
+    assertEquals(-16.0,
+      context(3,RoundingMode.FLOOR).valueOf(-14.5).doubleValue());
+    assertEquals(-14.0,
+      context(3,RoundingMode.DOWN).valueOf(-14.5).doubleValue());
+    assertEquals(BigFloat.ZERO,c.subtract(BigFloat.valueOf(3.0),
+      BigFloat.valueOf(3.0)));
+    // a tiny subtrahend moves directed results across a power of 2
+    final BigFloat one = BigFloat.valueOf(1.0);
+    final BigFloat tiny = BigFloat.valueOf(0x1p-1000);
+    assertEquals(1.0-0x1p-3,context(3,RoundingMode.FLOOR)
+      .subtract(one,tiny).doubleValue());
+    assertEquals(1.0,context(3,RoundingMode.HALF_EVEN)
+      .subtract(one,tiny).doubleValue());
+    assertEquals(1.0+0x1p-2,context(3,RoundingMode.CEILING)
+      .add(one,tiny).doubleValue());
+    assertEquals(9.0,context(4,RoundingMode.UNNECESSARY)
+      .valueOf(9.0).doubleValue());
+    assertThrows(ArithmeticException.class,
+      () -> context(3,RoundingMode.UNNECESSARY).valueOf(9.0));
+    assertThrows(ArithmeticException.class,
+      () -> c.divide(one,BigFloat.ZERO));
+    assertThrows(IllegalArgumentException.class,
+      () -> context(0,RoundingMode.HALF_EVEN));
+    assertEquals(context(3,RoundingMode.HALF_EVEN),c);
+    assertEquals(c.hashCode(),context(3,RoundingMode.HALF_EVEN).hashCode()); }
+
+  /** Rounded Horner chains keep the significand bounded. */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void horner () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    final double[] a = new double[64];
+    for (int i=0;i<a.length;i++) { a[i] = urp.nextDouble()-0.5; }
+    final MonomialDoubleBF exact = MonomialDoubleBF.make(a);
+    final MonomialDoubleBF p256 =
+      MonomialDoubleBF.make(a,BigFloatContext.make(256,RoundingMode.HALF_EVEN));
+    assertTrue(exact.isExact());
+    assertTrue(! p256.isExact());
+    for (int i=0;i<17;i++) {
+      final double x = urp.nextDouble()*1.5;
+      final BigFloat v = p256.value(x);
+      assertTrue(v.significand().hiBit()<=256);
+      assertEquals(exact.doubleValue(x),v.doubleValue(),
+        Math.ulp(exact.doubleValue(x)));
+      assertTrue(256<exact.value(x).significand().hiBit()); } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,199 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.RoundingMode;
+import java.util.function.BiFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.BigFloatContext;
+import sicpplus.java.numbers.BigFloatMath;
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link BigFloatMath}: against {@link StrictMath} at
+ * <code>double</code> precision, against itself at higher
+ * precision, and against known digits and identities.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/BigFloatMathTest test > BFMT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class BigFloatMathTest {
+
+  private static final BigFloatContext context (final int p) {
+    return BigFloatContext.make(p,RoundingMode.HALF_EVEN); }
+
+  private static final RationalFloat rf (final BigFloat x) {
+    return RationalFloat.valueOf(
+      x.nonNegative(),x.significand(),x.exponent()); }
+
+  /** <code>|x-y| &lt;= ulps*2<sup>top(y)-p</sup></code>. */
+
+  private static final void assertClose (final BigFloat x,
+                                         final BigFloat y,
+                                         final int p,
+                                         final int ulps) {
+    final int top = y.exponent() + y.significand().hiBit();
+    final RationalFloat d = rf(x).subtract(rf(y)).abs();
+    final RationalFloat u = RationalFloat.valueOf(
+      true,
+      BoundedNatural.valueOf(ulps),
+      top-p);
+    assertTrue(0>=d.compareTo(u),() -> x + " vs " + y); }
+
+  //--------------------------------------------------------------
+
+  private static final void doubles (final BiFunction<BigFloat,BigFloatContext,BigFloat> f,
+                                     final DoubleUnaryOperator g,
+                                     final double[] xs) {
+    final BigFloatContext d = BigFloatContext.BINARY64;
+    for (final double x : xs) {
+      final double z = g.applyAsDouble(x);
+      final double y = f.apply(BigFloat.valueOf(x),d).doubleValue();
+      // StrictMath (fdlibm) is within 1 ulp; so are we
+      assertEquals(z,y,2*Math.ulp(z),() -> "x=" + x); } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void againstStrictMath () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    final double[] xs = new double[257];
+    final double[] ps = new double[257];
+    for (int i=0;i<xs.length;i++) {
+      xs[i] = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(20)-10);
+      ps[i] = Math.scalb(urp.nextDouble(),urp.nextInt(2000)-1000); }
+    doubles(BigFloatMath::exp,StrictMath::exp,xs);
+    doubles(BigFloatMath::sin,StrictMath::sin,xs);
+    doubles(BigFloatMath::cos,StrictMath::cos,xs);
+    doubles(BigFloatMath::atan,StrictMath::atan,xs);
+    doubles(BigFloatMath::atan,StrictMath::atan,ps);
+    doubles(BigFloatMath::log,StrictMath::log,ps);
+    doubles(BigFloatMath::sqrt,StrictMath::sqrt,ps);
+    doubles(BigFloatMath::sin,StrictMath::sin,
+      new double[] { 1.0e22, Double.MAX_VALUE, 0x1.921fb54442d18p1, });
+    doubles(BigFloatMath::cos,StrictMath::cos,
+      new double[] { 1.0e22, Double.MAX_VALUE, 0x1.921fb54442d18p0, });
+    doubles(BigFloatMath::log,StrictMath::log,
+      new double[] { Double.MIN_VALUE, 1.0+Math.ulp(1.0), 1.0-0x1p-53, });
+    assertEquals(Math.PI,
+      BigFloatMath.pi(BigFloatContext.BINARY64).doubleValue());
+    assertEquals(Math.E,
+      BigFloatMath.e(BigFloatContext.BINARY64).doubleValue());
+    assertEquals(Math.log(2.0),
+      BigFloatMath.ln2(BigFloatContext.BINARY64).doubleValue()); }
+
+  //--------------------------------------------------------------
+
+  private static final String PI_100 =
+    "3.1415926535897932384626433832795028841971693993751"
+    + "058209749445923078164062862089986280348253421170679";
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void constants () {
+    // 100 digits need ~333 bits
+    final String pi = BigFloatMath.pi(context(400)).toDecimalString();
+    assertEquals(PI_100,pi.substring(0,PI_100.length()));
+    // cached constants at lower precision agree
+    for (final int p : new int[] { 1000, 64, 300, 2000, 53, }) {
+      final BigFloatContext c = context(p);
+      assertClose(BigFloatMath.pi(c),BigFloatMath.pi(context(p+64)),p,1);
+      assertClose(BigFloatMath.ln2(c),BigFloatMath.ln2(context(p+64)),p,1);
+      assertClose(BigFloatMath.e(c),
+        BigFloatMath.exp(BigFloat.valueOf(1.0),context(p+64)),p,1); }
+    // concurrent extension
+    final BigFloat[] v = IntStream.range(0,32).parallel()
+      .mapToObj(i -> BigFloatMath.pi(context(3000+(7*i))))
+      .toArray(BigFloat[]::new);
+    for (final BigFloat vi : v) { assertClose(vi,v[0],3000,1); } }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void highPrecision () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (final int p : new int[] { 100, 500, 1500, }) {
+      final BigFloatContext c = context(p);
+      final BigFloatContext c1 = context(p+64);
+      for (int i=0;i<8;i++) {
+        final BigFloat x = BigFloat.valueOf(
+          Math.scalb(urp.nextDouble()-0.5,urp.nextInt(12)-4));
+        // faithful: within 1 ulp of a more precise value
+        assertClose(BigFloatMath.exp(x,c),BigFloatMath.exp(x,c1),p,1);
+        assertClose(BigFloatMath.sin(x,c),BigFloatMath.sin(x,c1),p,1);
+        assertClose(BigFloatMath.cos(x,c),BigFloatMath.cos(x,c1),p,1);
+        assertClose(BigFloatMath.atan(x,c),BigFloatMath.atan(x,c1),p,1);
+        final BigFloat ax = x.abs();
+        assertClose(BigFloatMath.log(ax,c),BigFloatMath.log(ax,c1),p,1);
+        // identities
+        assertClose(BigFloatMath.exp(BigFloatMath.log(ax,c1),c),ax,p,2);
+        final BigFloat s = BigFloatMath.sin(x,c1);
+        final BigFloat co = BigFloatMath.cos(x,c1);
+        assertClose(c.add(c1.square(s),c1.square(co)),
+          BigFloat.valueOf(1.0),p,1);
+        // atan(sin/cos) = x, for |x| < pi/2
+        if (Math.abs(x.doubleValue())<1.5) {
+          assertClose(BigFloatMath.atan(c1.divide(s,co),c),x,p,2); } } } }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void sqrt () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (final int p : new int[] { 2, 53, 200, 1000, }) {
+      final BigFloatContext down = BigFloatContext.make(p,RoundingMode.FLOOR);
+      final BigFloatContext up = BigFloatContext.make(p,RoundingMode.CEILING);
+      for (int i=0;i<64;i++) {
+        final BigFloat x = BigFloat.valueOf(urp.nextDouble())
+          .multiply(BigFloat.valueOf(Math.scalb(urp.nextDouble(),
+            urp.nextInt(400)-200)));
+        final BigFloat r0 = BigFloatMath.sqrt(x,down);
+        final BigFloat r1 = BigFloatMath.sqrt(x,up);
+        // r0^2 <= x <= r1^2, and r0, r1 adjacent
+        assertTrue(0>=r0.square().compareTo(x));
+        assertTrue(0<=r1.square().compareTo(x));
+        assertClose(r0,r1,p,1); } }
+    assertEquals(3.0,BigFloatMath.sqrt(BigFloat.valueOf(9.0),
+      BigFloatContext.make(2,RoundingMode.UNNECESSARY)).doubleValue()); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void domain () {
+    final BigFloatContext d = BigFloatContext.BINARY64;
+    assertThrows(ArithmeticException.class,
+      () -> BigFloatMath.log(BigFloat.ZERO,d));
+    assertThrows(ArithmeticException.class,
+      () -> BigFloatMath.log(BigFloat.valueOf(-1.0),d));
+    assertThrows(ArithmeticException.class,
+      () -> BigFloatMath.sqrt(BigFloat.valueOf(-1.0),d));
+    assertThrows(ArithmeticException.class,
+      () -> BigFloatMath.exp(BigFloat.valueOf(1.0e22),d));
+    assertEquals(BigFloat.ZERO,BigFloatMath.log(BigFloat.valueOf(1.0),d));
+    assertEquals(1.0,BigFloatMath.exp(BigFloat.ZERO,d).doubleValue());
+    assertEquals(1.0,BigFloatMath.cos(BigFloat.ZERO,d).doubleValue());
+    assertTrue(BigFloat.valueOf(1.0).isOne());
+    assertTrue(! BigFloat.valueOf(-1.0).isOne());
+    assertTrue(! BigFloat.valueOf(2.0).isOne()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
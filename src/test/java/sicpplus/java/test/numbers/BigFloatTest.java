@@ -1,7 +1,9 @@
 package sicpplus.java.test.numbers;
 
+import java.math.BigDecimal;
 import java.util.function.BinaryOperator;
 
+import org.apache.commons.rng.UniformRandomProvider;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -80,6 +82,80 @@ public final class BigFloatTest {
       final BigFloat xx = x.multiply(x);
       Assertions.assertEquals(x2,xx); } }
 
+  @SuppressWarnings("static-method")
+  @Test
+  public final void multiplyAdd () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (int i=0;i<TRYS;i++) {
+      final BigFloat[] x = new BigFloat[3];
+      for (int j=0;j<3;j++) {
+        final int[] w = new int[urp.nextInt(80)];
+        for (int k=0;k<w.length;k++) { w[k] = urp.nextInt(); }
+        x[j] = BigFloat.valueOf(urp.nextBoolean(),
+          BoundedNatural.make(w),urp.nextInt(512)-256); }
+      final BigFloat x0 = x[0];
+      final BigFloat x1 = x[1];
+      final BigFloat x2 = x[2];
+      Assertions.assertEquals(x0.add(x1.multiply(x2)),
+        x0.multiplyAdd(x1,x2));
+      Assertions.assertEquals(x0.subtract(x1.multiply(x2)),
+        x0.multiplySubtract(x1,x2));
+      Assertions.assertEquals(x0,
+        x0.multiplyAdd(x1,x2).multiplySubtract(x1,x2));
+      Assertions.assertTrue(
+        x1.multiply(x2).multiplySubtract(x1,x2).isZero()); } }
+
+  @SuppressWarnings("static-method")
+  @Test
+  public final void decimalStrings () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (int i=0;i<TRYS;i++) {
+      final double x = Double.longBitsToDouble(urp.nextLong());
+      if (! Double.isFinite(x)) { continue; }
+      final BigFloat f = BigFloat.valueOf(x);
+      final String s = (0.0==x) ? "0"
+        : new BigDecimal(x).stripTrailingZeros().toPlainString();
+      Assertions.assertEquals(s,f.toDecimalString());
+      Assertions.assertEquals(f,BigFloat.parseDecimal(s));
+      Assertions.assertEquals(f,
+        BigFloat.parseDecimal(new BigDecimal(x).toString())); }
+    Assertions.assertEquals(BigFloat.valueOf(-0.375),
+      BigFloat.parseDecimal("-375e-3"));
+    Assertions.assertEquals(BigFloat.valueOf(1024.0),
+      BigFloat.parseDecimal("1.024E+3"));
+    Assertions.assertEquals(BigFloat.valueOf(0.25),
+      BigFloat.parseDecimal("1/4"));
+    Assertions.assertThrows(ArithmeticException.class,
+      () -> BigFloat.parseDecimal("0.1"));
+    Assertions.assertThrows(NumberFormatException.class,
+      () -> BigFloat.parseDecimal("1.5e")); }
+
+  /** Values at or above half the smallest subnormal. */
+
+  @SuppressWarnings("static-method")
+  @Test
+  public final void subnormalRounding () {
+    final BoundedNatural one = BoundedNatural.valueOf(1L);
+    final BoundedNatural three = BoundedNatural.valueOf(3L);
+    final BoundedNatural big =
+      BoundedNatural.valueOf(1L).shiftUp(63).add(1L);
+    Assertions.assertEquals(0.0,
+      BigFloat.valueOf(true,one,-1075).doubleValue());
+    Assertions.assertEquals(Double.MIN_VALUE,
+      BigFloat.valueOf(true,three,-1076).doubleValue());
+    Assertions.assertEquals(-Double.MIN_VALUE,
+      BigFloat.valueOf(false,big,-1138).doubleValue());
+    Assertions.assertEquals(2*Double.MIN_VALUE,
+      BigFloat.valueOf(true,three,-1075).doubleValue());
+    Assertions.assertEquals(0.0F,
+      BigFloat.valueOf(true,one,-150).floatValue());
+    Assertions.assertEquals(Float.MIN_VALUE,
+      BigFloat.valueOf(true,three,-151).floatValue());
+    Assertions.assertEquals(Float.MIN_VALUE,
+      BigFloat.valueOf(true,big,-213).floatValue()); }
+
   //--------------------------------------------------------------
 }
 //--------------------------------------------------------------
@@ -0,0 +1,171 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.BigFloatContext;
+import sicpplus.java.numbers.BigFloatMath;
+import sicpplus.java.numbers.CRMath;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link CRMath}: against {@link BigFloatMath} at high
+ * precision, at exact and halfway cases, and against
+ * {@link StrictMath} for special values.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/CRMathTest test > CRMT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class CRMathTest {
+
+  private static final int TRYS = 1025;
+
+  /** Far more bits than any hard case needs, so the second
+   * rounding is the only one that matters.
+   */
+
+  private static final BigFloatContext ORACLE =
+    BigFloatContext.make(400,RoundingMode.HALF_EVEN);
+
+  private static final double exp (final double x) {
+    return BigFloatMath.exp(BigFloat.valueOf(x),ORACLE).doubleValue(); }
+
+  private static final double log (final double x) {
+    return BigFloatMath.log(BigFloat.valueOf(x),ORACLE).doubleValue(); }
+
+  private static final double pow (final double x,
+                                   final double y) {
+    final BigFloatContext c =
+      BigFloatContext.make(500,RoundingMode.HALF_EVEN);
+    return BigFloatMath.exp(
+      BigFloatMath.log(BigFloat.valueOf(x),c)
+      .multiply(BigFloat.valueOf(y)),ORACLE).doubleValue(); }
+
+  private static final double hypot (final double x,
+                                     final double y) {
+    final BigFloat bx = BigFloat.valueOf(x);
+    final BigFloat by = BigFloat.valueOf(y);
+    return BigFloatMath.sqrt(bx.square().add(by.square()),
+      BigFloatContext.BINARY64).doubleValue(); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void againstBigFloat () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (int i=0;i<TRYS;i++) {
+      final double x = (urp.nextDouble()-0.5)*1500.0;
+      assertEquals(exp(x),CRMath.exp(x),() -> "exp " + x);
+      final double lx =
+        Math.scalb(urp.nextDouble()+0.5,urp.nextInt(2090)-1074);
+      assertEquals(log(lx),CRMath.log(lx),() -> "log " + lx);
+      final double l1 =
+        1.0+Math.scalb(urp.nextDouble()-0.5,-urp.nextInt(50));
+      assertEquals(log(l1),CRMath.log(l1),() -> "log " + l1);
+      final double px =
+        Math.scalb(urp.nextDouble()+0.5,urp.nextInt(40)-20);
+      final double py = (urp.nextDouble()-0.5)*60.0;
+      assertEquals(pow(px,py),CRMath.pow(px,py),
+        () -> "pow " + px + " " + py);
+      final double hx =
+        Math.scalb(urp.nextDouble(),urp.nextInt(2000)-1000);
+      final double hy = urp.nextBoolean()
+        ? Math.scalb(urp.nextDouble(),urp.nextInt(2000)-1000)
+        : Math.scalb(urp.nextDouble(),
+          Math.getExponent(hx)+urp.nextInt(60)-30);
+      assertEquals(hypot(hx,hy),CRMath.hypot(hx,hy),
+        () -> "hypot " + hx + " " + hy); } }
+
+  //--------------------------------------------------------------
+
+  private static final double nearest (final BigInteger n) {
+    return new BigDecimal(n).doubleValue(); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void exactCases () {
+    // overflow, underflow and subnormal boundaries
+    assertEquals(Double.MIN_VALUE,CRMath.exp(-745.1));
+    assertEquals(Double.MIN_VALUE,CRMath.exp(-745.1332191019411));
+    assertEquals(0.0,CRMath.exp(-745.1332191019412));
+    assertEquals(exp(709.782712893384),CRMath.exp(709.782712893384));
+    assertEquals(Double.POSITIVE_INFINITY,
+      CRMath.exp(709.7827128933841));
+    assertEquals(exp(-708.5),CRMath.exp(-708.5));
+    assertEquals(1.0,CRMath.exp(0x1p-60));
+    assertEquals(1.0,CRMath.exp(-0x1p-60));
+    assertEquals(1.0,CRMath.exp(0.0));
+    // StrictMath.exp(1.0) is 2.7182818284590455
+    assertEquals(Math.E,CRMath.exp(1.0));
+    assertEquals(0.0,CRMath.log(1.0));
+    assertEquals(log(Double.MIN_VALUE),CRMath.log(Double.MIN_VALUE));
+    assertEquals(log(Double.MAX_VALUE),CRMath.log(Double.MAX_VALUE));
+    // 3^34 and (2^18-1)^3 are halfway between doubles
+    final BigInteger three = BigInteger.valueOf(3);
+    assertEquals(nearest(three.pow(34)),CRMath.pow(3.0,34.0));
+    final long t = (1L<<18)-1L;
+    assertEquals(nearest(BigInteger.valueOf(t).pow(3)),
+      CRMath.pow((double) (t*t),1.5));
+    assertEquals(-nearest(three.pow(33)),CRMath.pow(-3.0,33.0));
+    assertEquals(1024.0,CRMath.pow(2.0,10.0));
+    assertEquals(0.125,CRMath.pow(4.0,-1.5));
+    assertEquals(27.0,CRMath.pow(9.0,1.5));
+    // 2^-1075 is halfway between 0 and the smallest subnormal
+    assertEquals(0.0,CRMath.pow(0.5,1075.0));
+    assertEquals(0.0,CRMath.pow(4.0,-537.5));
+    assertEquals(Double.MIN_VALUE,CRMath.pow(0.5,1074.0));
+    assertEquals(Double.MIN_VALUE,CRMath.pow(2.0,-1074.5));
+    assertEquals(Double.POSITIVE_INFINITY,CRMath.pow(10.0,308.5));
+    assertEquals(0.0,CRMath.pow(0.5,0x1p30));
+    assertEquals(Math.sqrt(2.0),CRMath.pow(2.0,0.5));
+    assertEquals(5.0,CRMath.hypot(3.0,-4.0));
+    assertEquals(Double.MIN_VALUE,
+      CRMath.hypot(Double.MIN_VALUE,Double.MIN_VALUE));
+    assertEquals(Double.POSITIVE_INFINITY,
+      CRMath.hypot(Double.MAX_VALUE,Double.MAX_VALUE));
+    assertEquals(Double.MAX_VALUE,CRMath.hypot(Double.MAX_VALUE,1.0)); }
+
+  //--------------------------------------------------------------
+
+  private static final double[] SPECIAL = {
+    Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+    -0.0, 0.0, 1.0, -1.0, 2.0, -2.0, 0.5, -0.5, 3.0, -3.0, 1.5,
+    Double.MIN_VALUE, Double.MAX_VALUE, };
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void specialValues () {
+    for (final double x : SPECIAL) {
+      final boolean sx = (! Double.isFinite(x)) || (0.0==x);
+      if (sx) {
+        assertEquals(StrictMath.exp(x),CRMath.exp(x),() -> "exp " + x); }
+      if (sx || (0.0>x) || (1.0==x)) {
+        assertEquals(StrictMath.log(x),CRMath.log(x),() -> "log " + x); }
+      for (final double y : SPECIAL) {
+        if (sx || (! Double.isFinite(y)) || (0.0==y)) {
+          assertEquals(StrictMath.hypot(x,y),CRMath.hypot(x,y),
+            () -> "hypot " + x + " " + y); }
+        // StrictMath is exact for special values, and within an
+        // ulp otherwise
+        final double z = StrictMath.pow(x,y);
+        assertEquals(z,CRMath.pow(x,y),
+          Double.isFinite(z) ? Math.ulp(z) : 0.0,
+          () -> "pow " + x + " " + y); } } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
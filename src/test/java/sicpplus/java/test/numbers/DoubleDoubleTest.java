@@ -0,0 +1,138 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static sicpplus.java.test.Common.bf;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.DoubleDouble;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link DoubleDouble}: operations and bulk kernels
+ * against exact {@link BigFloat} values, with the checks shared
+ * with {@link QuadDoubleTest} in {@link Expansions}.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/DoubleDoubleTest test > DDT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class DoubleDoubleTest {
+
+  private static final int TRYS = 1025;
+
+  private static final Expansions.Precision<DoubleDouble> DD =
+    new Expansions.Precision<>() {
+    @Override
+    public final int bits () { return 104; }
+    // the product is rounded in multiplyAdd
+    @Override
+    public final BigFloat productError () { return bf(0x1p-103); }
+    // n^2 u^2 sum|x|
+    @Override
+    public final BigFloat sumError (final int n) {
+      return bf(Math.scalb((double) n*n,-103)); }
+    @Override
+    public final BigFloat hornerError (final int n) {
+      return bf(Math.scalb((double) n*n,-101)); }
+    @Override
+    public final double tiny () { return 0x1p-80; }
+    @Override
+    public final int range () { return 60; }
+    @Override
+    public final DoubleDouble random (final UniformRandomProvider urp) {
+      final double hi =
+        Math.scalb(urp.nextDouble()-0.5,urp.nextInt(64)-32);
+      return DoubleDouble.valueOf(hi,Math.scalb(hi,-54)*urp.nextDouble()); }
+    @Override
+    public final DoubleDouble valueOf (final double x) {
+      return DoubleDouble.valueOf(x); }
+    @Override
+    public final DoubleDouble valueOf (final BigFloat x) {
+      return DoubleDouble.valueOf(x); }
+    @Override
+    public final BigFloat bigFloatValue (final DoubleDouble x) {
+      return x.bigFloatValue(); }
+    @Override
+    public final double lead (final DoubleDouble x) { return x.hi(); }
+    @Override
+    public final DoubleDouble add (final DoubleDouble x,
+                                   final double y) {
+      return x.add(y); }
+    @Override
+    public final DoubleDouble multiply (final DoubleDouble x,
+                                        final double y) {
+      return x.multiply(y); }
+    @Override
+    public final DoubleDouble sum (final double[] x) {
+      return DoubleDouble.sum(x); }
+    @Override
+    public final DoubleDouble dot (final double[] x,
+                                  final double[] y) {
+      return DoubleDouble.dot(x,y); }
+    @Override
+    public final DoubleDouble horner (final double[] a,
+                                      final double x) {
+      return DoubleDouble.horner(a,x); } };
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void arithmetic () {
+    Expansions.arithmetic(DD,
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt"),TRYS); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void comparison () {
+    Expansions.comparison(DD);
+    // components in either order
+    final DoubleDouble up = DoubleDouble.valueOf(1.0,0x1p-80);
+    assertEquals(up,DoubleDouble.valueOf(0x1p-80,1.0));
+    assertEquals(up.hashCode(),DoubleDouble.valueOf(0x1p-80,1.0).hashCode());
+    // canonical: hi is the rounded sum
+    assertEquals(1.0,DoubleDouble.valueOf(1.0,0x1p-53).hi()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void kernels () {
+    Expansions.kernels(DD,
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt")); }
+
+  //--------------------------------------------------------------
+  /** axpy against add and multiply. */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void axpy () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    final DoubleDouble a = DoubleDouble.valueOf(1.0/3.0,0x1p-56/3.0);
+    for (final int n : new int[] { 1, 2, 33, 257, }) {
+      final double[] x = Expansions.illConditioned(urp,n,60);
+      final double[][] z = new double[2][n];
+      for (int i=0;i<n;i++) {
+        final double yi = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(8));
+        final DoubleDouble zi = DoubleDouble.valueOf(yi,yi*0x1p-60);
+        z[0][i] = zi.hi(); z[1][i] = zi.lo(); }
+      final double[][] z0 = { z[0].clone(), z[1].clone(), };
+      DoubleDouble.axpy(a,x,z);
+      for (int i=0;i<n;i++) {
+        final DoubleDouble yi = DoubleDouble.valueOf(z0[0][i],z0[1][i]);
+        assertEquals(yi.add(a.multiply(x[i])),
+          DoubleDouble.valueOf(z[0][i],z[1][i])); } } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
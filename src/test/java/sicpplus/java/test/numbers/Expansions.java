@@ -0,0 +1,235 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static sicpplus.java.test.Common.bf;
+
+import org.apache.commons.rng.UniformRandomProvider;
+
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.DoubleDouble;
+import sicpplus.java.numbers.QuadDouble;
+import sicpplus.java.numbers.Ringlike;
+
+//----------------------------------------------------------------
+/** Shared checks for multi-double expansions,
+ * {@link DoubleDouble} and {@link QuadDouble},
+ * against exact {@link BigFloat} values,
+ * parameterized by a {@link Precision}.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class Expansions {
+
+  //--------------------------------------------------------------
+  /** What the shared checks need to know about one expansion
+   * type.
+   */
+
+  interface Precision<T extends Ringlike<T>> {
+
+    /** Relative accuracy of the basic operations, in bits. */
+    int bits ();
+
+    /** Relative error of the product rounded inside
+     * <code>multiplyAdd</code>, zero if it is exact.
+     */
+    BigFloat productError ();
+
+    /** Absolute error of an <code>n</code> term sum or dot
+     * product, relative to the sum of the absolute values.
+     */
+    BigFloat sumError (int n);
+
+    /** Absolute error of degree <code>n-1</code> Horner
+     * evaluation, relative to the evaluation with absolute
+     * values.
+     */
+    BigFloat hornerError (int n);
+
+    /** A power of 2, lost when added to 1 in
+     * <code>double</code>, kept here.
+     */
+    double tiny ();
+
+    /** Binary exponents of ill-conditioned terms are in
+     * <code>[-range,range)</code>.
+     */
+    int range ();
+
+    T random (UniformRandomProvider urp);
+    T valueOf (double x);
+    T valueOf (BigFloat x);
+    BigFloat bigFloatValue (T x);
+
+    /** The leading <code>double</code> component. */
+    double lead (T x);
+    T add (T x, double y);
+    T multiply (T x, double y);
+
+    T sum (double[] x);
+    T dot (double[] x, double[] y);
+    T horner (double[] a, double x); }
+
+  //--------------------------------------------------------------
+
+  /** <code>|x-y| &lt;= 2<sup>-k</sup>|y| + a</code>. */
+
+  static final void assertClose (final BigFloat x,
+                                 final BigFloat y,
+                                 final int k,
+                                 final BigFloat a) {
+    final BigFloat d = x.subtract(y).abs();
+    final BigFloat b = y.abs().multiply(bf(Math.scalb(1.0,-k))).add(a);
+    assertTrue(0>=d.compareTo(b),() -> x + " vs " + y); }
+
+  static final <T extends Ringlike<T>> void
+  assertClose (final Precision<T> p,
+               final T x,
+               final BigFloat y,
+               final int k) {
+    assertClose(p.bigFloatValue(x),y,k,BigFloat.ZERO); }
+
+  /** Terms of all magnitudes, summing to about 1, with heavy
+   * cancellation.
+   */
+
+  static final double[] illConditioned (final UniformRandomProvider urp,
+                                        final int n,
+                                        final int range) {
+    final double[] x = new double[n];
+    for (int i=0;i<(n/2);i++) {
+      final double xi =
+        Math.scalb(urp.nextDouble()-0.5,urp.nextInt(2*range)-range);
+      x[2*i] = xi;
+      x[(2*i)+1] = -xi*(1.0+Math.scalb(urp.nextDouble(),-40)); }
+    x[n-1] = 1.0;
+    return x; }
+
+  static final BigFloat sumAbs (final BigFloat... x) {
+    BigFloat s = BigFloat.ZERO;
+    for (final BigFloat xi : x) { s = s.add(xi.abs()); }
+    return s; }
+
+  //--------------------------------------------------------------
+  /** Operations within <code>2<sup>-bits</sup></code>, relative,
+   * of the exact result; quotients within 4 times that.
+   */
+
+  static final <T extends Ringlike<T>> void
+  arithmetic (final Precision<T> p,
+              final UniformRandomProvider urp,
+              final int trys) {
+    final int k = p.bits();
+    for (int i=0;i<trys;i++) {
+      final T x = p.random(urp);
+      final T y = p.random(urp);
+      final T z = p.random(urp);
+      final BigFloat bx = p.bigFloatValue(x);
+      final BigFloat by = p.bigFloatValue(y);
+      final BigFloat bz = p.bigFloatValue(z);
+      assertEquals(bx.doubleValue(),x.doubleValue());
+      assertEquals(bx.floatValue(),x.floatValue());
+      assertClose(p,x.add(y),bx.add(by),k);
+      assertClose(p,x.subtract(y),bx.subtract(by),k);
+      assertClose(p,p.add(x,p.lead(y)),bx.add(bf(p.lead(y))),k);
+      assertClose(p,x.multiply(y),bx.multiply(by),k);
+      assertClose(p,p.multiply(x,p.lead(y)),bx.multiply(bf(p.lead(y))),k);
+      assertClose(p,x.square(),bx.square(),k);
+      // a rounded product adds error relative to it
+      final BigFloat bxy = bx.multiply(by);
+      final BigFloat u = bxy.abs().multiply(p.productError());
+      assertClose(p.bigFloatValue(z.multiplyAdd(x,y)),bz.add(bxy),k,u);
+      assertClose(p.bigFloatValue(z.multiplySubtract(x,y)),
+        bz.subtract(bxy),k,u);
+      // q*y ~ x
+      final T q = x.divide(y);
+      assertClose(p.bigFloatValue(q).multiply(by),bx,k-2,BigFloat.ZERO);
+      assertClose(p.bigFloatValue(y.invert()).multiply(by),
+        bf(1.0),k-2,BigFloat.ZERO); } }
+
+  //--------------------------------------------------------------
+
+  static final <T extends Ringlike<T>> void
+  comparison (final Precision<T> p) {
+    final double e = p.tiny();
+    final T zero = p.valueOf(0.0);
+    final T one = p.valueOf(1.0);
+    final T up = p.add(one,e);
+    final T down = p.add(one,-e);
+    assertTrue(0>down.compareTo(one));
+    assertTrue(0<up.compareTo(one));
+    assertTrue(0>down.compareTo(up));
+    // same value, split differently
+    final T up1 = p.add(p.valueOf(e),1.0);
+    assertEquals(0,up.compareTo(up1));
+    assertEquals(up,up1);
+    assertEquals(up.hashCode(),up1.hashCode());
+    assertNotEquals(up,one);
+    assertEquals(zero,p.valueOf(-0.0));
+    assertEquals(zero.hashCode(),p.valueOf(-0.0).hashCode());
+    assertTrue(one.isOne());
+    assertTrue(! up.isOne());
+    assertTrue(up.subtract(up).isZero());
+    assertEquals(down,p.add(up.negate().abs(),-2.0*e));
+    assertEquals(up,p.valueOf(p.bigFloatValue(up)));
+    // 1 + 2^-53 is a tie, rounding to even
+    assertEquals(1.0,p.add(one,0x1p-53).doubleValue());
+    assertThrows(ArithmeticException.class,() -> one.divide(zero)); }
+
+  //--------------------------------------------------------------
+  /** Sums, dot products and Horner evaluation of
+   * ill-conditioned terms, within the type's error bounds.
+   */
+
+  static final <T extends Ringlike<T>> void
+  kernels (final Precision<T> p,
+           final UniformRandomProvider urp) {
+    final int k = p.bits();
+    for (final int n : new int[] { 1, 2, 33, 257, }) {
+      for (int j=0;j<8;j++) {
+        final double[] x = illConditioned(urp,n,p.range());
+        final double[] y = illConditioned(urp,n,p.range());
+        final BigFloat[] bx = new BigFloat[n];
+        final BigFloat[] bxy = new BigFloat[n];
+        BigFloat s = BigFloat.ZERO;
+        BigFloat d = BigFloat.ZERO;
+        for (int i=0;i<n;i++) {
+          bx[i] = bf(x[i]);
+          bxy[i] = bf(x[i]).multiply(bf(y[i]));
+          s = s.add(bx[i]);
+          d = d.add(bxy[i]); }
+        assertClose(p.bigFloatValue(p.sum(x)),s,k,
+          p.sumError(n).multiply(sumAbs(bx)));
+        assertClose(p.bigFloatValue(p.dot(x,y)),d,k,
+          p.sumError(n).multiply(sumAbs(bxy)));
+        // Horner against exact evaluation
+        final double t = 1.0-Math.scalb(urp.nextDouble(),-8);
+        BigFloat q = BigFloat.ZERO;
+        BigFloat qa = BigFloat.ZERO;
+        for (int i=n-1;i>=0;i--) {
+          q = q.multiply(bf(t)).add(bx[i]);
+          qa = qa.multiply(bf(t)).add(bx[i].abs()); }
+        assertClose(p.bigFloatValue(p.horner(x,t)),q,k,
+          p.hornerError(n).multiply(qa)); } }
+    final T zero = p.valueOf(0.0);
+    assertEquals(zero,p.sum(new double[0]));
+    assertEquals(zero,p.horner(new double[0],2.0));
+    // 1 + tiny - 1 is lost in double, kept here
+    assertEquals(p.valueOf(p.tiny()),
+      p.sum(new double[] { 1.0, p.tiny(), -1.0, })); }
+
+  //--------------------------------------------------------------
+
+  private Expansions () {
+    throw new UnsupportedOperationException(
+      "can't instantiate " + getClass().getCanonicalName()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
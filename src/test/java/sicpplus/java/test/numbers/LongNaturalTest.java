@@ -0,0 +1,118 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static sicpplus.java.test.Common.randomNatural;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.LongNatural;
+import sicpplus.java.prng.PRNG;
+import sicpplus.java.test.Common;
+
+//----------------------------------------------------------------
+/** Test {@link LongNatural} against {@link BigInteger}.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/LongNaturalTest test > LNT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class LongNaturalTest {
+
+  private static final Function<BigInteger,LongNatural> FROM_BI =
+    LongNatural::valueOf;
+
+  private static final Function<LongNatural,BigInteger> TO_BI =
+    LongNatural::bigIntegerValue;
+
+  private static final void longNaturalTest (final BigInteger z0,
+                                             final BigInteger z1) {
+    Common.hexRoundTrip(FROM_BI,LongNatural::valueOf,z0);
+    Common.biRoundTrip(FROM_BI,TO_BI,z0);
+    Common.biRoundTrip(FROM_BI,TO_BI,z1);
+    Common.add(FROM_BI,TO_BI,z0,z1);
+    Common.absDiff(FROM_BI,TO_BI,z0,z1);
+    Common.absDiff(FROM_BI,TO_BI,z0,z0);
+    Common.multiply(FROM_BI,TO_BI,z0,z1);
+    Common.square(FROM_BI,TO_BI,z0);
+    Common.divide(FROM_BI,TO_BI,z0,z1);
+    Common.divideAndRemainder(FROM_BI,TO_BI,z0,z1);
+    Common.divideAndRemainder(FROM_BI,TO_BI,z1,z0);
+    Common.divideAndRemainder(FROM_BI,TO_BI,z0.multiply(z1),z1);
+    Common.remainder(FROM_BI,TO_BI,z0,z1);
+    Common.gcd(FROM_BI,TO_BI,z0,z1);
+    Common.reduce(FROM_BI,TO_BI,z0,z1);
+    final LongNatural x0 = FROM_BI.apply(z0);
+    assertEquals(z0.bitLength(),x0.hiBit());
+    assertEquals(x0,LongNatural.valueOf(x0.boundedNaturalValue()));
+    assertEquals(BoundedNatural.valueOf(z0),x0.boundedNaturalValue());
+    for (final int shift : new int[] { 1, 31, 63, 64, 65, 200, }) {
+      assertEquals(z0.shiftLeft(shift),
+        TO_BI.apply(x0.shiftUp(shift)));
+      assertEquals(z0.shiftRight(shift),
+        TO_BI.apply(x0.shiftDown(shift))); } }
+
+  /** Operand sizes in 32 bit words, on either side of the
+   * limb boundaries and the Karatsuba threshold.
+   */
+
+  private static final int[] WORDS = {
+    0, 1, 2, 3, 4, 5, 17, 79, 80, 81, 82, 163, 240, 500, };
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void random () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (final int n0 : WORDS) {
+      for (final int n1 : WORDS) {
+        longNaturalTest(randomNatural(urp,n0),randomNatural(urp,n1));
+        // all ones limbs stress the carries and the quotient
+        // estimate
+        longNaturalTest(
+          BigInteger.ONE.shiftLeft(32*n0).subtract(BigInteger.ONE),
+          randomNatural(urp,n1)); } } }
+
+  /** Divisors whose leading limbs make the Knuth quotient
+   * estimate too large, and need the add back step.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void addBack () {
+    final BigInteger b64 = BigInteger.ONE.shiftLeft(64);
+    final BigInteger v = b64.shiftLeft(64).subtract(BigInteger.ONE)
+      .shiftLeft(64).add(BigInteger.ONE);
+    final BigInteger[] z = {
+      b64.pow(4).subtract(BigInteger.ONE),
+      v.multiply(b64.subtract(BigInteger.ONE)),
+      v.multiply(b64.subtract(BigInteger.ONE)).subtract(BigInteger.ONE),
+      b64.pow(6).subtract(b64.pow(3)), };
+    for (final BigInteger x : z) {
+      Common.divideAndRemainder(FROM_BI,TO_BI,x,v);
+      Common.divideAndRemainder(FROM_BI,TO_BI,x,
+        b64.shiftLeft(63).add(BigInteger.ONE)); } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void overflow () {
+    final LongNatural one = LongNatural.ONE;
+    final LongNatural big = one.shiftUp(LongNatural.MAX_BITS-1);
+    assertEquals(LongNatural.MAX_BITS,big.hiBit());
+    assertThrows(ArithmeticException.class,() -> big.shiftUp(1));
+    assertThrows(ArithmeticException.class,() -> big.add(big));
+    assertThrows(ArithmeticException.class,
+      () -> one.divideAndRemainder(LongNatural.ZERO)); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
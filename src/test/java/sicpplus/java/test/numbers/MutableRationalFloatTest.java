@@ -0,0 +1,137 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.accumulators.RationalFloatAccumulator;
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.MutableRationalFloat;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link MutableRationalFloat} in place updates against
+ * the immutable {@link RationalFloat} operations.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/MutableRationalFloatTest test > MRFT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class MutableRationalFloatTest {
+
+  private static final int TRYS = 1025;
+
+  /** Values over a wide range of exponents, including
+   * subnormals, with frequent exact cancellation.
+   */
+
+  private static final double random (final UniformRandomProvider urp,
+                                      final double[] previous) {
+    switch (urp.nextInt(8)) {
+    case 0 : return -previous[urp.nextInt(previous.length)];
+    case 1 : return Math.scalb(urp.nextDouble()-0.5,-1070);
+    case 2 : return 0.0;
+    default :
+      return Math.scalb(urp.nextDouble()-0.5,urp.nextInt(400)-200); } }
+
+  private static final void check (final RationalFloat expected,
+                                   final MutableRationalFloat actual) {
+    assertEquals(expected,actual.value(),actual::toString);
+    assertEquals(expected.doubleValue(),actual.doubleValue());
+    assertEquals(expected.isZero(),actual.isZero()); }
+
+  //--------------------------------------------------------------
+
+  private static final void updates (final RationalFloat q0,
+                                     final UniformRandomProvider urp) {
+    final double[] x = new double[TRYS];
+    RationalFloat q = q0;
+    final MutableRationalFloat m = MutableRationalFloat.make(q0);
+    check(q,m);
+    for (int i=0;i<TRYS;i++) {
+      final double z0 = random(urp,x);
+      final double z1 = random(urp,x);
+      x[i] = z0;
+      switch (i%7) {
+      case 0 : q = q.add(z0); m.add(z0); break;
+      case 1 : q = q.addAbs(z0); m.addAbs(z0); break;
+      case 2 : q = q.add2(z0); m.add2(z0); break;
+      case 3 : q = q.addProduct(z0,z1); m.addProduct(z0,z1); break;
+      case 4 : q = q.addL1(z0,z1); m.addL1(z0,z1); break;
+      case 5 : q = q.addL2(z0,z1); m.addL2(z0,z1); break;
+      default : q = q.subtract(z0); m.subtract(z0); }
+      check(q,m);
+      // exact cancellation back to zero, and restart
+      if (0==(i%97)) {
+        m.add(q.negate());
+        assertTrue(m.isZero());
+        m.set(q); }
+      if (0==(i%31)) {
+        final RationalFloat r = m.value();
+        m.reduce();
+        check(r,m); } } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void dyadic () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    updates(RationalFloat.ZERO,urp);
+    updates(RationalFloat.valueOf(0x1p900),urp);
+    updates(RationalFloat.valueOf(-0x1p-1074),urp); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void rational () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    updates(
+      RationalFloat.valueOf(
+        false,BoundedNatural.valueOf(7),BoundedNatural.valueOf(3),-5),
+      urp);
+    final MutableRationalFloat m = MutableRationalFloat.make();
+    final RationalFloat third = RationalFloat.valueOf(
+      true,BoundedNatural.valueOf(1),BoundedNatural.valueOf(3),0);
+    m.add(third).add(third).add(third);
+    assertEquals(RationalFloat.valueOf(1.0),m.value());
+    m.add(-1.0);
+    assertTrue(m.isZero());
+    assertEquals(0.0,m.doubleValue());
+    // 9/12 * 2^2 reduces to 3 * 2^0
+    m.set(RationalFloat.valueOf(
+      true,BoundedNatural.valueOf(9),BoundedNatural.valueOf(12),2));
+    m.reduce();
+    assertEquals(BoundedNatural.valueOf(3),m.numerator());
+    assertEquals(BoundedNatural.valueOf(1),m.denominator());
+    assertEquals(0,m.exponent()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void belowMinValue () {
+    // dyadic sums in (2^-1075,2^-1074) round up to MIN_VALUE
+    final MutableRationalFloat m = MutableRationalFloat.make();
+    m.addProduct(0x1.d1p-537,0x1p-538);
+    assertEquals(Double.MIN_VALUE,m.doubleValue());
+    assertEquals(m.value().doubleValue(),m.doubleValue());
+    m.subtract(Double.MIN_VALUE).addProduct(-0x1.8p-538,0x1p-537);
+    assertEquals(-Double.MIN_VALUE,m.doubleValue());
+    assertEquals(m.value().doubleValue(),m.doubleValue());
+    final RationalFloatAccumulator a = RationalFloatAccumulator.make();
+    a.addProduct(0x1.d1p-537,0x1p-538);
+    assertEquals(Double.MIN_VALUE,a.doubleValue());
+    // below 2^-1075 rounds to zero
+    m.clear().addProduct(0x1.fp-538,0x1p-539);
+    assertEquals(0.0,m.doubleValue()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
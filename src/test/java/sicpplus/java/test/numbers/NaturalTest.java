@@ -1,10 +1,19 @@
 package sicpplus.java.test.numbers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static sicpplus.java.test.Common.randomNatural;
+
 import java.math.BigInteger;
+import java.util.List;
 
+import org.apache.commons.rng.UniformRandomProvider;
 import org.junit.jupiter.api.Test;
 
 import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.NaturalDivide;
+import sicpplus.java.numbers.NaturalMultiply;
+import sicpplus.java.prng.PRNG;
 import sicpplus.java.test.Common;
 
 //----------------------------------------------------------------
@@ -15,7 +24,7 @@ import sicpplus.java.test.Common;
  * </pre>
  *
  * @author palisades dot lakes at gmail dot com
- * @version 2019-09-04
+ * @version 2026-10-18
  */
 
 public final class NaturalTest {
@@ -53,6 +62,299 @@ public final class NaturalTest {
     //Debug.DEBUG=false;
   }
 
+  //--------------------------------------------------------------
+  /** Values near <code>2<sup>32</sup></code> and
+   * <code>2<sup>64</sup></code>, where results move between the
+   * inline and array representations.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void smallValues () {
+    final BigInteger b32 = BigInteger.ONE.shiftLeft(32);
+    final BigInteger b64 = BigInteger.ONE.shiftLeft(64);
+    final BigInteger[] z = {
+      BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO,
+      b32.subtract(BigInteger.ONE), b32, b32.add(BigInteger.ONE),
+      BigInteger.valueOf(Long.MAX_VALUE),
+      BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE),
+      b64.subtract(BigInteger.TWO), b64.subtract(BigInteger.ONE),
+      b64, b64.add(BigInteger.ONE), b64.shiftLeft(1), };
+    for (final BigInteger z0 : z) {
+      for (final BigInteger z1 : z) {
+        Common.naturalTest(
+          BoundedNatural::valueOf,
+          BoundedNatural::valueOf,
+          (x) -> x.bigIntegerValue(),
+          z0,z1); }
+      final BoundedNatural x0 = BoundedNatural.valueOf(z0);
+      for (final int shift : new int[] { 1, 31, 32, 33, 63, 64, 65, }) {
+        final BoundedNatural up = x0.shiftUp(shift);
+        assertEquals(z0.shiftLeft(shift),up.bigIntegerValue());
+        assertEquals(z0,up.shiftDown(shift).bigIntegerValue());
+        assertEquals(z0.shiftRight(shift),
+          x0.shiftDown(shift).bigIntegerValue());
+        // same value, computed through the array form
+        final BoundedNatural x1 = up.shiftDown(shift);
+        assertEquals(x0,x1);
+        assertEquals(x0.hashCode(),x1.hashCode()); } } }
+
+  /** Operands long enough for the add, subtract and shift
+   * word kernels, with runs of all ones words so carries and
+   * borrows cross many words.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void kernelCarries () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (final int n : new int[] { 31, 32, 33, 47, 64, 65, 257, }) {
+      final BigInteger ones =
+        BigInteger.ONE.shiftLeft(32*n).subtract(BigInteger.ONE);
+      final BigInteger z = randomNatural(urp,n);
+      final BigInteger[] zs = {
+        z, ones, ones.xor(BigInteger.ONE.shiftLeft(32*(n/2))),
+        ones.shiftLeft(64), };
+      for (final BigInteger z0 : zs) {
+        final BoundedNatural x0 = BoundedNatural.valueOf(z0);
+        for (final BigInteger z1 : zs) {
+          final BoundedNatural x1 = BoundedNatural.valueOf(z1);
+          final BigInteger s = z0.add(z1);
+          assertEquals(s,x0.add(x1).bigIntegerValue());
+          assertEquals(z0,
+            BoundedNatural.valueOf(s).subtract(x1).bigIntegerValue());
+          assertEquals(z0.add(z1.shiftLeft(64)),
+            x0.add(x1,64).bigIntegerValue()); }
+        for (final int shift : new int[] { 1, 13, 31, 32, 33, 95, }) {
+          assertEquals(z0.shiftLeft(shift),
+            x0.shiftUp(shift).bigIntegerValue());
+          assertEquals(z0.shiftRight(shift),
+            x0.shiftDown(shift).bigIntegerValue()); } } } }
+
+  /** Operands on either side of the multiply, square and divide
+   * algorithm thresholds, in words.
+   */
+
+  private static final int[] THRESHOLD_WORDS = {
+    1, 2, 19, 21, 79, 80, 81, 127, 128, 129, 215, 216, 217,
+    239, 240, 241, 480, 1000, };
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void thresholds () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (final int n0 : THRESHOLD_WORDS) {
+      for (final int n1 : THRESHOLD_WORDS) {
+        Common.naturalTest(
+          BoundedNatural::valueOf,
+          BoundedNatural::valueOf,
+          (z) -> z.bigIntegerValue(),
+          randomNatural(urp,n0),
+          randomNatural(urp,n1)); } } }
+
+  /** Products large enough for the number theoretic transform,
+   * including all-ones words, which maximize the convolution
+   * coefficients.
+   */
+
+  private static final int[] LARGE_WORDS = {
+    1023, 1024, 1025, 2047, 2048, 2049, 3000, 5000, };
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void largeProducts () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (final int n0 : LARGE_WORDS) {
+      final BigInteger ones0 =
+        BigInteger.ONE.shiftLeft(32*n0).subtract(BigInteger.ONE);
+      final BigInteger z0 = randomNatural(urp,n0);
+      Common.square(BoundedNatural::valueOf,
+        (z) -> z.bigIntegerValue(),z0);
+      Common.square(BoundedNatural::valueOf,
+        (z) -> z.bigIntegerValue(),ones0);
+      for (final int n1 : LARGE_WORDS) {
+        final BigInteger ones1 =
+          BigInteger.ONE.shiftLeft(32*n1).subtract(BigInteger.ONE);
+        Common.multiply(BoundedNatural::valueOf,
+          (z) -> z.bigIntegerValue(),z0,randomNatural(urp,n1));
+        Common.multiply(BoundedNatural::valueOf,
+          (z) -> z.bigIntegerValue(),ones0,ones1); } } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void parallelProducts () {
+    final int threshold = NaturalMultiply.parallelThreshold();
+    try {
+      NaturalMultiply.setParallelThreshold(64);
+      final UniformRandomProvider urp =
+        PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+      for (final int n0 : THRESHOLD_WORDS) {
+        for (final int n1 : LARGE_WORDS) {
+          final BigInteger z0 = randomNatural(urp,n0);
+          final BigInteger z1 = randomNatural(urp,n1);
+          Common.multiply(BoundedNatural::valueOf,
+            (z) -> z.bigIntegerValue(),z0,z1);
+          Common.square(BoundedNatural::valueOf,
+            (z) -> z.bigIntegerValue(),z1); } } }
+    finally {
+      NaturalMultiply.setParallelThreshold(threshold); } }
+
+  /** Quotients and divisors past the Newton division
+   * threshold, so the reciprocal recurses at least once.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void largeQuotients () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    final int[][] sizes = {
+      { 13000, 6200, }, { 20000, 7000, }, { 9000, 8000, }, };
+    for (final int[] nn : sizes) {
+      final BigInteger z0 = randomNatural(urp,nn[0]);
+      final BigInteger z1 = randomNatural(urp,nn[1]);
+      final BigInteger ones =
+        BigInteger.ONE.shiftLeft(32*nn[0]).subtract(BigInteger.ONE);
+      Common.divideAndRemainder(BoundedNatural::valueOf,
+        (z) -> z.bigIntegerValue(),z0,z1);
+      Common.divideAndRemainderNewton(BoundedNatural::valueOf,
+        (z) -> z.bigIntegerValue(),z0,z1);
+      Common.divideAndRemainder(BoundedNatural::valueOf,
+        (z) -> z.bigIntegerValue(),z1.multiply(z0),z1);
+      Common.divideAndRemainder(BoundedNatural::valueOf,
+        (z) -> z.bigIntegerValue(),ones,z1); } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void exactQuotients () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (final int n0 : THRESHOLD_WORDS) {
+      for (final int n1 : THRESHOLD_WORDS) {
+        final BigInteger q = randomNatural(urp,n0);
+        // even divisors too
+        final BigInteger v = randomNatural(urp,n1).shiftLeft(n0%37);
+        final BigInteger u = q.multiply(v);
+        assertEquals(q,
+          BoundedNatural.valueOf(u)
+          .exactDivide(BoundedNatural.valueOf(v))
+          .bigIntegerValue()); } } }
+
+  /** Fused multiply-add and multiply-subtract on both sides of
+   * the Karatsuba threshold, where the rows are accumulated in
+   * place.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void multiplyAdd () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    final int[] words = { 1, 2, 3, 17, 60, 61, 200, };
+    for (final int n0 : words) {
+      for (final int n1 : words) {
+        for (final int n2 : new int[] { 1, 2, 5, 80, }) {
+          final BigInteger z0 = randomNatural(urp,n0);
+          final BigInteger z1 = randomNatural(urp,n1);
+          final BigInteger z2 = randomNatural(urp,n2);
+          Common.multiplyAdd(BoundedNatural::valueOf,
+            (z) -> z.bigIntegerValue(),z0,z1,z2);
+          Common.multiplyAdd(BoundedNatural::valueOf,
+            (z) -> z.bigIntegerValue(),
+            BigInteger.ONE.shiftLeft(32*n0).subtract(BigInteger.ONE),
+            BigInteger.ONE.shiftLeft(32*n1).subtract(BigInteger.ONE),
+            z2);
+          Common.multiplyAdd(BoundedNatural::valueOf,
+            (z) -> z.bigIntegerValue(),BigInteger.ZERO,z1,z2);
+          Common.multiplyAdd(BoundedNatural::valueOf,
+            (z) -> z.bigIntegerValue(),z0,BigInteger.ZERO,z2); } } } }
+
+  /** Knuth division where the leading remainder word equals
+   * the leading divisor word, and <code>qhat+qrem</code>
+   * overflows a word.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void maxQhat () {
+    for (final int n : new int[] { 20, 60, 100, 400, 720, }) {
+      final BigInteger u = BigInteger.TEN.pow(n).subtract(BigInteger.ONE);
+      for (final int k : new int[] { 18, 19, 36, 72, }) {
+        Common.divideAndRemainder(BoundedNatural::valueOf,
+          (z) -> z.bigIntegerValue(),u,BigInteger.TEN.pow(k)); } } }
+
+  /** Decimal strings on both sides of the digit group at a
+   * time threshold, against {@link BigInteger}.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void decimalStrings () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-11.txt");
+    final int[] words = {
+      1, 2, 3, 39, 40, 41, 80, 81, 200, 1000, 5000, };
+    for (final int n : words) {
+      final BigInteger ones =
+        BigInteger.ONE.shiftLeft(32*n).subtract(BigInteger.ONE);
+      final BigInteger ten = BigInteger.TEN.pow(9*n);
+      for (final BigInteger z : new BigInteger[] {
+        randomNatural(urp,n), ones, ten, ten.subtract(BigInteger.ONE), }) {
+        final String s = z.toString();
+        final BoundedNatural u = BoundedNatural.valueOf(z);
+        assertEquals(s,u.toDecimalString());
+        assertEquals(u,BoundedNatural.parseDecimal(s));
+        assertEquals(u,BoundedNatural.parseDecimal("000" + s)); } }
+    assertEquals("0",BoundedNatural.ZERO.toDecimalString());
+    assertEquals(BoundedNatural.ZERO,BoundedNatural.parseDecimal("000"));
+    assertThrows(NumberFormatException.class,
+      () -> BoundedNatural.parseDecimal(""));
+    assertThrows(NumberFormatException.class,
+      () -> BoundedNatural.parseDecimal("12a4"));
+    assertThrows(NumberFormatException.class,
+      () -> BoundedNatural.parseDecimal("-1")); }
+
+  /** Operands on either side of the half-gcd threshold, with
+   * and without a large common factor.
+   */
+
+  private static final int[] GCD_WORDS = {
+    3, 47, 48, 49, 100, 400, 2000, };
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void largeGcd () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-11.txt");
+    for (final int n0 : GCD_WORDS) {
+      for (final int n1 : GCD_WORDS) {
+        final BigInteger g = randomNatural(urp,1+(n1/2));
+        final BigInteger[] z = {
+          randomNatural(urp,n0), randomNatural(urp,n1),
+          randomNatural(urp,n0).multiply(g),
+          randomNatural(urp,n1).multiply(g), };
+        for (int i=0;i<z.length;i+=2) {
+          final BigInteger z0 = z[i];
+          final BigInteger z1 = z[i+1];
+          Common.gcd(BoundedNatural::valueOf,
+            (x) -> x.bigIntegerValue(),z0,z1);
+          Common.reduce(BoundedNatural::valueOf,
+            (x) -> x.bigIntegerValue(),z0,z1);
+          final List<BoundedNatural> e =
+            NaturalDivide.gcdExtended(
+              BoundedNatural.valueOf(z0),BoundedNatural.valueOf(z1));
+          final BigInteger g01 = z0.gcd(z1);
+          assertEquals(g01,e.get(0).bigIntegerValue());
+          assertEquals(z0.divide(g01),e.get(1).bigIntegerValue());
+          assertEquals(z1.divide(g01),e.get(2).bigIntegerValue());
+          assertEquals(g01,
+            e.get(3).bigIntegerValue().multiply(z0)
+            .subtract(e.get(4).bigIntegerValue().multiply(z1))
+            .abs()); } } } }
+
 //  @SuppressWarnings({ "static-method" })
 //  @Test
 //  public final void leNaturalMutable () {
@@ -0,0 +1,148 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static sicpplus.java.test.Common.randomNatural;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.OffHeapNatural;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link OffHeapNatural} against {@link BigInteger},
+ * with small segments, so values span several segments, and
+ * small blocks, so the out-of-core multiply takes many steps.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/OffHeapNaturalTest test > OHNT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class OffHeapNaturalTest {
+
+  private static final BigInteger toBI (final OffHeapNatural x) {
+    return x.boundedNaturalValue().bigIntegerValue(); }
+
+  private static final OffHeapNatural
+  fromBI (final OffHeapNatural x,
+          final BigInteger z) {
+    return x.set(BoundedNatural.valueOf(z)); }
+
+  private static final void offHeapTest (final OffHeapNatural x0,
+                                         final OffHeapNatural x1,
+                                         final OffHeapNatural y,
+                                         final BigInteger z0,
+                                         final BigInteger z1) {
+    fromBI(x0,z0);
+    fromBI(x1,z1);
+    assertEquals(z0,toBI(x0));
+    assertEquals(z0.bitLength(),x0.hiBit());
+    assertEquals(z0.compareTo(z1),x0.compareTo(x1));
+    assertEquals(z1.compareTo(z0),x1.compareTo(x0));
+    assertEquals(0,x0.compareTo(x0));
+
+    assertEquals(z0.add(z1),toBI(y.add(x0,x1)));
+    for (final int w : new int[] { 0, 1, 7, -1, 0x80000001, }) {
+      final BigInteger bw = BigInteger.valueOf(Integer.toUnsignedLong(w));
+      assertEquals(z0.multiply(bw),toBI(y.multiply(x0,w))); }
+    for (final int bw : new int[] { 1, 3, 16, }) {
+      assertEquals(z0.multiply(z1),toBI(y.multiply(x0,x1,bw))); }
+
+    assertEquals(z0.add(z1.shiftLeft(32*3)),
+      toBI(fromBI(y,z0).addAt(3,BoundedNatural.valueOf(z1))));
+
+    // aliased streaming operands
+    assertEquals(z0.add(z0),toBI(y.set(x0.boundedNaturalValue())
+      .add(y,y)));
+    assertEquals(z0.multiply(BigInteger.valueOf(3)),
+      toBI(fromBI(y,z0).multiply(y,3)));
+    // shrinking result clears the old high words
+    fromBI(y,z0.add(z1).shiftLeft(64));
+    assertEquals(z0.add(z1),toBI(y.add(x0,x1)));
+    assertEquals(BigInteger.ZERO,toBI(y.multiply(x1,0))); }
+
+  private static final void offHeapTests (final OffHeapNatural x0,
+                                          final OffHeapNatural x1,
+                                          final OffHeapNatural y) {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    final int[] words = { 0, 1, 2, 7, 31, 64, 129, };
+    for (final int n0 : words) {
+      for (final int n1 : words) {
+        offHeapTest(x0,x1,y,randomNatural(urp,n0),randomNatural(urp,n1));
+        offHeapTest(x0,x1,y,
+          BigInteger.ONE.shiftLeft(32*n0).subtract(BigInteger.ONE),
+          BigInteger.ONE.shiftLeft(32*n1).subtract(BigInteger.ONE)); } } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void direct () {
+    try (OffHeapNatural x0 = OffHeapNatural.allocate(300,17);
+      OffHeapNatural x1 = OffHeapNatural.allocate(300,17);
+      OffHeapNatural y = OffHeapNatural.allocate(300,17)) {
+      offHeapTests(x0,x1,y); } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void mapped () throws IOException {
+    final Path f0 = Files.createTempFile("OffHeapNaturalTest",".bin");
+    final Path f1 = Files.createTempFile("OffHeapNaturalTest",".bin");
+    final Path f2 = Files.createTempFile("OffHeapNaturalTest",".bin");
+    try (OffHeapNatural x0 = OffHeapNatural.map(f0,300,64);
+      OffHeapNatural x1 = OffHeapNatural.map(f1,300,64);
+      OffHeapNatural y = OffHeapNatural.map(f2,300,64)) {
+      offHeapTests(x0,x1,y); }
+    // caller's files are left alone
+    for (final Path f : new Path[] { f0, f1, f2, }) {
+      assertTrue(Files.exists(f));
+      Files.delete(f); } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void scratch () throws IOException {
+    final Path dir = Files.createTempDirectory("OffHeapNaturalTest");
+    final OffHeapNatural y;
+    try (OffHeapNatural x0 = OffHeapNatural.scratch(dir,300,64);
+      OffHeapNatural x1 = OffHeapNatural.scratch(dir,300,64)) {
+      y = OffHeapNatural.scratch(dir,300,64);
+      offHeapTests(x0,x1,y); }
+    y.set(BoundedNatural.ones(2)).close();
+    // unusable after close
+    assertThrows(IllegalStateException.class,
+      () -> y.set(BoundedNatural.ones(2)));
+    assertThrows(IllegalStateException.class,() -> y.hiBit());
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(0L,files.count()); }
+    Files.delete(dir); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void overflow () {
+    try (OffHeapNatural x = OffHeapNatural.allocate(4,2);
+      OffHeapNatural y = OffHeapNatural.allocate(4,2)) {
+      x.set(BoundedNatural.ones(4));
+      assertThrows(ArithmeticException.class,() -> y.add(x,x));
+      assertThrows(ArithmeticException.class,() -> y.multiply(x,2));
+      assertThrows(ArithmeticException.class,
+        () -> y.multiply(x,x,1));
+      assertThrows(IllegalArgumentException.class,
+        () -> x.multiply(x,y,1));
+      assertThrows(ArithmeticException.class,
+        () -> y.set(BoundedNatural.ones(5))); } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,250 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static sicpplus.java.test.Common.bf;
+
+import org.apache.commons.math3.fraction.BigFraction;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.functions.scalar.Polynomial;
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.DoubleDouble;
+import sicpplus.java.numbers.Predicates;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link Predicates} against exact {@link BigFloat}
+ * signs, on random, nearly degenerate, exactly degenerate, and
+ * extreme inputs.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/PredicatesTest test > PT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class PredicatesTest {
+
+  private static final int TRYS = 257;
+
+  private static final int signum (final BigFloat x) {
+    return Integer.signum(x.compareTo(BigFloat.ZERO)); }
+
+  private static final BigFloat sum (final double[] x) {
+    BigFloat s = BigFloat.ZERO;
+    for (final double xi : x) { s = s.add(bf(xi)); }
+    return s; }
+
+  private static final BigFloat dot (final double[] x,
+                                     final double[] y) {
+    BigFloat s = BigFloat.ZERO;
+    for (int i=0;i<x.length;i++) {
+      s = s.add(bf(x[i]).multiply(bf(y[i]))); }
+    return s; }
+
+  private static final BigFloat horner (final double[] a,
+                                        final double x) {
+    BigFloat p = BigFloat.ZERO;
+    for (int i=a.length-1;i>=0;i--) {
+      p = p.multiply(bf(x)).add(bf(a[i])); }
+    return p; }
+
+  private static final double[] random (final UniformRandomProvider urp,
+                                        final int n,
+                                        final int emax) {
+    final double[] x = new double[n];
+    for (int i=0;i<n;i++) {
+      x[i] = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(2*emax)-emax); }
+    return x; }
+
+  private static final double[] append (final double[] x,
+                                        final double... y) {
+    final double[] z = new double[x.length+y.length];
+    System.arraycopy(x,0,z,0,x.length);
+    System.arraycopy(y,0,z,x.length,y.length);
+    return z; }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void sumsAndDots () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (int i=0;i<TRYS;i++) {
+      final int n = 1+urp.nextInt(64);
+      final int emax = (0==(i%8)) ? 1000 : 30;
+      final double[] x = random(urp,n,emax);
+      final double[] y = random(urp,n,emax);
+      assertEquals(signum(sum(x)),Predicates.signSum(x));
+      assertEquals(signum(dot(x,y)),Predicates.signDot(x,y));
+      // cancel all but the rounding error of a double-double sum
+      final DoubleDouble s = DoubleDouble.sum(x);
+      final double[] x1 = append(x,-s.hi(),-s.lo());
+      assertEquals(signum(sum(x1)),Predicates.signSum(x1));
+      final double[] x2 = append(x1,-x1[0],x1[0]);
+      assertEquals(signum(sum(x2)),Predicates.signSum(x2));
+      final DoubleDouble d = DoubleDouble.dot(x,y);
+      final double[] y1 = append(y,1.0,1.0);
+      final double[] x3 = append(x,-d.hi(),-d.lo());
+      assertEquals(signum(dot(x3,y1)),Predicates.signDot(x3,y1));
+      // exactly zero
+      final double[] x4 = append(x,x);
+      final double[] y4 = append(y,y);
+      for (int j=0;j<n;j++) { y4[n+j] = -y4[n+j]; }
+      assertEquals(0,Predicates.signDot(x4,y4));
+      final double[] x5 = append(x,x);
+      for (int j=0;j<n;j++) { x5[n+j] = -x5[n+j]; }
+      assertEquals(0,Predicates.signSum(x5)); }
+    assertEquals(0,Predicates.signSum(new double[0]));
+    // overflow and underflow
+    final double big = Double.MAX_VALUE;
+    assertEquals(1,Predicates.signSum(
+      new double[] { big, big, -big, Double.MIN_VALUE, -big, }));
+    assertEquals(0,Predicates.signSum(
+      new double[] { big, big, -big, -big, }));
+    assertEquals(-1,Predicates.signDot(
+      new double[] { 1.0e300, -1.0e300, -Double.MIN_VALUE, },
+      new double[] { 1.0e10, 1.0e10, 1.0, }));
+    assertEquals(1,Predicates.signDot(
+      new double[] { 0x1p-600, -0x1p-600, 0x1p-1000, },
+      new double[] { 0x1p-500, 0x1p-500, 0x1p-70, }));
+    assertEquals(0,Predicates.signDot(
+      new double[] { 0x1p-600, -0x1p-600, },
+      new double[] { 0x1p-500, 0x1p-500, })); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void determinants () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (int i=0;i<TRYS;i++) {
+      final double[] v = random(urp,4,(0==(i%8)) ? 1000 : 20);
+      final double a = v[0];
+      final double b = v[1];
+      final double c = v[2];
+      // d = b*c/a, rounded, then perturbed by a few ulps
+      final double d0 = (b*c)/a;
+      for (int k=-2;k<=2;k++) {
+        final double d = d0 + (k*Math.ulp(d0));
+        final int s = signum(bf(a).multiply(bf(d))
+          .subtract(bf(b).multiply(bf(c))));
+        assertEquals(s,Predicates.signDeterminant(a,b,c,d)); } }
+    assertEquals(0,Predicates.signDeterminant(3.0,6.0,5.0,10.0));
+    assertEquals(0,Predicates.signDeterminant(0x1p-700,0x1p-600,
+      0x1p-500,0x1p-400));
+    assertEquals(1,Predicates.signDeterminant(0x1p-700,0x1p-600,
+      0x1p-500,Math.nextUp(0x1p-400)));
+    assertEquals(-1,Predicates.signDeterminant(1.0e300,1.0e300,
+      1.0e10,Math.nextDown(1.0e10))); }
+
+  //--------------------------------------------------------------
+
+  private static final int orientation (final double ax,
+                                        final double ay,
+                                        final double bx,
+                                        final double by,
+                                        final double cx,
+                                        final double cy) {
+    return signum(
+      bf(ax).subtract(bf(cx)).multiply(bf(by).subtract(bf(cy)))
+      .subtract(
+        bf(ay).subtract(bf(cy)).multiply(bf(bx).subtract(bf(cx))))); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void orientation () {
+    // Kettner et al's classroom example: points near the line
+    // through (12,12) and (24,24), on a grid of ulps
+    for (final double scale : new double[] { 1.0, 0x1p-520, 0x1p500, }) {
+      final double bx = 24.0*scale;
+      final double cx = 12.0*scale;
+      for (int i=0;i<32;i++) {
+        for (int j=0;j<32;j++) {
+          final double ax = (0.5*scale) + (i*Math.ulp(0.5*scale));
+          final double ay = (0.5*scale) + (j*Math.ulp(0.5*scale));
+          assertEquals(orientation(ax,ay,bx,bx,cx,cx),
+            Predicates.orientation(ax,ay,bx,bx,cx,cx),
+            () -> ax + "," + ay); } } }
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (int i=0;i<TRYS;i++) {
+      final double[] v = random(urp,6,20);
+      assertEquals(orientation(v[0],v[1],v[2],v[3],v[4],v[5]),
+        Predicates.orientation(v[0],v[1],v[2],v[3],v[4],v[5]));
+      // collinear, exactly
+      assertEquals(0,Predicates.orientation(
+        v[0],v[1],v[0]+v[0],v[1]+v[1],0.0,0.0)); } }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void polynomials () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (int i=0;i<TRYS;i++) {
+      // (x-r)^3, with coefficients rounded
+      final double r = Math.scalb(urp.nextDouble()+0.5,urp.nextInt(8)-4);
+      final double[] a = { -r*r*r, 3.0*r*r, -3.0*r, 1.0, };
+      for (int k=-8;k<=8;k++) {
+        final double x = r + (k*Math.ulp(r));
+        assertEquals(signum(horner(a,x)),Predicates.signPolynomial(a,x));
+        final double y = r - (k*Math.ulp(r));
+        assertEquals(signum(horner(a,x).subtract(horner(a,y))),
+          Predicates.comparePolynomials(a,x,a,y)); }
+      final double[] b = random(urp,1+urp.nextInt(8),4);
+      final double x = urp.nextDouble()-0.5;
+      assertEquals(signum(horner(b,x)),Predicates.signPolynomial(b,x));
+      assertEquals(0,Predicates.comparePolynomials(b,x,b,x)); }
+    // extreme coefficients go to rationals
+    final double[] c = { -0x1p-1074, 0.0, 0x1p-1000, };
+    assertEquals(signum(horner(c,0x1p-40)),
+      Predicates.signPolynomial(c,0x1p-40));
+    assertEquals(0,Predicates.signPolynomial(c,0x1p-37));
+    assertEquals(0,Predicates.signPolynomial(new double[0],3.0)); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void quadratics () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (int i=0;i<TRYS;i++) {
+      final double[] v = random(urp,4,10);
+      final double x0 = v[0];
+      final double x1 = v[1];
+      final double d0 = v[2];
+      final double y0 = v[3];
+      // y1 = y0 + (d0+d1)(x1-x0)/2, for d1 = d0 + 1: exact,
+      // for small integer x's
+      final double xi0 = Math.rint(64*x0);
+      final double xi1 = Math.rint(64*x1);
+      final double d1 = d0+1.0;
+      final double y1 = y0 + (0.5*(xi1-xi0));
+      final boolean q = Polynomial.isQQuadraticXYD2(xi0,y0,d0,xi1,y1,d1);
+      assertEquals(
+        Polynomial.isQQuadraticXYD2(
+          new BigFraction(xi0),new BigFraction(y0),new BigFraction(d0),
+          new BigFraction(xi1),new BigFraction(y1),new BigFraction(d1)),
+        q);
+      final boolean q1 =
+        Polynomial.isQQuadraticXYD2(x0,y0,d0,x1,Math.nextUp(y1),d1);
+      assertEquals(
+        Polynomial.isQQuadraticXYD2(
+          new BigFraction(x0),new BigFraction(y0),new BigFraction(d0),
+          new BigFraction(x1),new BigFraction(Math.nextUp(y1)),
+          new BigFraction(d1)),
+        q1); }
+    assertTrue(Polynomial.isQQuadraticXYD2(0.0,0.0,0.0,2.0,2.0,2.0)); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -0,0 +1,170 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static sicpplus.java.test.Common.bf;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.BigFloat;
+import sicpplus.java.numbers.DoubleDouble;
+import sicpplus.java.numbers.QuadDouble;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link QuadDouble}: operations and bulk kernels
+ * against exact {@link BigFloat} values, with the checks shared
+ * with {@link DoubleDoubleTest} in {@link Expansions}.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/QuadDoubleTest test > QDT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class QuadDoubleTest {
+
+  private static final int TRYS = 513;
+
+  private static final Expansions.Precision<QuadDouble> QD =
+    new Expansions.Precision<>() {
+    @Override
+    public final int bits () { return 206; }
+    // the product is exact in multiplyAdd
+    @Override
+    public final BigFloat productError () { return BigFloat.ZERO; }
+    @Override
+    public final BigFloat sumError (final int n) {
+      return bf(Math.scalb((double) n,-205)); }
+    @Override
+    public final BigFloat hornerError (final int n) {
+      return bf(Math.scalb((double) n,-204)); }
+    @Override
+    public final double tiny () { return 0x1p-200; }
+    @Override
+    public final int range () { return 100; }
+    @Override
+    public final QuadDouble random (final UniformRandomProvider urp) {
+      final double x0 =
+        Math.scalb(urp.nextDouble()-0.5,urp.nextInt(64)-32);
+      return QuadDouble.valueOf(
+        x0,
+        Math.scalb(x0,-54)*(urp.nextDouble()-0.5),
+        Math.scalb(x0,-108)*(urp.nextDouble()-0.5),
+        Math.scalb(x0,-162)*(urp.nextDouble()-0.5)); }
+    @Override
+    public final QuadDouble valueOf (final double x) {
+      return QuadDouble.valueOf(x); }
+    @Override
+    public final QuadDouble valueOf (final BigFloat x) {
+      return QuadDouble.valueOf(x); }
+    @Override
+    public final BigFloat bigFloatValue (final QuadDouble x) {
+      return x.bigFloatValue(); }
+    @Override
+    public final double lead (final QuadDouble x) { return x.x0(); }
+    @Override
+    public final QuadDouble add (final QuadDouble x,
+                                 final double y) {
+      return x.add(y); }
+    @Override
+    public final QuadDouble multiply (final QuadDouble x,
+                                      final double y) {
+      return x.multiply(y); }
+    @Override
+    public final QuadDouble sum (final double[] x) {
+      return QuadDouble.sum(x); }
+    @Override
+    public final QuadDouble dot (final double[] x,
+                                 final double[] y) {
+      return QuadDouble.dot(x,y); }
+    @Override
+    public final QuadDouble horner (final double[] a,
+                                    final double x) {
+      return QuadDouble.horner(a,x); } };
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void arithmetic () {
+    Expansions.arithmetic(QD,
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt"),TRYS); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void roundTrip () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (int i=0;i<TRYS;i++) {
+      final QuadDouble x = QD.random(urp);
+      final BigFloat bx = x.bigFloatValue();
+      assertEquals(0,x.compareTo(QuadDouble.valueOf(bx)));
+      assertEquals(x,QuadDouble.valueOf(bx));
+      final DoubleDouble dd = DoubleDouble.valueOf(bx);
+      assertEquals(dd.bigFloatValue(),
+        QuadDouble.valueOf(dd).bigFloatValue()); } }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void comparison () {
+    Expansions.comparison(QD);
+    final QuadDouble up = QuadDouble.valueOf(1.0,0x1p-200);
+    assertEquals(up,QuadDouble.valueOf(0x1p-200,0.5,0.5));
+    assertEquals(up.hashCode(),
+      QuadDouble.valueOf(0x1p-200,0.5,0.5).hashCode());
+    // near ties in doubleValue
+    assertEquals(Math.nextUp(1.0),
+      QuadDouble.valueOf(1.0,0x1p-53,0x1p-200).doubleValue());
+    assertEquals(1.0,
+      QuadDouble.valueOf(1.0,0x1p-53,-0x1p-200).doubleValue());
+    assertEquals(Math.nextUp(1.0)+Math.ulp(1.0),
+      QuadDouble.valueOf(Math.nextUp(1.0),0x1p-53).doubleValue());
+    assertEquals(Double.MIN_VALUE,
+      QuadDouble.valueOf(Double.MIN_VALUE,0x1p-1074).multiply(0.375)
+      .doubleValue()); }
+
+  //--------------------------------------------------------------
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void kernels () {
+    Expansions.kernels(QD,
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt")); }
+
+  //--------------------------------------------------------------
+  /** axpy against exact values. */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void axpy () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    final QuadDouble a = QuadDouble.ONE.divide(QuadDouble.valueOf(3.0));
+    for (final int n : new int[] { 1, 2, 33, 257, }) {
+      final double[] x = Expansions.illConditioned(urp,n,100);
+      final double[][] z = new double[4][n];
+      for (int i=0;i<n;i++) {
+        final double yi = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(8));
+        z[0][i] = yi; z[1][i] = Math.scalb(yi,-60); }
+      final double[][] z0 = new double[4][];
+      for (int j=0;j<4;j++) { z0[j] = z[j].clone(); }
+      QuadDouble.axpy(a,x,z);
+      for (int i=0;i<n;i++) {
+        final QuadDouble yi =
+          QuadDouble.valueOf(z0[0][i],z0[1][i],z0[2][i],z0[3][i]);
+        final QuadDouble zi =
+          QuadDouble.valueOf(z[0][i],z[1][i],z[2][i],z[3][i]);
+        Expansions.assertClose(QD,zi,yi.bigFloatValue().add(
+          a.bigFloatValue().multiply(bf(x[i]))),206);
+        assertEquals(zi.x0(),z[0][i]); } } }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
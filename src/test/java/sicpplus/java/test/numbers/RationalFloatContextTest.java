@@ -0,0 +1,119 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.accumulators.RationalFloatAccumulator;
+import sicpplus.java.numbers.BoundedNatural;
+import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.numbers.RationalFloatContext;
+import sicpplus.java.prng.PRNG;
+
+//----------------------------------------------------------------
+/** Test {@link RationalFloatContext}: every reduction policy
+ * gives the same values, and the statistics add up.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/RationalFloatContextTest test > RFCT.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class RationalFloatContextTest {
+
+  private static final int STEPS = 64;
+
+  private static final RationalFloat
+  random (final UniformRandomProvider urp) {
+    return RationalFloat.valueOf(
+      urp.nextBoolean(),
+      BoundedNatural.valueOf(1+urp.nextInt(1<<12)),
+      BoundedNatural.valueOf(1+urp.nextInt(1<<12)),
+      urp.nextInt(16)-8); }
+
+  /** A chain of operations, with lots of common factors. */
+
+  private static final RationalFloat chain (final RationalFloatContext c,
+                                            final long seed) {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (long i=0;i<seed;i++) { urp.nextInt(); }
+    RationalFloat q = random(urp);
+    for (int i=0;i<STEPS;i++) {
+      final RationalFloat a = random(urp);
+      final RationalFloat b = random(urp);
+      switch (i%4) {
+      case 0 : q = c.multiplyAdd(q,a,b); break;
+      case 1 : q = c.multiply(q,a); break;
+      case 2 : q = c.subtract(q,b); break;
+      default : q = c.add(q,a.square()); } }
+    return q; }
+
+  private static final long bits (final RationalFloat q) {
+    return ((long) q.numerator().hiBit()) + q.denominator().hiBit(); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void policies () {
+    for (long seed=0;seed<8;seed++) {
+      final RationalFloatContext never = RationalFloatContext.never();
+      final RationalFloat q = chain(never,seed);
+      assertEquals(STEPS,never.operations());
+      assertEquals(0,never.reductions());
+      assertEquals(0,never.bitsSaved());
+
+      final RationalFloatContext always = RationalFloatContext.always();
+      final RationalFloat qa = chain(always,seed);
+      assertEquals(q,qa);
+      assertEquals(STEPS,always.reductions());
+      assertTrue(0<always.bitsSaved(),always::toString);
+      assertTrue(bits(qa)<=bits(q));
+
+      final RationalFloatContext every = RationalFloatContext.every(5);
+      assertEquals(q,chain(every,seed));
+      assertEquals(STEPS/5,every.reductions());
+
+      final RationalFloatContext big = RationalFloatContext.bitsExceed(256);
+      final RationalFloat qb = chain(big,seed);
+      assertEquals(q,qb);
+      assertTrue(big.reductions()<STEPS);
+      assertTrue(0<big.bitsSaved());
+
+      assertEquals(0,big.resetStatistics().operations());
+      assertEquals(0,big.reductions()); }
+
+    assertThrows(IllegalArgumentException.class,
+      () -> RationalFloatContext.every(0));
+    assertThrows(IllegalArgumentException.class,
+      () -> RationalFloatContext.bitsExceed(-1)); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void accumulator () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    final double[] x = new double[257];
+    final double[] y = new double[257];
+    for (int i=0;i<x.length;i++) {
+      x[i] = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(64)-32);
+      y[i] = Math.scalb(urp.nextDouble()-0.5,urp.nextInt(64)-32); }
+    final RationalFloatAccumulator a0 = RationalFloatAccumulator.make();
+    final RationalFloatContext c = RationalFloatContext.every(16);
+    final RationalFloatAccumulator a1 = RationalFloatAccumulator.make(c);
+    a0.addProducts(x,y).addAll(x);
+    a1.addProducts(x,y).addAll(x);
+    assertEquals(a0.value(),a1.value());
+    assertEquals(a0.doubleValue(),a1.doubleValue());
+    assertEquals(2*x.length,c.operations());
+    assertEquals((2*x.length)/16,c.reductions());
+    assertEquals(0,a0.context().reductions()); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
@@ -1,12 +1,20 @@
 package sicpplus.java.test.numbers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static sicpplus.java.test.Common.randomNatural;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.function.BinaryOperator;
 
+import org.apache.commons.rng.UniformRandomProvider;
 import org.junit.jupiter.api.Test;
 
 import sicpplus.java.numbers.BoundedNatural;
 import sicpplus.java.numbers.Numbers;
 import sicpplus.java.numbers.RationalFloat;
+import sicpplus.java.prng.PRNG;
 import sicpplus.java.test.Common;
 
 //----------------------------------------------------------------
@@ -68,6 +76,137 @@ public final class RationalFloatTest {
       Common::compareTo, Common::compareTo);
   }
 
+  /** Fused multiply-add against the unfused sum, for
+   * all combinations of signs and unit denominators.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void multiplyAdd () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-05.txt");
+    for (int i=0;i<513;i++) {
+      final RationalFloat[] q = new RationalFloat[3];
+      for (int j=0;j<3;j++) {
+        final BigInteger n = randomNatural(urp,urp.nextInt(8))
+          .multiply(BigInteger.valueOf(urp.nextBoolean() ? 1 : -1));
+        final BigInteger d = urp.nextBoolean() ? BigInteger.ONE
+          : randomNatural(urp,1+urp.nextInt(4)).add(BigInteger.ONE);
+        q[j] = RationalFloat.valueOf(n,d)
+          .multiply(Math.scalb(1.0,urp.nextInt(200)-100)); }
+      final RationalFloat x = q[0].add(q[1].multiply(q[2]));
+      final RationalFloat y = q[0].subtract(q[1].multiply(q[2]));
+      assertEquals(x,q[0].multiplyAdd(q[1],q[2]));
+      assertEquals(y,q[0].multiplySubtract(q[1],q[2]));
+      // cancellation
+      assertEquals(RationalFloat.ZERO,
+        q[1].multiply(q[2]).multiplySubtract(q[1],q[2])); } }
+
+  private static final int signum (final RationalFloat q) {
+    if (q.isZero()) { return 0; }
+    return (q.nonNegative() ? 1 : -1); }
+
+  /** Ordering against the sign of the exact difference, with
+   * many ties and near ties: unreduced copies scaled by a common
+   * factor, shifted between exponent and significand, and
+   * perturbed in the last bit.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void compareTo () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-07.txt");
+    for (int i=0;i<1025;i++) {
+      final BigInteger n = randomNatural(urp,urp.nextInt(12))
+        .multiply(BigInteger.valueOf(urp.nextBoolean() ? 1 : -1));
+      final BigInteger d = urp.nextBoolean() ? BigInteger.ONE
+        : randomNatural(urp,1+urp.nextInt(12)).add(BigInteger.ONE);
+      final BigInteger k =
+        randomNatural(urp,1+urp.nextInt(4)).add(BigInteger.ONE);
+      final int s = urp.nextInt(70);
+      final RationalFloat q0 = RationalFloat.valueOf(n,d);
+      final RationalFloat[] q = {
+        q0,
+        RationalFloat.valueOf(n.multiply(k),d.multiply(k)),
+        RationalFloat.valueOf(n.shiftLeft(s),d)
+        .multiply(Math.scalb(1.0,-s)),
+        RationalFloat.valueOf(n.shiftLeft(s).add(BigInteger.ONE),
+          d.shiftLeft(s)),
+        RationalFloat.valueOf(n.shiftLeft(s).subtract(BigInteger.ONE),
+          d.shiftLeft(s)),
+        RationalFloat.valueOf(n.multiply(k).add(BigInteger.ONE),
+          d.multiply(k)),
+        RationalFloat.valueOf(n.multiply(k),
+          d.multiply(k).add(BigInteger.ONE)),
+        q0.multiply(Math.scalb(1.0,urp.nextInt(129)-64)),
+        RationalFloat.valueOf(urp.nextDouble()-0.5), };
+      for (final RationalFloat a : q) {
+        for (final RationalFloat b : q) {
+          final int c = signum(a.subtract(b));
+          assertEquals(c,Integer.signum(a.compareTo(b)),
+            () -> a + " vs " + b);
+          assertEquals(0==c,a.equals(b));
+          if (0==c) { assertEquals(a.hashCode(),b.hashCode()); } } } }
+    // zeros of either sign
+    final RationalFloat z = RationalFloat.valueOf(
+      false,BoundedNatural.ZERO,7);
+    assertEquals(0,z.compareTo(RationalFloat.ZERO));
+    assertEquals(0,RationalFloat.ZERO.compareTo(z));
+    assertEquals(RationalFloat.ZERO,z);
+    assertEquals(-1,z.compareTo(RationalFloat.valueOf(0x1p-900)));
+    assertEquals(1,z.compareTo(RationalFloat.valueOf(-0x1p-900))); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void decimalStrings () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+    for (int i=0;i<257;i++) {
+      final BigInteger n = randomNatural(urp,urp.nextInt(64))
+        .shiftLeft(urp.nextInt(40))
+        .multiply(BigInteger.valueOf(urp.nextBoolean() ? 1 : -1));
+      final BigInteger d = randomNatural(urp,urp.nextInt(64))
+        .shiftLeft(urp.nextInt(40)).add(BigInteger.ONE);
+      final RationalFloat q = RationalFloat.valueOf(n,d);
+      final BigInteger g = n.gcd(d);
+      final BigInteger n0 = n.divide(g);
+      final BigInteger d0 = d.divide(g);
+      final String s = d0.equals(BigInteger.ONE) ? n0.toString()
+        : (1==d0.bitCount())
+        ? new BigDecimal(n0).divide(new BigDecimal(d0))
+          .stripTrailingZeros().toPlainString()
+        : (n0 + "/" + d0);
+      assertEquals(s,q.toDecimalString());
+      assertEquals(q,RationalFloat.parseDecimal(s));
+      assertEquals(q,RationalFloat.parseDecimal(n + "/" + d));
+      final double x = Double.longBitsToDouble(urp.nextLong());
+      if (Double.isFinite(x)) {
+        final BigDecimal bx = new BigDecimal(x);
+        assertEquals(RationalFloat.valueOf(x),
+          RationalFloat.parseDecimal(bx.toString()));
+        assertEquals(RationalFloat.valueOf(x),
+          RationalFloat.parseDecimal(
+            RationalFloat.valueOf(x).toDecimalString())); } }
+    assertEquals(RationalFloat.valueOf(BigInteger.ONE,BigInteger.TEN),
+      RationalFloat.parseDecimal("+0.1"));
+    assertEquals(RationalFloat.valueOf(BigInteger.valueOf(-123),
+      BigInteger.valueOf(1000000)),
+      RationalFloat.parseDecimal("-.123e-3"));
+    assertEquals(RationalFloat.valueOf(BigInteger.valueOf(1500),
+      BigInteger.ONE),
+      RationalFloat.parseDecimal("1.5E3"));
+    assertEquals("-1/3",RationalFloat.valueOf(
+      BigInteger.valueOf(-2),BigInteger.valueOf(6)).toDecimalString());
+    assertThrows(ArithmeticException.class,
+      () -> RationalFloat.parseDecimal("1/0"));
+    assertThrows(NumberFormatException.class,
+      () -> RationalFloat.parseDecimal("."));
+    assertThrows(NumberFormatException.class,
+      () -> RationalFloat.parseDecimal("1e--2"));
+    assertThrows(NumberFormatException.class,
+      () -> RationalFloat.parseDecimal("1.2.3")); }
+
   //--------------------------------------------------------------
 }
 //--------------------------------------------------------------
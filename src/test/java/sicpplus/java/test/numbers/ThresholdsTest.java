@@ -0,0 +1,85 @@
+package sicpplus.java.test.numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import sicpplus.java.numbers.Thresholds;
+
+//----------------------------------------------------------------
+/** Threshold profile parsing and fallback.
+ * <p>
+ * <pre>
+ * mvn -q -Dtest=sicpplus/java/test/numbers/ThresholdsTest test > ThresholdsTest.txt
+ * </pre>
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+public final class ThresholdsTest {
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void defaults () {
+    final Map<String,Integer> d = Thresholds.defaults();
+    assertEquals(Thresholds.KEYS.size(),d.size());
+    assertEquals(d,Thresholds.merge(new Properties()));
+    if (null==System.getProperty(Thresholds.PROFILE_PROPERTY)) {
+      assertEquals(d,Thresholds.current()); } }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void merge () {
+    final Properties p = new Properties();
+    p.setProperty(Thresholds.KARATSUBA," 64 ");
+    p.setProperty(Thresholds.TOOM_COOK,"not a number");
+    p.setProperty(Thresholds.NTT,"-1");
+    p.setProperty("unknown","3");
+    final Map<String,Integer> d = Thresholds.defaults();
+    final Map<String,Integer> m = Thresholds.merge(p);
+    assertEquals(Thresholds.KEYS.size(),m.size());
+    assertEquals(Integer.valueOf(64),m.get(Thresholds.KARATSUBA));
+    assertEquals(d.get(Thresholds.TOOM_COOK),m.get(Thresholds.TOOM_COOK));
+    assertEquals(d.get(Thresholds.NTT),m.get(Thresholds.NTT));
+    assertEquals(
+      d.get(Thresholds.BURNIKEL_ZIEGLER),
+      m.get(Thresholds.BURNIKEL_ZIEGLER)); }
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void roundTrip () throws IOException {
+    final Properties p = new Properties();
+    p.setProperty(Thresholds.KARATSUBA,"72");
+    p.setProperty(Thresholds.NTT,Integer.toString(Thresholds.NEVER));
+    final Path file = Files.createTempFile("thresholds",".properties");
+    try {
+      try (Writer w = Files.newBufferedWriter(file)) {
+        p.store(w,"ThresholdsTest"); }
+      final Properties q = Thresholds.readProfile(file);
+      assertEquals(p,q);
+      final Map<String,Integer> m = Thresholds.merge(q);
+      assertEquals(Integer.valueOf(72),m.get(Thresholds.KARATSUBA));
+      assertEquals(Integer.valueOf(Thresholds.NEVER),
+        m.get(Thresholds.NTT));
+      assertEquals(Thresholds.defaults().get(Thresholds.TOOM_COOK),
+        m.get(Thresholds.TOOM_COOK)); }
+    finally { Files.deleteIfExists(file); }
+    assertTrue(
+      Thresholds.readProfile("sicpplus/java/numbers/missing.properties")
+      .isEmpty());
+    assertThrows(IOException.class,
+      () -> Thresholds.readProfile(file)); }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------
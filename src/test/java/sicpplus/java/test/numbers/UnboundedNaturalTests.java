@@ -1,11 +1,16 @@
 package sicpplus.java.test.numbers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static sicpplus.java.test.Common.randomNatural;
 
+import java.math.BigInteger;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import org.apache.commons.rng.UniformRandomProvider;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +21,7 @@ import sicpplus.java.algebra.Structure;
 import sicpplus.java.numbers.BoundedNatural;
 import sicpplus.java.numbers.UnboundedNatural;
 import sicpplus.java.prng.PRNG;
+import sicpplus.java.test.Common;
 import sicpplus.java.test.algebra.SetTests;
 
 //----------------------------------------------------------------
@@ -23,7 +29,7 @@ import sicpplus.java.test.algebra.SetTests;
  * mvn -Dtest=sicpplus/java/test/numbers/UnboundedNaturalTests test > UNT.txt
  * </pre>
  * @author palisades dot lakes at gmail dot com
- * @version 2021-05-31
+ * @version 2026-10-18
  */
 
 @SuppressWarnings("unchecked")
@@ -61,6 +67,89 @@ public final class UnboundedNaturalTests {
         assertTrue(result,
           s.toString() + " : " + law.toString()); } } }
 
+  //--------------------------------------------------------------
+
+  private static final Function<BigInteger,UnboundedNatural>
+  FROM_BI = UnboundedNatural::valueOf;
+
+  private static final Function<UnboundedNatural,BigInteger>
+  TO_BI = UnboundedNatural::bigIntegerValue;
+
+  private static final void ringTest (final BigInteger z0,
+                                      final BigInteger z1) {
+    Common.biRoundTrip(FROM_BI,TO_BI,z0);
+    Common.add(FROM_BI,TO_BI,z0,z1);
+    Common.absDiff(FROM_BI,TO_BI,z0,z1);
+    Common.absDiff(FROM_BI,TO_BI,z0,z0);
+    Common.multiply(FROM_BI,TO_BI,z0,z1);
+    Common.square(FROM_BI,TO_BI,z0);
+    Common.divideAndRemainder(FROM_BI,TO_BI,z0,z1);
+    Common.divideAndRemainder(FROM_BI,TO_BI,z1,z0);
+    Common.divideAndRemainder(FROM_BI,TO_BI,z0.multiply(z1),z0);
+    Common.divideAndRemainder(FROM_BI,TO_BI,
+      z0.multiply(z1).add(z1),z0);
+    final UnboundedNatural x0 = FROM_BI.apply(z0);
+    assertEquals(z0.bitLength(),x0.hiBit());
+    assertEquals(x0.hashCode(),FROM_BI.apply(z0).hashCode());
+    for (final long shift : new long[] { 1, 31, 32, 33, 100, }) {
+      assertEquals(z0.shiftLeft((int) shift),
+        TO_BI.apply(x0.shiftUp(shift)));
+      assertEquals(z0.shiftRight((int) shift),
+        TO_BI.apply(x0.shiftDown(shift))); } }
+
+  /** Small operands, with blocks of a few words, so the
+   * multiply and divide block algorithms, which normally only
+   * run past {@link BoundedNatural#MAX_WORDS}, are exercised.
+   */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void blocks () {
+    final int b = UnboundedNatural.blockWords();
+    try {
+      final UniformRandomProvider urp =
+        PRNG.well44497b("seeds/Well44497b-2019-01-09.txt");
+      final int[] words = { 0, 1, 2, 3, 5, 8, 13, 21, 34, };
+      for (final int bw : new int[] { 1, 2, 5, }) {
+        UnboundedNatural.setBlockWords(bw);
+        for (final int n0 : words) {
+          for (final int n1 : words) {
+            ringTest(randomNatural(urp,n0),randomNatural(urp,n1));
+            ringTest(
+              BigInteger.ONE.shiftLeft(32*n0).subtract(BigInteger.ONE),
+              randomNatural(urp,n1)); } } } }
+    finally {
+      UnboundedNatural.setBlockWords(b); } }
+
+  /** Operands that span several chunks. */
+
+  @SuppressWarnings({ "static-method" })
+  @Test
+  public final void chunks () {
+    final UniformRandomProvider urp =
+      PRNG.well44497b("seeds/Well44497b-2019-01-11.txt");
+    final int c = UnboundedNatural.CHUNK_WORDS;
+    final int[][] sizes = {
+      { c-1, c+1, }, { c, c, }, { 2*c+3, c/2, }, { 3*c, 2*c+7, }, };
+    for (final int[] nn : sizes) {
+      final BigInteger z0 = randomNatural(urp,nn[0]);
+      final BigInteger z1 = randomNatural(urp,nn[1]);
+      final BigInteger ones =
+        BigInteger.ONE.shiftLeft(32*nn[0]).subtract(BigInteger.ONE);
+      Common.add(FROM_BI,TO_BI,z0,z1);
+      Common.add(FROM_BI,TO_BI,ones,BigInteger.ONE);
+      Common.absDiff(FROM_BI,TO_BI,z0,z1);
+      Common.absDiff(FROM_BI,TO_BI,ones.add(BigInteger.ONE),
+        BigInteger.ONE);
+      Common.multiply(FROM_BI,TO_BI,z0,z1);
+      Common.divideAndRemainder(FROM_BI,TO_BI,z0,z1);
+      final UnboundedNatural x0 = FROM_BI.apply(z0);
+      for (final long shift : new long[] { 17, 32L*c, 32L*c+5, }) {
+        assertEquals(z0.shiftLeft((int) shift),
+          TO_BI.apply(x0.shiftUp(shift)));
+        assertEquals(z0.shiftRight((int) shift),
+          TO_BI.apply(x0.shiftDown(shift))); }
+      assertEquals(x0,x0.shiftUp(32L*c+5).shiftDown(32L*c+5)); } }
 
   //--------------------------------------------------------------
 }
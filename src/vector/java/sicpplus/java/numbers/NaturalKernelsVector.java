@@ -0,0 +1,158 @@
+package sicpplus.java.numbers;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/** Vector API versions of the {@link NaturalKernels} word
+ * loops.
+ * <p>
+ * Add and subtract use carry lookahead across the lanes of a
+ * vector: the lanewise sum (difference) gives a generate mask
+ * (the lane wrapped) and a propagate mask (the lane is all ones
+ * (zero), so an incoming carry (borrow) passes through).
+ * With the masks as bits of a <code>long</code>,
+ * <code>((g&lt;&lt;1) + p + carryIn) ^ p</code> is the set of
+ * lanes receiving a carry, and bit <code>L</code> of the sum is
+ * the carry out of the vector. One masked add of 1 then
+ * finishes the lanes. The only serial dependence between
+ * vectors is a single bit.
+ * <p>
+ * On JDK 17 <code>VectorMask.toLong</code> and
+ * <code>fromLong</code> are not intrinsics, and the lookahead
+ * add and subtract are about 3 times slower than the scalar
+ * loops, so they are only used when
+ * <code>sicpplus.simd.add=true</code>; otherwise add and
+ * subtract fall back to {@link NaturalKernels.Scalar}.
+ * <p>
+ * Shifts combine 2 overlapping, unaligned loads of the input,
+ * and are 5 to 10 times faster than the scalar loops from 64
+ * words up.
+ * <p>
+ * Only compiled by the <code>vector</code> profile, and only
+ * loaded by {@link NaturalKernels} when
+ * <code>jdk.incubator.vector</code> is present.
+ *
+ * @author palisades dot lakes at gmail dot com
+ * @version 2026-10-18
+ */
+
+@SuppressWarnings("unchecked")
+final class NaturalKernelsVector extends NaturalKernels {
+
+  private static final VectorSpecies<Integer> S =
+    IntVector.SPECIES_PREFERRED;
+
+  private static final int L = S.length();
+
+  private static final long LANES = (1L<<L)-1L;
+
+  private static final NaturalKernels SCALAR = new Scalar();
+
+  private static final boolean LOOKAHEAD =
+    Boolean.parseBoolean(
+      System.getProperty("sicpplus.simd.add","false"));
+
+  //--------------------------------------------------------------
+
+  @Override
+  final int add (final int[] a, final int a0,
+                 final int[] b, final int b0,
+                 final int[] s, final int s0,
+                 final int n,
+                 final int carry) {
+    if (! LOOKAHEAD) { return SCALAR.add(a,a0,b,b0,s,s0,n,carry); }
+    final int bound = S.loopBound(n);
+    long c = carry;
+    int i=0;
+    for (;i<bound;i+=L) {
+      final IntVector va = IntVector.fromArray(S,a,a0+i);
+      final IntVector vb = IntVector.fromArray(S,b,b0+i);
+      final IntVector vs = va.add(vb);
+      final long g =
+        vs.compare(VectorOperators.UNSIGNED_LT,va).toLong();
+      final long p = vs.eq(-1).toLong();
+      final long x = (g<<1) + p + c;
+      c = (x>>>L);
+      final long in = (x^p) & LANES;
+      if (0L==in) { vs.intoArray(s,s0+i); }
+      else {
+        vs.add(1,VectorMask.fromLong(S,in)).intoArray(s,s0+i); } }
+    return SCALAR.add(a,a0+i,b,b0+i,s,s0+i,n-i,(int) c); }
+
+  @Override
+  final int subtract (final int[] a, final int a0,
+                      final int[] b, final int b0,
+                      final int[] d, final int d0,
+                      final int n,
+                      final int borrow) {
+    if (! LOOKAHEAD) {
+      return SCALAR.subtract(a,a0,b,b0,d,d0,n,borrow); }
+    final int bound = S.loopBound(n);
+    long c = borrow;
+    int i=0;
+    for (;i<bound;i+=L) {
+      final IntVector va = IntVector.fromArray(S,a,a0+i);
+      final IntVector vb = IntVector.fromArray(S,b,b0+i);
+      final IntVector vd = va.sub(vb);
+      final long g =
+        va.compare(VectorOperators.UNSIGNED_LT,vb).toLong();
+      final long p = vd.eq(0).toLong();
+      final long x = (g<<1) + p + c;
+      c = (x>>>L);
+      final long in = (x^p) & LANES;
+      if (0L==in) { vd.intoArray(d,d0+i); }
+      else {
+        vd.sub(1,VectorMask.fromLong(S,in)).intoArray(d,d0+i); } }
+    return SCALAR.subtract(a,a0+i,b,b0+i,d,d0+i,n-i,(int) c); }
+
+  //--------------------------------------------------------------
+
+  @Override
+  final void shiftUp (final int[] a, final int n,
+                      final int bShift,
+                      final int[] v, final int v0) {
+    final int rShift = 32-bShift;
+    if (n<=L) { SCALAR.shiftUp(a,n,bShift,v,v0); return; }
+    v[v0] = (a[0]<<bShift);
+    // v[v0+i] from a[i] and a[i-1], 1<=i<n
+    final int bound = 1+S.loopBound(n-1);
+    int i=1;
+    for (;i<bound;i+=L) {
+      final IntVector w1 = IntVector.fromArray(S,a,i);
+      final IntVector w0 = IntVector.fromArray(S,a,i-1);
+      w1.lanewise(VectorOperators.LSHL,bShift)
+      .or(w0.lanewise(VectorOperators.LSHR,rShift))
+      .intoArray(v,v0+i); }
+    for (;i<n;i++) {
+      v[v0+i] = ((a[i]<<bShift)|(a[i-1]>>>rShift)); }
+    v[v0+n] = (a[n-1]>>>rShift); }
+
+  @Override
+  final void shiftDown (final int[] a, final int a0, final int na,
+                        final int bShift,
+                        final int[] v, final int n) {
+    final int rShift = 32-bShift;
+    // vector loads need a[a0+i+1 .. a0+i+L] in the array
+    final int m = Math.max(0,Math.min(n,na-a0-1));
+    final int bound = S.loopBound(m);
+    int i=0;
+    for (;i<bound;i+=L) {
+      final IntVector w0 = IntVector.fromArray(S,a,a0+i);
+      final IntVector w1 = IntVector.fromArray(S,a,a0+i+1);
+      w0.lanewise(VectorOperators.LSHR,bShift)
+      .or(w1.lanewise(VectorOperators.LSHL,rShift))
+      .intoArray(v,i); }
+    for (int j=a0+i;i<n;i++,j++) {
+      final int w1 = ((j+1)<na) ? a[j+1] : 0;
+      v[i] = ((w1<<rShift)|(a[j]>>>bShift)); } }
+
+  @Override
+  final String name () { return "vector" + S.vectorBitSize(); }
+
+  NaturalKernelsVector () { }
+
+  //--------------------------------------------------------------
+}
+//--------------------------------------------------------------